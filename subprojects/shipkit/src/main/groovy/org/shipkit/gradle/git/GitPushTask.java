@@ -21,7 +21,7 @@ public class GitPushTask extends DefaultTask {
     @Input private List<String> targets = new LinkedList<>();
     @Input private String url;
     @Input private boolean dryRun;
-    @Input @Optional private String workingDir;
+    @Input @Optional private String workingDir = getProject().getProjectDir().getAbsolutePath();
     private String secretValue;
 
     @TaskAction public void gitPush() {
@@ -1,35 +1,85 @@
 package org.shipkit.gradle.java;
 
 import org.gradle.api.DefaultTask;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.bundling.Jar;
+import org.gradle.workers.ForkMode;
+import org.gradle.workers.WorkerExecutor;
 import org.shipkit.gradle.release.ReleaseNeededTask;
+import org.shipkit.internal.comparison.ComparisonSummary;
+import org.shipkit.internal.gradle.java.tasks.ChangedProjects;
 import org.shipkit.internal.gradle.java.tasks.ComparePublications;
+import org.shipkit.internal.util.HashUtil;
 
+import javax.inject.Inject;
 import java.io.File;
 
 /**
  * Compares source jars and produces output file with diff.
+ * When {@link #isBinaryComparison()} is enabled, binary jars are compared too.
  * Note that source jar contains dependency-info.json file generated by Shipkit
  * (see {@link org.shipkit.internal.gradle.java.tasks.CreateDependencyInfoFileTask}).
  * <p>
  * The outputs of this task are used by {@link ReleaseNeededTask} to avoid unnecessary release if nothing has changed.
  * The {@link #getComparisonResult()} should be added to {@link ReleaseNeededTask#getComparisonResults()}.
+ * <p>
+ * The task is cacheable: previously released files are tracked by content hash and currently built jars by relative path,
+ * so that the comparison of unchanged publications is reused from the build cache, also on different machines.
+ * <p>
+ * The comparison runs in Gradle worker (see {@link #getForkMode()}), so that comparisons of many projects
+ * run concurrently, within the limit of '--max-workers', and overlap with other work of the build.
+ * <p>
+ * When {@link #getPreviousReleaseTag()} is set and no files of the project changed since the tag,
+ * the publications are considered identical without comparing them, see {@link #isUnchangedSincePreviousRelease()}.
  */
+@CacheableTask
 public class ComparePublicationsTask extends DefaultTask {
 
     @OutputFile private File comparisonResult;
 
-    @InputFiles private Jar sourcesJar;
+    @Internal private Jar sourcesJar;
 
     //Not using @InputFile annotation on purpose below. @InputFile makes Gradle fail early
     // when the file path specified but file does not exist (@Optional does not help).
-    // Using @Input is enough for this use case
-    @Input @Optional private File previousSourcesJar;
+    // Content hashes of previous files are the inputs instead, see getPreviousSourcesJarHash()
+    @Internal private File previousSourcesJar;
+
+    //See the comment above, the same applies to the manifest
+    @Internal private File previousManifest;
+
+    @Input @Optional private String previousSourcesJarUrl;
+
+    @Input private boolean strictComparison;
+
+    @Input private int diffLinesPerEntry = 50;
+
+    @Input private boolean binaryComparison;
+
+    @Internal private Jar jar;
+
+    //See the comment above, the same applies to the binary jar
+    @Internal private File previousJar;
+
+    @Input private final String projectPath = getProject().getPath();
+
+    @Internal private ForkMode forkMode = ForkMode.NEVER;
+
+    @Input @Optional private String previousReleaseTag;
+
+    @Internal private final File projectDir = getProject().getProjectDir();
+
+    @Internal private final ChangedProjects changedProjects = ChangedProjects.of(getProject());
+
+    //resolved once, Gradle evaluates the inputs several times during the build
+    @Internal private Boolean unchanged;
 
     /**
      * File that stores text result of the comparison.
@@ -48,8 +98,85 @@ public class ComparePublicationsTask extends DefaultTask {
         this.comparisonResult = comparisonResult;
     }
 
+    /**
+     * Summary of the comparison with numbers of changes, written next to {@link #getComparisonResult()}.
+     * Used by {@link ReleaseNeededTask} to describe the changes of all projects without reading the detailed results.
+     */
+    @OutputFile @Optional
+    public File getComparisonSummary() {
+        return comparisonResult == null ? null : ComparisonSummary.summaryFileOf(comparisonResult);
+    }
+
+    /**
+     * Path of the project whose publications are compared, used to describe the changes.
+     * Captured when the task is created, so that the comparison does not need the project.
+     */
+    public String getProjectPath() {
+        return projectPath;
+    }
+
     @TaskAction public void comparePublications() {
-        new ComparePublications().comparePublications(this);
+        new ComparePublications().submitComparison(this, getWorkerExecutor());
+    }
+
+    /**
+     * Tag of the previous release, used to detect whether any files of the project changed since the release.
+     * Optional, when not set the publications are always compared.
+     */
+    public String getPreviousReleaseTag() {
+        return previousReleaseTag;
+    }
+
+    /**
+     * See {@link #getPreviousReleaseTag()}
+     */
+    public synchronized void setPreviousReleaseTag(String previousReleaseTag) {
+        this.previousReleaseTag = previousReleaseTag;
+        this.unchanged = null;
+    }
+
+    /**
+     * Whether no files of the project changed since {@link #getPreviousReleaseTag()}, according to 'git diff'.
+     * Files outside of all subprojects, e.g. root build scripts, are considered changes of every project.
+     * In such case, the task records identical publications in {@link #getComparisonResult()} without comparing them
+     * and previous publications are not downloaded.
+     * Always false when {@link #isBinaryComparison()} is enabled, because binaries can change due to changes in other projects.
+     * <p>
+     * It is an input of the task, because it decides the result: the comparison result of unchanged project
+     * must not be reused from the build cache for a changed project with the same other inputs, and vice versa.
+     */
+    @Input
+    public synchronized boolean isUnchangedSincePreviousRelease() {
+        if (unchanged == null) {
+            unchanged = previousReleaseTag != null && !binaryComparison
+                && !changedProjects.isChanged(projectDir, previousReleaseTag);
+        }
+        return unchanged;
+    }
+
+    /**
+     * Worker executor the comparison is submitted to, injected by Gradle.
+     */
+    @Inject
+    public WorkerExecutor getWorkerExecutor() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Whether the Gradle worker the comparison runs in is forked, by default {@link ForkMode#NEVER},
+     * the comparison runs in the build process.
+     * {@link ForkMode#ALWAYS} runs it in separate worker process,
+     * which is useful when comparing big jars should not take the memory of the build process.
+     */
+    public ForkMode getForkMode() {
+        return forkMode;
+    }
+
+    /**
+     * See {@link #getForkMode()}
+     */
+    public void setForkMode(ForkMode forkMode) {
+        this.forkMode = forkMode;
     }
 
     /**
@@ -65,6 +192,42 @@ public class ComparePublicationsTask extends DefaultTask {
         this.dependsOn(sourcesJar);
     }
 
+    /**
+     * Currently built sources jar file, the output of {@link #getSourcesJar()}.
+     */
+    @InputFile @PathSensitive(PathSensitivity.RELATIVE)
+    public File getSourcesJarFile() {
+        return sourcesJar == null ? null : sourcesJar.getArchivePath();
+    }
+
+    /**
+     * SHA-1 hash of {@link #getPreviousSourcesJar()}, null when the file does not exist.
+     */
+    @Input @Optional
+    public String getPreviousSourcesJarHash() {
+        return hashOf(previousSourcesJar);
+    }
+
+    /**
+     * SHA-1 hash of {@link #getPreviousManifest()}, null when the file does not exist.
+     */
+    @Input @Optional
+    public String getPreviousManifestHash() {
+        return hashOf(previousManifest);
+    }
+
+    /**
+     * SHA-1 hash of {@link #getPreviousJar()}, null when the file does not exist.
+     */
+    @Input @Optional
+    public String getPreviousJarHash() {
+        return hashOf(previousJar);
+    }
+
+    private static String hashOf(File file) {
+        return file != null && file.isFile() ? HashUtil.sha1(file) : null;
+    }
+
     /**
      * Previously released sources jar used for comparison with currently built sources jar.
      */
@@ -85,4 +248,126 @@ public class ComparePublicationsTask extends DefaultTask {
     public Jar getSourcesJar() {
         return sourcesJar;
     }
+
+    /**
+     * Content manifest of previously released sources jar, see {@link org.shipkit.internal.comparison.ContentManifest}.
+     * When the file exists, it is used for comparison instead of {@link #getPreviousSourcesJar()}.
+     */
+    public File getPreviousManifest() {
+        return previousManifest;
+    }
+
+    /**
+     * See {@link #getPreviousManifest()}
+     */
+    public void setPreviousManifest(File previousManifest) {
+        this.previousManifest = previousManifest;
+    }
+
+    /**
+     * URL of previously released sources jar, used when {@link #getPreviousSourcesJar()} was not downloaded.
+     * The remote jar is read with HTTP Range requests: its central directory is enough to compare size and CRC-32 of the entries,
+     * content of individual entries is downloaded only when it needs to be compared.
+     * Set by the plugin when {@link DownloadPreviousPublicationsTask#isRangeRequests()} is enabled.
+     */
+    public String getPreviousSourcesJarUrl() {
+        return previousSourcesJarUrl;
+    }
+
+    /**
+     * See {@link #getPreviousSourcesJarUrl()}
+     */
+    public void setPreviousSourcesJarUrl(String previousSourcesJarUrl) {
+        this.previousSourcesJarUrl = previousSourcesJarUrl;
+    }
+
+    /**
+     * Whether content of jar entries with the same size and CRC-32 checksum should still be compared byte by byte.
+     * By default, false - entries with matching size and checksum are considered equal, which makes the comparison fast.
+     */
+    public boolean isStrictComparison() {
+        return strictComparison;
+    }
+
+    /**
+     * See {@link #isStrictComparison()}
+     */
+    public void setStrictComparison(boolean strictComparison) {
+        this.strictComparison = strictComparison;
+    }
+
+    /**
+     * Maximum number of lines of the diff reported for each changed text entry of the sources jar, by default 50.
+     * The diff is cut when it is longer, so that big generated files don't blow up the comparison result.
+     * 0 reports only names of changed entries.
+     * Diffs cannot be reported when the sources jar is compared with content manifest ({@link #getPreviousManifest()}).
+     */
+    public int getDiffLinesPerEntry() {
+        return diffLinesPerEntry;
+    }
+
+    /**
+     * See {@link #getDiffLinesPerEntry()}
+     */
+    public void setDiffLinesPerEntry(int diffLinesPerEntry) {
+        this.diffLinesPerEntry = diffLinesPerEntry;
+    }
+
+    /**
+     * Whether binary jars should be compared in addition to sources jars.
+     * By default, false. Useful when the binaries can change without changes in the sources,
+     * e.g. when the build configuration or the compiler changes.
+     * Classes are compared without debug information and resources are normalized,
+     * see {@link org.shipkit.internal.comparison.BinaryJarComparator}.
+     * When enabled, the plugin sets {@link #getJar()} and downloads {@link #getPreviousJar()}.
+     */
+    public boolean isBinaryComparison() {
+        return binaryComparison;
+    }
+
+    /**
+     * See {@link #isBinaryComparison()}
+     */
+    public synchronized void setBinaryComparison(boolean binaryComparison) {
+        this.binaryComparison = binaryComparison;
+        this.unchanged = null;
+    }
+
+    /**
+     * Sets the binary jar for comparison with {@link #getPreviousJar()}.
+     * Task dependency will be automatically added from this task to jar task supplied as parameter.
+     */
+    public void compareJar(Jar jar) {
+        this.jar = jar;
+        this.dependsOn(jar);
+    }
+
+    /**
+     * Currently built binary jar, compared only when {@link #isBinaryComparison()} is enabled.
+     */
+    public Jar getJar() {
+        return jar;
+    }
+
+    /**
+     * Currently built binary jar file, the output of {@link #getJar()}. Null when binary jar is not compared.
+     */
+    @InputFile @Optional @PathSensitive(PathSensitivity.RELATIVE)
+    public File getJarFile() {
+        return jar == null ? null : jar.getArchivePath();
+    }
+
+    /**
+     * Previously released binary jar used for comparison with {@link #getJar()}.
+     */
+    public File getPreviousJar() {
+        return previousJar;
+    }
+
+    /**
+     * See {@link #getPreviousJar()}
+     */
+    public void setPreviousJar(File previousJar) {
+        this.previousJar = previousJar;
+    }
 }
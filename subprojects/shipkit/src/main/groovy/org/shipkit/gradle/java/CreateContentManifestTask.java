@@ -0,0 +1,55 @@
+package org.shipkit.gradle.java;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.shipkit.internal.comparison.ContentManifest;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+
+/**
+ * Creates content manifest {@link #getOutputFile()} of the {@link #getArchive()}, see {@link ContentManifest}.
+ * The manifest is published with the archive, so that the next release can compare publications
+ * by downloading only the manifest instead of the whole archive.
+ */
+public class CreateContentManifestTask extends DefaultTask {
+
+    @InputFile
+    private File archive;
+    @OutputFile
+    private File outputFile;
+
+    @TaskAction public void createManifest() {
+        IOUtil.writeFile(outputFile, ContentManifest.of(archive).toJson());
+    }
+
+    /**
+     * Archive, for example sources jar, the manifest describes.
+     */
+    public File getArchive() {
+        return archive;
+    }
+
+    /**
+     * See {@link #getArchive()}
+     */
+    public void setArchive(File archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * File to which the manifest in JSON format will be saved.
+     */
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * See {@link #getOutputFile()}
+     */
+    public void setOutputFile(File outputFile) {
+        this.outputFile = outputFile;
+    }
+}
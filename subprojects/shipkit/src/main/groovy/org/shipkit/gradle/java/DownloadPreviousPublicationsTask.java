@@ -2,9 +2,12 @@ package org.shipkit.gradle.java;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
-import org.shipkit.internal.gradle.java.tasks.DownloadPreviousPublications;
+import org.shipkit.internal.comparison.artifact.ArtifactDownloadCache;
+import org.shipkit.internal.gradle.java.tasks.PreviousPublicationsDownloads;
 
 import java.io.File;
 
@@ -12,6 +15,15 @@ import java.io.File;
  * Downloads last release source jar given by {@link #getPreviousSourcesJarUrl()}
  * from repositories (eg. Bintray) and stores it to local file, given by {@link #getPreviousSourcesJarFile()}
  * for further comparison.
+ * <p>
+ * When the previous release published content manifest of the sources jar ({@link #getPreviousManifestUrl()}),
+ * only the small manifest is downloaded and the sources jar is not needed.
+ * When {@link #isRangeRequests()} is enabled, the sources jar is not downloaded at all,
+ * {@link ComparePublicationsTask} reads only the parts of it that are needed for comparison.
+ * Previous binary jar is downloaded only when {@link #getPreviousJarUrl()} is set,
+ * the plugin sets it when {@link ComparePublicationsTask#isBinaryComparison()} is enabled.
+ * <p>
+ * Downloads of all projects in the build run concurrently, see {@link PreviousPublicationsDownloads}.
  *
  * For details of the comparison see {@link ComparePublicationsTask}
  */
@@ -21,9 +33,25 @@ public class DownloadPreviousPublicationsTask extends DefaultTask {
 
     @OutputFile private File previousSourcesJarFile;
 
+    @Input @Optional private String previousManifestUrl;
+
+    @OutputFile @Optional private File previousManifestFile;
+
+    @Input @Optional private String previousJarUrl;
+
+    @OutputFile @Optional private File previousJarFile;
+
+    @Input private boolean rangeRequests;
+
+    @Internal private File downloadCacheDir;
+
+    @Internal private long downloadCacheMaxSize = ArtifactDownloadCache.DEFAULT_MAX_SIZE;
+
+    @Internal private final PreviousPublicationsDownloads downloads = PreviousPublicationsDownloads.of(getProject());
+
     @TaskAction
     public void downloadPreviousPublications() {
-        new DownloadPreviousPublications().downloadPreviousPublications(this);
+        downloads.download(this);
     }
 
     /**
@@ -53,4 +81,112 @@ public class DownloadPreviousPublicationsTask extends DefaultTask {
     public void setPreviousSourcesJarFile(File previousSourcesJar) {
         this.previousSourcesJarFile = previousSourcesJar;
     }
+
+    /**
+     * URL where content manifest of previous version sources jar can be found.
+     * Optional, when not set or the manifest cannot be downloaded, the previous sources jar is downloaded.
+     */
+    public String getPreviousManifestUrl() {
+        return previousManifestUrl;
+    }
+
+    /**
+     * See {@link #getPreviousManifestUrl()}
+     */
+    public void setPreviousManifestUrl(String previousManifestUrl) {
+        this.previousManifestUrl = previousManifestUrl;
+    }
+
+    /**
+     * temporary storage file for downloaded content manifest of previous version sources jar
+     */
+    public File getPreviousManifestFile() {
+        return previousManifestFile;
+    }
+
+    /**
+     * See {@link #getPreviousManifestFile()}
+     */
+    public void setPreviousManifestFile(File previousManifestFile) {
+        this.previousManifestFile = previousManifestFile;
+    }
+
+    /**
+     * URL where previous version binary jar can be found.
+     * Optional, the binary jar is needed only for binary comparison, see {@link ComparePublicationsTask#isBinaryComparison()}.
+     */
+    public String getPreviousJarUrl() {
+        return previousJarUrl;
+    }
+
+    /**
+     * See {@link #getPreviousJarUrl()}
+     */
+    public void setPreviousJarUrl(String previousJarUrl) {
+        this.previousJarUrl = previousJarUrl;
+    }
+
+    /**
+     * temporary storage file for downloaded previous version binary jar
+     */
+    public File getPreviousJarFile() {
+        return previousJarFile;
+    }
+
+    /**
+     * See {@link #getPreviousJarFile()}
+     */
+    public void setPreviousJarFile(File previousJarFile) {
+        this.previousJarFile = previousJarFile;
+    }
+
+    /**
+     * Whether previous sources jar should be read remotely with HTTP Range requests, instead of downloading it.
+     * By default, false. Useful for big sources jars, the comparison needs only the central directory of the jar
+     * (see {@link ComparePublicationsTask#getPreviousSourcesJarUrl()}).
+     * When the repository does not support Range requests, the whole jar is downloaded during the comparison.
+     */
+    public boolean isRangeRequests() {
+        return rangeRequests;
+    }
+
+    /**
+     * See {@link #isRangeRequests()}
+     */
+    public void setRangeRequests(boolean rangeRequests) {
+        this.rangeRequests = rangeRequests;
+    }
+
+    /**
+     * Directory of the cache of downloaded artifacts, shared by all builds (by default, in Gradle user home).
+     * Released artifacts are immutable, so cached artifacts are used without downloading them again.
+     * Only artifacts verified with the checksum or ETag published by the repository are cached,
+     * see {@link ArtifactDownloadCache}.
+     * Optional, when not set the artifacts are downloaded every time.
+     */
+    public File getDownloadCacheDir() {
+        return downloadCacheDir;
+    }
+
+    /**
+     * See {@link #getDownloadCacheDir()}
+     */
+    public void setDownloadCacheDir(File downloadCacheDir) {
+        this.downloadCacheDir = downloadCacheDir;
+    }
+
+    /**
+     * Limit of the total size of the download cache in bytes, by default 512MB.
+     * When the limit is exceeded, least recently used artifacts are removed from the cache.
+     */
+    public long getDownloadCacheMaxSize() {
+        return downloadCacheMaxSize;
+    }
+
+    /**
+     * See {@link #getDownloadCacheMaxSize()}
+     */
+    public void setDownloadCacheMaxSize(long downloadCacheMaxSize) {
+        this.downloadCacheMaxSize = downloadCacheMaxSize;
+    }
 }
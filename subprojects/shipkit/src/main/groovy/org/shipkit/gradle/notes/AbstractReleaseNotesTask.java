@@ -3,6 +3,7 @@ package org.shipkit.gradle.notes;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.shipkit.internal.notes.model.ReleaseNotesData;
 
@@ -27,6 +28,9 @@ public class AbstractReleaseNotesTask extends DefaultTask {
     @Input private Collection<String> developers = new LinkedList<>();
     @Input private Collection<String> contributors = new LinkedList<>();
     @InputFile @Optional private File contributorsDataFile;
+    @Internal private File fragmentCacheDir;
+    @Internal private final File projectDir = getProject().getProjectDir();
+    @InputFile @Optional private File renderedReleaseNotes;
 
     @Input private boolean emphasizeVersion;
     @Input private String version;
@@ -240,6 +244,46 @@ public class AbstractReleaseNotesTask extends DefaultTask {
         return emphasizeVersion;
     }
 
+    /**
+     * Directory of the project, paths of the release notes files are relative to it (e.g. in the link to the release notes).
+     */
+    public File getProjectDir() {
+        return projectDir;
+    }
+
+    /**
+     * Directory where release notes content rendered for each version is cached.
+     * Content of versions that did not change is reused when the release notes are generated again.
+     * Optional, when not set the content is rendered for every version.
+     */
+    public File getFragmentCacheDir() {
+        return fragmentCacheDir;
+    }
+
+    /**
+     * See {@link #getFragmentCacheDir()}
+     */
+    public void setFragmentCacheDir(File fragmentCacheDir) {
+        this.fragmentCacheDir = fragmentCacheDir;
+    }
+
+    /**
+     * Release notes content already rendered by {@link RenderReleaseNotesTask}, the task's Markdown output.
+     * When the file exists, it is used as-is instead of loading the release notes data and generating the content again,
+     * so the header, emphasized version and publication repository are the ones configured on the rendering task.
+     * Optional, when not set the content is generated from {@link #getReleaseNotesData()}.
+     */
+    public File getRenderedReleaseNotes() {
+        return renderedReleaseNotes;
+    }
+
+    /**
+     * See {@link #getRenderedReleaseNotes()}
+     */
+    public void setRenderedReleaseNotes(File renderedReleaseNotes) {
+        this.renderedReleaseNotes = renderedReleaseNotes;
+    }
+
     public String getHeader() {
         return header;
     }
@@ -2,9 +2,11 @@ package org.shipkit.gradle.notes;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.shipkit.internal.gradle.notes.tasks.FetchContributors;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
 
 import java.io.File;
 import java.util.Collection;
@@ -17,6 +19,10 @@ import java.util.Collection;
  * Therefore, we also fetch recent contributors from GitHub using the "commit" end point:
  * https://developer.github.com/v3/repos/commits/
  * This way, we can also fetch the most recent contributors, necessary for correct release notes information.
+ * <p>
+ * When the task is scheduled to run and its output file does not exist yet, the contributors are fetched in the background
+ * from the start of the build, see {@link BackgroundPrefetch}.
+ * Otherwise the task may be up-to-date and the contributors are fetched only when it executes.
  */
 public class FetchGitHubContributorsTask extends DefaultTask {
 
@@ -25,10 +31,11 @@ public class FetchGitHubContributorsTask extends DefaultTask {
     @Input private String readOnlyAuthToken;
     @OutputFile private File outputFile;
     @Input private Collection<String> ignoredContributors;
+    @Internal private final BackgroundPrefetch prefetch = BackgroundPrefetch.of(getProject());
 
     @TaskAction
     public void fetchContributors() {
-        new FetchContributors().fetchContributors(this);
+        new FetchContributors().fetchContributors(this, prefetch);
     }
 
     /**
@@ -1,11 +1,14 @@
 package org.shipkit.gradle.notes;
 
 import org.gradle.api.DefaultTask;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.shipkit.internal.gradle.notes.tasks.FetchReleaseNotes;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
 
 import java.io.File;
 import java.util.Collection;
@@ -14,25 +17,90 @@ import java.util.Collections;
 /**
  * Fetches release notes data information from Git and GitHub
  * and serializes it to file specified with {@link #outputFile}.
+ * <p>
+ * The commits are identified by SHAs of the range endpoints ({@link #getHeadRevision()}, {@link #getPreviousRevision()})
+ * and the ignore rules by their hash ({@link #getIgnoreRulesHash()}), so the task is up-to-date or taken from the build cache
+ * when the commits did not change. The work dir and GitHub token are not part of the cache key.
+ * When the revisions cannot be resolved (e.g. git is not available), the task is never up-to-date nor taken from the build cache.
+ * Note that changes of GitHub issues (e.g. labels) made after the data was fetched are not detected.
+ * <p>
+ * When the task is scheduled to run, its output file does not exist yet and the build cache is disabled,
+ * the data is fetched in the background from the start of the build, see {@link BackgroundPrefetch}.
+ * Otherwise the task may be up-to-date or taken from the build cache and the data is fetched only when it executes.
  */
+@CacheableTask
 public class FetchReleaseNotesTask extends DefaultTask {
 
     @Input @Optional private String previousVersion;
     @Input private String version = getProject().getVersion().toString();
     @Input private String gitHubApiUrl;
-    @Input private String gitHubReadOnlyAuthToken;
+    @Internal private String gitHubReadOnlyAuthToken;
     @Input private String gitHubRepository;
     @Input private String tagPrefix;
     @Input private boolean onlyPullRequests;
-    @Input private File gitWorkDir = getProject().getRootDir();
+    @Internal private File gitWorkDir = getProject().getRootDir();
     @Input private Collection<String> gitHubLabels = Collections.emptyList();
-    @Input private Collection<String> ignoreCommitsContaining;
-    @Input private Collection<String> ignoredContributors;
+    @Internal private Collection<String> ignoreCommitsContaining;
+    @Internal private Collection<String> ignoredContributors;
     @OutputFile private File outputFile;
+    @Internal private final BackgroundPrefetch prefetch = BackgroundPrefetch.of(getProject());
+
+    //resolved once, Gradle evaluates the inputs several times during the build
+    //the fields are not named after the properties, field annotations would hide the getters' annotations
+    @Internal private String resolvedHeadRevision;
+    @Internal private String resolvedPreviousRevision;
+    @Internal private boolean revisionsResolved;
+
+    public FetchReleaseNotesTask() {
+        //without the commits in the inputs, data fetched for different commits would be reused
+        getOutputs().upToDateWhen(t -> isRevisionRangeResolved());
+        getOutputs().cacheIf(t -> isRevisionRangeResolved());
+    }
 
     @TaskAction
     public void fetchReleaseNotes() {
-        new FetchReleaseNotes().fetchReleaseNotes(this);
+        new FetchReleaseNotes().fetchReleaseNotes(this, prefetch);
+    }
+
+    /**
+     * SHA of the HEAD commit, the end of the range of commits included in the release notes data.
+     * Null when it cannot be resolved in {@link #getGitWorkDir()}.
+     */
+    @Input @Optional
+    public String getHeadRevision() {
+        resolveRevisions();
+        return resolvedHeadRevision;
+    }
+
+    /**
+     * SHA of the commit tagged with {@link #getPreviousVersion()}, the start of the range of commits included in the release notes data.
+     * Null when there is no previous version or its tag cannot be resolved.
+     */
+    @Input @Optional
+    public String getPreviousRevision() {
+        resolveRevisions();
+        return resolvedPreviousRevision;
+    }
+
+    private synchronized void resolveRevisions() {
+        if (!revisionsResolved) {
+            FetchReleaseNotes fetchReleaseNotes = new FetchReleaseNotes();
+            resolvedHeadRevision = fetchReleaseNotes.getRevisionSha(this, "HEAD");
+            resolvedPreviousRevision = previousVersion == null ? null : fetchReleaseNotes.getRevisionSha(this, tagPrefix + previousVersion);
+            revisionsResolved = true;
+        }
+    }
+
+    private boolean isRevisionRangeResolved() {
+        return getHeadRevision() != null && (previousVersion == null || getPreviousRevision() != null);
+    }
+
+    /**
+     * Hash of {@link #getIgnoreCommitsContaining()} and {@link #getIgnoredContributors()}.
+     */
+    @Input
+    public String getIgnoreRulesHash() {
+        return new FetchReleaseNotes().getIgnoreRulesHash(this);
     }
 
     /**
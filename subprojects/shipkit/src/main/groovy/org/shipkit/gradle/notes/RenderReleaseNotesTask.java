@@ -0,0 +1,73 @@
+package org.shipkit.gradle.notes;
+
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.shipkit.internal.gradle.notes.tasks.RenderReleaseNotes;
+import org.shipkit.internal.notes.header.HeaderProvider;
+
+import java.io.File;
+
+/**
+ * Renders incremental, detailed release notes in all supported formats: Markdown, HTML and JSON.
+ * Release notes data and contributors are loaded only once and all formats are rendered from the same data.
+ * Markdown content is used by {@link UpdateReleaseNotesTask} and {@link UpdateReleaseNotesOnGitHubTask},
+ * see {@link #getRenderedReleaseNotes()}, so that they don't load the data again.
+ * Header, emphasized version and publication repository of the release notes are configured on this task,
+ * they are inputs of the rendering.
+ */
+public class RenderReleaseNotesTask extends AbstractReleaseNotesTask {
+
+    @OutputFile private File markdownFile;
+    @OutputFile private File htmlFile;
+    @OutputFile private File jsonFile;
+
+    /**
+     * Renders release notes to all output files.
+     */
+    @TaskAction
+    public void renderReleaseNotes() {
+        new RenderReleaseNotes().renderReleaseNotes(this, new HeaderProvider());
+    }
+
+    /**
+     * Release notes in Markdown format, the same content that is appended to {@link #getReleaseNotesFile()}.
+     */
+    public File getMarkdownFile() {
+        return markdownFile;
+    }
+
+    /**
+     * See {@link #getMarkdownFile()}
+     */
+    public void setMarkdownFile(File markdownFile) {
+        this.markdownFile = markdownFile;
+    }
+
+    /**
+     * Release notes as HTML fragment, for example for the project's web page.
+     */
+    public File getHtmlFile() {
+        return htmlFile;
+    }
+
+    /**
+     * See {@link #getHtmlFile()}
+     */
+    public void setHtmlFile(File htmlFile) {
+        this.htmlFile = htmlFile;
+    }
+
+    /**
+     * Release notes in machine-readable JSON format.
+     */
+    public File getJsonFile() {
+        return jsonFile;
+    }
+
+    /**
+     * See {@link #getJsonFile()}
+     */
+    public void setJsonFile(File jsonFile) {
+        this.jsonFile = jsonFile;
+    }
+}
@@ -2,11 +2,14 @@ package org.shipkit.gradle.notes;
 
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
 import org.shipkit.internal.gradle.notes.tasks.UpdateReleaseNotes;
 import org.shipkit.internal.gradle.notes.tasks.UpdateReleaseNotesOnGitHub;
 import org.shipkit.internal.notes.header.HeaderProvider;
 import org.shipkit.internal.util.GitHubApi;
 
+import javax.inject.Inject;
+
 /**
  * Generates incremental, detailed release notes text and appends them to the file {@link #getReleaseNotesFile()}.
  * When preview mode is enabled ({@link #isPreviewMode()}), the new release notes content is displayed only (file is not updated).
@@ -19,14 +22,24 @@ public class UpdateReleaseNotesOnGitHubTask extends AbstractReleaseNotesTask {
     @Input private boolean dryRun;
 
     /**
-     * Generates incremental release notes and appends it to the top of release notes file.
+     * Generates incremental release notes and creates GitHub release with them.
+     * The GitHub release is created in Gradle worker, when the build runs with '--parallel'
+     * other release steps (e.g. pushing javadoc or uploading artifacts) can run in the meantime.
      */
     @TaskAction
     public void updateReleaseNotesOnGitHub() throws Exception {
         GitHubApi gitHubApi = new GitHubApi(gitHubApiUrl, gitHubWriteToken);
         UpdateReleaseNotes updateReleaseNotes = new UpdateReleaseNotes();
         new UpdateReleaseNotesOnGitHub(gitHubApi, updateReleaseNotes)
-            .updateReleaseNotes(this, new HeaderProvider());
+            .submitReleaseNotesUpdate(this, new HeaderProvider(), getWorkerExecutor());
+    }
+
+    /**
+     * Worker executor creating the GitHub release is submitted to, injected by Gradle.
+     */
+    @Inject
+    public WorkerExecutor getWorkerExecutor() {
+        throw new UnsupportedOperationException();
     }
 
     /**
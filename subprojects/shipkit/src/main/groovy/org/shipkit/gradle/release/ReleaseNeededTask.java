@@ -24,6 +24,8 @@ public class ReleaseNeededTask extends DefaultTask {
     private boolean skipComparePublications;
     private boolean explosive;
     private List<File> comparisonResults = new LinkedList<>();
+    private File releaseNeededFile = new File(getProject().getBuildDir(), ReleaseNeeded.RELEASE_NEEDED_FILENAME);
+    private File comparisonReport = new File(getProject().getBuildDir(), ReleaseNeeded.COMPARISON_REPORT_FILENAME);
 
     /**
      * The branch we currently operate on
@@ -129,6 +131,9 @@ public class ReleaseNeededTask extends DefaultTask {
      * If the list is non-empty, files are checked for size. If any of the file size is not 0 it means there are differences.
      * If there are differences, it means the release is needed.
      * If all files are zero size (e.g. they are empty) it means there are no diffs between publications and the release is not needed.
+     * <p>
+     * Only a one line summary of each changed project is logged, details of all changes are written
+     * to {@link #getComparisonReport()}.
      */
     public List<File> getComparisonResults() {
         return comparisonResults;
@@ -141,6 +146,36 @@ public class ReleaseNeededTask extends DefaultTask {
         this.comparisonResults = comparisonResults;
     }
 
+    /**
+     * Empty file created when the release is needed, by default "build/release-needed.txt".
+     * Any previous file is deleted when the task runs.
+     */
+    public File getReleaseNeededFile() {
+        return releaseNeededFile;
+    }
+
+    /**
+     * See {@link #getReleaseNeededFile()}
+     */
+    public void setReleaseNeededFile(File releaseNeededFile) {
+        this.releaseNeededFile = releaseNeededFile;
+    }
+
+    /**
+     * Report with details of all publication changes, by default "build/publications-comparison-report.txt".
+     * Written only when publications changed, see {@link #getComparisonResults()}.
+     */
+    public File getComparisonReport() {
+        return comparisonReport;
+    }
+
+    /**
+     * See {@link #getComparisonReport()}
+     */
+    public void setComparisonReport(File comparisonReport) {
+        this.comparisonReport = comparisonReport;
+    }
+
     @TaskAction public boolean releaseNeeded() {
         return new ReleaseNeeded().releaseNeeded(this);
     }
@@ -0,0 +1,262 @@
+package org.shipkit.internal.comparison;
+
+import org.shipkit.internal.comparison.diff.Diff;
+import org.shipkit.internal.comparison.diff.DirectoryDiffGenerator;
+import org.shipkit.internal.util.ExposedForTesting;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import static java.lang.String.format;
+import static org.shipkit.internal.util.ArgumentValidation.notNull;
+
+/**
+ * Compares binary jars by hashes of normalized content of their entries.
+ * Timestamps and order of the entries are ignored, like for any zip comparison.
+ * Classes are hashed without debug information, see {@link ClassFileNormalizer},
+ * so that recompiling the same code with different line numbers or local variable names does not make them different.
+ * Resources are normalized:
+ * <ul>
+ *     <li>MANIFEST.MF - order of attributes is ignored,
+ *     as well as attributes describing the build (e.g. 'Created-By') or the version (e.g. 'Implementation-Version')</li>
+ *     <li>*.properties - comments (e.g. timestamp written by {@link Properties#store}) and order of properties are ignored</li>
+ *     <li>other resources - compared as-is</li>
+ * </ul>
+ * Entries of both jars are hashed in parallel.
+ * The result uses the same {@link Diff} model as the comparison of sources jars.
+ */
+public class BinaryJarComparator {
+
+    private static final int MIN_ENTRIES_PER_WORKER = 16;
+
+    private static final Set<String> VOLATILE_MANIFEST_ATTRIBUTES = new HashSet<>(Arrays.asList(
+        "created-by", "built-by", "build-jdk", "build-jdk-spec", "build-date", "build-time", "build-timestamp",
+        "bnd-lastmodified", "tool", "implementation-version", "specification-version", "bundle-version"));
+
+    private final DirectoryDiffGenerator directoryDiffGenerator = new DirectoryDiffGenerator();
+    private final int threads;
+
+    public BinaryJarComparator() {
+        this(ZipComparator.DEFAULT_THREADS);
+    }
+
+    /**
+     * @param threads maximum number of threads hashing entries, 1 hashes on the calling thread only
+     */
+    @ExposedForTesting
+    BinaryJarComparator(int threads) {
+        this.threads = threads;
+    }
+
+    public Diff areEqual(File previousJar, File currentJar) {
+        notNull(previousJar, "previous version jar to compare", currentJar, "current version jar to compare");
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        try (LocalZipFile previous = LocalZipFile.open(previousJar); LocalZipFile current = LocalZipFile.open(currentJar)) {
+            List<Future<Map<String, String>>> previousHashes = hash(executor, previous);
+            List<Future<Map<String, String>>> currentHashes = hash(executor, current);
+            return compare(previous, join(previous, previousHashes), join(current, currentHashes));
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private Diff compare(LocalZipFile previous, Map<String, String> previousHashes, Map<String, String> currentHashes) {
+        List<String> addedFiles = new ArrayList<>();
+        List<String> removedFiles = new ArrayList<>();
+        List<String> changedFiles = new ArrayList<>();
+
+        //iterating in the order of entries keeps the result deterministic
+        for (String name : previous.getEntryNames()) {
+            if (!previousHashes.containsKey(name)) {
+                continue;
+            }
+            String currentHash = currentHashes.remove(name);
+            if (currentHash == null) {
+                removedFiles.add(name);
+            } else if (!currentHash.equals(previousHashes.get(name))) {
+                changedFiles.add(name);
+            }
+        }
+        addedFiles.addAll(new TreeMap<>(currentHashes).keySet());
+
+        if (addedFiles.isEmpty() && removedFiles.isEmpty() && changedFiles.isEmpty()) {
+            return Diff.ofEqualFiles();
+        }
+        return Diff.ofDifferentFiles(directoryDiffGenerator.generateDiffOutput(addedFiles, removedFiles, changedFiles),
+            addedFiles.size(), removedFiles.size(), changedFiles.size());
+    }
+
+    /**
+     * Submits hashing of the entries, partitioned across the workers.
+     * Without the executor, or with few entries, nothing is submitted and the entries are hashed when the result is joined.
+     */
+    private List<Future<Map<String, String>>> hash(ExecutorService executor, final LocalZipFile zip) {
+        List<Future<Map<String, String>>> futures = new ArrayList<>();
+        List<String> names = fileNames(zip);
+        int workers = Math.min(threads, names.size() / MIN_ENTRIES_PER_WORKER);
+        if (executor == null || workers <= 1) {
+            return futures;
+        }
+        int chunk = (names.size() + workers - 1) / workers;
+        for (int i = 0; i < names.size(); i += chunk) {
+            final List<String> part = names.subList(i, Math.min(names.size(), i + chunk));
+            futures.add(executor.submit(() -> hashEntries(zip, part)));
+        }
+        return futures;
+    }
+
+    private Map<String, String> join(LocalZipFile zip, List<Future<Map<String, String>>> futures) {
+        if (futures.isEmpty()) {
+            return hashEntries(zip, fileNames(zip));
+        }
+        try {
+            Map<String, String> result = new HashMap<>();
+            for (Future<Map<String, String>> future : futures) {
+                result.putAll(future.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Unable to hash entries of '" + zip.getName() + "'", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing entries of '" + zip.getName() + "'", e);
+        }
+    }
+
+    private static List<String> fileNames(LocalZipFile zip) {
+        List<String> names = new ArrayList<>();
+        for (String name : zip.getEntryNames()) {
+            if (!name.endsWith("/")) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private static Map<String, String> hashEntries(LocalZipFile zip, List<String> names) {
+        Map<String, String> result = new HashMap<>();
+        MessageDigest digest = HashUtil.digest("SHA-1");
+        for (String name : names) {
+            try {
+                result.put(name, hash(name, readContent(zip, name), digest));
+            } catch (IOException e) {
+                throw new RuntimeException(format("Unable to hash jar entry '%s' found in '%s'", name, zip.getName()), e);
+            }
+        }
+        return result;
+    }
+
+    private static String hash(String name, byte[] content, MessageDigest digest) throws IOException {
+        digest.reset();
+        DataOutputStream out = new DataOutputStream(new DigestOutputStream(new NullOutputStream(), digest));
+        normalize(name, content, out);
+        out.flush();
+        return HashUtil.hex(digest.digest());
+    }
+
+    private static void normalize(String name, byte[] content, DataOutputStream out) throws IOException {
+        if (name.endsWith(".class")) {
+            ByteArrayOutputStream normalized = new ByteArrayOutputStream(content.length);
+            try {
+                ClassFileNormalizer.write(content, new DataOutputStream(normalized));
+            } catch (IOException | RuntimeException e) {
+                //not a valid class file, compared as-is
+                out.write(content);
+                return;
+            }
+            normalized.writeTo(out);
+        } else if (name.equalsIgnoreCase("META-INF/MANIFEST.MF")) {
+            Manifest manifest = new Manifest(new ByteArrayInputStream(content));
+            writeAttributes(manifest.getMainAttributes(), out);
+            for (Map.Entry<String, Attributes> section : new TreeMap<>(manifest.getEntries()).entrySet()) {
+                out.writeUTF(section.getKey());
+                writeAttributes(section.getValue(), out);
+            }
+        } else if (name.endsWith(".properties")) {
+            Properties properties = new Properties();
+            properties.load(new ByteArrayInputStream(content));
+            for (String key : new TreeMap<>(toStrings(properties)).keySet()) {
+                out.writeUTF(key);
+                out.writeUTF(properties.getProperty(key));
+            }
+        } else {
+            out.write(content);
+        }
+    }
+
+    private static void writeAttributes(Attributes attributes, DataOutputStream out) throws IOException {
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<Object, Object> a : attributes.entrySet()) {
+            String key = a.getKey().toString().toLowerCase();
+            if (!VOLATILE_MANIFEST_ATTRIBUTES.contains(key)) {
+                sorted.put(key, a.getValue().toString());
+            }
+        }
+        out.writeInt(sorted.size());
+        for (Map.Entry<String, String> a : sorted.entrySet()) {
+            out.writeUTF(a.getKey());
+            out.write(a.getValue().getBytes(StandardCharsets.UTF_8));
+            out.writeByte('\n');
+        }
+    }
+
+    private static Map<String, String> toStrings(Properties properties) {
+        Map<String, String> result = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            result.put(key, properties.getProperty(key));
+        }
+        return result;
+    }
+
+    private static byte[] readContent(LocalZipFile zip, String name) throws IOException {
+        ZipArchive.Entry entry = zip.getEntry(name);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(entry.getSize() > 0 ? (int) entry.getSize() : 4096);
+        try (InputStream in = zip.getInputStream(entry)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package org.shipkit.internal.comparison;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Writes canonical form of a class file, that does not depend on the debug information.
+ * Debug attributes (source file, line numbers, local variable names) are dropped.
+ * References to the constant pool are replaced with the referenced values,
+ * so that the form does not depend on the layout of the constant pool either,
+ * which changes when debug information changes.
+ * <p>
+ * Attributes that are not known are written as-is, which can only make the classes different, never equal by mistake.
+ */
+class ClassFileNormalizer {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final Set<String> DEBUG_ATTRIBUTES = new HashSet<>(Arrays.asList(
+        "SourceFile", "SourceDebugExtension", "LineNumberTable", "LocalVariableTable", "LocalVariableTypeTable"));
+
+    //attributes with a single reference to the constant pool
+    private static final Set<String> REFERENCE_ATTRIBUTES = new HashSet<>(Arrays.asList(
+        "ConstantValue", "Signature", "NestHost", "ModuleMainClass"));
+
+    //attributes with a list of references to the constant pool
+    private static final Set<String> REFERENCE_LIST_ATTRIBUTES = new HashSet<>(Arrays.asList(
+        "Exceptions", "NestMembers", "PermittedSubclasses"));
+
+    private final Object[] pool;
+    private final DataOutputStream out;
+
+    private ClassFileNormalizer(Object[] pool, DataOutputStream out) {
+        this.pool = pool;
+        this.out = out;
+    }
+
+    /**
+     * Writes canonical form of given class file
+     *
+     * @throws IOException when the content is not a valid class file
+     */
+    static void write(byte[] classFile, DataOutputStream out) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        out.writeShort(in.readUnsignedShort());
+        out.writeShort(in.readUnsignedShort());
+
+        ClassFileNormalizer normalizer = new ClassFileNormalizer(readConstantPool(in), out);
+        normalizer.writeClass(in);
+    }
+
+    private void writeClass(DataInputStream in) throws IOException {
+        out.writeShort(in.readUnsignedShort());
+        writeReference(in.readUnsignedShort());
+        writeReference(in.readUnsignedShort());
+        int interfaces = in.readUnsignedShort();
+        out.writeShort(interfaces);
+        for (int i = 0; i < interfaces; i++) {
+            writeReference(in.readUnsignedShort());
+        }
+        //fields and methods have the same structure
+        for (int kind = 0; kind < 2; kind++) {
+            int members = in.readUnsignedShort();
+            out.writeShort(members);
+            for (int i = 0; i < members; i++) {
+                out.writeShort(in.readUnsignedShort());
+                writeReference(in.readUnsignedShort());
+                writeReference(in.readUnsignedShort());
+                writeAttributes(in);
+            }
+        }
+        writeAttributes(in);
+    }
+
+    private void writeAttributes(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = (String) pool[in.readUnsignedShort()];
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            if (!DEBUG_ATTRIBUTES.contains(name)) {
+                out.writeUTF(name);
+                writeAttribute(name, new DataInputStream(new ByteArrayInputStream(body)), body);
+            }
+        }
+        //marks the end of the attributes, the count would include the dropped ones
+        out.writeUTF("");
+    }
+
+    private void writeAttribute(String name, DataInputStream in, byte[] body) throws IOException {
+        if (REFERENCE_ATTRIBUTES.contains(name)) {
+            writeReference(in.readUnsignedShort());
+        } else if (REFERENCE_LIST_ATTRIBUTES.contains(name)) {
+            writeReferences(in, in.readUnsignedShort());
+        } else if (name.equals("Code")) {
+            writeCode(in);
+        } else if (name.equals("InnerClasses")) {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                writeReferences(in, 3);
+                out.writeShort(in.readUnsignedShort());
+            }
+        } else if (name.equals("EnclosingMethod")) {
+            writeReferences(in, 2);
+        } else if (name.equals("StackMapTable")) {
+            writeStackMapTable(in);
+        } else if (name.equals("BootstrapMethods")) {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                writeReference(in.readUnsignedShort());
+                writeReferences(in, in.readUnsignedShort());
+            }
+        } else if (name.equals("RuntimeVisibleAnnotations") || name.equals("RuntimeInvisibleAnnotations")) {
+            writeAnnotations(in);
+        } else if (name.equals("RuntimeVisibleParameterAnnotations") || name.equals("RuntimeInvisibleParameterAnnotations")) {
+            int parameters = in.readUnsignedByte();
+            for (int i = 0; i < parameters; i++) {
+                writeAnnotations(in);
+            }
+        } else if (name.equals("AnnotationDefault")) {
+            writeElementValue(in);
+        } else if (name.equals("MethodParameters")) {
+            int count = in.readUnsignedByte();
+            for (int i = 0; i < count; i++) {
+                writeReference(in.readUnsignedShort());
+                out.writeShort(in.readUnsignedShort());
+            }
+        } else {
+            out.writeInt(body.length);
+            out.write(body);
+        }
+    }
+
+    private void writeCode(DataInputStream in) throws IOException {
+        out.writeShort(in.readUnsignedShort());
+        out.writeShort(in.readUnsignedShort());
+        byte[] code = new byte[in.readInt()];
+        in.readFully(code);
+        writeInstructions(code);
+        int exceptions = in.readUnsignedShort();
+        for (int i = 0; i < exceptions; i++) {
+            out.writeShort(in.readUnsignedShort());
+            out.writeShort(in.readUnsignedShort());
+            out.writeShort(in.readUnsignedShort());
+            writeReference(in.readUnsignedShort());
+        }
+        writeAttributes(in);
+    }
+
+    private void writeInstructions(byte[] code) throws IOException {
+        int i = 0;
+        while (i < code.length) {
+            int opcode = code[i] & 0xFF;
+            if (opcode == 0x12 || opcode == 0x13) {
+                //ldc and ldc_w are the same instruction, the choice depends on the size of the constant pool
+                out.writeByte(0x13);
+                writeReference(opcode == 0x12 ? code[i + 1] & 0xFF : u2(code, i + 1));
+                i += opcode == 0x12 ? 2 : 3;
+            } else if (opcode == 0x14 || (opcode >= 0xb2 && opcode <= 0xb8) || opcode == 0xbb || opcode == 0xbd
+                || opcode == 0xc0 || opcode == 0xc1) {
+                out.writeByte(opcode);
+                writeReference(u2(code, i + 1));
+                i += 3;
+            } else if (opcode == 0xb9 || opcode == 0xba) {
+                //invokeinterface and invokedynamic: reference and two bytes of other operands
+                out.writeByte(opcode);
+                writeReference(u2(code, i + 1));
+                out.write(code, i + 3, 2);
+                i += 5;
+            } else if (opcode == 0xc5) {
+                out.writeByte(opcode);
+                writeReference(u2(code, i + 1));
+                out.writeByte(code[i + 3]);
+                i += 4;
+            } else if (opcode == 0xaa || opcode == 0xab) {
+                //tableswitch and lookupswitch, padding depends on the position of the instruction
+                int start = (i + 4) & ~3;
+                int length = opcode == 0xaa
+                    ? 12 + 4 * (s4(code, start + 8) - s4(code, start + 4) + 1)
+                    : 8 + 8 * s4(code, start + 4);
+                out.writeByte(opcode);
+                out.write(code, start, length);
+                i = start + length;
+            } else {
+                int length = 1 + operandLength(opcode, code, i);
+                out.write(code, i, length);
+                i += length;
+            }
+        }
+    }
+
+    private static int operandLength(int opcode, byte[] code, int i) throws IOException {
+        if (opcode == 0x10 || (opcode >= 0x15 && opcode <= 0x19) || (opcode >= 0x36 && opcode <= 0x3a) || opcode == 0xa9 || opcode == 0xbc) {
+            return 1;
+        }
+        if (opcode == 0x11 || opcode == 0x84 || (opcode >= 0x99 && opcode <= 0xa8) || opcode == 0xc6 || opcode == 0xc7) {
+            return 2;
+        }
+        if (opcode == 0xc8 || opcode == 0xc9) {
+            return 4;
+        }
+        if (opcode == 0xc4) {
+            //wide iinc has two 2-byte operands, other wide instructions have one
+            return (code[i + 1] & 0xFF) == 0x84 ? 5 : 3;
+        }
+        if (opcode > 0xc9) {
+            throw new IOException("Unknown opcode " + opcode);
+        }
+        return 0;
+    }
+
+    private void writeStackMapTable(DataInputStream in) throws IOException {
+        int frames = in.readUnsignedShort();
+        for (int i = 0; i < frames; i++) {
+            int type = in.readUnsignedByte();
+            out.writeByte(type);
+            if (type >= 64 && type <= 127) {
+                writeVerificationType(in);
+            } else if (type == 247) {
+                out.writeShort(in.readUnsignedShort());
+                writeVerificationType(in);
+            } else if (type >= 248 && type <= 251) {
+                out.writeShort(in.readUnsignedShort());
+            } else if (type >= 252 && type <= 254) {
+                out.writeShort(in.readUnsignedShort());
+                for (int j = 0; j < type - 251; j++) {
+                    writeVerificationType(in);
+                }
+            } else if (type == 255) {
+                out.writeShort(in.readUnsignedShort());
+                for (int part = 0; part < 2; part++) {
+                    int count = in.readUnsignedShort();
+                    out.writeShort(count);
+                    for (int j = 0; j < count; j++) {
+                        writeVerificationType(in);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeVerificationType(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        out.writeByte(tag);
+        if (tag == 7) {
+            writeReference(in.readUnsignedShort());
+        } else if (tag == 8) {
+            out.writeShort(in.readUnsignedShort());
+        }
+    }
+
+    private void writeAnnotations(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        out.writeShort(count);
+        for (int i = 0; i < count; i++) {
+            writeAnnotation(in);
+        }
+    }
+
+    private void writeAnnotation(DataInputStream in) throws IOException {
+        writeReference(in.readUnsignedShort());
+        int pairs = in.readUnsignedShort();
+        out.writeShort(pairs);
+        for (int i = 0; i < pairs; i++) {
+            writeReference(in.readUnsignedShort());
+            writeElementValue(in);
+        }
+    }
+
+    private void writeElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        out.writeByte(tag);
+        switch (tag) {
+            case 'e':
+                writeReferences(in, 2);
+                break;
+            case '@':
+                writeAnnotation(in);
+                break;
+            case '[':
+                int count = in.readUnsignedShort();
+                out.writeShort(count);
+                for (int i = 0; i < count; i++) {
+                    writeElementValue(in);
+                }
+                break;
+            default:
+                //constants and class literals
+                writeReference(in.readUnsignedShort());
+        }
+    }
+
+    private void writeReferences(DataInputStream in, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writeReference(in.readUnsignedShort());
+        }
+    }
+
+    private void writeReference(int index) throws IOException {
+        out.writeUTF(resolve(index));
+    }
+
+    //canonical text of the constant, 0 index means no reference
+    private String resolve(int index) throws IOException {
+        if (index == 0) {
+            return "";
+        }
+        if (index >= pool.length || pool[index] == null) {
+            throw new IOException("Invalid constant pool index " + index);
+        }
+        Object constant = pool[index];
+        if (!(constant instanceof int[])) {
+            return constant.toString();
+        }
+        int[] reference = (int[]) constant;
+        StringBuilder sb = new StringBuilder().append((char) reference[0]);
+        for (int i = 1; i < reference.length; i++) {
+            sb.append(i == 1 ? ':' : ' ').append(i == 1 && isNotPoolIndex(reference[0]) ? String.valueOf(reference[i]) : resolve(reference[i]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Whether the first value of the reference with given tag is a plain number:
+     * reference kind of MethodHandle (15), index to BootstrapMethods attribute of Dynamic (17) and InvokeDynamic (18)
+     */
+    private static boolean isNotPoolIndex(int tag) {
+        return tag == 15 || tag == 17 || tag == 18;
+    }
+
+    /**
+     * Constants are kept as String for text (Utf8), as boxed values for numbers,
+     * and as int arrays for references: tag followed by the referenced indexes.
+     */
+    private static Object[] readConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        Object[] pool = new Object[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    pool[i] = in.readUTF();
+                    break;
+                case 3:
+                    pool[i] = "I" + in.readInt();
+                    break;
+                case 4:
+                    pool[i] = "F" + in.readInt();
+                    break;
+                case 5:
+                    pool[i] = "J" + in.readLong();
+                    i++;
+                    break;
+                case 6:
+                    pool[i] = "D" + in.readLong();
+                    i++;
+                    break;
+                case 7: case 8: case 16: case 19: case 20:
+                    pool[i] = new int[]{tag, in.readUnsignedShort()};
+                    break;
+                case 9: case 10: case 11: case 12: case 17: case 18:
+                    pool[i] = new int[]{tag, in.readUnsignedShort(), in.readUnsignedShort()};
+                    break;
+                case 15:
+                    pool[i] = new int[]{tag, in.readUnsignedByte(), in.readUnsignedShort()};
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        return pool;
+    }
+
+    private static int u2(byte[] code, int i) {
+        return ((code[i] & 0xFF) << 8) | (code[i + 1] & 0xFF);
+    }
+
+    private static int s4(byte[] code, int i) {
+        return (code[i] << 24) | ((code[i + 1] & 0xFF) << 16) | ((code[i + 2] & 0xFF) << 8) | (code[i + 3] & 0xFF);
+    }
+}
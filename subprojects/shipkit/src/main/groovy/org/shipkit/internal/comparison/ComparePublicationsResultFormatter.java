@@ -6,7 +6,8 @@ import org.shipkit.internal.gradle.java.tasks.ComparePublications;
 import java.io.File;
 
 /**
- * Creates an aggregated comparison result, for publication comparison of sources jars and dependency-info.md files.
+ * Creates an aggregated comparison result, for publication comparison of sources jars and dependency-info.md files,
+ * and optionally binary jars.
  * See {@link ComparePublications} for details.
  */
 public class ComparePublicationsResultFormatter {
@@ -17,12 +18,20 @@ public class ComparePublicationsResultFormatter {
 
     public String formatResults(File previousSourcesJar, File currentSourcesJar,
                                 Diff sourcesJarDiff, Diff dependencyInfoFilesDiff) {
+        return formatResults(previousSourcesJar.getAbsolutePath(), currentSourcesJar.getAbsolutePath(), sourcesJarDiff, dependencyInfoFilesDiff);
+    }
+
+    /**
+     * See {@link #formatResults(File, File, Diff, Diff)}, previous sources jar can be given by its URL
+     */
+    public String formatResults(String previousSourcesJar, String currentSourcesJar,
+                                Diff sourcesJarDiff, Diff dependencyInfoFilesDiff) {
 
         String result = "";
 
         // add diff between sources jars
         if (!sourcesJarDiff.areFilesEqual()) {
-            result += getFileComparisonHeader(previousSourcesJar.getAbsolutePath(), currentSourcesJar.getAbsolutePath());
+            result += getFileComparisonHeader(previousSourcesJar, currentSourcesJar);
             result +=  sourcesJarDiff.getDiffOutput();
         }
 
@@ -40,8 +49,23 @@ public class ComparePublicationsResultFormatter {
         return result;
     }
 
-    private String getDependencyInfoFilePath(File jar) {
-        return jar.getAbsolutePath() + "/" + ComparePublications.DEPENDENCY_INFO_FILEPATH;
+    /**
+     * Adds differences between binary jars to the result created by {@link #formatResults(String, String, Diff, Diff)}
+     */
+    public String appendBinaryJarResults(String result, String previousJar, String currentJar, Diff binaryJarDiff) {
+        if (binaryJarDiff.areFilesEqual()) {
+            return result;
+        }
+        if (!result.isEmpty()) {
+            result += "\n\n";
+        }
+        result += getFileComparisonHeader(previousJar, currentJar);
+        result += binaryJarDiff.getDiffOutput();
+        return result;
+    }
+
+    private String getDependencyInfoFilePath(String jar) {
+        return jar + "/" + ComparePublications.DEPENDENCY_INFO_FILEPATH;
     }
 
     private String getFileComparisonHeader(String previousFilePath, String currentFilePath) {
@@ -0,0 +1,123 @@
+package org.shipkit.internal.comparison;
+
+import org.shipkit.internal.comparison.diff.Diff;
+import org.shipkit.internal.gradle.util.StringUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Small summary of the publication comparison of a single project, with numbers of changes.
+ * Written next to the detailed comparison result (see {@link #summaryFileOf(File)}),
+ * so that the results of all projects can be summarized without reading the details.
+ */
+public class ComparisonSummary {
+
+    private final String project;
+    private final int addedFiles;
+    private final int removedFiles;
+    private final int modifiedFiles;
+    private final boolean dependenciesChanged;
+    private final int binaryJarChanges;
+
+    public ComparisonSummary(String project, Diff sourcesJarDiff, Diff dependencyInfoDiff, Diff binaryJarDiff) {
+        this(project, sourcesJarDiff.getAddedFiles(), sourcesJarDiff.getRemovedFiles(), sourcesJarDiff.getModifiedFiles(),
+            !dependencyInfoDiff.areFilesEqual(),
+            binaryJarDiff == null ? 0 : binaryJarDiff.getAddedFiles() + binaryJarDiff.getRemovedFiles() + binaryJarDiff.getModifiedFiles());
+    }
+
+    private ComparisonSummary(String project, int addedFiles, int removedFiles, int modifiedFiles,
+                              boolean dependenciesChanged, int binaryJarChanges) {
+        this.project = project;
+        this.addedFiles = addedFiles;
+        this.removedFiles = removedFiles;
+        this.modifiedFiles = modifiedFiles;
+        this.dependenciesChanged = dependenciesChanged;
+        this.binaryJarChanges = binaryJarChanges;
+    }
+
+    /**
+     * Location of the summary of given comparison result file
+     */
+    public static File summaryFileOf(File comparisonResult) {
+        String name = comparisonResult.getName();
+        int extension = name.lastIndexOf('.');
+        return new File(comparisonResult.getParentFile(), (extension > 0 ? name.substring(0, extension) : name) + "-summary.properties");
+    }
+
+    /**
+     * Reads the summary of given comparison result file, returns null when there is no summary
+     */
+    public static ComparisonSummary of(File comparisonResult) {
+        File file = summaryFileOf(comparisonResult);
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties p = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            p.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Problems reading comparison summary " + file, e);
+        }
+        return new ComparisonSummary(p.getProperty("project"),
+            Integer.parseInt(p.getProperty("addedFiles", "0")),
+            Integer.parseInt(p.getProperty("removedFiles", "0")),
+            Integer.parseInt(p.getProperty("modifiedFiles", "0")),
+            Boolean.parseBoolean(p.getProperty("dependenciesChanged")),
+            Integer.parseInt(p.getProperty("binaryJarChanges", "0")));
+    }
+
+    /**
+     * Writes the summary of given comparison result file
+     */
+    public void writeFor(File comparisonResult) {
+        Properties p = new Properties();
+        p.setProperty("project", project);
+        p.setProperty("addedFiles", String.valueOf(addedFiles));
+        p.setProperty("removedFiles", String.valueOf(removedFiles));
+        p.setProperty("modifiedFiles", String.valueOf(modifiedFiles));
+        p.setProperty("dependenciesChanged", String.valueOf(dependenciesChanged));
+        p.setProperty("binaryJarChanges", String.valueOf(binaryJarChanges));
+        File file = summaryFileOf(comparisonResult);
+        file.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(file)) {
+            p.store(out, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Problems writing comparison summary " + file, e);
+        }
+    }
+
+    /**
+     * One line description of the changes, e.g. ":api - sources jar: 1 added, 2 modified files, dependencies changed"
+     */
+    public String describe() {
+        List<String> changes = new ArrayList<>();
+        List<String> files = new ArrayList<>();
+        addCount(files, addedFiles, "added");
+        addCount(files, removedFiles, "removed");
+        addCount(files, modifiedFiles, "modified");
+        if (!files.isEmpty()) {
+            changes.add("sources jar: " + StringUtil.join(files, ", ") + " files");
+        }
+        if (dependenciesChanged) {
+            changes.add("dependencies changed");
+        }
+        if (binaryJarChanges > 0) {
+            changes.add("binary jar: " + binaryJarChanges + " changed entries");
+        }
+        return project + " - " + (changes.isEmpty() ? "no changes" : StringUtil.join(changes, ", "));
+    }
+
+    private static void addCount(List<String> result, int count, String change) {
+        if (count > 0) {
+            result.add(count + " " + change);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.shipkit.internal.comparison;
+
+import org.json.simple.DeserializationException;
+import org.json.simple.JsonArray;
+import org.json.simple.JsonObject;
+import org.json.simple.Jsoner;
+import org.shipkit.internal.comparison.diff.Diff;
+import org.shipkit.internal.comparison.diff.DirectoryDiffGenerator;
+import org.shipkit.internal.gradle.java.tasks.ComparePublications;
+import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small description of the content of an archive: path, size and SHA-256 hash of every entry.
+ * It is published next to the sources jar, so that publications can be compared without downloading the previous jar.
+ * Content of dependency-info.md is included as well, so that the changes in dependencies can be shown in detail.
+ */
+public class ContentManifest {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, EntryInfo> entries;
+    private final String dependencyInfo;
+
+    private ContentManifest(Map<String, EntryInfo> entries, String dependencyInfo) {
+        this.entries = entries;
+        this.dependencyInfo = dependencyInfo;
+    }
+
+    /**
+     * Creates manifest of given archive, hashing uncompressed content of each entry
+     */
+    public static ContentManifest of(File archive) {
+        Map<String, EntryInfo> entries = new LinkedHashMap<>();
+        String dependencyInfo = null;
+        try (LocalZipFile zip = LocalZipFile.open(archive)) {
+            byte[] buffer = new byte[8192];
+            for (String name : zip.getEntryNames()) {
+                ZipArchive.Entry entry = zip.getEntry(name);
+                MessageDigest digest = HashUtil.digest("SHA-256");
+                try (InputStream content = zip.getInputStream(entry)) {
+                    int count;
+                    while ((count = content.read(buffer)) != -1) {
+                        digest.update(buffer, 0, count);
+                    }
+                    if (name.equals(ComparePublications.DEPENDENCY_INFO_FILEPATH)) {
+                        dependencyInfo = IOUtil.readFully(zip.getInputStream(entry));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException("Problems reading entry '" + name + "' of " + archive, e);
+                }
+                entries.put(name, new EntryInfo(entry.getSize(), HashUtil.hex(digest.digest())));
+            }
+        }
+        return new ContentManifest(entries, dependencyInfo);
+    }
+
+    /**
+     * Content of dependency-info.md file of the archive, or null if the archive does not contain it
+     */
+    public String getDependencyInfo() {
+        return dependencyInfo;
+    }
+
+    /**
+     * Compares entries of the manifests, ignoring dependency-info.md file.
+     * The diff has the same format as the diff produced by {@link ZipComparator}.
+     */
+    public static Diff compare(ContentManifest previous, ContentManifest current) {
+        List<String> addedFiles = new ArrayList<>();
+        List<String> removedFiles = new ArrayList<>();
+        List<String> changedFiles = new ArrayList<>();
+
+        for (Map.Entry<String, EntryInfo> e : previous.entries.entrySet()) {
+            EntryInfo currentEntry = current.entries.get(e.getKey());
+            if (currentEntry == null) {
+                removedFiles.add(e.getKey());
+            } else if (!currentEntry.equals(e.getValue())) {
+                changedFiles.add(e.getKey());
+            }
+        }
+        for (String name : current.entries.keySet()) {
+            if (!previous.entries.containsKey(name)) {
+                addedFiles.add(name);
+            }
+        }
+        addedFiles.remove(ComparePublications.DEPENDENCY_INFO_FILEPATH);
+        removedFiles.remove(ComparePublications.DEPENDENCY_INFO_FILEPATH);
+        changedFiles.remove(ComparePublications.DEPENDENCY_INFO_FILEPATH);
+
+        if (addedFiles.isEmpty() && removedFiles.isEmpty() && changedFiles.isEmpty()) {
+            return Diff.ofEqualFiles();
+        }
+        return Diff.ofDifferentFiles(new DirectoryDiffGenerator().generateDiffOutput(addedFiles, removedFiles, changedFiles),
+            addedFiles.size(), removedFiles.size(), changedFiles.size());
+    }
+
+    public String toJson() {
+        JsonArray entriesJson = new JsonArray();
+        for (Map.Entry<String, EntryInfo> e : entries.entrySet()) {
+            JsonObject entry = new JsonObject();
+            entry.put("path", e.getKey());
+            entry.put("size", e.getValue().size);
+            entry.put("sha256", e.getValue().sha256);
+            entriesJson.add(entry);
+        }
+        JsonObject json = new JsonObject();
+        json.put("version", FORMAT_VERSION);
+        json.put("entries", entriesJson);
+        json.put("dependencyInfo", dependencyInfo);
+        return Jsoner.prettyPrint(json.toJson());
+    }
+
+    public static ContentManifest fromJson(String json) {
+        try {
+            JsonObject object = (JsonObject) Jsoner.deserialize(json);
+            int version = object.getInteger("version");
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported content manifest version: " + version);
+            }
+            Map<String, EntryInfo> entries = new LinkedHashMap<>();
+            for (Object o : (JsonArray) object.get("entries")) {
+                JsonObject entry = (JsonObject) o;
+                entries.put(entry.getString("path"),
+                    new EntryInfo(((BigDecimal) entry.get("size")).longValue(), entry.getString("sha256")));
+            }
+            return new ContentManifest(entries, object.getString("dependencyInfo"));
+        } catch (DeserializationException e) {
+            throw new RuntimeException("Problems parsing content manifest", e);
+        }
+    }
+
+    private static class EntryInfo {
+        private final long size;
+        private final String sha256;
+
+        EntryInfo(long size, String sha256) {
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof EntryInfo)) {
+                return false;
+            }
+            EntryInfo other = (EntryInfo) o;
+            return size == other.size && sha256.equals(other.sha256);
+        }
+
+        @Override
+        public int hashCode() {
+            return sha256.hashCode();
+        }
+    }
+}
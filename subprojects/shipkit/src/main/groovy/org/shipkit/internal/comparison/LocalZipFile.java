@@ -0,0 +1,418 @@
+package org.shipkit.internal.comparison;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Read-only local zip archive whose central directory is parsed directly from the bytes of the archive.
+ * Only the end of the archive, that contains the central directory, is read when the archive is opened.
+ * Content of entries is read with positional reads of the {@link FileChannel}, without stream wrapping of stored entries.
+ * Deflated entries are inflated with {@link Inflater} instances from a pool shared by all archives.
+ * <p>
+ * Reading is thread safe, positional reads don't share the position of the channel.
+ * The archive needs to be closed, the file stays open (and locked on Windows) until then.
+ * <p>
+ * Parsing of the zip records is shared with {@link RemoteZipFile}, it works on little-endian buffers
+ * that contain only the relevant part of the archive.
+ */
+class LocalZipFile implements ZipArchive {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    static final int EOCD_MIN_SIZE = 22;
+    //end of central directory record with the longest possible comment
+    static final int TAIL_SIZE = EOCD_MIN_SIZE + 0xFFFF;
+    private static final int ZIP64_EOCD_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    static final int LOCAL_HEADER_SIZE = 30;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final InflaterPool INFLATERS = new InflaterPool(16);
+
+    private final File file;
+    private final FileChannel channel;
+    private final long length;
+    private final Map<String, Entry> entries;
+
+    private LocalZipFile(File file, FileChannel channel) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.length = channel.size();
+        this.entries = Collections.unmodifiableMap(readEntries());
+    }
+
+    /**
+     * Opens given archive and reads its central directory.
+     */
+    static LocalZipFile open(File file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            return new LocalZipFile(file, channel);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new RuntimeException("Could not open zip file " + file, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return file.getName();
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public Set<String> getEntryNames() {
+        return entries.keySet();
+    }
+
+    @Override
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    @Override
+    public InputStream getInputStream(Entry entry) throws IOException {
+        return uncompressed(rawContent(entry), entry);
+    }
+
+    /**
+     * Closes the file, content of entries can no longer be read.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not close zip file " + file, e);
+        }
+    }
+
+    /**
+     * Compares uncompressed content of entries from two archives.
+     * Entries with identical compressed content are equal without inflating them.
+     */
+    static boolean contentEquals(LocalZipFile previous, Entry previousEntry, LocalZipFile current, Entry currentEntry) throws IOException {
+        boolean sameEncoding = previousEntry.getMethod() == currentEntry.getMethod()
+            && previousEntry.getCompressedSize() == currentEntry.getCompressedSize();
+        if (sameEncoding && ZipComparator.streamsEqual(previous.rawContent(previousEntry), current.rawContent(currentEntry))) {
+            return true;
+        }
+        if (previousEntry.getMethod() == ZipEntry.STORED && currentEntry.getMethod() == ZipEntry.STORED) {
+            return false;
+        }
+        return ZipComparator.streamsEqual(previous.getInputStream(previousEntry), current.getInputStream(currentEntry));
+    }
+
+    //central directory is read together with the end of central directory record, usually with a single read
+    private Map<String, Entry> readEntries() throws IOException {
+        long windowOffset = Math.max(0, length - TAIL_SIZE);
+        ByteBuffer window = read(windowOffset, (int) (length - windowOffset));
+        long directoryOffset = centralDirectoryOffset(window, windowOffset, file.toString());
+        if (directoryOffset < windowOffset) {
+            if (length - directoryOffset > Integer.MAX_VALUE) {
+                throw new IOException("Central directory bigger than 2GB is not supported: " + file);
+            }
+            windowOffset = directoryOffset;
+            window = read(windowOffset, (int) (length - windowOffset));
+        }
+        return readCentralDirectory(window, windowOffset, length, file.toString());
+    }
+
+    //compressed content of the entry, independent from other reads
+    private InputStream rawContent(Entry entry) throws IOException {
+        long headerOffset = entry.getLocalHeaderOffset();
+        ByteBuffer header = read(headerOffset, LOCAL_HEADER_SIZE);
+        long dataOffset = headerOffset + dataOffset(header, entry, file.toString());
+        if (dataOffset + entry.getCompressedSize() > length) {
+            throw new IOException("Content of entry '" + entry.getName() + "' exceeds the archive " + file);
+        }
+        return new ChannelInputStream(channel, dataOffset, dataOffset + entry.getCompressedSize());
+    }
+
+    private ByteBuffer read(long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of zip file " + file);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                //the original problem is more relevant
+            }
+        }
+    }
+
+    private static ByteBuffer view(ByteBuffer buffer, int position) {
+        ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        view.position(position);
+        return view;
+    }
+
+    /**
+     * Offset of the central directory in the archive, read from the end of central directory record.
+     *
+     * @param window part of the archive that contains the end of central directory record (and ZIP64 records if present)
+     * @param windowOffset offset of the window in the archive
+     * @param source location of the archive, for messages
+     */
+    static long centralDirectoryOffset(ByteBuffer window, long windowOffset, String source) throws IOException {
+        int eocd = findEndOfCentralDirectory(window, source);
+        long directoryOffset = window.getInt(eocd + 16) & 0xFFFFFFFFL;
+
+        int locator = eocd - 20;
+        if (locator >= 0 && window.getInt(locator) == ZIP64_EOCD_LOCATOR_SIGNATURE) {
+            int zip64Eocd = zip64EndOfCentralDirectory(window, windowOffset, locator, source);
+            directoryOffset = window.getLong(zip64Eocd + 48);
+        }
+        return directoryOffset;
+    }
+
+    /**
+     * Reads all entries of the central directory.
+     *
+     * @param window part of the archive that contains the central directory and the end of central directory record
+     * @param windowOffset offset of the window in the archive
+     * @param archiveLength length of the whole archive
+     * @param source location of the archive, for messages
+     */
+    static Map<String, Entry> readCentralDirectory(ByteBuffer window, long windowOffset, long archiveLength, String source) throws IOException {
+        int eocd = findEndOfCentralDirectory(window, source);
+        long entryCount = window.getShort(eocd + 10) & 0xFFFF;
+        long directoryOffset = window.getInt(eocd + 16) & 0xFFFFFFFFL;
+
+        int locator = eocd - 20;
+        if (locator >= 0 && window.getInt(locator) == ZIP64_EOCD_LOCATOR_SIGNATURE) {
+            int zip64Eocd = zip64EndOfCentralDirectory(window, windowOffset, locator, source);
+            entryCount = window.getLong(zip64Eocd + 32);
+            directoryOffset = window.getLong(zip64Eocd + 48);
+        }
+
+        Map<String, Entry> result = new LinkedHashMap<>();
+        long position = directoryOffset - windowOffset;
+        for (long i = 0; i < entryCount; i++) {
+            if (position < 0 || position + CENTRAL_HEADER_SIZE > window.capacity() || window.getInt((int) position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new IOException("Invalid central directory in " + source);
+            }
+            int p = (int) position;
+            int method = window.getShort(p + 10) & 0xFFFF;
+            long crc = window.getInt(p + 16) & 0xFFFFFFFFL;
+            long compressedSize = window.getInt(p + 20) & 0xFFFFFFFFL;
+            long size = window.getInt(p + 24) & 0xFFFFFFFFL;
+            int nameLength = window.getShort(p + 28) & 0xFFFF;
+            int extraLength = window.getShort(p + 30) & 0xFFFF;
+            int commentLength = window.getShort(p + 32) & 0xFFFF;
+            long localHeaderOffset = window.getInt(p + 42) & 0xFFFFFFFFL;
+
+            byte[] nameBytes = new byte[nameLength];
+            view(window, p + CENTRAL_HEADER_SIZE).get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            //values that don't fit in 32 bits are stored in ZIP64 extra field, in fixed order
+            ByteBuffer extra = view(window, p + CENTRAL_HEADER_SIZE + nameLength);
+            int extraEnd = p + CENTRAL_HEADER_SIZE + nameLength + extraLength;
+            while (extra.position() + 4 <= extraEnd) {
+                int id = extra.getShort() & 0xFFFF;
+                int length = extra.getShort() & 0xFFFF;
+                int next = extra.position() + length;
+                if (id == ZIP64_EXTRA_ID) {
+                    if (size == 0xFFFFFFFFL) {
+                        size = extra.getLong();
+                    }
+                    if (compressedSize == 0xFFFFFFFFL) {
+                        compressedSize = extra.getLong();
+                    }
+                    if (localHeaderOffset == 0xFFFFFFFFL) {
+                        localHeaderOffset = extra.getLong();
+                    }
+                }
+                extra.position(next);
+            }
+
+            if (localHeaderOffset + LOCAL_HEADER_SIZE > archiveLength) {
+                throw new IOException("Invalid offset of entry '" + name + "' in " + source);
+            }
+            result.put(name, new Entry(name, method, crc, compressedSize, size, localHeaderOffset));
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return result;
+    }
+
+    /**
+     * Offset of entry's data from the start of its local header, given the first {@value #LOCAL_HEADER_SIZE} bytes of the header.
+     */
+    static int dataOffset(ByteBuffer localHeader, Entry entry, String source) throws IOException {
+        if (localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("Invalid local header of entry '" + entry.getName() + "' in " + source);
+        }
+        int nameLength = localHeader.getShort(26) & 0xFFFF;
+        int extraLength = localHeader.getShort(28) & 0xFFFF;
+        return LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    /**
+     * Uncompressed content of the entry, given its raw (compressed) content
+     */
+    static InputStream uncompressed(InputStream raw, Entry entry) throws IOException {
+        if (entry.getMethod() == ZipEntry.STORED) {
+            return raw;
+        }
+        if (entry.getMethod() == ZipEntry.DEFLATED) {
+            return new PooledInflaterInputStream(raw, INFLATERS.acquire());
+        }
+        throw new IOException("Unsupported compression method " + entry.getMethod() + " of entry '" + entry.getName() + "'");
+    }
+
+    private static int zip64EndOfCentralDirectory(ByteBuffer window, long windowOffset, int locator, String source) throws IOException {
+        long zip64Eocd = window.getLong(locator + 8) - windowOffset;
+        if (zip64Eocd < 0 || zip64Eocd > window.capacity() - 56 || window.getInt((int) zip64Eocd) != ZIP64_EOCD_SIGNATURE) {
+            throw new IOException("Invalid ZIP64 end of central directory in " + source);
+        }
+        return (int) zip64Eocd;
+    }
+
+    //end of central directory record is at the end of the archive, followed only by the optional comment
+    private static int findEndOfCentralDirectory(ByteBuffer window, String source) throws IOException {
+        int last = window.capacity() - EOCD_MIN_SIZE;
+        int first = Math.max(0, last - 0xFFFF);
+        for (int i = last; i >= first; i--) {
+            if (window.getInt(i) == EOCD_SIGNATURE) {
+                return i;
+            }
+        }
+        throw new IOException("End of central directory not found, not a zip file: " + source);
+    }
+
+    /**
+     * Reads given range of the channel with positional reads, the position of the channel is not used
+     */
+    private static class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        ChannelInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            ByteBuffer target = ByteBuffer.wrap(b, off, (int) Math.min(len, end - position));
+            int count = channel.read(target, position);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of zip file");
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+    }
+
+    /**
+     * Inflates raw deflate data, the same way {@link java.util.zip.ZipFile} does,
+     * and gives the inflater back to the pool when closed.
+     */
+    private static class PooledInflaterInputStream extends InflaterInputStream {
+        private boolean eof;
+        private boolean closed;
+
+        PooledInflaterInputStream(InputStream in, Inflater inflater) {
+            super(in, inflater, 8192);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("Unexpected end of deflated entry");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                //inflater in 'nowrap' mode needs an extra dummy byte at the end of input
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+                INFLATERS.release(inf);
+            }
+        }
+    }
+
+    private static class InflaterPool {
+        private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+        private final int maxSize;
+
+        InflaterPool(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        Inflater acquire() {
+            Inflater inflater = inflaters.poll();
+            return inflater != null ? inflater : new Inflater(true);
+        }
+
+        void release(Inflater inflater) {
+            //size() of concurrent queue is not exact, it is good enough to keep the pool bounded
+            if (inflaters.size() < maxSize) {
+                inflater.reset();
+                inflaters.offer(inflater);
+            } else {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package org.shipkit.internal.comparison;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.comparison.artifact.ArtifactDownloader;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Zip archive available over HTTP, read with HTTP Range requests.
+ * To read the central directory only the end of the archive is downloaded, usually with a single request.
+ * Content of an entry is downloaded only when it is requested, see {@link #getInputStream(Entry)}.
+ * <p>
+ * When the server ignores Range header and responds with the whole archive,
+ * the archive is streamed to a temporary file and all entries are read from it with {@link LocalZipFile}.
+ * The temporary file is deleted when the archive is closed.
+ * <p>
+ * All requests use the connect and read timeouts of {@link ArtifactDownloader}.
+ */
+public class RemoteZipFile implements ZipArchive {
+
+    private static final Logger LOG = Logging.getLogger(RemoteZipFile.class);
+
+    private static final int TAIL_SIZE = LocalZipFile.TAIL_SIZE;
+    //local header usually has the same extra field as the central header, this covers the typical differences
+    private static final int LOCAL_EXTRA_ALLOWANCE = 64;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private final String url;
+    private final long length;
+    private final LocalZipFile wholeArchive;
+    private final Map<String, Entry> entries;
+    private final AtomicLong bytesDownloaded;
+
+    private RemoteZipFile(String url, long length, LocalZipFile wholeArchive, Map<String, Entry> entries, AtomicLong bytesDownloaded) {
+        this.url = url;
+        this.length = length;
+        this.wholeArchive = wholeArchive;
+        this.entries = Collections.unmodifiableMap(entries);
+        this.bytesDownloaded = bytesDownloaded;
+    }
+
+    /**
+     * Downloads the central directory of the archive available at given url.
+     */
+    public static RemoteZipFile open(String url) {
+        try {
+            AtomicLong downloaded = new AtomicLong();
+            Response tail = fetch(url, "bytes=-" + TAIL_SIZE, downloaded);
+            if (!tail.partial) {
+                LOG.info("  Server does not support HTTP Range requests, downloaded whole archive {}", url);
+                return wholeArchive(url, tail, downloaded);
+            }
+
+            ByteBuffer window = tail.buffer();
+            long windowOffset = tail.start;
+            long directoryOffset = LocalZipFile.centralDirectoryOffset(window, windowOffset, url);
+            if (directoryOffset < windowOffset) {
+                //central directory does not fit in the tail, the missing beginning is downloaded
+                Response head = fetch(url, "bytes=" + directoryOffset + "-" + (windowOffset - 1), downloaded);
+                if (!head.partial) {
+                    return wholeArchive(url, head, downloaded);
+                }
+                if (head.start != directoryOffset) {
+                    throw new IOException("Unexpected response to HTTP Range request, content range starts at " + head.start);
+                }
+                window = ByteBuffer.allocate(head.content.length + tail.content.length).order(ByteOrder.LITTLE_ENDIAN);
+                window.put(head.content).put(tail.content);
+                windowOffset = directoryOffset;
+            }
+            return new RemoteZipFile(url, tail.total, null, LocalZipFile.readCentralDirectory(window, windowOffset, tail.total, url), downloaded);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read central directory of remote zip file " + url, e);
+        }
+    }
+
+    private static RemoteZipFile wholeArchive(String url, Response response, AtomicLong downloaded) {
+        LocalZipFile local;
+        try {
+            local = LocalZipFile.open(response.file);
+        } catch (RuntimeException e) {
+            response.file.delete();
+            throw e;
+        }
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (String name : local.getEntryNames()) {
+            entries.put(name, local.getEntry(name));
+        }
+        return new RemoteZipFile(url, response.total, local, entries, downloaded);
+    }
+
+    @Override
+    public String getName() {
+        return url;
+    }
+
+    @Override
+    public Set<String> getEntryNames() {
+        return entries.keySet();
+    }
+
+    @Override
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Uncompressed content of given entry.
+     * Local header and compressed content of the entry are downloaded with a single Range request,
+     * unless the local header has unusually long extra field.
+     */
+    @Override
+    public InputStream getInputStream(Entry entry) throws IOException {
+        if (wholeArchive != null) {
+            return wholeArchive.getInputStream(entry);
+        }
+
+        long start = entry.getLocalHeaderOffset();
+        int nameLength = entry.getName().getBytes(StandardCharsets.UTF_8).length;
+        long end = Math.min(length, start + LocalZipFile.LOCAL_HEADER_SIZE + nameLength + LOCAL_EXTRA_ALLOWANCE + entry.getCompressedSize()) - 1;
+        byte[] fetched = fetchRange(start, end);
+        int dataOffset = LocalZipFile.dataOffset(ByteBuffer.wrap(fetched).order(ByteOrder.LITTLE_ENDIAN), entry, url);
+        long dataEnd = dataOffset + entry.getCompressedSize();
+        if (dataEnd > fetched.length) {
+            byte[] missing = fetchRange(start + fetched.length, start + dataEnd - 1);
+            byte[] all = new byte[(int) dataEnd];
+            System.arraycopy(fetched, 0, all, 0, fetched.length);
+            System.arraycopy(missing, 0, all, fetched.length, missing.length);
+            fetched = all;
+        }
+        return LocalZipFile.uncompressed(new ByteArrayInputStream(fetched, dataOffset, (int) entry.getCompressedSize()), entry);
+    }
+
+    /**
+     * Deletes the temporary copy of the archive, if the whole archive was downloaded
+     */
+    @Override
+    public void close() {
+        if (wholeArchive != null) {
+            wholeArchive.close();
+            wholeArchive.getFile().delete();
+        }
+    }
+
+    /**
+     * Uncompressed content of the entry with given name, as UTF-8 text, or null if there is no such entry
+     */
+    public String readEntryContent(String name) {
+        Entry entry = getEntry(name);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return IOUtil.readFully(getInputStream(entry));
+        } catch (IOException e) {
+            throw new RuntimeException("Problems reading entry '" + name + "' of " + url, e);
+        }
+    }
+
+    /**
+     * Number of bytes downloaded so far, useful to verify how much of the archive was actually transferred
+     */
+    public long getBytesDownloaded() {
+        return bytesDownloaded.get();
+    }
+
+    /**
+     * Length of the whole archive, as reported by the server
+     */
+    public long getLength() {
+        return length;
+    }
+
+    private byte[] fetchRange(long start, long end) throws IOException {
+        Response response = fetch(url, "bytes=" + start + "-" + end, bytesDownloaded);
+        if (!response.partial) {
+            response.file.delete();
+        }
+        if (!response.partial || response.start != start || response.content.length != end - start + 1) {
+            throw new IOException("Unexpected response to HTTP Range request of bytes " + start + "-" + end + " of " + url);
+        }
+        return response.content;
+    }
+
+    private static Response fetch(String url, String range, AtomicLong downloaded) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setConnectTimeout(ArtifactDownloader.CONNECT_TIMEOUT_MILLIS);
+        conn.setReadTimeout(ArtifactDownloader.READ_TIMEOUT_MILLIS);
+        conn.setRequestProperty("Range", range);
+        try {
+            int code = conn.getResponseCode();
+            if (code != HttpURLConnection.HTTP_OK && code != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("GET " + url + " with Range: " + range + " failed, response code = " + code);
+            }
+            if (code == HttpURLConnection.HTTP_OK) {
+                //whole archive, it can be big
+                File file = File.createTempFile("shipkit-remote-", ".zip");
+                try (InputStream in = conn.getInputStream()) {
+                    Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    file.delete();
+                    throw e;
+                }
+                downloaded.addAndGet(file.length());
+                return new Response(false, 0, file.length(), null, file);
+            }
+            byte[] content = readBytes(conn.getInputStream());
+            downloaded.addAndGet(content.length);
+            String contentRange = conn.getHeaderField("Content-Range");
+            Matcher matcher = contentRange == null ? null : CONTENT_RANGE.matcher(contentRange);
+            if (matcher == null || !matcher.matches()) {
+                throw new IOException("Missing or invalid Content-Range header in response from " + url + ": " + contentRange);
+            }
+            return new Response(true, Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(3)), content, null);
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    private static byte[] readBytes(InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static class Response {
+        private final boolean partial;
+        private final long start;
+        private final long total;
+        private final byte[] content;
+        private final File file;
+
+        //partial content is kept in memory, whole archive is saved to the file
+        Response(boolean partial, long start, long total, byte[] content, File file) {
+            this.partial = partial;
+            this.start = start;
+            this.total = total;
+            this.content = content;
+            this.file = file;
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
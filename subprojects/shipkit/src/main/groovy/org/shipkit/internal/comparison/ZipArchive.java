@@ -0,0 +1,79 @@
+package org.shipkit.internal.comparison;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Read-only zip archive whose central directory was already read.
+ * Implementations are thread safe.
+ * Resources held by the archive are released when it is closed.
+ */
+interface ZipArchive extends Closeable {
+
+    /**
+     * Location of the archive, used in messages
+     */
+    String getName();
+
+    /**
+     * Names of all entries, in the order of the central directory
+     */
+    Set<String> getEntryNames();
+
+    /**
+     * Entry with given name or null if there is no such entry
+     */
+    Entry getEntry(String name);
+
+    /**
+     * Uncompressed content of given entry
+     */
+    InputStream getInputStream(Entry entry) throws IOException;
+
+    /**
+     * Entry of the archive, as recorded in the central directory
+     */
+    class Entry {
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getMethod() {
+            return method;
+        }
+
+        long getCrc() {
+            return crc;
+        }
+
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getLocalHeaderOffset() {
+            return localHeaderOffset;
+        }
+    }
+}
@@ -2,54 +2,119 @@ package org.shipkit.internal.comparison;
 
 import org.shipkit.internal.comparison.diff.Diff;
 import org.shipkit.internal.comparison.diff.DirectoryDiffGenerator;
+import org.shipkit.internal.comparison.diff.FileDiffGenerator;
 import org.shipkit.internal.gradle.java.tasks.ComparePublications;
-import org.shipkit.internal.gradle.util.ZipUtil;
 import org.shipkit.internal.util.ExposedForTesting;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.zip.ZipFile;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.lang.String.format;
 import static org.shipkit.internal.util.ArgumentValidation.notNull;
 
+/**
+ * Compares entries of two zip files.
+ * Size and CRC-32 of entries, recorded in zip's central directory, are compared first.
+ * Entries that differ in size or CRC are changed, without reading their content.
+ * Entries with matching size and CRC are considered equal,
+ * unless strict comparison is requested, then their content is compared byte by byte.
+ * Content of many entries is compared in parallel.
+ * Local archives are read with {@link LocalZipFile}, entries with identical compressed content are equal without inflating them.
+ * Previous archive can also be remote {@link RemoteZipFile}, then content of entries is downloaded only when it needs to be compared.
+ * <p>
+ * Optionally, changed text entries are described with a unified diff, limited to given number of lines per entry,
+ * see {@link FileDiffGenerator}. Diffs of many entries are generated in parallel too.
+ */
 public class ZipComparator {
 
-    private final DirectoryDiffGenerator directoryDiffGenerator;
+    public static final int DEFAULT_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int MIN_ENTRIES_PER_WORKER = 16;
+    private static final int DIFF_CONTEXT = 3;
+    //bigger entries are not diffed, there is no point in reading them into memory
+    private static final long MAX_DIFF_ENTRY_SIZE = 10 * 1024 * 1024;
 
+    private final DirectoryDiffGenerator directoryDiffGenerator;
+    private final boolean strict;
+    private final int threads;
+    private final int diffLinesPerEntry;
 
     public ZipComparator() {
-        directoryDiffGenerator = new DirectoryDiffGenerator();
+        this(false);
+    }
+
+    /**
+     * @param strict whether content of entries with matching size and CRC should be compared byte by byte
+     */
+    public ZipComparator(boolean strict) {
+        this(strict, DEFAULT_THREADS);
+    }
+
+    /**
+     * @param strict see {@link #ZipComparator(boolean)}
+     * @param threads maximum number of threads comparing content of entries, 1 compares on the calling thread only
+     */
+    public ZipComparator(boolean strict, int threads) {
+        this(strict, threads, 0);
+    }
+
+    /**
+     * @param strict see {@link #ZipComparator(boolean)}
+     * @param threads see {@link #ZipComparator(boolean, int)}
+     * @param diffLinesPerEntry maximum number of lines of the diff of each changed text entry, 0 reports only names of changed entries
+     */
+    public ZipComparator(boolean strict, int threads, int diffLinesPerEntry) {
+        this(new DirectoryDiffGenerator(), strict, threads, diffLinesPerEntry);
     }
 
     @ExposedForTesting
     ZipComparator(DirectoryDiffGenerator directoryDiffGenerator) {
+        this(directoryDiffGenerator, false, DEFAULT_THREADS, 0);
+    }
+
+    @ExposedForTesting
+    ZipComparator(DirectoryDiffGenerator directoryDiffGenerator, boolean strict, int threads, int diffLinesPerEntry) {
         this.directoryDiffGenerator = directoryDiffGenerator;
+        this.strict = strict;
+        this.threads = threads;
+        this.diffLinesPerEntry = diffLinesPerEntry;
     }
 
     public Diff areEqual(File previousFile, File currentFile) {
         notNull(previousFile, "previous version file to compare", currentFile, "current version file to compare");
-        ZipFile previousZip = null;
-        ZipFile currentZip = null;
-        try {
-            previousZip = ZipUtil.openZipFile(previousFile);
-            currentZip = ZipUtil.openZipFile(currentFile);
+        try (LocalZipFile previousZip = LocalZipFile.open(previousFile); LocalZipFile currentZip = LocalZipFile.open(currentFile)) {
+            return compareZips(previousZip, currentZip);
+        }
+    }
+
+    /**
+     * Compares remote archive with local file.
+     * In the default, non-strict mode, only the central directory of the remote archive is needed for the comparison.
+     */
+    public Diff areEqual(RemoteZipFile previousZip, File currentFile) {
+        notNull(previousZip, "previous version archive to compare", currentFile, "current version file to compare");
+        try (LocalZipFile currentZip = LocalZipFile.open(currentFile)) {
             return compareZips(previousZip, currentZip);
-        } finally {
-            ZipUtil.closeZipFile(previousZip);
-            ZipUtil.closeZipFile(currentZip);
         }
     }
 
     //TODO: WW refactor this code so that it uses listeners
-    private Diff compareZips(ZipFile previousFile, ZipFile currentFile) {
+    private Diff compareZips(ZipArchive previousZip, ZipArchive currentZip) {
 
-        Set<String> previous = ZipUtil.extractEntries(previousFile);
-        Set<String> current = ZipUtil.extractEntries(currentFile);
+        Set<String> previous = new LinkedHashSet<>(previousZip.getEntryNames());
+        Set<String> current = new LinkedHashSet<>(currentZip.getEntryNames());
 
         // ignore differences in dependency-info.md
         previous.remove(ComparePublications.DEPENDENCY_INFO_FILEPATH);
@@ -61,23 +126,33 @@ public class ZipComparator {
         List<String> removedFiles = new ArrayList<>();
         List<String> changedFiles = new ArrayList<>();
 
+        List<String> common = new ArrayList<>();
+        Map<String, Boolean> equal = new HashMap<>();
+        List<String> contentToCompare = new ArrayList<>();
+
         for (String name : previous) {
             if (!current.contains(name)) {
                 removedFiles.add(name);
                 differences += 1;
                 continue;
             }
-            try {
-                current.remove(name);
-                if (!streamsEqual(previousFile.getInputStream(previousFile.getEntry(name)),
-                                  currentFile.getInputStream(currentFile.getEntry(name)))) {
-                    changedFiles.add(name);
-                    differences += 1;
-                    continue;
-                }
-            } catch (Exception e) {
-                throw new ZipCompareException(format("Unable to compare zip entry '%s' found in '%s' with '%s'",
-                      name, previousFile.getName(), currentFile.getName()), e);
+            current.remove(name);
+            common.add(name);
+            Boolean metadataEqual = metadataEqual(previousZip.getEntry(name), currentZip.getEntry(name));
+            if (metadataEqual == null) {
+                contentToCompare.add(name);
+            } else {
+                equal.put(name, metadataEqual);
+            }
+        }
+
+        equal.putAll(forEntries(previousZip, currentZip, contentToCompare, ZipComparator::contentEquals));
+
+        //iterating in the order of entries keeps the result deterministic, regardless of how the content was compared
+        for (String name : common) {
+            if (!equal.get(name)) {
+                changedFiles.add(name);
+                differences += 1;
             }
         }
         for (String name : current) {
@@ -86,13 +161,147 @@ public class ZipComparator {
         }
 
         String diffOutput = directoryDiffGenerator.generateDiffOutput(addedFiles, removedFiles, changedFiles);
+        if (diffLinesPerEntry > 0) {
+            diffOutput += textDiffs(previousZip, currentZip, changedFiles);
+        }
 
         if (differences > 0) {
-            return Diff.ofDifferentFiles(diffOutput);
+            return Diff.ofDifferentFiles(diffOutput, addedFiles.size(), removedFiles.size(), changedFiles.size());
         }
         return Diff.ofEqualFiles();
     }
 
+    /**
+     * Compares entries using size and CRC-32 from zip's central directory.
+     * Returns null when the content needs to be compared to tell.
+     */
+    private Boolean metadataEqual(ZipArchive.Entry previousEntry, ZipArchive.Entry currentEntry) {
+        //central directory always records size and CRC, unlike local headers of streamed entries
+        if (previousEntry.getSize() != currentEntry.getSize() || previousEntry.getCrc() != currentEntry.getCrc()) {
+            return false;
+        }
+        if (strict) {
+            return null;
+        }
+        return true;
+    }
+
+    private String textDiffs(ZipArchive previousZip, ZipArchive currentZip, List<String> changedFiles) {
+        Map<String, String> diffs = forEntries(previousZip, currentZip, changedFiles, this::textDiff);
+        StringBuilder sb = new StringBuilder();
+        for (String name : changedFiles) {
+            String diff = diffs.get(name);
+            if (diff != null && !diff.isEmpty()) {
+                sb.append(format("    Changes in %s:\n%s\n\n", name, diff));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Unified diff of the entry, null when the entry is not text
+     */
+    private String textDiff(ZipArchive previousZip, ZipArchive currentZip, String name) throws IOException {
+        ZipArchive.Entry previousEntry = previousZip.getEntry(name);
+        ZipArchive.Entry currentEntry = currentZip.getEntry(name);
+        if (previousEntry.getSize() > MAX_DIFF_ENTRY_SIZE || currentEntry.getSize() > MAX_DIFF_ENTRY_SIZE) {
+            return null;
+        }
+        byte[] previous = readFully(previousZip.getInputStream(previousEntry));
+        byte[] current = readFully(currentZip.getInputStream(currentEntry));
+        if (isBinary(previous) || isBinary(current)) {
+            return null;
+        }
+        return new FileDiffGenerator().generateDiff(
+            new String(previous, StandardCharsets.UTF_8), new String(current, StandardCharsets.UTF_8), DIFF_CONTEXT, diffLinesPerEntry);
+    }
+
+    private static boolean isBinary(byte[] content) {
+        for (byte b : content) {
+            if (b == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private interface EntryOperation<T> {
+        T apply(ZipArchive previousZip, ZipArchive currentZip, String name) throws IOException;
+    }
+
+    /**
+     * Applies the operation to given entries. When there are enough entries, they are partitioned across a bounded pool of workers.
+     * Workers share the archives, reading them is thread safe.
+     */
+    private <T> Map<String, T> forEntries(final ZipArchive previousZip, final ZipArchive currentZip, List<String> names,
+                                          final EntryOperation<T> operation) {
+        int workers = Math.min(threads, names.size() / MIN_ENTRIES_PER_WORKER);
+        if (workers <= 1) {
+            return forEntriesOf(previousZip, currentZip, names, operation);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Map<String, T>>> futures = new ArrayList<>();
+            int chunk = (names.size() + workers - 1) / workers;
+            for (int i = 0; i < names.size(); i += chunk) {
+                final List<String> part = names.subList(i, Math.min(names.size(), i + chunk));
+                futures.add(executor.submit(() -> forEntriesOf(previousZip, currentZip, part, operation)));
+            }
+
+            Map<String, T> result = new HashMap<>();
+            for (Future<Map<String, T>> future : futures) {
+                result.putAll(future.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ZipCompareException) {
+                throw (ZipCompareException) e.getCause();
+            }
+            throw new ZipCompareException(format("Unable to compare '%s' with '%s'", previousZip.getName(), currentZip.getName()), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZipCompareException(format("Interrupted while comparing '%s' with '%s'", previousZip.getName(), currentZip.getName()), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> Map<String, T> forEntriesOf(ZipArchive previousZip, ZipArchive currentZip, List<String> names, EntryOperation<T> operation) {
+        Map<String, T> result = new HashMap<>();
+        for (String name : names) {
+            try {
+                result.put(name, operation.apply(previousZip, currentZip, name));
+            } catch (Exception e) {
+                throw new ZipCompareException(format("Unable to compare zip entry '%s' found in '%s' with '%s'",
+                      name, previousZip.getName(), currentZip.getName()), e);
+            }
+        }
+        return result;
+    }
+
+    private static boolean contentEquals(ZipArchive previousZip, ZipArchive currentZip, String name) throws IOException {
+        ZipArchive.Entry previousEntry = previousZip.getEntry(name);
+        ZipArchive.Entry currentEntry = currentZip.getEntry(name);
+        if (previousZip instanceof LocalZipFile && currentZip instanceof LocalZipFile) {
+            return LocalZipFile.contentEquals((LocalZipFile) previousZip, previousEntry, (LocalZipFile) currentZip, currentEntry);
+        }
+        return streamsEqual(previousZip.getInputStream(previousEntry), currentZip.getInputStream(currentEntry));
+    }
 
     static boolean streamsEqual(InputStream stream1, InputStream stream2) throws IOException {
         byte[] buf1 = new byte[4096];
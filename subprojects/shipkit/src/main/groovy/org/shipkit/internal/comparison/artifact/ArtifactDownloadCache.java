@@ -0,0 +1,405 @@
+package org.shipkit.internal.comparison.artifact;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of downloaded artifacts, shared by all builds on the machine (typically located in Gradle user home).
+ * Released artifacts are immutable, so once an artifact is cached, it is used without touching the network.
+ * <p>
+ * Content is stored once per SHA-1 hash ("files" directory), the index maps the URL to the content ("index" directory).
+ * Only verified content is cached:
+ * <ul>
+ *     <li>when the repository publishes ".sha1" or ".md5" checksum next to the artifact,
+ *      downloaded content is verified against it and then used offline</li>
+ *     <li>otherwise, when the repository provides ETag, cached content is revalidated with a conditional request</li>
+ *     <li>otherwise, the artifact is downloaded every time and it is not cached</li>
+ * </ul>
+ * All files are written to temporary files first and atomically moved in place,
+ * so that concurrent builds never see partially written content.
+ * When total size of cached content exceeds the limit, least recently used artifacts are removed.
+ * All requests use the connect and read timeouts of the {@link ArtifactDownloader}.
+ */
+public class ArtifactDownloadCache {
+
+    private static final Logger LOG = Logging.getLogger(ArtifactDownloadCache.class);
+
+    /**
+     * Default limit of the total size of cached content, 512MB
+     */
+    public static final long DEFAULT_MAX_SIZE = 512L * 1024 * 1024;
+
+    //partial download not resumed for this long is not going to be resumed
+    static final long ABANDONED_DOWNLOAD_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final File filesDir;
+    private final File indexDir;
+    private final long maxSize;
+    private final ArtifactDownloader downloader;
+
+    /**
+     * @param directory where the cache is stored
+     * @param maxSize limit of the total size of cached content in bytes
+     */
+    public ArtifactDownloadCache(File directory, long maxSize) {
+        this(directory, maxSize, new ArtifactDownloader());
+    }
+
+    /**
+     * See {@link #ArtifactDownloadCache(File, long)}, artifacts that are not cached are downloaded with given downloader
+     */
+    public ArtifactDownloadCache(File directory, long maxSize, ArtifactDownloader downloader) {
+        this.filesDir = new File(directory, "files");
+        this.indexDir = new File(directory, "index");
+        this.maxSize = maxSize;
+        this.downloader = downloader;
+    }
+
+    /**
+     * Copies the artifact with given url to the file, downloading it only if it is not cached yet.
+     * Throws exception when the artifact cannot be downloaded or its content does not match the published checksum.
+     */
+    public DownloadResult download(String url, File file) {
+        long start = System.currentTimeMillis();
+        try {
+            IOUtil.createParentDirectory(file);
+            CacheEntry entry = readIndex(url);
+            if (entry != null) {
+                if (entry.etag == null && copyCached(entry, file)) {
+                    LOG.lifecycle("  Using cached artifact {}", url);
+                    return DownloadResult.fromCache(url, System.currentTimeMillis() - start);
+                }
+                if (entry.etag != null && new File(filesDir, entry.sha1).isFile()) {
+                    return revalidate(url, entry, file, start);
+                }
+            }
+            return store(url, fetch(url), file);
+        } catch (IOException e) {
+            throw new RuntimeException("Problems downloading " + url, e);
+        }
+    }
+
+    private DownloadResult revalidate(String url, CacheEntry entry, File file, long start) throws IOException {
+        Download download = fetchIfModified(url, entry.etag, start);
+        if (download == null && copyCached(entry, file)) {
+            LOG.lifecycle("  Using cached artifact {}, not modified since it was downloaded", url);
+            return DownloadResult.fromCache(url, System.currentTimeMillis() - start);
+        }
+        if (download == null) {
+            //cached content disappeared in the meantime (evicted), download unconditionally
+            download = fetch(url);
+        }
+        return store(url, download, file);
+    }
+
+    //copies verified content to the destination, false if the content is gone or damaged
+    private boolean copyCached(CacheEntry entry, File file) throws IOException {
+        File cached = new File(filesDir, entry.sha1);
+        File tmp = tempFile(file);
+        try {
+            MessageDigest sha1 = HashUtil.digest("SHA-1");
+            try (InputStream in = new FileInputStream(cached); OutputStream out = new FileOutputStream(tmp)) {
+                copy(in, out, sha1);
+            } catch (IOException e) {
+                LOG.debug("Cached content {} is not available", cached, e);
+                return false;
+            }
+            if (!HashUtil.hex(sha1.digest()).equals(entry.sha1)) {
+                LOG.lifecycle("  Cached content of {} is damaged, removing it", entry.url);
+                cached.delete();
+                return false;
+            }
+            moveAtomically(tmp, file);
+        } finally {
+            tmp.delete();
+        }
+        //last modification time of the index file is the last access time used for eviction
+        indexFile(entry.url).setLastModified(System.currentTimeMillis());
+        return true;
+    }
+
+    private DownloadResult store(String url, Download download, File file) throws IOException {
+        try {
+            String checksum = verifyChecksum(url, download);
+            if (checksum == null && download.result.getEtag() == null) {
+                LOG.info("  Repository does not publish checksum nor ETag of {}, not caching it", url);
+            } else {
+                IOUtil.createDirectory(filesDir);
+                IOUtil.createDirectory(indexDir);
+                File cached = new File(filesDir, download.sha1);
+                if (!cached.isFile()) {
+                    File tmp = tempFile(cached);
+                    Files.copy(download.file.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    moveAtomically(tmp, cached);
+                }
+                writeIndex(new CacheEntry(url, download.sha1, checksum != null ? null : download.result.getEtag()));
+                evict();
+            }
+            moveAtomically(download.file, file);
+            return download.result;
+        } finally {
+            download.file.delete();
+        }
+    }
+
+    /**
+     * Verifies the download against ".sha1" or ".md5" checksum published next to the artifact.
+     * Returns the checksum or null when the repository does not publish it.
+     */
+    private String verifyChecksum(String url, Download download) throws IOException {
+        String[][] checksums = {{".sha1", download.sha1}, {".md5", download.md5}};
+        for (String[] checksum : checksums) {
+            String published = fetchChecksum(url + checksum[0]);
+            if (published != null) {
+                if (!published.equalsIgnoreCase(checksum[1])) {
+                    throw new IOException("Downloaded content does not match published checksum " + url + checksum[0]
+                        + "\n  expected: " + published + ", actual: " + checksum[1]);
+                }
+                return published;
+            }
+        }
+        return null;
+    }
+
+    //checksum files contain the hex hash, optionally followed by the file name
+    private String fetchChecksum(String url) {
+        try {
+            HttpURLConnection conn = (HttpURLConnection) downloader.openConnection(url);
+            try {
+                if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                    return null;
+                }
+                String content = IOUtil.readFully(conn.getInputStream()).trim();
+                String[] tokens = content.split("\\s+");
+                return tokens[0].isEmpty() ? null : tokens[0];
+            } finally {
+                conn.disconnect();
+            }
+        } catch (Exception e) {
+            LOG.debug("Checksum {} is not available", url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Downloads the content to a file in the cache directory, named after the url,
+     * so that interrupted download can be resumed by the next build.
+     */
+    private Download fetch(String url) throws IOException {
+        IOUtil.createDirectory(filesDir);
+        File target = new File(filesDir, HashUtil.sha1(url) + ".download");
+        DownloadResult result = downloader.download(url, target);
+        MessageDigest sha1 = HashUtil.digest("SHA-1");
+        MessageDigest md5 = HashUtil.digest("MD5");
+        try (InputStream in = new FileInputStream(target)) {
+            copy(in, null, sha1, md5);
+        }
+        return new Download(target, HashUtil.hex(sha1.digest()), HashUtil.hex(md5.digest()), result);
+    }
+
+    /**
+     * Downloads the content to temporary file with conditional request, hashing it on the way.
+     * Returns null when the server responds that the content was not modified.
+     */
+    private Download fetchIfModified(String url, String etag, long start) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) downloader.openConnection(url);
+        try {
+            conn.setRequestProperty("If-None-Match", etag);
+            int code = conn.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return null;
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("GET " + url + " failed, response code = " + code);
+            }
+            IOUtil.createDirectory(filesDir);
+            File tmp = tempFile(new File(filesDir, "download"));
+            MessageDigest sha1 = HashUtil.digest("SHA-1");
+            MessageDigest md5 = HashUtil.digest("MD5");
+            try (InputStream in = conn.getInputStream(); OutputStream out = new FileOutputStream(tmp)) {
+                copy(in, out, sha1, md5);
+            } catch (IOException e) {
+                tmp.delete();
+                throw e;
+            }
+            DownloadResult result = new DownloadResult(url, tmp.length(), 0, System.currentTimeMillis() - start, false, conn.getHeaderField("ETag"));
+            return new Download(tmp, HashUtil.hex(sha1.digest()), HashUtil.hex(md5.digest()), result);
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Removes least recently used artifacts until the total size of the cached content fits the limit.
+     * Content still referenced by remaining index entries is kept.
+     * Partial downloads are kept so that the next build can resume them, abandoned ones are removed.
+     */
+    private void evict() {
+        long abandoned = System.currentTimeMillis() - ABANDONED_DOWNLOAD_AGE_MILLIS;
+        File[] partialFiles = filesDir.listFiles((dir, name) -> name.endsWith(".download.part"));
+        if (partialFiles != null) {
+            for (File partial : partialFiles) {
+                if (partial.lastModified() < abandoned && partial.delete()) {
+                    LOG.info("  Removed abandoned partial download {} from download cache", partial.getName());
+                }
+            }
+        }
+
+        File[] indexFiles = indexDir.listFiles();
+        if (indexFiles == null) {
+            return;
+        }
+        List<CacheEntry> entries = new ArrayList<>();
+        final Map<CacheEntry, Long> lastAccess = new HashMap<>();
+        Map<String, Integer> references = new HashMap<>();
+        long totalSize = 0;
+        for (File indexFile : indexFiles) {
+            CacheEntry entry = readIndexFile(indexFile);
+            if (entry == null) {
+                continue;
+            }
+            entries.add(entry);
+            lastAccess.put(entry, indexFile.lastModified());
+            Integer count = references.get(entry.sha1);
+            if (count == null) {
+                totalSize += new File(filesDir, entry.sha1).length();
+            }
+            references.put(entry.sha1, count == null ? 1 : count + 1);
+        }
+
+        entries.sort(Comparator.comparing(lastAccess::get));
+        for (CacheEntry entry : entries) {
+            if (totalSize <= maxSize) {
+                return;
+            }
+            indexFile(entry.url).delete();
+            int count = references.get(entry.sha1) - 1;
+            references.put(entry.sha1, count);
+            if (count == 0) {
+                File cached = new File(filesDir, entry.sha1);
+                totalSize -= cached.length();
+                cached.delete();
+                LOG.info("  Removed least recently used artifact {} from download cache", entry.url);
+            }
+        }
+    }
+
+    private CacheEntry readIndex(String url) {
+        File indexFile = indexFile(url);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        CacheEntry entry = readIndexFile(indexFile);
+        //the file name is a hash, so the url is checked just in case
+        return entry != null && entry.url.equals(url) ? entry : null;
+    }
+
+    private static CacheEntry readIndexFile(File indexFile) {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(indexFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            //removed by concurrent eviction
+            return null;
+        }
+        String url = properties.getProperty("url");
+        String sha1 = properties.getProperty("sha1");
+        if (url == null || sha1 == null) {
+            return null;
+        }
+        return new CacheEntry(url, sha1, properties.getProperty("etag"));
+    }
+
+    private void writeIndex(CacheEntry entry) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("url", entry.url);
+        properties.setProperty("sha1", entry.sha1);
+        if (entry.etag != null) {
+            properties.setProperty("etag", entry.etag);
+        }
+        File indexFile = indexFile(entry.url);
+        File tmp = tempFile(indexFile);
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            properties.store(out, null);
+        }
+        moveAtomically(tmp, indexFile);
+    }
+
+    private File indexFile(String url) {
+        return new File(indexDir, HashUtil.sha1(url) + ".properties");
+    }
+
+    private static File tempFile(File target) throws IOException {
+        return File.createTempFile(target.getName(), ".tmp", target.getParentFile());
+    }
+
+    private static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            //for example, the destination is on a different file system
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, MessageDigest... digests) throws IOException {
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            if (out != null) {
+                out.write(buffer, 0, count);
+            }
+            for (MessageDigest digest : digests) {
+                digest.update(buffer, 0, count);
+            }
+        }
+    }
+
+    private static class CacheEntry {
+        private final String url;
+        private final String sha1;
+        //null when the content is verified with published checksum and does not need revalidation
+        private final String etag;
+
+        CacheEntry(String url, String sha1, String etag) {
+            this.url = url;
+            this.sha1 = sha1;
+            this.etag = etag;
+        }
+    }
+
+    private static class Download {
+        private final File file;
+        private final String sha1;
+        private final String md5;
+        private final DownloadResult result;
+
+        Download(File file, String sha1, String md5, DownloadResult result) {
+            this.file = file;
+            this.sha1 = sha1;
+            this.md5 = md5;
+            this.result = result;
+        }
+    }
+}
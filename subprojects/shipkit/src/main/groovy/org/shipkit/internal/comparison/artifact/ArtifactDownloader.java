@@ -0,0 +1,133 @@
+package org.shipkit.internal.comparison.artifact;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.util.ExposedForTesting;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Downloads artifacts with connect and read timeouts.
+ * Content is downloaded to "*.part" file first, which is renamed when the download completes.
+ * When the transfer is interrupted, partial file is kept and the download is resumed with HTTP Range request,
+ * immediately (limited number of attempts) or by the next build.
+ */
+public class ArtifactDownloader {
+
+    private static final Logger LOG = Logging.getLogger(ArtifactDownloader.class);
+
+    public static final int CONNECT_TIMEOUT_MILLIS = 30 * 1000;
+    public static final int READ_TIMEOUT_MILLIS = 60 * 1000;
+    private static final int ATTEMPTS = 3;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    public ArtifactDownloader() {
+        this(CONNECT_TIMEOUT_MILLIS, READ_TIMEOUT_MILLIS);
+    }
+
+    @ExposedForTesting
+    ArtifactDownloader(int connectTimeout, int readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Downloads the artifact to given file, resuming previously interrupted download if possible.
+     * The file is replaced only when the download completes.
+     */
+    public DownloadResult download(String url, File file) throws IOException {
+        long start = System.currentTimeMillis();
+        File partial = new File(file.getPath() + ".part");
+        IOUtil.createParentDirectory(file);
+
+        Transfer transfer = new Transfer();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transfer(url, partial, transfer);
+                break;
+            } catch (IOException e) {
+                if (attempt == ATTEMPTS || partial.length() == 0) {
+                    throw e;
+                }
+                LOG.lifecycle("  Download of {} interrupted after {} bytes, resuming ({})", url, partial.length(), e.getMessage());
+            }
+        }
+        Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return new DownloadResult(url, transfer.bytes, transfer.resumedFrom, System.currentTimeMillis() - start, false, transfer.etag);
+    }
+
+    /**
+     * Connection to given url with the connect and read timeouts of this downloader
+     */
+    URLConnection openConnection(String url) throws IOException {
+        URLConnection conn = new URL(url).openConnection();
+        conn.setConnectTimeout(connectTimeout);
+        conn.setReadTimeout(readTimeout);
+        return conn;
+    }
+
+    //appends the missing content to the partial file
+    private void transfer(String url, File partial, Transfer transfer) throws IOException {
+        URLConnection conn = openConnection(url);
+        long existing = partial.length();
+        boolean append = false;
+        if (conn instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) conn;
+            if (existing > 0) {
+                http.setRequestProperty("Range", "bytes=" + existing + "-");
+            }
+            int code = http.getResponseCode();
+            if (code == HTTP_RANGE_NOT_SATISFIABLE) {
+                //the partial file is not a prefix of the artifact, it is downloaded from scratch
+                partial.delete();
+                http.disconnect();
+                transfer(url, partial, transfer);
+                return;
+            }
+            if (code != HttpURLConnection.HTTP_OK && code != HttpURLConnection.HTTP_PARTIAL) {
+                http.disconnect();
+                throw new IOException("GET " + url + " failed, response code = " + code);
+            }
+            append = code == HttpURLConnection.HTTP_PARTIAL;
+            if (append && transfer.resumedFrom == 0) {
+                transfer.resumedFrom = existing;
+            }
+            transfer.etag = http.getHeaderField("ETag");
+        }
+
+        long expected = conn.getContentLengthLong();
+        long received = 0;
+        try (InputStream in = conn.getInputStream(); OutputStream out = new FileOutputStream(partial, append)) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                received += n;
+                transfer.bytes += n;
+            }
+        }
+        //HttpURLConnection does not always report connection closed before the end of the content
+        if (expected >= 0 && received < expected) {
+            throw new IOException("Premature end of content, received " + received + " of " + expected + " bytes");
+        }
+    }
+
+    private static class Transfer {
+        private long bytes;
+        private long resumedFrom;
+        private String etag;
+    }
+}
@@ -0,0 +1,73 @@
+package org.shipkit.internal.comparison.artifact;
+
+/**
+ * Outcome of a single artifact download, used for reporting
+ */
+public class DownloadResult {
+
+    private final String url;
+    private final long bytes;
+    private final long resumedFrom;
+    private final long millis;
+    private final boolean fromCache;
+    private final String etag;
+
+    DownloadResult(String url, long bytes, long resumedFrom, long millis, boolean fromCache, String etag) {
+        this.url = url;
+        this.bytes = bytes;
+        this.resumedFrom = resumedFrom;
+        this.millis = millis;
+        this.fromCache = fromCache;
+        this.etag = etag;
+    }
+
+    static DownloadResult fromCache(String url, long millis) {
+        return new DownloadResult(url, 0, 0, millis, true, null);
+    }
+
+    /**
+     * Number of bytes transferred over the network
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Size of partially downloaded content that was reused, 0 when the download was not resumed
+     */
+    public long getResumedFrom() {
+        return resumedFrom;
+    }
+
+    /**
+     * Wall time of the download, including the time spent on checksum verification
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Whether the artifact was served from the download cache, see {@link ArtifactDownloadCache}
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    /**
+     * One line summary, for example: "https://repo/a.jar - 1024 bytes in 35 ms"
+     */
+    public String describe() {
+        String result = url + " - " + bytes + " bytes in " + millis + " ms";
+        if (fromCache) {
+            return result + " (from cache)";
+        }
+        if (resumedFrom > 0) {
+            return result + " (resumed from byte " + resumedFrom + ")";
+        }
+        return result;
+    }
+}
@@ -4,18 +4,31 @@ public class Diff {
 
     private final boolean filesEqual;
     private final String diffOutput;
+    private final int addedFiles;
+    private final int removedFiles;
+    private final int modifiedFiles;
 
-    private Diff(boolean filesEqual, String diffOutput) {
+    private Diff(boolean filesEqual, String diffOutput, int addedFiles, int removedFiles, int modifiedFiles) {
         this.filesEqual = filesEqual;
         this.diffOutput = diffOutput;
+        this.addedFiles = addedFiles;
+        this.removedFiles = removedFiles;
+        this.modifiedFiles = modifiedFiles;
     }
 
     public static Diff ofEqualFiles() {
-        return new Diff(true, "");
+        return new Diff(true, "", 0, 0, 0);
     }
 
     public static Diff ofDifferentFiles(String diffOutput) {
-        return new Diff(false, diffOutput);
+        return new Diff(false, diffOutput, 0, 0, 0);
+    }
+
+    /**
+     * Difference between archives, with the numbers of entries that differ
+     */
+    public static Diff ofDifferentFiles(String diffOutput, int addedFiles, int removedFiles, int modifiedFiles) {
+        return new Diff(false, diffOutput, addedFiles, removedFiles, modifiedFiles);
     }
 
     public boolean areFilesEqual() {
@@ -25,4 +38,25 @@ public class Diff {
     public String getDiffOutput() {
         return diffOutput;
     }
+
+    /**
+     * Number of entries added to the archive, 0 when the compared files are not archives
+     */
+    public int getAddedFiles() {
+        return addedFiles;
+    }
+
+    /**
+     * Number of entries removed from the archive, 0 when the compared files are not archives
+     */
+    public int getRemovedFiles() {
+        return removedFiles;
+    }
+
+    /**
+     * Number of modified entries of the archive, 0 when the compared files are not archives
+     */
+    public int getModifiedFiles() {
+        return modifiedFiles;
+    }
 }
@@ -1,12 +1,11 @@
 package org.shipkit.internal.comparison.diff;
 
-import difflib.DiffUtils;
-import difflib.Patch;
-import org.shipkit.internal.gradle.util.StringUtil;
-
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Generates diff between contents of two files, see {@link MyersDiff} for the algorithm.
+ */
 public class FileDiffGenerator {
 
     private static final String INDENTATION = "    ";
@@ -22,27 +21,110 @@ public class FileDiffGenerator {
      * generates diff between contents of two files in the same format as "git diff"
      */
     public String generateDiff(String previousContent, String currentContent, int context) {
+        return generateDiff(previousContent, currentContent, context, Integer.MAX_VALUE);
+    }
+
+    /**
+     * See {@link #generateDiff(String, String, int)}, the diff has at most given number of lines.
+     * When there are more lines, the diff is cut and ends with a line saying so.
+     * Hunks are formatted one by one, formatting stops when the limit is reached.
+     */
+    public String generateDiff(String previousContent, String currentContent, int context, int maxLines) {
         List<String> previousLines = breakIntoLines(previousContent);
         List<String> currentLines = breakIntoLines(currentContent);
 
-        Patch<String> patch = DiffUtils.diff(previousLines, currentLines);
-
-        List<String> unifiedDiff = DiffUtils.generateUnifiedDiff("", "", previousLines, patch, context);
-
-        if (unifiedDiff.size() <= 2) {
+        List<MyersDiff.Edit> edits = MyersDiff.diff(previousLines, currentLines);
+        if (edits.isEmpty()) {
             return ""; // no differences found
         }
 
-        List<String> diffWithoutFileNames = unifiedDiff.subList(2, unifiedDiff.size()); // remove file names
+        DiffOutput out = new DiffOutput(maxLines);
+        int hunkStart = 0;
+        for (int i = 1; i <= edits.size() && !out.isFull(); i++) {
+            //edits close to each other share the hunk, like in "git diff"
+            if (i == edits.size() || edits.get(i - 1).previousEnd + context < edits.get(i).previousStart - context) {
+                appendHunk(out, previousLines, currentLines, edits.subList(hunkStart, i), context);
+                hunkStart = i;
+            }
+        }
+        return out.toString();
+    }
 
-        return INDENTATION + StringUtil.join(diffWithoutFileNames, getLineSeparator() + INDENTATION);
+    private void appendHunk(DiffOutput out, List<String> previousLines, List<String> currentLines, List<MyersDiff.Edit> edits, int context) {
+        MyersDiff.Edit first = edits.get(0);
+        MyersDiff.Edit last = edits.get(edits.size() - 1);
+        int contextStart = Math.max(0, first.previousStart - context);
+        int contextEnd = Math.min(previousLines.size(), last.previousEnd + context);
+        int leading = first.previousStart - contextStart;
+
+        int previousTotal = contextEnd - contextStart;
+        int currentTotal = previousTotal;
+        for (MyersDiff.Edit e : edits) {
+            currentTotal += (e.currentEnd - e.currentStart) - (e.previousEnd - e.previousStart);
+        }
+        out.line("@@ -" + Math.max(1, first.previousStart + 1 - context) + "," + previousTotal
+            + " +" + Math.max(1, first.currentStart + 1 - context) + "," + currentTotal + " @@");
+
+        int line = first.previousStart - leading;
+        for (MyersDiff.Edit e : edits) {
+            for (; line < e.previousStart; line++) {
+                out.line(" " + previousLines.get(line));
+            }
+            for (int i = e.previousStart; i < e.previousEnd; i++) {
+                out.line("-" + previousLines.get(i));
+            }
+            for (int i = e.currentStart; i < e.currentEnd; i++) {
+                out.line("+" + currentLines.get(i));
+            }
+            line = e.previousEnd;
+        }
+        for (; line < contextEnd; line++) {
+            out.line(" " + previousLines.get(line));
+        }
     }
 
     private List<String> breakIntoLines(String previousContent) {
         return Arrays.asList(previousContent.split(getLineSeparator()));
     }
 
-    private String getLineSeparator() {
+    private static String getLineSeparator() {
         return System.getProperty("line.separator");
     }
+
+    /**
+     * Indented diff lines, up to the limit
+     */
+    private static class DiffOutput {
+        private final StringBuilder sb = new StringBuilder();
+        private final int maxLines;
+        private int lines;
+
+        DiffOutput(int maxLines) {
+            this.maxLines = maxLines;
+        }
+
+        void line(String line) {
+            if (lines < maxLines) {
+                append(line);
+            } else if (lines == maxLines) {
+                append("... (diff truncated after " + maxLines + " lines)");
+            }
+            lines++;
+        }
+
+        boolean isFull() {
+            return lines > maxLines;
+        }
+
+        private void append(String line) {
+            if (sb.length() > 0) {
+                sb.append(getLineSeparator());
+            }
+            sb.append(INDENTATION).append(line);
+        }
+
+        public String toString() {
+            return sb.toString();
+        }
+    }
 }
@@ -0,0 +1,186 @@
+package org.shipkit.internal.comparison.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line diff computed with Myers' algorithm in linear space:
+ * the "middle snake" of the edit path is found by searching from both ends,
+ * then the parts before and after it are diffed recursively.
+ * Only two arrays proportional to the number of lines are allocated per step, not the N x M matrix.
+ * <p>
+ * Lines are compared as integer ids, common prefix and suffix are skipped before searching.
+ * When a part of the files is so different that searching it would be too expensive
+ * (e.g. rewritten generated file), the whole part is reported as changed, so the diff is not minimal then.
+ */
+class MyersDiff {
+
+    private static final int MIN_COST_LIMIT = 256;
+    //searching costs (number of lines) x (number of edits), this much is always affordable
+    private static final int WORK_LIMIT = 10000000;
+
+    private final int[] a;
+    private final int[] b;
+    //initially every line is changed, lines found in the common subsequence are unmarked
+    private final boolean[] aChanged;
+    private final boolean[] bChanged;
+    private int[] forward;
+    private int[] backward;
+
+    private MyersDiff(int[] a, int[] b) {
+        this.a = a;
+        this.b = b;
+        this.aChanged = new boolean[a.length];
+        this.bChanged = new boolean[b.length];
+        Arrays.fill(aChanged, true);
+        Arrays.fill(bChanged, true);
+    }
+
+    /**
+     * Region of the previous lines replaced by a region of the current lines, one of the regions can be empty.
+     */
+    static class Edit {
+        final int previousStart;
+        final int previousEnd;
+        final int currentStart;
+        final int currentEnd;
+
+        Edit(int previousStart, int previousEnd, int currentStart, int currentEnd) {
+            this.previousStart = previousStart;
+            this.previousEnd = previousEnd;
+            this.currentStart = currentStart;
+            this.currentEnd = currentEnd;
+        }
+    }
+
+    /**
+     * Returns edits that transform previous lines into current lines, in the order of the lines
+     */
+    static List<Edit> diff(List<String> previous, List<String> current) {
+        Map<String, Integer> ids = new HashMap<>();
+        MyersDiff diff = new MyersDiff(toIds(previous, ids), toIds(current, ids));
+        diff.compare(0, diff.a.length, 0, diff.b.length);
+        return diff.edits();
+    }
+
+    private static int[] toIds(List<String> lines, Map<String, Integer> ids) {
+        int[] result = new int[lines.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer id = ids.get(lines.get(i));
+            if (id == null) {
+                id = ids.size();
+                ids.put(lines.get(i), id);
+            }
+            result[i] = id;
+        }
+        return result;
+    }
+
+    private void compare(int aStart, int aEnd, int bStart, int bEnd) {
+        while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+            aChanged[aStart++] = false;
+            bChanged[bStart++] = false;
+        }
+        while (aStart < aEnd && bStart < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+            aChanged[--aEnd] = false;
+            bChanged[--bEnd] = false;
+        }
+        if (aStart == aEnd || bStart == bEnd) {
+            return;
+        }
+
+        int[] snake = middleSnake(aStart, aEnd, bStart, bEnd);
+        if (snake == null) {
+            return;
+        }
+        compare(aStart, snake[0], bStart, snake[1]);
+        for (int x = snake[0], y = snake[1]; x < snake[2]; x++, y++) {
+            aChanged[x] = false;
+            bChanged[y] = false;
+        }
+        compare(snake[2], aEnd, snake[3], bEnd);
+    }
+
+    /**
+     * Finds the middle snake of the shortest edit path, returns its start and end: {x, y, u, v}.
+     * Returns null when the search exceeds the cost limit.
+     */
+    private int[] middleSnake(int aStart, int aEnd, int bStart, int bEnd) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        int delta = n - m;
+        boolean odd = (delta & 1) != 0;
+        int max = (n + m + 1) / 2;
+        int limit = Math.min(max, Math.max(Math.max(MIN_COST_LIMIT, 4 * (int) Math.sqrt(n + m)), WORK_LIMIT / (n + m)));
+        int offset = limit + 1;
+        if (forward == null || forward.length < 2 * offset + 1) {
+            forward = new int[2 * offset + 1];
+            backward = new int[2 * offset + 1];
+        }
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+
+        for (int d = 0; d <= limit; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1]))
+                    ? forward[offset + k + 1] : forward[offset + k - 1] + 1;
+                int y = x - k;
+                int x0 = x;
+                int y0 = y;
+                while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+                //reverse path on the same diagonal, searched up to d - 1
+                int reverseK = delta - k;
+                if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + backward[offset + reverseK] >= n) {
+                    return new int[]{aStart + x0, bStart + y0, aStart + x, bStart + y};
+                }
+            }
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1]))
+                    ? backward[offset + k + 1] : backward[offset + k - 1] + 1;
+                int y = x - k;
+                int x0 = x;
+                int y0 = y;
+                while (x < n && y < m && a[aEnd - 1 - x] == b[bEnd - 1 - y]) {
+                    x++;
+                    y++;
+                }
+                backward[offset + k] = x;
+                int forwardK = delta - k;
+                if (!odd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n) {
+                    return new int[]{aEnd - x, bEnd - y, aEnd - x0, bEnd - y0};
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<Edit> edits() {
+        List<Edit> edits = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (i < a.length && j < b.length && !aChanged[i] && !bChanged[j]) {
+                i++;
+                j++;
+                continue;
+            }
+            int previousStart = i;
+            int currentStart = j;
+            while (i < a.length && aChanged[i]) {
+                i++;
+            }
+            while (j < b.length && bChanged[j]) {
+                j++;
+            }
+            edits.add(new Edit(previousStart, i, currentStart, j));
+        }
+        return edits;
+    }
+}
@@ -21,6 +21,7 @@ public class DefaultProcessRunner implements ProcessRunner {
     private final File workDir;
     private final File outputLogFile;
     private List<String> secretValues = Collections.emptyList();
+    private boolean quiet;
 
     /**
      * Calls {@link #DefaultProcessRunner(File, File)}
@@ -50,7 +51,11 @@ public class DefaultProcessRunner implements ProcessRunner {
     String run(Logger log, List<String> commandLine) {
         // WARNING!!! ensure that masked command line is used for all logging!!!
         String maskedCommandLine = mask(join(commandLine, " "));
-        log.lifecycle("  Executing:\n    " + maskedCommandLine);
+        if (quiet) {
+            log.info("  Executing:\n    " + maskedCommandLine);
+        } else {
+            log.lifecycle("  Executing:\n    " + maskedCommandLine);
+        }
 
         ProcessResult result = executeProcess(commandLine, maskedCommandLine);
 
@@ -142,6 +147,16 @@ public class DefaultProcessRunner implements ProcessRunner {
         return this;
     }
 
+    /**
+     * @param quiet whether executed command lines are logged at info level instead of lifecycle,
+     *              useful for commands that are not interesting for the user, like querying the repository
+     * @return this runner
+     */
+    public DefaultProcessRunner setQuiet(boolean quiet) {
+        this.quiet = quiet;
+        return this;
+    }
+
     private static class ProcessResult {
         private final String output;
         private final Process process;
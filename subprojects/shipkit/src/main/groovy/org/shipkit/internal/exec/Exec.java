@@ -14,6 +14,13 @@ public class Exec {
         return new DefaultProcessRunner(workDir);
     }
 
+    /**
+     * Provides process runner for given working dir that logs executed commands only at info level
+     */
+    public static ProcessRunner getQuietProcessRunner(File workDir) {
+        return new DefaultProcessRunner(workDir).setQuiet(true);
+    }
+
     /**
      * Provides process runner for given working dir
      */
@@ -5,9 +5,7 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
-import org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubCleanupTask;
 import org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubTask;
-import org.shipkit.gradle.notes.UpdateReleaseNotesTask;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
 import org.shipkit.internal.gradle.git.GitPlugin;
 import org.shipkit.internal.gradle.java.JavaBintrayPlugin;
@@ -42,6 +40,7 @@ public class BintrayReleasePlugin implements Plugin<Project> {
 
     public void apply(final Project project) {
         ReleasePlugin releasePlugin = project.getPlugins().apply(ReleasePlugin.class);
+        final ReleaseNotesPlugin releaseNotesPlugin = project.getPlugins().apply(ReleaseNotesPlugin.class);
         final ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
 
         final Task gitPush = project.getTasks().getByName(GitPlugin.GIT_PUSH_TASK);
@@ -58,19 +57,12 @@ public class BintrayReleasePlugin implements Plugin<Project> {
 
                 final BintrayExtension bintray = subproject.getExtensions().getByType(BintrayExtension.class);
                 deferredConfiguration(subproject, () -> {
-                    UpdateReleaseNotesTask updateNotes = (UpdateReleaseNotesTask) project.getTasks().getByName(ReleaseNotesPlugin.UPDATE_NOTES_TASK);
                     UpdateReleaseNotesOnGitHubTask updateNotesOnGitHub = (UpdateReleaseNotesOnGitHubTask) project.getTasks().getByName(ReleaseNotesPlugin.UPDATE_NOTES_ON_GITHUB_TASK);
-                    UpdateReleaseNotesOnGitHubCleanupTask updateNotesOnGitHubCleanup = (UpdateReleaseNotesOnGitHubCleanupTask) project.getTasks().getByName(ReleaseNotesPlugin.UPDATE_NOTES_ON_GITHUB_CLEANUP_TASK);
                     String userSpecifiedRepo = conf.getLenient().getReleaseNotes().getPublicationRepository();
                     if (userSpecifiedRepo != null) {
-                        updateNotes.setPublicationRepository(userSpecifiedRepo);
-                        updateNotesOnGitHub.setPublicationRepository(userSpecifiedRepo);
-                        updateNotesOnGitHubCleanup.setPublicationRepository(userSpecifiedRepo);
+                        releaseNotesPlugin.setPublicationRepository(userSpecifiedRepo);
                     } else {
-                        String repoLink = BintrayUtil.getRepoLink(bintray);
-                        updateNotes.setPublicationRepository(repoLink);
-                        updateNotesOnGitHub.setPublicationRepository(repoLink);
-                        updateNotesOnGitHubCleanup.setPublicationRepository(repoLink);
+                        releaseNotesPlugin.setPublicationRepository(BintrayUtil.getRepoLink(bintray));
                     }
 
                     updateNotesOnGitHub.setGitHubWriteToken(conf.getLenient().getGitHub().getWriteAuthToken());
@@ -35,8 +35,16 @@ public class DeferredConfiguration {
      *
      *     //the settings above need to be reflected in tasks added earlier by the plugin
      * </pre>
+     * When the project was already evaluated (e.g. the task is created when needed, see {@link org.shipkit.internal.gradle.util.LazyTask}),
+     * the user-defined settings are already known and the configuration is executed immediately.
      */
     public static void deferredConfiguration(Project project, final Runnable runnable) {
+        if (project.getState().getExecuted()) {
+            LOGGER.info("{} - executing deferred configuration immediately, the project is already evaluated",
+                    project.getPath().equals(":") ? "Root project" : project.getPath());
+            runnable.run();
+            return;
+        }
         project.afterEvaluate(new Action<Project>() {
             public void execute(Project project) {
                 LOGGER.info("{} - executing deferred configuration using 'afterEvaluate'",
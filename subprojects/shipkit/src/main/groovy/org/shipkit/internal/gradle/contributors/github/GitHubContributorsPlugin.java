@@ -5,7 +5,9 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
 import org.shipkit.gradle.notes.FetchGitHubContributorsTask;
+import org.shipkit.internal.gradle.notes.tasks.FetchContributors;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 import static org.shipkit.internal.gradle.util.BuildConventions.contributorsFile;
@@ -45,5 +47,7 @@ public class GitHubContributorsPlugin implements Plugin<Project> {
         task.setApiUrl(conf.getGitHub().getApiUrl());
         task.setReadOnlyAuthToken(conf.getGitHub().getReadOnlyAuthToken());
         task.setRepository(conf.getGitHub().getRepository());
+
+        BackgroundPrefetch.of(project).register(task, () -> new FetchContributors().fetchContributorsData(task));
     }
 }
@@ -1,21 +1,34 @@
 package org.shipkit.internal.gradle.git;
 
+import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
 import org.shipkit.gradle.git.GitCommitTask;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 public class GitCommitTaskFactory {
 
     public static GitCommitTask createGitCommitTask(Project project, String taskName, String description) {
+        return TaskMaker.task(project, taskName, GitCommitTask.class, configureCommit(project, description));
+    }
+
+    /**
+     * Registers commit task that is created only when needed, see {@link TaskMaker#register(Project, String, Class, Action)}
+     */
+    public static LazyTask<GitCommitTask> registerGitCommitTask(Project project, String taskName, String description) {
+        return TaskMaker.register(project, taskName, GitCommitTask.class, configureCommit(project, description));
+    }
+
+    private static Action<GitCommitTask> configureCommit(Project project, String description) {
         ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
 
-        return TaskMaker.task(project, taskName, GitCommitTask.class, task -> {
+        return task -> {
             task.setDescription(description);
             task.setGitUserName(conf.getGit().getUser());
             task.setGitUserEmail(conf.getGit().getEmail());
             task.setCommitMessagePostfix(conf.getGit().getCommitMessagePostfix());
-        });
+        };
     }
 }
@@ -44,9 +44,9 @@ public class GitPlugin implements Plugin<Project> {
 
     public static final String PERFORM_GIT_COMMIT_CLEANUP_TASK = "performGitCommitCleanUp";
     static final String GIT_STASH_TASK = "gitStash";
-    static final String SOFT_RESET_COMMIT_TASK = "gitSoftResetCommit";
+    public static final String SOFT_RESET_COMMIT_TASK = "gitSoftResetCommit";
     public static final String TAG_CLEANUP_TASK = "gitTagCleanUp";
-    static final String GIT_TAG_TASK = "gitTag";
+    public static final String GIT_TAG_TASK = "gitTag";
     public static final String GIT_PUSH_TASK = "gitPush";
     public static final String PERFORM_GIT_PUSH_TASK = "performGitPush";
     public static final String GIT_COMMIT_TASK = "gitCommit";
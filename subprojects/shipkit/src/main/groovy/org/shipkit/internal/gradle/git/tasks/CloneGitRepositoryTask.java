@@ -47,8 +47,9 @@ public class CloneGitRepositoryTask extends DefaultTask {
 
         LOG.lifecycle("  Cloning repository {}\n    into {}", repositoryUrl, targetDir);
 
-        getProject().getBuildDir().mkdirs();    // build dir can be not created yet
-        ProcessRunner processRunner = Exec.getProcessRunner(getProject().getBuildDir());
+        File parentDir = targetDir.getAbsoluteFile().getParentFile();
+        parentDir.mkdirs();    // build dir can be not created yet
+        ProcessRunner processRunner = Exec.getProcessRunner(parentDir);
         processRunner.run(getCloneCommand());
     }
 
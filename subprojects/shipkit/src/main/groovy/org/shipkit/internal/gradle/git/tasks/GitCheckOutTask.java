@@ -23,6 +23,7 @@ public class GitCheckOutTask extends DefaultTask {
     private boolean newBranch;
     @Input @Optional
     private File directory;
+    private final File projectDir = getProject().getProjectDir();
 
     private ProcessRunner processRunner;
 
@@ -87,7 +88,7 @@ public class GitCheckOutTask extends DefaultTask {
     private ProcessRunner getProcessRunner() {
         if (processRunner == null) {
             if (directory == null) {
-                return new DefaultProcessRunner(getProject().getProjectDir());
+                return new DefaultProcessRunner(projectDir);
             } else {
                 return new DefaultProcessRunner(directory);
             }
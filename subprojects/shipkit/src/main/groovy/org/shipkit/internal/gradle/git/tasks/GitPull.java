@@ -12,7 +12,7 @@ public class GitPull {
 
     public void gitPull(GitPullTask task) {
         TokenAvailabilityMessage.logMessage("git pull", task.getSecretValue());
-        new DefaultProcessRunner(task.getProject().getProjectDir())
+        new DefaultProcessRunner(task.getWorkingDir())
             .setSecretValue(task.getSecretValue())
             .run(gitPullArgs(task.getUrl(), task.getRev(), task.isDryRun()));
     }
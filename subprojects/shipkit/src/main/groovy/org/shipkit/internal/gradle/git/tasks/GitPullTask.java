@@ -4,6 +4,8 @@ import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.TaskAction;
 
+import java.io.File;
+
 /**
  * Performs git pull operation.
  * It does not expose the command line parameters when build is executed with '-i' (--info) level.
@@ -17,12 +19,21 @@ public class GitPullTask extends DefaultTask {
     @Input private String rev;
     @Input private boolean dryRun;
     private String secretValue;
+    private File workingDir = getProject().getProjectDir();
 
     @TaskAction
     public void gitPull() {
         new GitPull().gitPull(this);
     }
 
+    public File getWorkingDir() {
+        return workingDir;
+    }
+
+    public void setWorkingDir(File workingDir) {
+        this.workingDir = workingDir;
+    }
+
     public String getUrl() {
         return url;
     }
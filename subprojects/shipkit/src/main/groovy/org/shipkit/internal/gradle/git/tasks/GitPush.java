@@ -44,9 +44,6 @@ public class GitPush {
     }
 
     private File getWorkDir(GitPushTask task) {
-        if (task.getWorkingDir() != null) {
-            return new File(task.getWorkingDir());
-        }
-        return task.getProject().getProjectDir();
+        return new File(task.getWorkingDir());
     }
 }
@@ -54,23 +54,23 @@ public class InitPlugin implements Plugin<Project> {
         project.getPlugins().apply(ShipkitConfigurationPlugin.class);
         final GitOriginPlugin gitOriginPlugin = project.getRootProject().getPlugins().apply(GitOriginPlugin.class);
 
-        TaskMaker.task(project, INIT_TRAVIS_TASK, InitTravisTask.class, new Action<InitTravisTask>() {
+        TaskMaker.register(project, INIT_TRAVIS_TASK, InitTravisTask.class, new Action<InitTravisTask>() {
             public void execute(InitTravisTask t) {
                 t.setDescription("Creates '.travis.yml' file if not already present.");
                 t.setOutputFile(new File(project.getRootDir(), ".travis.yml"));
             }
         });
 
-        final BumpVersionFileTask bump = (BumpVersionFileTask) project.getTasks().getByName(VersioningPlugin.BUMP_VERSION_FILE_TASK);
-        TaskMaker.task(project, INIT_VERSIONING_TASK, InitVersioningTask.class, new Action<InitVersioningTask>() {
+        TaskMaker.register(project, INIT_VERSIONING_TASK, InitVersioningTask.class, new Action<InitVersioningTask>() {
             @Override
             public void execute(InitVersioningTask t) {
+                final BumpVersionFileTask bump = (BumpVersionFileTask) project.getTasks().getByName(VersioningPlugin.BUMP_VERSION_FILE_TASK);
                 t.setDescription("Creates version.properties file if it doesn't exist");
                 t.setVersionFile(bump.getVersionFile());
             }
         });
 
-        TaskMaker.task(project, INIT_SHIPKIT_FILE_TASK, InitShipkitFileTask.class, new Action<InitShipkitFileTask>() {
+        TaskMaker.register(project, INIT_SHIPKIT_FILE_TASK, InitShipkitFileTask.class, new Action<InitShipkitFileTask>() {
             @Override
             public void execute(final InitShipkitFileTask t) {
                 final File shipkitFile = ShipkitConfigurationPlugin.getShipkitFile(project);
@@ -85,7 +85,7 @@ public class InitPlugin implements Plugin<Project> {
             }
         });
 
-        TaskMaker.task(project, INIT_SHIPKIT_TASK, new Action<Task>() {
+        TaskMaker.register(project, INIT_SHIPKIT_TASK, new Action<Task>() {
             public void execute(Task t) {
                 t.setDescription("Initializes Shipkit");
                 t.dependsOn(INIT_TRAVIS_TASK, INIT_VERSIONING_TASK, INIT_SHIPKIT_FILE_TASK);
@@ -2,9 +2,11 @@ package org.shipkit.internal.gradle.init.tasks;
 
 import org.shipkit.gradle.init.InitShipkitFileTask;
 import org.shipkit.internal.notes.util.IOUtil;
-import org.shipkit.internal.util.TemplateResolver;
+import org.shipkit.internal.util.CompiledTemplate;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
 public class InitShipkitFile {
 
@@ -25,20 +27,19 @@ public class InitShipkitFile {
     }
 
     static void createShipkitFile(File shipkitFile, String originRepoName) {
-        String content =
-            new TemplateResolver(DEFAULT_SHIPKIT_CONFIG_FILE_CONTENT)
-                .withProperty("gitHub.repository", originRepoName)
-                .withProperty("gitHub.readOnlyAuthToken", "76826c9ec886612f504d12fd4268b16721c4f85d")
+        Map<String, String> properties = new HashMap<>();
+        properties.put("gitHub.repository", originRepoName);
+        properties.put("gitHub.readOnlyAuthToken", "76826c9ec886612f504d12fd4268b16721c4f85d");
 
-                .withProperty("bintray.key", "7ea297848ca948adb7d3ee92a83292112d7ae989")
-                .withProperty("bintray.pkg.repo", "bootstrap")
-                .withProperty("bintray.pkg.user", "shipkit-bootstrap-bot")
-                .withProperty("bintray.pkg.userOrg", "shipkit-bootstrap")
-                .withProperty("bintray.pkg.name", "maven")
-                .withProperty("bintray.pkg.licenses", "['MIT']")
-                .withProperty("bintray.pkg.labels", "['continuous delivery', 'release automation', 'shipkit']")
+        properties.put("bintray.key", "7ea297848ca948adb7d3ee92a83292112d7ae989");
+        properties.put("bintray.pkg.repo", "bootstrap");
+        properties.put("bintray.pkg.user", "shipkit-bootstrap-bot");
+        properties.put("bintray.pkg.userOrg", "shipkit-bootstrap");
+        properties.put("bintray.pkg.name", "maven");
+        properties.put("bintray.pkg.licenses", "['MIT']");
+        properties.put("bintray.pkg.labels", "['continuous delivery', 'release automation', 'shipkit']");
 
-                .resolve();
+        String content = DEFAULT_SHIPKIT_CONFIG_FILE_TEMPLATE.render(properties);
 
         IOUtil.writeFile(shipkitFile, content);
     }
@@ -87,4 +88,6 @@ public class InitShipkitFile {
             "        }\n" +
             "    }\n" +
             "}\n";
+
+    private static final CompiledTemplate DEFAULT_SHIPKIT_CONFIG_FILE_TEMPLATE = CompiledTemplate.compile(DEFAULT_SHIPKIT_CONFIG_FILE_CONTENT);
 }
@@ -5,15 +5,24 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.publish.PublicationContainer;
+import org.gradle.api.publish.maven.MavenArtifact;
+import org.gradle.api.publish.maven.MavenPublication;
 import org.gradle.api.tasks.bundling.Jar;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
 import org.shipkit.gradle.java.ComparePublicationsTask;
+import org.shipkit.gradle.java.CreateContentManifestTask;
 import org.shipkit.gradle.java.DownloadPreviousPublicationsTask;
 import org.shipkit.internal.comparison.artifact.DefaultArtifactUrlResolver;
 import org.shipkit.internal.comparison.artifact.DefaultArtifactUrlResolverFactory;
 import org.shipkit.internal.gradle.configuration.DeferredConfiguration;
+import org.shipkit.internal.gradle.configuration.LazyConfiguration;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
 import org.shipkit.internal.gradle.java.tasks.CreateDependencyInfoFileTask;
+import org.shipkit.internal.gradle.java.tasks.PreviousPublicationsDownloads;
+import org.shipkit.internal.gradle.util.GradleDSLHelper;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 import java.io.File;
@@ -26,6 +35,15 @@ import java.io.File;
  * The file is included in META-INF directory of sources jar.
  * It is later used for comparing publications. Shipkit considers adding/changing version/removing a dependency
  * as an important change after which release is necessary.
+ * <p>
+ * Adds content manifest of the sources jar to the publication (classifier 'sources-manifest'),
+ * so that the next release downloads only the small manifest instead of the whole previous sources jar.
+ * <p>
+ * Binary jars are compared too when {@link ComparePublicationsTask#isBinaryComparison()} is enabled,
+ * then previous binary jar is downloaded as well.
+ * <p>
+ * Projects without changed files since the tag of the previous release are not compared,
+ * see {@link ComparePublicationsTask#isUnchangedSincePreviousRelease()}.
  *
  * <p>
  * Applies:
@@ -39,9 +57,13 @@ import java.io.File;
  *
  * <ul>
  *     <li>createDependencyInfoFile - {@link CreateDependencyInfoFileTask}</li>
+ *     <li>createSourcesManifest - {@link CreateContentManifestTask}</li>
  *     <li>downloadPreviousReleaseArtifacts - {@link DownloadPreviousPublicationsTask}</li>
  *     <li>comparePublications - {@link ComparePublicationsTask}</li>
  * </ul>
+ *
+ * None of the tasks is created until it is needed (see {@link LazyTask}),
+ * e.g. the comparison tasks are created when the release check depends on them.
  */
 public class ComparePublicationsPlugin implements Plugin<Project> {
 
@@ -50,6 +72,7 @@ public class ComparePublicationsPlugin implements Plugin<Project> {
     final static String DOWNLOAD_PUBLICATIONS_TASK = "downloadPreviousReleaseArtifacts";
     public final static String COMPARE_PUBLICATIONS_TASK = "comparePublications";
     public static final String DEPENDENCY_INFO_FILENAME = "dependency-info.md";
+    static final String SOURCES_MANIFEST_CLASSIFIER = "sources-manifest";
 
     final static String PREVIOUS_ARTIFACTS_DIR = "/previous-release-artifacts";
 
@@ -62,12 +85,15 @@ public class ComparePublicationsPlugin implements Plugin<Project> {
 
         String basePreviousVersionArtifactPath = getBasePreviousVersionArtifactPath(project, conf, sourcesJar);
         final File previousSourcesJar = new File(basePreviousVersionArtifactPath + "-sources.jar");
+        final File previousManifest = new File(basePreviousVersionArtifactPath + "-" + SOURCES_MANIFEST_CLASSIFIER + ".json");
+        final File previousJar = new File(basePreviousVersionArtifactPath + ".jar");
 
-        final CreateDependencyInfoFileTask dependencyInfoTask = TaskMaker.task(project, "createDependencyInfoFile", CreateDependencyInfoFileTask.class, new Action<CreateDependencyInfoFileTask>() {
+        final File dependencyInfoFile = new File(project.getBuildDir(), DEPENDENCY_INFO_FILENAME);
+        final LazyTask<CreateDependencyInfoFileTask> dependencyInfoTask = TaskMaker.register(project, "createDependencyInfoFile", CreateDependencyInfoFileTask.class, new Action<CreateDependencyInfoFileTask>() {
             @Override
             public void execute(final CreateDependencyInfoFileTask task) {
                 task.setDescription("Creates a file with all declared runtime dependencies.");
-                task.setOutputFile(new File(project.getBuildDir(), DEPENDENCY_INFO_FILENAME));
+                task.setOutputFile(dependencyInfoFile);
                 task.setConfiguration(project.getConfigurations().getByName("runtimeClasspath"));
                 task.setProjectVersion(project.getVersion().toString());
 
@@ -80,13 +106,46 @@ public class ComparePublicationsPlugin implements Plugin<Project> {
             }
         });
 
-        sourcesJar.getMetaInf().from(dependencyInfoTask.getOutputFile());
+        sourcesJar.getMetaInf().from(dependencyInfoFile);
         sourcesJar.dependsOn(dependencyInfoTask);
 
-        TaskMaker.task(project, DOWNLOAD_PUBLICATIONS_TASK, DownloadPreviousPublicationsTask.class, new Action<DownloadPreviousPublicationsTask>() {
+        final LazyTask<CreateContentManifestTask> manifestTask = TaskMaker.register(project, "createSourcesManifest", CreateContentManifestTask.class, new Action<CreateContentManifestTask>() {
+            @Override
+            public void execute(final CreateContentManifestTask task) {
+                task.setDescription("Creates content manifest of the sources jar, published for comparison by the next release.");
+                task.dependsOn(sourcesJar);
+                task.setArchive(sourcesJar.getArchivePath());
+                task.setOutputFile(getSourcesManifestFile(sourcesJar));
+            }
+        });
+
+        //the name of the manifest contains the version, known only when the build.gradle is evaluated
+        DeferredConfiguration.deferredConfiguration(project, new Runnable() {
+            @Override
+            public void run() {
+                GradleDSLHelper.publications(project, new Action<PublicationContainer>() {
+                    @Override
+                    public void execute(PublicationContainer publications) {
+                        MavenPublication publication = (MavenPublication) publications.getByName(JavaPublishPlugin.PUBLICATION_NAME);
+                        publication.artifact(getSourcesManifestFile(sourcesJar), new Action<MavenArtifact>() {
+                            @Override
+                            public void execute(MavenArtifact artifact) {
+                                artifact.setClassifier(SOURCES_MANIFEST_CLASSIFIER);
+                                artifact.setExtension("json");
+                                artifact.builtBy(manifestTask);
+                            }
+                        });
+                    }
+                });
+            }
+        });
+
+        final LazyTask<DownloadPreviousPublicationsTask> downloadTask = TaskMaker.register(project, DOWNLOAD_PUBLICATIONS_TASK, DownloadPreviousPublicationsTask.class, new Action<DownloadPreviousPublicationsTask>() {
             @Override
             public void execute(final DownloadPreviousPublicationsTask t) {
                 t.setDescription("Downloads artifacts of last released version and stores it locally for comparison");
+                t.setDownloadCacheDir(new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/downloads"));
+                PreviousPublicationsDownloads.of(project).register(t);
 
                 DeferredConfiguration.deferredConfiguration(project, new Runnable() {
                     @Override
@@ -97,19 +156,67 @@ public class ComparePublicationsPlugin implements Plugin<Project> {
                         String previousVersionSourcesJarUrl = getDefaultIfNull(t.getPreviousSourcesJarUrl(), "previousSourcesJarUrl", "-sources.jar", artifactUrlResolver);
                         t.setPreviousSourcesJarUrl(previousVersionSourcesJarUrl);
                         t.setPreviousSourcesJarFile(previousSourcesJar);
+
+                        String previousManifestUrl = getDefaultIfNull(t.getPreviousManifestUrl(), "previousManifestUrl",
+                            "-" + SOURCES_MANIFEST_CLASSIFIER + ".json", artifactUrlResolver);
+                        t.setPreviousManifestUrl(previousManifestUrl);
+                        t.setPreviousManifestFile(previousManifest);
                     }
                 });
             }
         });
 
-        TaskMaker.task(project, COMPARE_PUBLICATIONS_TASK, ComparePublicationsTask.class, new Action<ComparePublicationsTask>() {
+        TaskMaker.register(project, COMPARE_PUBLICATIONS_TASK, ComparePublicationsTask.class, new Action<ComparePublicationsTask>() {
             public void execute(final ComparePublicationsTask t) {
                 t.setDescription("Compares artifacts and poms between last version and the currently built one to see if there are any differences");
 
-                t.dependsOn(DOWNLOAD_PUBLICATIONS_TASK);
+                t.dependsOn(downloadTask);
 
                 t.setComparisonResult(new File(project.getBuildDir(), "publications-comparison.txt"));
                 t.setPreviousSourcesJar(previousSourcesJar);
+                t.setPreviousManifest(previousManifest);
+                t.setPreviousJar(previousJar);
+                if (conf.getPreviousReleaseVersion() != null) {
+                    t.setPreviousReleaseTag(conf.getGit().getTagPrefix() + conf.getPreviousReleaseVersion());
+                }
+
+                //no need to download previous publications when the project did not change since previous release
+                LazyConfiguration.lazyConfiguration(t, new Runnable() {
+                    @Override
+                    public void run() {
+                        if (t.isUnchangedSincePreviousRelease()) {
+                            downloadTask.configure(new Action<DownloadPreviousPublicationsTask>() {
+                                public void execute(DownloadPreviousPublicationsTask download) {
+                                    download.setEnabled(false);
+                                }
+                            });
+                        }
+                    }
+                });
+
+                DeferredConfiguration.deferredConfiguration(project, new Runnable() {
+                    @Override
+                    public void run() {
+                        if (t.isBinaryComparison()) {
+                            t.compareJar((Jar) project.getTasks().getByName(JavaPlugin.JAR_TASK_NAME));
+                        }
+                        //the download task is configured when it gets created, e.g. when the comparison runs
+                        downloadTask.configure(new Action<DownloadPreviousPublicationsTask>() {
+                            public void execute(DownloadPreviousPublicationsTask download) {
+                                if (download.isRangeRequests()) {
+                                    t.setPreviousSourcesJarUrl(download.getPreviousSourcesJarUrl());
+                                }
+                                if (t.isBinaryComparison()) {
+                                    //binary jar is downloaded only when it is compared
+                                    DefaultArtifactUrlResolver artifactUrlResolver =
+                                        new DefaultArtifactUrlResolverFactory().getDefaultResolver(project, sourcesJar.getBaseName(), conf.getPreviousReleaseVersion());
+                                    download.setPreviousJarUrl(getDefaultIfNull(download.getPreviousJarUrl(), "previousJarUrl", ".jar", artifactUrlResolver));
+                                    download.setPreviousJarFile(previousJar);
+                                }
+                            }
+                        });
+                    }
+                });
 
                 //Set local sources jar for comparison with previously released
                 t.compareSourcesJar(sourcesJar);
@@ -117,6 +224,12 @@ public class ComparePublicationsPlugin implements Plugin<Project> {
         });
     }
 
+    //named like the sources jar, manifests of different projects and versions don't collide when collected together
+    private static File getSourcesManifestFile(Jar sourcesJar) {
+        return new File(sourcesJar.getDestinationDir(),
+            sourcesJar.getBaseName() + "-" + sourcesJar.getVersion() + "-" + SOURCES_MANIFEST_CLASSIFIER + ".json");
+    }
+
     private String getBasePreviousVersionArtifactPath(Project project, ShipkitConfiguration conf, Jar sourcesJar) {
         return project.getBuildDir().getAbsolutePath() + PREVIOUS_ARTIFACTS_DIR
                 + File.separator + sourcesJar.getBaseName() + "-" + conf.getPreviousReleaseVersion();
@@ -0,0 +1,122 @@
+package org.shipkit.internal.gradle.java.tasks;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.exec.Exec;
+import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.util.ExposedForTesting;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Detects projects with changed files since given revision, e.g. the tag of the previous release.
+ * Changed files are listed with single 'git diff' per revision, shared by all projects of the build.
+ * Each changed file belongs to the project with the closest project directory.
+ * Files that don't belong to any subproject (e.g. root build scripts, 'gradle' directory) can affect all projects,
+ * hence all projects are considered changed when such files change.
+ * <p>
+ * Single instance is shared by the entire build, see {@link #of(Project)}.
+ */
+public class ChangedProjects {
+
+    private static final Logger LOG = Logging.getLogger(ChangedProjects.class);
+
+    private final File rootDir;
+    private final Collection<File> projectDirs;
+    private final ProcessRunner runner;
+    private final Map<String, Changes> changes = new HashMap<>();
+
+    @ExposedForTesting
+    ChangedProjects(File rootDir, Collection<File> projectDirs, ProcessRunner runner) {
+        this.rootDir = rootDir;
+        this.projectDirs = projectDirs;
+        this.runner = runner;
+    }
+
+    /**
+     * Gets singleton instance from the root project
+     */
+    public static ChangedProjects of(Project project) {
+        Project rootProject = project.getRootProject();
+        ChangedProjects changedProjects = rootProject.getExtensions().findByType(ChangedProjects.class);
+        if (changedProjects == null) {
+            List<File> projectDirs = new ArrayList<>();
+            for (Project p : rootProject.getSubprojects()) {
+                projectDirs.add(p.getProjectDir());
+            }
+            changedProjects = new ChangedProjects(rootProject.getProjectDir(), projectDirs, Exec.getProcessRunner(rootProject.getProjectDir()));
+            rootProject.getExtensions().add(ChangedProjects.class.getName(), changedProjects);
+        }
+        return changedProjects;
+    }
+
+    /**
+     * Whether any file of the project in given directory changed since given revision.
+     * Returns true when the changes cannot be identified, e.g. when the revision is not available in the local repository.
+     */
+    public synchronized boolean isChanged(File projectDir, String sinceRevision) {
+        Changes c = changes.get(sinceRevision);
+        if (c == null) {
+            c = identifyChanges(sinceRevision);
+            changes.put(sinceRevision, c);
+        }
+        return c.allProjects || c.projectDirs.contains(projectDir);
+    }
+
+    private Changes identifyChanges(String sinceRevision) {
+        String output;
+        try {
+            //'--relative' gives paths relative to the root project directory, which does not need to be the root of git repository
+            output = runner.run("git", "diff", "--name-only", "--relative", sinceRevision + "..HEAD");
+        } catch (GradleException e) {
+            LOG.lifecycle("  Unable to identify files changed since '{}', all projects are considered changed. Run with '-d' for stack trace.", sinceRevision);
+            LOG.debug("Problems identifying changed files", e);
+            return new Changes(true);
+        }
+
+        Changes result = new Changes(false);
+        for (String line : output.split("\n")) {
+            String path = line.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            File owner = ownerOf(new File(rootDir, path));
+            if (owner == null) {
+                LOG.info("  File '{}' changed since '{}' does not belong to any subproject, all projects are considered changed", path, sinceRevision);
+                return new Changes(true);
+            }
+            result.projectDirs.add(owner);
+        }
+        LOG.info("  Projects changed since '{}': {}", sinceRevision, result.projectDirs);
+        return result;
+    }
+
+    private File ownerOf(File file) {
+        File owner = null;
+        for (File dir : projectDirs) {
+            if (file.getPath().startsWith(dir.getPath() + File.separator)
+                && (owner == null || dir.getPath().length() > owner.getPath().length())) {
+                owner = dir;
+            }
+        }
+        return owner;
+    }
+
+    private static class Changes {
+        private final boolean allProjects;
+        private final Set<File> projectDirs = new HashSet<>();
+
+        Changes(boolean allProjects) {
+            this.allProjects = allProjects;
+        }
+    }
+}
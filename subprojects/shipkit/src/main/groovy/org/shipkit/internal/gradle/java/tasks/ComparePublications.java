@@ -1,9 +1,18 @@
 package org.shipkit.internal.gradle.java.tasks;
 
+import org.gradle.api.Action;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.workers.ForkMode;
+import org.gradle.workers.WorkerConfiguration;
+import org.gradle.workers.WorkerExecutor;
+import org.json.simple.Jsoner;
 import org.shipkit.gradle.java.ComparePublicationsTask;
+import org.shipkit.internal.comparison.BinaryJarComparator;
 import org.shipkit.internal.comparison.ComparePublicationsResultFormatter;
+import org.shipkit.internal.comparison.ComparisonSummary;
+import org.shipkit.internal.comparison.ContentManifest;
+import org.shipkit.internal.comparison.RemoteZipFile;
 import org.shipkit.internal.comparison.StringComparator;
 import org.shipkit.internal.comparison.ZipComparator;
 import org.shipkit.internal.comparison.diff.Diff;
@@ -13,52 +22,180 @@ import org.shipkit.internal.notes.util.IOUtil;
 
 import java.io.File;
 
+import static java.util.Collections.singletonList;
+import static org.shipkit.internal.gradle.util.ClasspathUtil.classpathOf;
+
 public class ComparePublications {
 
     private final static Logger LOG = Logging.getLogger(ComparePublications.class);
     public static final String DEPENDENCY_INFO_FILEPATH = "META-INF/" + ComparePublicationsPlugin.DEPENDENCY_INFO_FILENAME;
 
+    /**
+     * Submits the comparison to Gradle workers, so that publications of many projects are compared concurrently
+     * and the comparison does not block the task's thread.
+     */
+    public void submitComparison(ComparePublicationsTask task, WorkerExecutor workerExecutor) {
+        final ComparePublicationsParameters params = new ComparePublicationsParameters(task);
+        if (task.isUnchangedSincePreviousRelease()) {
+            recordUnchanged(params, task.getPreviousReleaseTag());
+            return;
+        }
+        final ForkMode forkMode = task.getForkMode();
+        workerExecutor.submit(ComparePublicationsWork.class, new Action<WorkerConfiguration>() {
+            @Override
+            public void execute(WorkerConfiguration config) {
+                config.setForkMode(forkMode);
+                config.params(params);
+                //worker classloader only gets Shipkit classes, content manifest is read with json-simple
+                config.classpath(singletonList(classpathOf(Jsoner.class)));
+            }
+        });
+    }
+
+    /**
+     * Records identical publications, without comparing them
+     */
+    void recordUnchanged(ComparePublicationsParameters params, String previousReleaseTag) {
+        LOG.lifecycle("{} - no files of the project changed since '{}', publications are considered identical",
+            params.getPath(), previousReleaseTag);
+        IOUtil.writeFile(params.getComparisonResult(), "");
+        new ComparisonSummary(params.getProjectPath(), Diff.ofEqualFiles(), Diff.ofEqualFiles(), null).writeFor(params.getComparisonResult());
+    }
+
     //TODO: WW create unit tests
-    public void comparePublications(ComparePublicationsTask task) {
-        if (!task.getPreviousSourcesJar().exists()) {
-            LOG.lifecycle("{} - previous publications not found, nothing to compare, skipping", task.getPath());
+    public void comparePublications(ComparePublicationsParameters params) {
+        //stale summary would be mistaken for the result of this comparison
+        ComparisonSummary.summaryFileOf(params.getComparisonResult()).delete();
+
+        if (params.getPreviousManifest() != null && params.getPreviousManifest().isFile()) {
+            compareWithManifest(params);
+            return;
+        }
+        if (!params.getPreviousSourcesJar().exists()) {
+            if (params.getPreviousSourcesJarUrl() != null) {
+                compareWithRemoteJar(params);
+                return;
+            }
+            LOG.lifecycle("{} - previous publications not found, nothing to compare, skipping", params.getPath());
             return;
         }
 
         //TODO let's add decent validation and descriptive error messages to the user
-        assert task.getSourcesJar().getArchivePath().isFile();
+        assert params.getSourcesJarFile().isFile();
 
-        File currentVersionSourcesJarFile = task.getSourcesJar().getArchivePath();
+        File currentVersionSourcesJarFile = params.getSourcesJarFile();
 
         LOG.lifecycle("{} - about to compare publications",
-                task.getPath());
+                params.getPath());
 
-        Diff depInfoDiff = getDependencyInfoDiff(task, currentVersionSourcesJarFile);
+        Diff depInfoDiff = getDependencyInfoDiff(params, currentVersionSourcesJarFile);
 
-        LOG.lifecycle("{} - {} files equal: {}", task.getPath(), DEPENDENCY_INFO_FILEPATH, depInfoDiff.areFilesEqual());
+        LOG.lifecycle("{} - {} files equal: {}", params.getPath(), DEPENDENCY_INFO_FILEPATH, depInfoDiff.areFilesEqual());
 
-        ZipComparator sourcesJarComparator = new ZipComparator();
-        Diff jarsDiff = sourcesJarComparator.areEqual(task.getPreviousSourcesJar(), currentVersionSourcesJarFile);
-        LOG.lifecycle("{} - source jars equal: {}", task.getPath(), jarsDiff.areFilesEqual());
+        ZipComparator sourcesJarComparator = new ZipComparator(params.isStrictComparison(), ZipComparator.DEFAULT_THREADS, params.getDiffLinesPerEntry());
+        Diff jarsDiff = sourcesJarComparator.areEqual(params.getPreviousSourcesJar(), currentVersionSourcesJarFile);
+        LOG.lifecycle("{} - source jars equal: {}", params.getPath(), jarsDiff.areFilesEqual());
 
         String comparisonResult = new ComparePublicationsResultFormatter().formatResults(
-            task.getPreviousSourcesJar(), currentVersionSourcesJarFile, jarsDiff, depInfoDiff);
+            params.getPreviousSourcesJar(), currentVersionSourcesJarFile, jarsDiff, depInfoDiff);
+
+        writeComparisonResult(params, comparisonResult, jarsDiff, depInfoDiff);
+    }
+
+    private void compareWithManifest(ComparePublicationsParameters params) {
+        File currentVersionSourcesJarFile = params.getSourcesJarFile();
+        LOG.lifecycle("{} - about to compare publications using content manifest {}", params.getPath(), params.getPreviousManifest());
+
+        ContentManifest previous = ContentManifest.fromJson(IOUtil.readFully(params.getPreviousManifest()));
+        ContentManifest current = ContentManifest.of(currentVersionSourcesJarFile);
+
+        Diff depInfoDiff = getDependencyInfoDiff(params, previous.getDependencyInfo(), current.getDependencyInfo());
+        LOG.lifecycle("{} - {} files equal: {}", params.getPath(), DEPENDENCY_INFO_FILEPATH, depInfoDiff.areFilesEqual());
+
+        Diff jarsDiff = ContentManifest.compare(previous, current);
+        LOG.lifecycle("{} - source jars equal: {}", params.getPath(), jarsDiff.areFilesEqual());
+
+        String comparisonResult = new ComparePublicationsResultFormatter().formatResults(
+            params.getPreviousManifest(), currentVersionSourcesJarFile, jarsDiff, depInfoDiff);
+
+        writeComparisonResult(params, comparisonResult, jarsDiff, depInfoDiff);
+    }
+
+    private void compareWithRemoteJar(ComparePublicationsParameters params) {
+        File currentVersionSourcesJarFile = params.getSourcesJarFile();
+        String previousUrl = params.getPreviousSourcesJarUrl();
+        LOG.lifecycle("{} - about to compare publications using HTTP Range requests to {}", params.getPath(), previousUrl);
+
+        RemoteZipFile previous;
+        try {
+            previous = RemoteZipFile.open(previousUrl);
+        } catch (Exception e) {
+            LOG.lifecycle("{} - previous publications not found, nothing to compare, skipping. Run with '-d' for stack trace.", params.getPath());
+            LOG.debug("Unable to read remote sources jar " + previousUrl, e);
+            return;
+        }
+
+        try {
+            Diff depInfoDiff = getDependencyInfoDiff(params, previous.readEntryContent(DEPENDENCY_INFO_FILEPATH),
+                ZipUtil.readEntryContent(currentVersionSourcesJarFile, DEPENDENCY_INFO_FILEPATH));
+            LOG.lifecycle("{} - {} files equal: {}", params.getPath(), DEPENDENCY_INFO_FILEPATH, depInfoDiff.areFilesEqual());
 
-        LOG.lifecycle("{} - You can find detailed publication comparison results in file {}.", task.getPath(), task.getComparisonResult());
+            Diff jarsDiff = new ZipComparator(params.isStrictComparison(), ZipComparator.DEFAULT_THREADS, params.getDiffLinesPerEntry())
+                .areEqual(previous, currentVersionSourcesJarFile);
+            LOG.lifecycle("{} - source jars equal: {}", params.getPath(), jarsDiff.areFilesEqual());
+            LOG.lifecycle("{} - downloaded {} of {} bytes of previous sources jar", params.getPath(), previous.getBytesDownloaded(), previous.getLength());
 
-        IOUtil.writeFile(task.getComparisonResult(), comparisonResult);
+            String comparisonResult = new ComparePublicationsResultFormatter().formatResults(
+                previousUrl, currentVersionSourcesJarFile.getAbsolutePath(), jarsDiff, depInfoDiff);
+
+            writeComparisonResult(params, comparisonResult, jarsDiff, depInfoDiff);
+        } finally {
+            //deletes the temporary copy, when the server sent the whole archive
+            previous.close();
+        }
+    }
+
+    private void writeComparisonResult(ComparePublicationsParameters params, String comparisonResult, Diff jarsDiff, Diff depInfoDiff) {
+        Diff binaryJarDiff = params.isBinaryComparison() ? getBinaryJarDiff(params) : null;
+        if (binaryJarDiff != null) {
+            comparisonResult = new ComparePublicationsResultFormatter().appendBinaryJarResults(comparisonResult,
+                params.getPreviousJar().getAbsolutePath(), params.getJarFile().getAbsolutePath(), binaryJarDiff);
+        }
+
+        LOG.lifecycle("{} - You can find detailed publication comparison results in file {}.", params.getPath(), params.getComparisonResult());
+
+        IOUtil.writeFile(params.getComparisonResult(), comparisonResult);
+        new ComparisonSummary(params.getProjectPath(), jarsDiff, depInfoDiff, binaryJarDiff).writeFor(params.getComparisonResult());
+    }
+
+    private Diff getBinaryJarDiff(ComparePublicationsParameters params) {
+        if (params.getPreviousJar() == null || !params.getPreviousJar().isFile()) {
+            LOG.lifecycle("{} - previous binary jar not found, nothing to compare", params.getPath());
+            return null;
+        }
+        Diff binaryJarDiff = new BinaryJarComparator().areEqual(params.getPreviousJar(), params.getJarFile());
+        LOG.lifecycle("{} - binary jars equal: {}", params.getPath(), binaryJarDiff.areFilesEqual());
+        return binaryJarDiff;
+    }
+
+    private Diff getDependencyInfoDiff(ComparePublicationsParameters params, String previousDependencyInfo, String currentDependencyInfo) {
+        if (previousDependencyInfo == null) {
+            LOG.lifecycle("{} - previous {} file not found, nothing to compare", params.getPath(), DEPENDENCY_INFO_FILEPATH);
+            return Diff.ofEqualFiles();
+        }
+        return new StringComparator().areEqual(previousDependencyInfo, currentDependencyInfo == null ? "" : currentDependencyInfo);
     }
 
-    private Diff getDependencyInfoDiff(ComparePublicationsTask task, File currentVersionSourcesJarFile) {
-        if (!ZipUtil.fileContainsEntry(task.getPreviousSourcesJar(), DEPENDENCY_INFO_FILEPATH)) {
-            LOG.lifecycle("{} - previous {} file not found, nothing to compare", task.getPath(), DEPENDENCY_INFO_FILEPATH);
+    private Diff getDependencyInfoDiff(ComparePublicationsParameters params, File currentVersionSourcesJarFile) {
+        if (!ZipUtil.fileContainsEntry(params.getPreviousSourcesJar(), DEPENDENCY_INFO_FILEPATH)) {
+            LOG.lifecycle("{} - previous {} file not found, nothing to compare", params.getPath(), DEPENDENCY_INFO_FILEPATH);
             return Diff.ofEqualFiles();
         }
 
         StringComparator stringComparator = new StringComparator();
 
         return stringComparator.areEqual(
-            ZipUtil.readEntryContent(task.getPreviousSourcesJar(), DEPENDENCY_INFO_FILEPATH),
+            ZipUtil.readEntryContent(params.getPreviousSourcesJar(), DEPENDENCY_INFO_FILEPATH),
             ZipUtil.readEntryContent(currentVersionSourcesJarFile, DEPENDENCY_INFO_FILEPATH));
     }
 }
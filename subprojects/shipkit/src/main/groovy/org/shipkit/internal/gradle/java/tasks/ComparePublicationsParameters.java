@@ -0,0 +1,125 @@
+package org.shipkit.internal.gradle.java.tasks;
+
+import org.shipkit.gradle.java.ComparePublicationsTask;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * Serializable parameters of the publication comparison, captured from {@link ComparePublicationsTask},
+ * so that the comparison can run in a Gradle worker, without access to the task.
+ */
+public class ComparePublicationsParameters implements Serializable {
+
+    private final String path;
+    private final String projectPath;
+    private final File comparisonResult;
+    private final File sourcesJarFile;
+    private final File previousSourcesJar;
+    private final File previousManifest;
+    private final String previousSourcesJarUrl;
+    private final boolean strictComparison;
+    private final int diffLinesPerEntry;
+    private final boolean binaryComparison;
+    private final File jarFile;
+    private final File previousJar;
+
+    public ComparePublicationsParameters(ComparePublicationsTask task) {
+        this.path = task.getPath();
+        this.projectPath = task.getProjectPath();
+        this.comparisonResult = task.getComparisonResult();
+        this.sourcesJarFile = task.getSourcesJarFile();
+        this.previousSourcesJar = task.getPreviousSourcesJar();
+        this.previousManifest = task.getPreviousManifest();
+        this.previousSourcesJarUrl = task.getPreviousSourcesJarUrl();
+        this.strictComparison = task.isStrictComparison();
+        this.diffLinesPerEntry = task.getDiffLinesPerEntry();
+        this.binaryComparison = task.isBinaryComparison();
+        this.jarFile = task.getJarFile();
+        this.previousJar = task.getPreviousJar();
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getPath()}
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getProjectPath()}
+     */
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getComparisonResult()}
+     */
+    public File getComparisonResult() {
+        return comparisonResult;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getSourcesJarFile()}
+     */
+    public File getSourcesJarFile() {
+        return sourcesJarFile;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getPreviousSourcesJar()}
+     */
+    public File getPreviousSourcesJar() {
+        return previousSourcesJar;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getPreviousManifest()}
+     */
+    public File getPreviousManifest() {
+        return previousManifest;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getPreviousSourcesJarUrl()}
+     */
+    public String getPreviousSourcesJarUrl() {
+        return previousSourcesJarUrl;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#isStrictComparison()}
+     */
+    public boolean isStrictComparison() {
+        return strictComparison;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getDiffLinesPerEntry()}
+     */
+    public int getDiffLinesPerEntry() {
+        return diffLinesPerEntry;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#isBinaryComparison()}
+     */
+    public boolean isBinaryComparison() {
+        return binaryComparison;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getJarFile()}
+     */
+    public File getJarFile() {
+        return jarFile;
+    }
+
+    /**
+     * See {@link ComparePublicationsTask#getPreviousJar()}
+     */
+    public File getPreviousJar() {
+        return previousJar;
+    }
+}
@@ -0,0 +1,21 @@
+package org.shipkit.internal.gradle.java.tasks;
+
+import javax.inject.Inject;
+
+/**
+ * Publication comparison submitted to Gradle Worker API by {@link org.shipkit.gradle.java.ComparePublicationsTask}
+ */
+public class ComparePublicationsWork implements Runnable {
+
+    private final ComparePublicationsParameters parameters;
+
+    @Inject
+    public ComparePublicationsWork(ComparePublicationsParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    @Override
+    public void run() {
+        new ComparePublications().comparePublications(parameters);
+    }
+}
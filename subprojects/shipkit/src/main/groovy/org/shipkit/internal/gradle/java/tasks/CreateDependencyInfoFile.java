@@ -24,6 +24,16 @@ public class CreateDependencyInfoFile {
             + DESCRIPTION + NEWLINE
             + "# Dependencies";
 
+        result += DEPENDENCY_INDENT + StringUtil.join(task.getDeclaredDependencies(), DEPENDENCY_INDENT);
+
+        IOUtil.writeFile(task.getOutputFile(), result.toString());
+    }
+
+    /**
+     * Declared dependencies of the task's configuration, formatted as in the dependency info file.
+     * Only the declared coordinates are used, the configuration is not resolved.
+     */
+    public SortedSet<String> getDeclaredDependencies(CreateDependencyInfoFileTask task) {
         //sorting dependencies to assure that they are always in the same order
         //without depending on Gradle implementation
         SortedSet<String> dependencies = new TreeSet<>();
@@ -33,10 +43,7 @@ public class CreateDependencyInfoFile {
                 dependencies.add(dep);
             }
         }
-
-        result += DEPENDENCY_INDENT + StringUtil.join(dependencies, DEPENDENCY_INDENT);
-
-        IOUtil.writeFile(task.getOutputFile(), result.toString());
+        return dependencies;
     }
 
     private String getDependencyWithArtifacts(CreateDependencyInfoFileTask task, ModuleDependency dependency) {
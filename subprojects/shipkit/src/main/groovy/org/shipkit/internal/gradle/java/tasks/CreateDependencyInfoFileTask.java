@@ -2,23 +2,28 @@ package org.shipkit.internal.gradle.java.tasks;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.artifacts.*;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
+import java.util.SortedSet;
 
 /**
  * Creates a file {@link #getOutputFile()} with information about all declared dependencies of the project.
  * Dependencies are taken from passed {@link #getConfiguration()}.
  * Submodule dependencies that have the same version as {@link #getProjectVersion()} and group as {@link #getProjectGroup()}
  * are represented in the file without version, so that they won't come up as a difference when comparing publications.
- *
+ * <p>
+ * The input of the task are the declared dependency coordinates ({@link #getDeclaredDependencies()}),
+ * the configuration is not resolved, hence the task is cacheable and does not download any artifacts.
  */
+@CacheableTask
 public class CreateDependencyInfoFileTask extends DefaultTask {
 
-    @InputFiles
+    @Internal
     private Configuration configuration;
     @Input
     private String projectGroup;
@@ -31,6 +36,14 @@ public class CreateDependencyInfoFileTask extends DefaultTask {
         new CreateDependencyInfoFile().createDependencyInfoFile(this);
     }
 
+    /**
+     * Declared dependencies of {@link #getConfiguration()} in the format of the output file, used as the input of this task.
+     */
+    @Input
+    public SortedSet<String> getDeclaredDependencies() {
+        return new CreateDependencyInfoFile().getDeclaredDependencies(this);
+    }
+
     /**
      * Configuration from which all declared dependencies will be extracted.
      */
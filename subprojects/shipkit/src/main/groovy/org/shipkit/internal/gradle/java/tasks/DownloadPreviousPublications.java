@@ -3,31 +3,69 @@ package org.shipkit.internal.gradle.java.tasks;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.shipkit.gradle.java.DownloadPreviousPublicationsTask;
-import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.comparison.artifact.ArtifactDownloadCache;
+import org.shipkit.internal.comparison.artifact.ArtifactDownloader;
+import org.shipkit.internal.comparison.artifact.DownloadResult;
 
 import java.io.File;
 
+/**
+ * Downloads previous publications of {@link DownloadPreviousPublicationsTask} to a private staging directory.
+ * The task's outputs are not touched, so that the downloads can run in the background before the task executes,
+ * see {@link PreviousPublicationsDownloads}.
+ */
 public class DownloadPreviousPublications {
 
     private static final Logger LOG = Logging.getLogger(DownloadPreviousPublications.class);
 
-    public void downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
-        downloadRemoteFile(task.getPreviousSourcesJarUrl(), task.getPreviousSourcesJarFile());
+    public StagedPublications downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
+        StagedPublications staged = StagedPublications.create();
+        ArtifactDownloadCache cache = task.getDownloadCacheDir() == null ? null
+            : new ArtifactDownloadCache(task.getDownloadCacheDir(), task.getDownloadCacheMaxSize());
+        if (task.getPreviousJarUrl() != null && task.getPreviousJarFile() != null) {
+            //stale jar must not be compared when the download fails
+            downloadRemoteFile(cache, task.getPreviousJarUrl(), task.getPreviousJarFile(), staged);
+        }
+        if (task.getPreviousManifestUrl() != null && task.getPreviousManifestFile() != null) {
+            //stale manifest must not be used when the download fails
+            if (downloadRemoteFile(cache, task.getPreviousManifestUrl(), task.getPreviousManifestFile(), staged)) {
+                LOG.lifecycle("  Content manifest of previous sources jar downloaded, sources jar is not needed.");
+                return staged;
+            }
+        }
+        if (task.isRangeRequests()) {
+            //stale jar would be compared instead of the remote one
+            staged.delete(task.getPreviousSourcesJarFile());
+            LOG.lifecycle("  Previous sources jar will be read with HTTP Range requests during comparison, not downloading it.");
+            return staged;
+        }
+        downloadRemoteFile(cache, task.getPreviousSourcesJarUrl(), task.getPreviousSourcesJarFile(), staged);
+        return staged;
     }
 
-    private void downloadRemoteFile(String remoteUrl, File localFile) {
+    private boolean downloadRemoteFile(ArtifactDownloadCache cache, String remoteUrl, File localFile, StagedPublications staged) {
         LOG.lifecycle("  Downloading remote artifact\n" +
                 "  - from {}\n" +
                 "  - and saving it to {}", remoteUrl, localFile);
 
+        //the output is replaced with the staged file when the task executes, or deleted when the download fails
+        File stagedFile = staged.stage(localFile);
         try {
-            IOUtil.downloadToFile(remoteUrl, localFile);
+            //only artifacts from remote repositories are worth caching
+            DownloadResult result = cache != null && remoteUrl.startsWith("http") ?
+                cache.download(remoteUrl, stagedFile) : new ArtifactDownloader().download(remoteUrl, stagedFile);
+            LOG.lifecycle("  Downloaded {}", result.describe());
+            return true;
         } catch (Exception e) {
             LOG.lifecycle("  Unable to download, ignoring. Run with '-d' for stack trace.\n " +
                 "  If the download URL is incorrect you may need to configure the URL manually.\n" +
                 "  See DownloadPreviousPublicationTask for details.\n" +
-                "  Url: {}", remoteUrl);
+                "  Url: {}\n" +
+                "  Reason: {}", remoteUrl, e.getMessage());
             LOG.debug("Unable to download, ignoring.", e);
+            //partially downloaded file would be mistaken for the real one
+            stagedFile.delete();
+            return false;
         }
     }
 }
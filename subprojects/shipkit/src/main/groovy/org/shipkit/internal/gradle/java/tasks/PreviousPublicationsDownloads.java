@@ -0,0 +1,184 @@
+package org.shipkit.internal.gradle.java.tasks;
+
+import org.gradle.BuildAdapter;
+import org.gradle.BuildResult;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.specs.Spec;
+import org.shipkit.gradle.java.DownloadPreviousPublicationsTask;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
+import org.shipkit.internal.util.ExposedForTesting;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downloads previous publications of all projects in the build concurrently, with bounded parallelism.
+ * Each {@link DownloadPreviousPublicationsTask} is registered when it is created.
+ * When the build starts executing tasks (see {@link BackgroundPrefetch#onStart}),
+ * downloads of all registered tasks that are scheduled to run and certain to execute
+ * (see {@link BackgroundPrefetch#mustExecute}) are started,
+ * so that the downloads run concurrently with compilation and don't wait for each other when tasks run one by one.
+ * Each task then waits only for its own downloads.
+ * The downloads are written to a private staging directory, see {@link StagedPublications},
+ * because they may run while other tasks execute, e.g. 'clean' deleting the build directory.
+ * The outputs of the task are replaced only when the task executes.
+ * Staged downloads that were not used, e.g. because the build failed, are deleted when the build finishes.
+ * <p>
+ * Single instance is shared by the entire build, see {@link #of(Project)}.
+ */
+public class PreviousPublicationsDownloads {
+
+    private static final Logger LOG = Logging.getLogger(PreviousPublicationsDownloads.class);
+
+    static final int DEFAULT_THREADS = 4;
+
+    private final List<DownloadPreviousPublicationsTask> tasks = new ArrayList<>();
+    private final int threads;
+    private final DownloadPreviousPublications downloader;
+    private final Spec<Task> mustExecute;
+    private final List<StagedPublications> staged = new ArrayList<>();
+    private Map<DownloadPreviousPublicationsTask, Future<StagedPublications>> downloads;
+    private ExecutorService executor;
+    private boolean finished;
+
+    @ExposedForTesting
+    PreviousPublicationsDownloads(int threads, DownloadPreviousPublications downloader, Spec<Task> mustExecute) {
+        this.threads = threads;
+        this.downloader = downloader;
+        this.mustExecute = mustExecute;
+    }
+
+    /**
+     * Gets singleton instance from the root project
+     */
+    public static PreviousPublicationsDownloads of(Project project) {
+        Project rootProject = project.getRootProject();
+        PreviousPublicationsDownloads downloads = rootProject.getExtensions().findByType(PreviousPublicationsDownloads.class);
+        if (downloads == null) {
+            BackgroundPrefetch prefetch = BackgroundPrefetch.of(project);
+            downloads = new PreviousPublicationsDownloads(DEFAULT_THREADS, new DownloadPreviousPublications(), prefetch::mustExecute);
+            rootProject.getExtensions().add(PreviousPublicationsDownloads.class.getName(), downloads);
+            prefetch.onStart(downloads::start);
+            rootProject.getGradle().addListener(cleanupListener(downloads));
+        }
+        return downloads;
+    }
+
+    private static BuildAdapter cleanupListener(final PreviousPublicationsDownloads downloads) {
+        return new BuildAdapter() {
+            @Override
+            public void buildFinished(BuildResult result) {
+                downloads.buildFinished();
+            }
+        };
+    }
+
+    /**
+     * Registers the task, so that its downloads are started together with other tasks
+     */
+    public synchronized void register(DownloadPreviousPublicationsTask task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Starts downloads of all registered tasks scheduled to run, unless already started.
+     * Invoked when the build starts executing tasks, see {@link #of(Project)}.
+     */
+    public synchronized void start(TaskExecutionGraph graph) {
+        if (downloads == null) {
+            downloads = startDownloads(graph);
+        }
+    }
+
+    /**
+     * Downloads previous publications of given task and writes them to the task's outputs.
+     * Blocks until the downloads of given task started in the background complete.
+     */
+    public void download(DownloadPreviousPublicationsTask task) {
+        Future<StagedPublications> download;
+        synchronized (this) {
+            download = downloads == null ? null : downloads.get(task);
+        }
+        if (download == null) {
+            //not registered, disabled or not scheduled when the downloads were started
+            downloader.downloadPreviousPublications(task).moveToOutputs();
+            return;
+        }
+        try {
+            download.get().moveToOutputs();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Problems downloading previous publications of " + task.getPath(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while downloading previous publications of " + task.getPath(), e);
+        }
+    }
+
+    private Map<DownloadPreviousPublicationsTask, Future<StagedPublications>> startDownloads(TaskExecutionGraph graph) {
+        Map<DownloadPreviousPublicationsTask, Future<StagedPublications>> result = new IdentityHashMap<>();
+        List<DownloadPreviousPublicationsTask> scheduled = new ArrayList<>();
+        for (DownloadPreviousPublicationsTask t : tasks) {
+            if (graph.hasTask(t) && t.getEnabled() && mustExecute.isSatisfiedBy(t)) {
+                scheduled.add(t);
+            }
+        }
+        if (scheduled.isEmpty()) {
+            return result;
+        }
+
+        int poolSize = Math.min(threads, scheduled.size());
+        LOG.lifecycle("  Downloading previous publications of {} project(s), {} at a time", scheduled.size(), poolSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "Shipkit previous publications download " + threadCount.incrementAndGet());
+            //downloads of tasks that don't execute are not needed, don't keep the build running
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (final DownloadPreviousPublicationsTask t : scheduled) {
+            result.put(t, executor.submit(() -> staged(downloader.downloadPreviousPublications(t))));
+        }
+        //threads finish when all submitted downloads complete
+        executor.shutdown();
+        return result;
+    }
+
+    private synchronized StagedPublications staged(StagedPublications publications) {
+        if (finished) {
+            //the build finished while downloading
+            publications.discard();
+        } else {
+            staged.add(publications);
+        }
+        return publications;
+    }
+
+    /**
+     * Stops the downloads and deletes staged downloads that were not moved to the outputs of the tasks
+     */
+    @ExposedForTesting
+    synchronized void buildFinished() {
+        finished = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (StagedPublications publications : staged) {
+            publications.discard();
+        }
+        staged.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package org.shipkit.internal.gradle.java.tasks;
+
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Previous publications downloaded to a private staging directory, outside of the build directory.
+ * The downloads can run in the background while other tasks run (e.g. 'clean' deleting the build directory),
+ * the outputs of {@link org.shipkit.gradle.java.DownloadPreviousPublicationsTask} are written
+ * only when the task executes, see {@link #moveToOutputs()}.
+ */
+public class StagedPublications {
+
+    private final File stagingDir;
+    //output file -> staged file, null when the stale output only needs to be deleted
+    private final Map<File, File> outputs = new LinkedHashMap<>();
+
+    StagedPublications(File stagingDir) {
+        this.stagingDir = stagingDir;
+    }
+
+    /**
+     * Creates staging directory in the temporary directory of the system
+     */
+    static StagedPublications create() {
+        try {
+            return new StagedPublications(Files.createTempDirectory("shipkit-previous-publications").toFile());
+        } catch (IOException e) {
+            throw new RuntimeException("Problems creating staging directory for previous publications", e);
+        }
+    }
+
+    /**
+     * Staging file for given output, the output is replaced with it when the task executes
+     */
+    File stage(File output) {
+        File staged = new File(stagingDir, output.getName());
+        outputs.put(output, staged);
+        return staged;
+    }
+
+    /**
+     * Stale output that is deleted when the task executes
+     */
+    void delete(File output) {
+        outputs.put(output, null);
+    }
+
+    /**
+     * Replaces the outputs with staged files and deletes the staging directory.
+     * Outputs whose download failed are deleted, stale files must not be compared.
+     */
+    public void moveToOutputs() {
+        try {
+            for (Map.Entry<File, File> e : outputs.entrySet()) {
+                File output = e.getKey();
+                File staged = e.getValue();
+                output.delete();
+                if (staged != null && staged.isFile()) {
+                    IOUtil.createParentDirectory(output);
+                    Files.move(staged.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Problems moving downloaded previous publications from " + stagingDir, e);
+        } finally {
+            discard();
+        }
+    }
+
+    /**
+     * Deletes the staging directory with all staged files, e.g. when the task did not execute
+     */
+    public void discard() {
+        File[] files = stagingDir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        stagingDir.delete();
+    }
+}
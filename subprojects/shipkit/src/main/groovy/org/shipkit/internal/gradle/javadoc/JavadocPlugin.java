@@ -17,6 +17,7 @@ import org.shipkit.internal.gradle.git.GitPlugin;
 import org.shipkit.internal.gradle.git.GitUrlInfo;
 import org.shipkit.internal.gradle.git.tasks.CloneGitRepositoryTask;
 import org.shipkit.internal.gradle.git.tasks.GitCheckOutTask;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 import java.io.File;
@@ -59,6 +60,7 @@ import static org.shipkit.internal.gradle.release.ReleasePlugin.PERFORM_RELEASE_
  *      <li>releaseJavadoc - aggregate all tasks needed to release Javadocs: clone, checkout, copy, commit, push.</li>
  *      <li>clean - additionally removes build directory in project root</li>
  * </ul>
+ * The tasks are created only when needed, see {@link LazyTask}.
  */
 public class JavadocPlugin implements Plugin<Project> {
     public static final String PUSH_JAVADOC_TASK = "pushJavadoc";
@@ -80,29 +82,29 @@ public class JavadocPlugin implements Plugin<Project> {
         project.getPlugins().apply(GitPlugin.class);
         ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
 
-        CloneGitRepositoryTask cloneJavadocTask = createCloneJavadocTask(project, conf);
+        LazyTask<CloneGitRepositoryTask> cloneJavadocTask = createCloneJavadocTask(project, conf);
 
-        GitCheckOutTask checkoutJavadocRepoBranch = createCheckoutJavadocReposBranch(project, conf);
-        checkoutJavadocRepoBranch.dependsOn(cloneJavadocTask);
+        LazyTask<GitCheckOutTask> checkoutJavadocRepoBranch = createCheckoutJavadocReposBranch(project, conf);
+        checkoutJavadocRepoBranch.configure(t -> t.dependsOn(cloneJavadocTask));
 
         CopyTasks copyTasks = createCopyJavadocToStageTasks(project);
-        Task refreshVersionJavadocTask = createRefreshVersionJavadocTask(project, copyTasks.copyToVersionTasks);
-        Task refreshCurrentJavadocTask = createRefreshCurrentJavadocTask(project, copyTasks.copyToCurrentTasks);
+        LazyTask<Task> refreshVersionJavadocTask = createRefreshVersionJavadocTask(project, copyTasks.copyToVersionTasks);
+        LazyTask<Task> refreshCurrentJavadocTask = createRefreshCurrentJavadocTask(project, copyTasks.copyToCurrentTasks);
 
         //refresh javadoc first so that if there is no javadoc we will avoid cloning
-        cloneJavadocTask.mustRunAfter(refreshVersionJavadocTask);
+        cloneJavadocTask.configure(t -> t.mustRunAfter(refreshVersionJavadocTask));
 
-        Copy copyStageToRepoDir = createCopyStageToRepoDirTask(project, conf);
-        copyStageToRepoDir.dependsOn(checkoutJavadocRepoBranch, refreshVersionJavadocTask, refreshCurrentJavadocTask);
+        LazyTask<Copy> copyStageToRepoDir = createCopyStageToRepoDirTask(project, conf);
+        copyStageToRepoDir.configure(t -> t.dependsOn(checkoutJavadocRepoBranch, refreshVersionJavadocTask, refreshCurrentJavadocTask));
 
-        GitCommitTask commitJavadocTask = createGitCommitTask(project, conf);
-        commitJavadocTask.dependsOn(copyStageToRepoDir);
+        LazyTask<GitCommitTask> commitJavadocTask = createGitCommitTask(project, conf);
+        commitJavadocTask.configure(t -> t.dependsOn(copyStageToRepoDir));
 
-        GitPushTask pushJavadoc = createPushJavadocTask(project, conf);
-        pushJavadoc.dependsOn(commitJavadocTask);
+        LazyTask<GitPushTask> pushJavadoc = createPushJavadocTask(project, conf);
+        pushJavadoc.configure(t -> t.dependsOn(commitJavadocTask));
 
-        Task releaseJavadocTask = createReleaseJavadocTask(project);
-        releaseJavadocTask.dependsOn(cloneJavadocTask, commitJavadocTask, pushJavadoc);
+        LazyTask<Task> releaseJavadocTask = createReleaseJavadocTask(project);
+        releaseJavadocTask.configure(t -> t.dependsOn(cloneJavadocTask, commitJavadocTask, pushJavadoc));
         // To avoid missing of performRelease task, when org.shipkit.javadoc plugin is applied before org.shipkit.java
         DeferredConfiguration.deferredConfiguration(project, () -> {
             Task performReleaseTask = project.getRootProject().getTasks().findByName(PERFORM_RELEASE_TASK);
@@ -114,10 +116,10 @@ public class JavadocPlugin implements Plugin<Project> {
         deleteBuildDIrInRootProjectWhenCleanTask(project);
     }
 
-    private CloneGitRepositoryTask createCloneJavadocTask(Project project, ShipkitConfiguration conf) {
+    private LazyTask<CloneGitRepositoryTask> createCloneJavadocTask(Project project, ShipkitConfiguration conf) {
         String javadocRepository = getJavadocRepository(conf);
         String gitHubUrl = conf.getGitHub().getUrl();
-        return TaskMaker.task(project, CLONE_JAVADOC_REPO, CloneGitRepositoryTask.class,
+        return TaskMaker.register(project, CLONE_JAVADOC_REPO, CloneGitRepositoryTask.class,
             task -> {
                 task.setDescription("Clones Javadoc repo " + javadocRepository + " into a temporary directory.");
                 task.setRepositoryUrl(gitHubUrl + "/" + javadocRepository);
@@ -127,9 +129,9 @@ public class JavadocPlugin implements Plugin<Project> {
             });
     }
 
-    private GitCheckOutTask createCheckoutJavadocReposBranch(Project project, ShipkitConfiguration conf) {
+    private LazyTask<GitCheckOutTask> createCheckoutJavadocReposBranch(Project project, ShipkitConfiguration conf) {
         String branch = conf.getLenient().getJavadoc().getRepositoryBranch();
-        return TaskMaker.task(project, CHECKOUT_JAVADOC_REPO_BRANCH, GitCheckOutTask.class, task -> {
+        return TaskMaker.register(project, CHECKOUT_JAVADOC_REPO_BRANCH, GitCheckOutTask.class, task -> {
             task.setDescription("Checkout branch in Javadoc repository");
             task.onlyIf(foo -> branch != null);
             task.setRev(branch);
@@ -139,8 +141,8 @@ public class JavadocPlugin implements Plugin<Project> {
     }
 
     private CopyTasks createCopyJavadocToStageTasks(Project project) {
-        Set<Copy> copyToVersionTasks = new HashSet<>();
-        Set<Copy> copyToCurrentTasks = new HashSet<>();
+        Set<LazyTask<Copy>> copyToVersionTasks = new HashSet<>();
+        Set<LazyTask<Copy>> copyToCurrentTasks = new HashSet<>();
 
         Set<Task> javadocJarSet = project.getTasksByName("javadocJar", true);
         if (javadocJarSet.isEmpty()) {
@@ -150,7 +152,7 @@ public class JavadocPlugin implements Plugin<Project> {
         javadocJarSet.stream()
             .map(task -> (Jar) task)
             .forEach(javadocJarTask -> {
-                Copy copyToVersionTask = TaskMaker.task(javadocJarTask.getProject(), COPY_JAVADOC_TO_STAGE_VERSION_DIR_TASK, Copy.class, copyTask -> {
+                LazyTask<Copy> copyToVersionTask = TaskMaker.register(javadocJarTask.getProject(), COPY_JAVADOC_TO_STAGE_VERSION_DIR_TASK, Copy.class, copyTask -> {
                     copyTask.setDescription("Extracts contents of javadoc jar to the staging /version directory");
                     copyTask.dependsOn(javadocJarTask);
                     copyTask.from(project.zipTree(javadocJarTask.getArchivePath()));
@@ -159,10 +161,10 @@ public class JavadocPlugin implements Plugin<Project> {
                 });
                 copyToVersionTasks.add(copyToVersionTask);
 
-                Copy copyToCurrentTask = TaskMaker.task(javadocJarTask.getProject(), COPY_JAVADOC_TO_STAGE_CURRENT_DIR_TASK, Copy.class, copyTask -> {
+                LazyTask<Copy> copyToCurrentTask = TaskMaker.register(javadocJarTask.getProject(), COPY_JAVADOC_TO_STAGE_CURRENT_DIR_TASK, Copy.class, copyTask -> {
                     copyTask.setDescription("Extracts contents of javadoc jar to the staging /current directory");
                     copyTask.dependsOn(copyToVersionTask);
-                    copyTask.from(copyToVersionTask.getDestinationDir());
+                    copyTask.from(copyToVersionTask.get().getDestinationDir());
                     // TODO how? : note that we need to use Closure/Callable because 'baseName' can be set by user later
                     copyTask.into(getJavadocStageDir(project) + "/" + javadocJarTask.getBaseName() + "/current");
                 });
@@ -171,49 +173,51 @@ public class JavadocPlugin implements Plugin<Project> {
         return new CopyTasks(copyToVersionTasks, copyToCurrentTasks);
     }
 
-    private Task createRefreshVersionJavadocTask(Project project, Set<Copy> copyToVersionTasks) {
-        return TaskMaker.task(project, REFRESH_VERSION_JAVADOC_TASK, task -> {
+    private LazyTask<Task> createRefreshVersionJavadocTask(Project project, Set<LazyTask<Copy>> copyToVersionTasks) {
+        return TaskMaker.register(project, REFRESH_VERSION_JAVADOC_TASK, task -> {
             task.dependsOn(copyToVersionTasks);
             task.setDescription("Copy Javadocs from all modules to the staging /version directory");
         });
     }
 
-    private Task createRefreshCurrentJavadocTask(Project project, Set<Copy> copyToCurrentTasks) {
-        return TaskMaker.task(project, REFRESH_CURRENT_JAVADOC_TASK, task -> {
+    private LazyTask<Task> createRefreshCurrentJavadocTask(Project project, Set<LazyTask<Copy>> copyToCurrentTasks) {
+        return TaskMaker.register(project, REFRESH_CURRENT_JAVADOC_TASK, task -> {
             task.dependsOn(copyToCurrentTasks);
             task.setDescription("Copy Javadocs from all modules to the staging /current directory");
         });
     }
 
-    private Copy createCopyStageToRepoDirTask(Project project,
+    private LazyTask<Copy> createCopyStageToRepoDirTask(Project project,
                                               ShipkitConfiguration conf) {
         String directory = conf.getLenient().getJavadoc().getRepositoryDirectory();
 
-        return TaskMaker.task(project, COPY_JAVADOC_STAGE_TO_REPO_DIR_TASK, Copy.class, task -> {
+        return TaskMaker.register(project, COPY_JAVADOC_STAGE_TO_REPO_DIR_TASK, Copy.class, task -> {
             task.setDescription("Copy prepared Javadocs from stage directory to the repository directory");
             task.from(getJavadocStageDir(project));
             task.into(getJavadocRepoCloneDir(project, directory));
         });
     }
 
-    private GitCommitTask createGitCommitTask(Project project, ShipkitConfiguration conf) {
+    private LazyTask<GitCommitTask> createGitCommitTask(Project project, ShipkitConfiguration conf) {
         String directory = conf.getLenient().getJavadoc().getRepositoryDirectory();
 
-        GitCommitTask commitJavadocTask = GitCommitTaskFactory.createGitCommitTask(project, COMMIT_JAVADOC_TASK,
+        LazyTask<GitCommitTask> commitJavadocTask = GitCommitTaskFactory.registerGitCommitTask(project, COMMIT_JAVADOC_TASK,
             "Commit changes in Javadoc repository directory");
 
-        String commitMessage = getCommitMessage(project, conf.getLenient());
-        File file = new File(getJavadocRepoCloneDir(project, directory));
-        commitJavadocTask.addChange(singletonList(file), commitMessage, null);
-        commitJavadocTask.setWorkingDir(new File(getJavadocRepoCloneDir(project)));
+        commitJavadocTask.configure(task -> {
+            String commitMessage = getCommitMessage(project, conf.getLenient());
+            File file = new File(getJavadocRepoCloneDir(project, directory));
+            task.addChange(singletonList(file), commitMessage, null);
+            task.setWorkingDir(new File(getJavadocRepoCloneDir(project)));
+        });
         return commitJavadocTask;
     }
 
-    private GitPushTask createPushJavadocTask(Project project, ShipkitConfiguration conf) {
+    private LazyTask<GitPushTask> createPushJavadocTask(Project project, ShipkitConfiguration conf) {
         String branch = conf.getLenient().getJavadoc().getRepositoryBranch();
         String javadocRepository = getJavadocRepository(conf);
 
-        return TaskMaker.task(project, PUSH_JAVADOC_TASK, GitPushTask.class, task -> {
+        return TaskMaker.register(project, PUSH_JAVADOC_TASK, GitPushTask.class, task -> {
             task.setDescription("Pushes Javadocs to remote Javadoc repository");
             task.setDryRun(conf.isDryRun());
             task.setWorkingDir(getJavadocRepoCloneDir(project));
@@ -227,8 +231,8 @@ public class JavadocPlugin implements Plugin<Project> {
         });
     }
 
-    private Task createReleaseJavadocTask(Project project) {
-        return TaskMaker.task(project, RELEASE_JAVADOC_TASK, task -> {
+    private LazyTask<Task> createReleaseJavadocTask(Project project) {
+        return TaskMaker.register(project, RELEASE_JAVADOC_TASK, task -> {
             task.setDescription("Clone Javadoc repository, copy Javadocs, commit and push");
         });
     }
@@ -280,10 +284,10 @@ public class JavadocPlugin implements Plugin<Project> {
     }
 
     private class CopyTasks {
-        private final Set<Copy> copyToVersionTasks;
-        private final Set<Copy> copyToCurrentTasks;
+        private final Set<LazyTask<Copy>> copyToVersionTasks;
+        private final Set<LazyTask<Copy>> copyToCurrentTasks;
 
-        private CopyTasks(Set<Copy> copyToVersionTasks, Set<Copy> copyToCurrentTasks) {
+        private CopyTasks(Set<LazyTask<Copy>> copyToVersionTasks, Set<LazyTask<Copy>> copyToCurrentTasks) {
             this.copyToVersionTasks = copyToVersionTasks;
             this.copyToCurrentTasks = copyToCurrentTasks;
         }
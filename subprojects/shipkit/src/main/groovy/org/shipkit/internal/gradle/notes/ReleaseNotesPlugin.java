@@ -9,12 +9,16 @@ import org.shipkit.internal.gradle.configuration.LazyConfiguration;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
 import org.shipkit.internal.gradle.contributors.github.GitHubContributorsPlugin;
 import org.shipkit.internal.gradle.git.GitPlugin;
+import org.shipkit.internal.gradle.notes.tasks.FetchReleaseNotes;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 import org.shipkit.internal.gradle.version.VersioningPlugin;
 import org.shipkit.version.VersionInfo;
 
 import java.io.File;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 
 /**
@@ -31,6 +35,7 @@ import static java.util.Collections.singletonList;
  * <p>
  * <ul>
  * <li>fetchReleaseNotes - fetches release notes data, see {@link FetchReleaseNotesTask}</li>
+ * <li>renderReleaseNotes - renders release notes in Markdown, HTML and JSON formats, see {@link RenderReleaseNotesTask}</li>
  * <li>updateReleaseNotes - updates release notes file in place, or only displays preview if project property 'preview' exists, see {@link UpdateReleaseNotesTask}</li>
  * <li>updateReleaseNotesOnGitHub - updates release notes on GitHub, or only displays preview if project property 'preview' exists, see {@link org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubTask}</li>
  * </ul>
@@ -41,21 +46,28 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
 
     private static final String PREVIEW_PROJECT_PROPERTY = "preview";
     private static final String FETCH_NOTES_TASK = "fetchReleaseNotes";
+    public static final String RENDER_NOTES_TASK = "renderReleaseNotes";
     public static final String UPDATE_NOTES_TASK = "updateReleaseNotes";
     public static final String UPDATE_NOTES_ON_GITHUB_TASK = "updateReleaseNotesOnGitHub";
     public static final String UPDATE_NOTES_ON_GITHUB_CLEANUP_TASK = "updateReleaseNotesOnGitHubCleanUp";
 
+    private Project project;
+    private LazyTask<RenderReleaseNotesTask> renderer;
+
     public void apply(final Project project) {
+        this.project = project;
         final ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
         project.getPlugins().apply(VersioningPlugin.class);
         project.getPlugins().apply(GitHubContributorsPlugin.class);
         releaseNotesTasks(project, conf);
     }
 
-    private static void releaseNotesTasks(final Project project, final ShipkitConfiguration conf) {
-        final FetchReleaseNotesTask releaseNotesFetcher = TaskMaker.task(project, FETCH_NOTES_TASK, FetchReleaseNotesTask.class, task -> {
+    private void releaseNotesTasks(final Project project, final ShipkitConfiguration conf) {
+        //fetching and rendering tasks are only needed by the tasks that update release notes, they are created when needed
+        final File releaseNotesData = new File(project.getBuildDir(), "detailed-release-notes.ser");
+        final LazyTask<FetchReleaseNotesTask> releaseNotesFetcher = TaskMaker.register(project, FETCH_NOTES_TASK, FetchReleaseNotesTask.class, task -> {
             task.setDescription("Fetches release notes data from Git and GitHub and serializes them to a file");
-            task.setOutputFile(new File(project.getBuildDir(), "detailed-release-notes.ser"));
+            task.setOutputFile(releaseNotesData);
             task.setGitHubApiUrl(conf.getGitHub().getApiUrl());
             task.setGitHubReadOnlyAuthToken(conf.getGitHub().getReadOnlyAuthToken());
             task.setGitHubRepository(conf.getGitHub().getRepository());
@@ -63,14 +75,29 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
             task.setTagPrefix(conf.getGit().getTagPrefix());
             task.setIgnoreCommitsContaining(conf.getReleaseNotes().getIgnoreCommitsContaining());
             task.setIgnoredContributors(conf.getTeam().getIgnoredContributors());
+
+            BackgroundPrefetch.of(project).register(task, () -> new FetchReleaseNotes().fetchReleaseNotesData(task));
         });
 
         Task contributorsFetcher = project.getTasks().getByName(GitHubContributorsPlugin.FETCH_CONTRIBUTORS);
 
+        final File renderedNotesDir = new File(project.getBuildDir(), "release-notes");
+        final File renderedNotes = new File(renderedNotesDir, "release-notes.md");
+        renderer = TaskMaker.register(project, RENDER_NOTES_TASK, RenderReleaseNotesTask.class, task -> {
+            task.setDescription("Renders release notes in Markdown, HTML and JSON formats from the same release notes data.");
+
+            configureDetailedNotes(task, releaseNotesFetcher, releaseNotesData, project, conf, contributorsFetcher);
+
+            task.setMarkdownFile(renderedNotes);
+            task.setHtmlFile(new File(renderedNotesDir, "release-notes.html"));
+            task.setJsonFile(new File(renderedNotesDir, "release-notes.json"));
+        });
+
         TaskMaker.task(project, UPDATE_NOTES_TASK, UpdateReleaseNotesTask.class, task -> {
             task.setDescription("Updates release notes file. Run with '-Ppreview' if you only want to see the preview.");
 
-            configureDetailedNotes(task, releaseNotesFetcher, project, conf, contributorsFetcher);
+            configureDetailedNotes(task, releaseNotesFetcher, releaseNotesData, project, conf, contributorsFetcher);
+            useRenderedNotes(task, renderer, renderedNotes);
 
             boolean previewMode = project.hasProperty(PREVIEW_PROJECT_PROPERTY);
             task.setPreviewMode(previewMode);
@@ -87,7 +114,8 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
             task.setDescription("Updates release notes on GitHub releases page. Run with '-Ppreview' if you only want to see the preview.");
             task.mustRunAfter(GitPlugin.GIT_PUSH_TASK);
 
-            configureDetailedNotes(task, releaseNotesFetcher, project, conf, contributorsFetcher);
+            configureDetailedNotes(task, releaseNotesFetcher, releaseNotesData, project, conf, contributorsFetcher);
+            useRenderedNotes(task, renderer, renderedNotes);
 
             boolean previewMode = project.hasProperty(PREVIEW_PROJECT_PROPERTY);
             task.setPreviewMode(previewMode);
@@ -104,7 +132,7 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
         UpdateReleaseNotesOnGitHubCleanupTask updateReleaseNotesOnGitHubCleanupTask = TaskMaker.task(project, UPDATE_NOTES_ON_GITHUB_CLEANUP_TASK, UpdateReleaseNotesOnGitHubCleanupTask.class, task -> {
             task.setDescription("Remove release notes from GitHub release page created by updateReleaseNotesOnGitHub task.");
 
-            configureDetailedNotes(task, releaseNotesFetcher, project, conf, contributorsFetcher);
+            configureDetailedNotes(task, releaseNotesFetcher, releaseNotesData, project, conf, contributorsFetcher);
 
             boolean previewMode = project.hasProperty(PREVIEW_PROJECT_PROPERTY);
             task.setPreviewMode(previewMode);
@@ -119,8 +147,27 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
         updateReleaseNotesOnGitHubCleanupTask.setDryRun(conf.isDryRun());
     }
 
+    private static void useRenderedNotes(AbstractReleaseNotesTask task, LazyTask<RenderReleaseNotesTask> renderer, File renderedNotes) {
+        task.dependsOn(renderer);
+        task.setRenderedReleaseNotes(renderedNotes);
+    }
+
+    /**
+     * Sets the publication repository shown in the release notes on all release notes tasks,
+     * including {@link #RENDER_NOTES_TASK} that renders the content used by the update tasks.
+     * Used by the plugins that know where the release is published.
+     */
+    public void setPublicationRepository(String publicationRepository) {
+        for (String taskName : asList(UPDATE_NOTES_TASK, UPDATE_NOTES_ON_GITHUB_TASK, UPDATE_NOTES_ON_GITHUB_CLEANUP_TASK)) {
+            AbstractReleaseNotesTask task = (AbstractReleaseNotesTask) project.getTasks().getByName(taskName);
+            task.setPublicationRepository(publicationRepository);
+        }
+        renderer.configure(t -> t.setPublicationRepository(publicationRepository));
+    }
+
     private static void configureDetailedNotes(AbstractReleaseNotesTask task,
-                                               FetchReleaseNotesTask releaseNotesFetcher,
+                                               LazyTask<FetchReleaseNotesTask> releaseNotesFetcher,
+                                               File releaseNotesData,
                                                Project project,
                                                ShipkitConfiguration conf,
                                                Task contributorsFetcher) {
@@ -143,6 +190,7 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
         task.setGitHubUrl(conf.getGitHub().getUrl());
         task.setPreviousVersion(project.getExtensions().getByType(VersionInfo.class).getPreviousVersion());
 
-        task.setReleaseNotesData(releaseNotesFetcher.getOutputFile());
+        task.setReleaseNotesData(releaseNotesData);
+        task.setFragmentCacheDir(new File(project.getBuildDir(), "release-notes-fragments"));
     }
 }
@@ -3,6 +3,7 @@ package org.shipkit.internal.gradle.notes.tasks;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.shipkit.gradle.notes.FetchGitHubContributorsTask;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
 import org.shipkit.internal.notes.contributors.ContributorsProvider;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSerializer;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
@@ -13,7 +14,18 @@ public class FetchContributors {
 
     private static final Logger LOG = Logging.getLogger(FetchContributors.class);
 
-    public void fetchContributors(FetchGitHubContributorsTask task) {
+    public void fetchContributors(FetchGitHubContributorsTask task, BackgroundPrefetch prefetch) {
+        String json = prefetch.get(task, () -> fetchContributorsData(task));
+        IOUtil.writeFile(task.getOutputFile(), json);
+
+        LOG.lifecycle("  Serialized contributors information: {}", task.getProject().relativePath(task.getOutputFile()));
+    }
+
+    /**
+     * Fetches contributors and serializes them, without writing the output file of the task.
+     * Can be started in the background, see {@link BackgroundPrefetch}.
+     */
+    public String fetchContributorsData(FetchGitHubContributorsTask task) {
         LOG.lifecycle("  Fetching all GitHub contributors of {}", task.getRepository());
         ContributorsProvider contributorsProvider = Contributors.getGitHubContributorsProvider(
             task.getApiUrl(), task.getRepository(), task.getReadOnlyAuthToken(), task.getIgnoredContributors());
@@ -21,9 +33,6 @@ public class FetchContributors {
         ProjectContributorsSet contributors = contributorsProvider.getAllContributorsForProject();
 
         ProjectContributorsSerializer serializer = new ProjectContributorsSerializer();
-        final String json = serializer.serialize(contributors);
-        IOUtil.writeFile(task.getOutputs().getFiles().getSingleFile(), json);
-
-        LOG.lifecycle("  Serialized contributors information: {}", task.getProject().relativePath(task.getOutputs().getFiles().getSingleFile()));
+        return serializer.serialize(contributors);
     }
 }
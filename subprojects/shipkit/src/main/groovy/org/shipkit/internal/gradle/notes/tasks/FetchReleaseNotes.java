@@ -1,7 +1,9 @@
 package org.shipkit.internal.gradle.notes.tasks;
 
 import org.gradle.api.GradleException;
+import org.shipkit.internal.exec.Exec;
 import org.shipkit.gradle.notes.FetchReleaseNotesTask;
+import org.shipkit.internal.gradle.util.BackgroundPrefetch;
 import org.shipkit.internal.gradle.util.ReleaseNotesSerializer;
 import org.shipkit.internal.notes.contributors.IgnoredContributor;
 import org.shipkit.internal.notes.generator.ReleaseNotesGenerator;
@@ -10,6 +12,8 @@ import org.shipkit.internal.notes.model.ReleaseNotesData;
 import org.shipkit.internal.notes.util.IOUtil;
 import org.shipkit.internal.notes.vcs.IgnoredCommit;
 import org.shipkit.internal.notes.vcs.RevisionNotFoundException;
+import org.shipkit.internal.notes.vcs.Vcs;
+import org.shipkit.internal.util.HashUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,16 +22,25 @@ import java.util.List;
 import static java.util.Collections.singletonList;
 
 public class FetchReleaseNotes {
-    public void fetchReleaseNotes(FetchReleaseNotesTask task) {
+    public void fetchReleaseNotes(FetchReleaseNotesTask task, BackgroundPrefetch prefetch) {
+        String serializedData = prefetch.get(task, () -> fetchReleaseNotesData(task));
+        IOUtil.writeFile(task.getOutputFile(), serializedData);
+    }
+
+    /**
+     * Fetches release notes data and serializes it, without writing the output file of the task.
+     * Can be started in the background, see {@link BackgroundPrefetch}.
+     */
+    public String fetchReleaseNotesData(FetchReleaseNotesTask task) {
         try {
-            performFetchReleaseNotes(task);
+            return performFetchReleaseNotes(task);
         } catch (RevisionNotFoundException e) {
             String message = buildUnknownRevisionMessage(e);
             throw new GradleException(message, e);
         }
     }
 
-    private void performFetchReleaseNotes(FetchReleaseNotesTask task) throws RevisionNotFoundException {
+    private String performFetchReleaseNotes(FetchReleaseNotesTask task) throws RevisionNotFoundException {
         IgnoredContributor ignoredContributor = IgnoredContributor.of(task.getIgnoredContributors());
         IgnoredCommit ignoredCommit = new IgnoredCommit(task.getIgnoreCommitsContaining(), ignoredContributor);
         ReleaseNotesGenerator generator = ReleaseNotesGenerators.releaseNotesGenerator(
@@ -39,8 +52,22 @@ public class FetchReleaseNotes {
             task.getVersion(), targetVersions, task.getTagPrefix(), task.getGitHubLabels(), task.isOnlyPullRequests());
 
         ReleaseNotesSerializer releaseNotesSerializer = new ReleaseNotesSerializer();
-        final String serializedData = releaseNotesSerializer.serialize(releaseNotes);
-        IOUtil.writeFile(task.getOutputFile(), serializedData);
+        return releaseNotesSerializer.serialize(releaseNotes);
+    }
+
+    /**
+     * SHA of the commit given revision points to in the task's git work dir, null if the revision cannot be resolved
+     */
+    public String getRevisionSha(FetchReleaseNotesTask task, String revision) {
+        return Vcs.getRevisionShaProvider(Exec.getQuietProcessRunner(task.getGitWorkDir())).getSha(revision);
+    }
+
+    /**
+     * Hash of the rules of ignoring commits and contributors configured on the task
+     */
+    public String getIgnoreRulesHash(FetchReleaseNotesTask task) {
+        return HashUtil.sha1("ignoreCommitsContaining: " + task.getIgnoreCommitsContaining()
+            + "\nignoredContributors: " + task.getIgnoredContributors());
     }
 
     private String buildUnknownRevisionMessage(RevisionNotFoundException exception) {
@@ -0,0 +1,46 @@
+package org.shipkit.internal.gradle.notes.tasks;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.gradle.notes.RenderReleaseNotesTask;
+import org.shipkit.internal.notes.format.ReleaseNotesFormatters;
+import org.shipkit.internal.notes.header.HeaderProvider;
+import org.shipkit.internal.notes.model.Contributor;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.util.Collection;
+import java.util.Map;
+
+public class RenderReleaseNotes {
+
+    private static final Logger LOG = Logging.getLogger(RenderReleaseNotesTask.class);
+
+    private final UpdateReleaseNotes updateReleaseNotes;
+
+    public RenderReleaseNotes() {
+        this(new UpdateReleaseNotes());
+    }
+
+    RenderReleaseNotes(UpdateReleaseNotes updateReleaseNotes) {
+        this.updateReleaseNotes = updateReleaseNotes;
+    }
+
+    public void renderReleaseNotes(RenderReleaseNotesTask task, HeaderProvider headerProvider) {
+        LOG.lifecycle("  Rendering release notes based on {}", task.getReleaseNotesData());
+
+        //data is loaded once, all formats are rendered from the same objects
+        Collection<ReleaseNotesData> data = updateReleaseNotes.loadData(task);
+        Map<String, Contributor> contributors = updateReleaseNotes.loadContributors(task);
+        String vcsCommitTemplate = updateReleaseNotes.getVcsCommitTemplate(task);
+
+        IOUtil.writeFile(task.getMarkdownFile(), updateReleaseNotes.formatMarkdown(task, headerProvider, data, contributors));
+        IOUtil.writeFile(task.getHtmlFile(), ReleaseNotesFormatters.htmlFormatter(task.getGitHubLabelMapping(),
+            vcsCommitTemplate, task.getPublicationRepository(), contributors).formatReleaseNotes(data));
+        IOUtil.writeFile(task.getJsonFile(), ReleaseNotesFormatters.jsonFormatter(task.getGitHubLabelMapping(),
+            vcsCommitTemplate, task.getPublicationRepository(), contributors).formatReleaseNotes(data));
+
+        LOG.lifecycle("  Release notes rendered to:\n    {}\n    {}\n    {}",
+            task.getMarkdownFile(), task.getHtmlFile(), task.getJsonFile());
+    }
+}
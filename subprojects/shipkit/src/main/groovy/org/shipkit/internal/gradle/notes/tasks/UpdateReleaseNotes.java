@@ -14,6 +14,7 @@ import org.shipkit.internal.notes.contributors.ProjectContributorsSerializer;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
 import org.shipkit.internal.notes.format.BadgeFormatter;
 import org.shipkit.internal.notes.format.ReleaseNotesFormatters;
+import org.shipkit.internal.notes.format.ReleaseNotesFragmentCache;
 import org.shipkit.internal.notes.header.HeaderProvider;
 import org.shipkit.internal.notes.model.Contributor;
 import org.shipkit.internal.notes.model.ProjectContributor;
@@ -75,14 +76,21 @@ public class UpdateReleaseNotes {
     }
 
     public String generateNewContent(AbstractReleaseNotesTask task, HeaderProvider headerProvider) {
-        LOG.lifecycle("  Building new release notes based on {}", task.getReleaseNotesFile());
-
-        String headerMessage = headerProvider.getHeader(task.getHeader());
+        File rendered = task.getRenderedReleaseNotes();
+        if (rendered != null && rendered.isFile()) {
+            LOG.lifecycle("  Using release notes already rendered to {}", rendered);
+            return IOUtil.readFully(rendered);
+        }
 
-        Collection<ReleaseNotesData> data = new ReleaseNotesSerializer().deserialize(IOUtil.readFully(task.getReleaseNotesData()));
+        LOG.lifecycle("  Building new release notes based on {}", task.getReleaseNotesFile());
+        return formatMarkdown(task, headerProvider, loadData(task), loadContributors(task));
+    }
 
-        String vcsCommitTemplate = getVcsCommitTemplate(task);
+    Collection<ReleaseNotesData> loadData(AbstractReleaseNotesTask task) {
+        return new ReleaseNotesSerializer().deserialize(IOUtil.readFully(task.getReleaseNotesData()));
+    }
 
+    Map<String, Contributor> loadContributors(AbstractReleaseNotesTask task) {
         ProjectContributorsSet contributorsFromGitHub;
         if (!task.getContributors().isEmpty()) {
             // if contributors are defined in shipkit.team.contributors don't deserialize them from file
@@ -92,18 +100,32 @@ public class UpdateReleaseNotes {
             contributorsFromGitHub = new ProjectContributorsSerializer().deserialize(IOUtil.readFully(task.getContributorsDataFile()));
         }
 
-        Map<String, Contributor> contributorsMap = contributorsMap(task.getContributors(), contributorsFromGitHub, task.getDevelopers(), task.getGitHubUrl());
+        return contributorsMap(task.getContributors(), contributorsFromGitHub, task.getDevelopers(), task.getGitHubUrl());
+    }
+
+    String formatMarkdown(AbstractReleaseNotesTask task, HeaderProvider headerProvider,
+                          Collection<ReleaseNotesData> data, Map<String, Contributor> contributorsMap) {
+        String headerMessage = headerProvider.getHeader(task.getHeader());
         BadgeFormatter badgeFormatter = new BadgeFormatter();
         // TODO release notes contain link to new javadoc
         String notes = ReleaseNotesFormatters.detailedFormatter(headerMessage,
-            "", task.getGitHubLabelMapping(), vcsCommitTemplate, task.getPublicationRepository(),
-            contributorsMap, task.isEmphasizeVersion(), badgeFormatter)
+            "", task.getGitHubLabelMapping(), getVcsCommitTemplate(task), task.getPublicationRepository(),
+            contributorsMap, task.isEmphasizeVersion(), badgeFormatter, fragmentCache(task))
             .formatReleaseNotes(data);
 
         return notes + "\n\n";
     }
 
-    private String getVcsCommitTemplate(AbstractReleaseNotesTask task) {
+    private static ReleaseNotesFragmentCache fragmentCache(AbstractReleaseNotesTask task) {
+        if (task.getFragmentCacheDir() == null) {
+            return null;
+        }
+        ReleaseNotesFragmentCache cache = new ReleaseNotesFragmentCache(task.getFragmentCacheDir());
+        cache.prune();
+        return cache;
+    }
+
+    String getVcsCommitTemplate(AbstractReleaseNotesTask task) {
         if (task.getPreviousVersion() != null) {
             return task.getGitHubUrl() + "/" + task.getGitHubRepository() + "/compare/"
                 + task.getTagPrefix() + task.getPreviousVersion() + "..." + task.getTagPrefix() + task.getVersion();
@@ -113,6 +135,6 @@ public class UpdateReleaseNotes {
     }
 
     public String getReleaseNotesUrl(AbstractReleaseNotesTask task, String branch) {
-        return task.getGitHubUrl() + "/" + task.getGitHubRepository() + "/blob/" + branch + "/" + task.getProject().relativePath(task.getReleaseNotesFile()).replace('\\', '/');
+        return task.getGitHubUrl() + "/" + task.getGitHubRepository() + "/blob/" + branch + "/" + task.getProjectDir().toPath().relativize(task.getReleaseNotesFile().getAbsoluteFile().toPath()).toString().replace('\\', '/');
     }
 }
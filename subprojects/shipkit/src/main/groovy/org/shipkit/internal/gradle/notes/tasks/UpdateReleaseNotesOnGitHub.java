@@ -1,7 +1,11 @@
 package org.shipkit.internal.gradle.notes.tasks;
 
+import org.gradle.api.Action;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.workers.ForkMode;
+import org.gradle.workers.WorkerConfiguration;
+import org.gradle.workers.WorkerExecutor;
 import org.json.simple.JsonObject;
 import org.json.simple.Jsoner;
 import org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubCleanupTask;
@@ -12,6 +16,9 @@ import org.shipkit.internal.util.GitHubApi;
 
 import java.io.IOException;
 
+import static java.util.Collections.singletonList;
+import static org.shipkit.internal.gradle.util.ClasspathUtil.classpathOf;
+
 public class UpdateReleaseNotesOnGitHub {
     private static final Logger LOG = Logging.getLogger(UpdateReleaseNotesOnGitHub.class);
 
@@ -23,16 +30,6 @@ public class UpdateReleaseNotesOnGitHub {
         this.updateReleaseNotes = updateReleaseNotes;
     }
 
-    public void updateReleaseNotes(UpdateReleaseNotesOnGitHubTask task, HeaderProvider headerProvider) throws Exception {
-        String releaseNotesText = updateReleaseNotes.generateNewContent(task, headerProvider);
-        if (task.isPreviewMode()) {
-            LOG.lifecycle("  Preview of release notes update:\n" +
-                "  ----------------\n" + releaseNotesText + "\n----------------");
-        } else {
-            createReleaseByTagName(task, releaseNotesText);
-        }
-    }
-
     private String findReleaseByTagName(UpdateReleaseNotesOnGitHubTask task) throws Exception {
         String tagName = tagName(task);
         String url = "/repos/" + task.getUpstreamRepositoryName() + "/releases/tags/" + tagName;
@@ -52,11 +49,40 @@ public class UpdateReleaseNotesOnGitHub {
         }
     }
 
-    private void createReleaseByTagName(UpdateReleaseNotesOnGitHubTask task, String text) throws Exception {
-        String tagName = tagName(task);
-        String url = "/repos/" + task.getUpstreamRepositoryName() + "/releases";
+    /**
+     * Generates release notes and submits creating the GitHub release to given worker executor.
+     * The release notes are generated right away, only the work that needs the network runs in the worker.
+     * Note that with Gradle 4.x the worker overlaps other release steps only when the build runs with '--parallel',
+     * otherwise the next task starts when the worker completes.
+     */
+    public void submitReleaseNotesUpdate(UpdateReleaseNotesOnGitHubTask task, HeaderProvider headerProvider,
+                                         WorkerExecutor workerExecutor) throws Exception {
+        String releaseNotesText = updateReleaseNotes.generateNewContent(task, headerProvider);
+        if (task.isPreviewMode()) {
+            LOG.lifecycle("  Preview of release notes update:\n" +
+                "  ----------------\n" + releaseNotesText + "\n----------------");
+            return;
+        }
+        final Object[] params = {task.getGitHubApiUrl(), task.getGitHubWriteToken(),
+            task.getUpstreamRepositoryName(), tagName(task), releaseNotesText, task.isDryRun()};
+        workerExecutor.submit(UpdateReleaseNotesOnGitHubWork.class, new Action<WorkerConfiguration>() {
+            @Override
+            public void execute(WorkerConfiguration config) {
+                config.setForkMode(ForkMode.NEVER);
+                config.params(params);
+                //worker classloader only gets Shipkit classes, GitHub responses are parsed with json-simple
+                config.classpath(singletonList(classpathOf(Jsoner.class)));
+            }
+        });
+    }
 
-        if (task.isDryRun()) {
+    /**
+     * Creates GitHub release for given tag, with given release notes text
+     */
+    public void createRelease(String repositoryName, String tagName, String text, boolean dryRun) throws Exception {
+        String url = "/repos/" + repositoryName + "/releases";
+
+        if (dryRun) {
             LOG.lifecycle("It's -PdryRun mode, releases notes on GitHub will be NOT created." +
                 "\n  It will execute in normal mode: POST {}", url);
             return;
@@ -76,7 +102,7 @@ public class UpdateReleaseNotesOnGitHub {
             String htmlUrl = responseJson.getString("html_url");
             LOG.lifecycle("  Successfully updated release notes on GitHub: {}", htmlUrl);
         } catch (Exception e) {
-            if (task.isDryRun()) {
+            if (dryRun) {
                 LOG.lifecycle("  returned some error, but run in -PdryRun mode, so will continue with default value: " +
                     "\"DEFAULT_RELEASE_ID\".\nSee stacktrace for more details.", e);
             }
@@ -0,0 +1,42 @@
+package org.shipkit.internal.gradle.notes.tasks;
+
+import org.shipkit.internal.util.GitHubApi;
+
+import javax.inject.Inject;
+
+/**
+ * Creating GitHub release submitted to Gradle Worker API by {@link org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubTask}
+ */
+public class UpdateReleaseNotesOnGitHubWork implements Runnable {
+
+    private final String gitHubApiUrl;
+    private final String gitHubWriteToken;
+    private final String repositoryName;
+    private final String tagName;
+    private final String text;
+    private final Boolean dryRun;
+
+    @Inject
+    public UpdateReleaseNotesOnGitHubWork(String gitHubApiUrl, String gitHubWriteToken, String repositoryName,
+                                          String tagName, String text, Boolean dryRun) {
+        this.gitHubApiUrl = gitHubApiUrl;
+        this.gitHubWriteToken = gitHubWriteToken;
+        this.repositoryName = repositoryName;
+        this.tagName = tagName;
+        this.text = text;
+        this.dryRun = dryRun;
+    }
+
+    @Override
+    public void run() {
+        GitHubApi gitHubApi = new GitHubApi(gitHubApiUrl, gitHubWriteToken);
+        try {
+            new UpdateReleaseNotesOnGitHub(gitHubApi, new UpdateReleaseNotes())
+                .createRelease(repositoryName, tagName, text, dryRun);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Problems creating GitHub release " + tagName + " in " + repositoryName, e);
+        }
+    }
+}
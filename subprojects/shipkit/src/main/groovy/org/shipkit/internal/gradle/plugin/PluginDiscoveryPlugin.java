@@ -6,6 +6,7 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.shipkit.gradle.plugin.PluginDiscoveryTask;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 import static org.shipkit.internal.gradle.plugin.GradlePortalPublishPlugin.PUBLISH_PLUGINS_TASK;
@@ -35,7 +36,7 @@ public class PluginDiscoveryPlugin implements Plugin<Project> {
     @Override
     public void apply(final Project project) {
         project.getPlugins().apply("com.gradle.plugin-publish");
-        final Task task = TaskMaker.task(project, DISCOVER_PLUGINS, PluginDiscoveryTask.class, new Action<PluginDiscoveryTask>() {
+        final LazyTask<PluginDiscoveryTask> task = TaskMaker.register(project, DISCOVER_PLUGINS, PluginDiscoveryTask.class, new Action<PluginDiscoveryTask>() {
             @Override
             public void execute(final PluginDiscoveryTask task) {
                 task.setDescription("discover gradle plugins");
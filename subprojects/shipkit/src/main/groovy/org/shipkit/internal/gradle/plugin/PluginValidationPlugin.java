@@ -5,6 +5,7 @@ import org.gradle.api.Project;
 import org.gradle.api.plugins.JavaBasePlugin;
 import org.shipkit.gradle.plugin.PluginValidatorTask;
 import org.shipkit.internal.gradle.util.JavaPluginUtil;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 /**
@@ -24,12 +25,12 @@ public class PluginValidationPlugin implements Plugin<Project> {
     @Override
     public void apply(final Project project) {
         project.getPlugins().withId("java", plugin -> {
-            TaskMaker.task(project, VALIDATE_PLUGINS, PluginValidatorTask.class, task -> {
+            LazyTask<PluginValidatorTask> validate = TaskMaker.register(project, VALIDATE_PLUGINS, PluginValidatorTask.class, task -> {
                 task.setDescription("Validates Gradle Plugins and their properties files");
                 task.setSourceSet(JavaPluginUtil.getMainSourceSet(project));
-
-                project.getTasks().getByName(JavaBasePlugin.CHECK_TASK_NAME).dependsOn(task);
             });
+
+            project.getTasks().getByName(JavaBasePlugin.CHECK_TASK_NAME).dependsOn(validate);
         });
     }
 }
@@ -50,7 +50,7 @@ public class CiReleasePlugin implements Plugin<Project> {
           Also, when release is not needed, we don't have clean Gradle API to stop the build, without failing it.
           Hence, we are pragmatic. We are forking Gradle from Gradle which seems hacky but we have no other viable choice.
         */
-        TaskMaker.task(project, CI_PERFORM_RELEASE_TASK, ShipkitExecTask.class, new Action<ShipkitExecTask>() {
+        TaskMaker.register(project, CI_PERFORM_RELEASE_TASK, ShipkitExecTask.class, new Action<ShipkitExecTask>() {
             @Override
             public void execute(ShipkitExecTask task) {
                 task.setDescription("Checks if release is needed. If so it will prepare for ci release and perform release.");
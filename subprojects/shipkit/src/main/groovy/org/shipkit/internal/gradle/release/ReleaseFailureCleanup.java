@@ -0,0 +1,90 @@
+package org.shipkit.internal.gradle.release;
+
+import org.gradle.BuildAdapter;
+import org.gradle.BuildResult;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionListener;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.TaskState;
+import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.gradle.git.GitPlugin;
+
+/**
+ * Compensates the release steps already done when the release fails before the changes are pushed.
+ * Removes the version bump commit and the version tag, the same way as 'releaseCleanUp' task does,
+ * so that the working copy is ready for another release attempt.
+ * <p>
+ * Nothing is cleaned up once 'gitPush' started (unless in dry run mode), even when it failed.
+ * The push is not atomic, the remote may have accepted the branch and rejected the tag,
+ * and pushed changes cannot be safely reverted.
+ * Steps that were already cleaned up in the same build, e.g. by 'releaseCleanUp', are not cleaned up again.
+ */
+class ReleaseFailureCleanup extends BuildAdapter implements TaskExecutionListener {
+
+    private static final Logger LOG = Logging.getLogger(ReleaseFailureCleanup.class);
+
+    private final Project project;
+    private final String tag;
+    private final boolean dryRun;
+    private final ProcessRunner runner;
+
+    private boolean committed;
+    private boolean tagged;
+    private boolean pushed;
+
+    ReleaseFailureCleanup(Project project, String tag, boolean dryRun, ProcessRunner runner) {
+        this.project = project;
+        this.tag = tag;
+        this.dryRun = dryRun;
+        this.runner = runner;
+    }
+
+    public synchronized void beforeExecute(Task task) {
+        if (task.getProject() == project && task.getName().equals(GitPlugin.GIT_PUSH_TASK)) {
+            //the push may fail after some refs were accepted by the remote
+            pushed = !dryRun;
+        }
+    }
+
+    public synchronized void afterExecute(Task task, TaskState state) {
+        if (task.getProject() != project || state.getFailure() != null || state.getSkipped()) {
+            return;
+        }
+        String name = task.getName();
+        if (name.equals(GitPlugin.GIT_COMMIT_TASK)) {
+            committed = true;
+        } else if (name.equals(GitPlugin.SOFT_RESET_COMMIT_TASK)) {
+            committed = false;
+        } else if (name.equals(GitPlugin.GIT_TAG_TASK)) {
+            tagged = true;
+        } else if (name.equals(GitPlugin.TAG_CLEANUP_TASK)) {
+            tagged = false;
+        }
+    }
+
+    @Override
+    public synchronized void buildFinished(BuildResult result) {
+        if (result.getFailure() == null || pushed || !(committed || tagged)) {
+            return;
+        }
+        LOG.lifecycle("  Release failed before the changes were pushed, cleaning up the working copy.");
+        if (tagged) {
+            run("git", "tag", "-d", tag);
+        }
+        if (committed) {
+            run("git", "reset", "--soft", "HEAD~");
+            run("git", "stash");
+        }
+    }
+
+    private void run(String... commandLine) {
+        try {
+            runner.run(commandLine);
+        } catch (RuntimeException e) {
+            //the build already failed, reporting the original failure is more important
+            LOG.lifecycle("  Problems cleaning up after failed release: {}", e.getMessage());
+        }
+    }
+}
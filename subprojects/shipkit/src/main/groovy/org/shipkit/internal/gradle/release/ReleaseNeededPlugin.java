@@ -4,11 +4,15 @@ import org.gradle.api.Action;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
+import org.shipkit.gradle.git.IdentifyGitBranchTask;
 import org.shipkit.gradle.java.ComparePublicationsTask;
 import org.shipkit.gradle.release.ReleaseNeededTask;
+import org.shipkit.internal.gradle.configuration.LazyConfiguration;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
 import org.shipkit.internal.gradle.git.GitBranchPlugin;
 import org.shipkit.internal.gradle.java.ComparePublicationsPlugin;
+import org.shipkit.internal.gradle.release.tasks.EarlyReleaseNeededCheck;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 import org.shipkit.internal.util.DeprecatedWarning;
 
@@ -40,6 +44,10 @@ import org.shipkit.internal.util.DeprecatedWarning;
  *     <li>releaseNeeded - {@link ReleaseNeededTask}
  *     - prints information if the release is needed. Useful for testing.</li>
  * </ul>
+ *
+ * The tasks, and the comparePublications tasks they depend on, are created only when needed, see {@link LazyTask}.
+ * When the criteria that don't need publication comparison already rule out the release,
+ * comparison is skipped when the task graph is ready, see {@link EarlyReleaseNeededCheck}.
  */
 public class ReleaseNeededPlugin implements Plugin<Project> {
 
@@ -53,21 +61,23 @@ public class ReleaseNeededPlugin implements Plugin<Project> {
         //Task that throws an exception when release is not needed
         //We used it originally to prevent Travis CI from releasing when release was not needed.
         //Kept for backwards compatibility
-        ReleaseNeededTask assertReleaseNeededTask = releaseNeededTask(project, ASSERT_RELEASE_NEEDED_TASK, conf);
-        assertReleaseNeededTask.setExplosive(true)
-            .setDescription("[DEPRECATED] Asserts that criteria for the release are met and throws exception if release is not needed.");
-        assertReleaseNeededTask.doFirst(task -> DeprecatedWarning.warn(task.getName(), "Please use '" + RELEASE_NEEDED + "' task instead."));
+        releaseNeededTask(project, ASSERT_RELEASE_NEEDED_TASK, conf).configure(assertReleaseNeededTask -> {
+            assertReleaseNeededTask.setExplosive(true)
+                .setDescription("[DEPRECATED] Asserts that criteria for the release are met and throws exception if release is not needed.");
+            assertReleaseNeededTask.doFirst(task -> DeprecatedWarning.warn(task.getName(), "Please use '" + RELEASE_NEEDED + "' task instead."));
+        });
 
         //Below task is useful for testing. It will not throw an exception but will run the code that check is release is needed
         //and it will print the information to the console.
-        releaseNeededTask(project, RELEASE_NEEDED, conf)
+        releaseNeededTask(project, RELEASE_NEEDED, conf).configure(task -> task
             .setExplosive(false)
-            .setDescription("Checks and prints to the console if criteria for the release are met.");
+            .setDescription("Checks and prints to the console if criteria for the release are met."));
     }
 
-    private static ReleaseNeededTask releaseNeededTask(final Project project, String taskName,
-                                                       final ShipkitConfiguration conf) {
-        return TaskMaker.task(project, taskName, ReleaseNeededTask.class, new Action<ReleaseNeededTask>() {
+    private static LazyTask<ReleaseNeededTask> releaseNeededTask(final Project project, String taskName,
+                                                                 final ShipkitConfiguration conf) {
+        final GitBranchPlugin gitBranchPlugin = project.getPlugins().apply(GitBranchPlugin.class);
+        return TaskMaker.register(project, taskName, ReleaseNeededTask.class, new Action<ReleaseNeededTask>() {
             public void execute(final ReleaseNeededTask t) {
                 t.setDescription("Asserts that criteria for the release are met and throws exception if release not needed.");
                 t.setExplosive(true);
@@ -87,13 +97,30 @@ public class ReleaseNeededPlugin implements Plugin<Project> {
 
                 t.setReleasableBranchRegex(conf.getGit().getReleasableBranchRegex());
 
-                project.getPlugins().apply(GitBranchPlugin.class)
-                        .provideBranchTo(t, new Action<String>() {
-                            public void execute(String branch) {
-                                t.setBranch(branch);
-                            }
-                        });
+                gitBranchPlugin.provideBranchTo(t, new Action<String>() {
+                    public void execute(String branch) {
+                        t.setBranch(branch);
+                    }
+                });
+
+                //when release is not possible anyway, there is no point in comparing publications
+                LazyConfiguration.lazyConfiguration(t, new Runnable() {
+                    public void run() {
+                        new EarlyReleaseNeededCheck().skipComparisonIfReleaseNotPossible(
+                            project.getGradle().getTaskGraph(), t, knownBranch(project));
+                    }
+                });
             }
         });
     }
+
+    private static String knownBranch(Project project) {
+        IdentifyGitBranchTask branchTask = (IdentifyGitBranchTask) project.getTasks().getByName(GitBranchPlugin.IDENTIFY_GIT_BRANCH);
+        try {
+            return branchTask.getBranch();
+        } catch (IdentifyGitBranchTask.BranchNotAvailableException e) {
+            //branch is identified when the task executes
+            return null;
+        }
+    }
 }
@@ -2,15 +2,20 @@ package org.shipkit.internal.gradle.release;
 
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.shipkit.gradle.configuration.ShipkitConfiguration;
 import org.shipkit.gradle.exec.ExecCommand;
 import org.shipkit.gradle.exec.ShipkitExecTask;
 import org.shipkit.gradle.git.IdentifyGitBranchTask;
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask;
+import org.shipkit.internal.exec.Exec;
+import org.shipkit.internal.gradle.configuration.LazyConfiguration;
+import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
 import org.shipkit.internal.gradle.git.GitBranchPlugin;
 import org.shipkit.internal.gradle.git.GitPlugin;
 import org.shipkit.internal.gradle.javadoc.JavadocPlugin;
 import org.shipkit.internal.gradle.notes.ReleaseNotesPlugin;
 import org.shipkit.internal.gradle.notes.tasks.UpdateReleaseNotes;
+import org.shipkit.internal.gradle.util.GitUtil;
 import org.shipkit.internal.gradle.util.GradleWrapper;
 import org.shipkit.internal.gradle.util.TaskMaker;
 import org.shipkit.internal.gradle.util.TaskSuccessfulMessage;
@@ -42,7 +47,13 @@ import static org.shipkit.internal.gradle.release.ReleaseNeededPlugin.RELEASE_NE
  *
  * <ul>
  *     <li>performRelease - ships new release: builds artifacts, generates release notes,
- *       makes version bump commit, creates tag, pushes code, uploads to bintray. Ship it!</li>
+ *       makes version bump commit, creates tag, pushes code, uploads to bintray. Ship it!
+ *       When the release fails before the code is pushed, the version bump commit and the tag are removed,
+ *       see {@link ReleaseFailureCleanup}.
+ *       The steps after 'gitPush' ('pushJavadoc', 'updateReleaseNotesOnGitHub', 'bintrayUpload') depend only on it,
+ *       the GitHub release is created in a worker.
+ *       Note that Gradle 4.x runs tasks and their workers one at a time unless the build runs with '--parallel',
+ *       so the steps overlap only with '--parallel'.</li>
  *     <li>testRelease - performs release test in 'dryRun' mode. Useful to test the release logic
  *       without actually performing externally visible commands like 'gitPush' or 'bintrayUpload'.</li>
  *     <li>releaseCleanUp - cleans up after the release (removes version bump commit, removes the tag).
@@ -65,6 +76,7 @@ public class ReleasePlugin implements Plugin<Project> {
         project.getPlugins().apply(GitPlugin.class);
         project.getPlugins().apply(ReleaseNeededPlugin.class);
         project.getPlugins().apply(GitBranchPlugin.class);
+        final ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
 
         TaskMaker.task(project, PERFORM_RELEASE_TASK, t -> {
             t.setDescription("Performs release. " +
@@ -81,6 +93,10 @@ public class ReleasePlugin implements Plugin<Project> {
                 "Release shipped!\n" +
                 "    - Publication repository: " + updateReleaseNotesTask.getPublicationRepository() + "\n" +
                 "    - Release notes:          " + new UpdateReleaseNotes().getReleaseNotesUrl(updateReleaseNotesTask, identifyGitBranchTask.getBranch()));
+
+            //the listener is added only when releasing, so that commits and tags created by other builds are never removed
+            LazyConfiguration.lazyConfiguration(t, () -> project.getGradle().addListener(
+                new ReleaseFailureCleanup(project, GitUtil.getTag(conf, project), conf.isDryRun(), Exec.getProcessRunner(project.getRootDir()))));
         });
 
         TaskMaker.task(project, TEST_RELEASE_TASK, ShipkitExecTask.class, t -> {
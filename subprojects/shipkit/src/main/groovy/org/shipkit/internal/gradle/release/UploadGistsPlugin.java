@@ -30,7 +30,7 @@ public class UploadGistsPlugin implements Plugin<Project> {
     public void apply(final Project project) {
         final ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
 
-        TaskMaker.task(project, UPLOAD_GISTS_TASK, UploadGistsTask.class, new Action<UploadGistsTask>() {
+        TaskMaker.register(project, UPLOAD_GISTS_TASK, UploadGistsTask.class, new Action<UploadGistsTask>() {
             @Override
             public void execute(UploadGistsTask uploadGistsTask) {
                 uploadGistsTask.setDescription("Uploads to Gist files provided by 'filesToUpload' task property.");
@@ -2,49 +2,89 @@ package org.shipkit.internal.gradle.release.tasks;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.shipkit.internal.comparison.ComparisonSummary;
 import org.shipkit.internal.notes.util.IOUtil;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
+/**
+ * Publication comparison results of all projects.
+ * Whether the results are identical is decided by sizes of the result files, stopping at the first changed one.
+ * The description contains only one line summary of each changed project (see {@link ComparisonSummary}),
+ * the detailed results are streamed to a report file, without reading them into memory.
+ */
 class ComparisonResults {
 
     private final static Logger LOG = Logging.getLogger(ComparisonResults.class);
 
-    private final String description;
-    private final boolean resultsIdentical;
+    private final List<File> comparisonResults;
 
     ComparisonResults(List<File> comparisonResults) {
+        this.comparisonResults = comparisonResults;
+    }
+
+    boolean areResultsIdentical() {
+        boolean compared = false;
+        for (File result : comparisonResults) {
+            if (result.isFile()) {
+                LOG.info("Looking for diffs in publication comparison result file: " + result);
+                if (result.length() > 0) {
+                    //file contains differences, no need to look further
+                    return false;
+                }
+                compared = true;
+            }
+        }
+        //no comparison results means the comparison was skipped
+        return compared;
+    }
+
+    /**
+     * Describes the results, changed projects are summarized and the details are in given report file
+     */
+    String getDescription(File report) {
         int comparisons = 0;
-        StringBuilder sb = new StringBuilder();
+        StringBuilder changes = new StringBuilder();
         for (File result : comparisonResults) {
             if (result.isFile()) {
                 comparisons++;
-                LOG.info("Looking for diffs in publication comparison result file: " + result);
                 if (result.length() > 0) {
-                    //file contains differences
-                    sb.append(IOUtil.readFully(result));
+                    ComparisonSummary summary = ComparisonSummary.of(result);
+                    changes.append("    ").append(summary != null ? summary.describe() : result.getPath()).append("\n");
                 }
             }
         }
 
-        if (sb.length() > 0) {
-            description = "\n  Compared " + comparisons + " publication(s). Changes since previous release:\n" + sb;
-            resultsIdentical = false;
+        if (changes.length() > 0) {
+            return "\n  Compared " + comparisons + " publication(s). Changes since previous release:\n" + changes
+                + "  Details of the changes: " + report + "\n";
         } else if (comparisons > 0) {
-            description = "\n  Compared " + comparisons + " publication(s). No changes since previous release!\n";
-            resultsIdentical = true;
+            return "\n  Compared " + comparisons + " publication(s). No changes since previous release!\n";
         } else {
-            description = "\n  Publication comparison was skipped (no comparison result files found).\n";
-            resultsIdentical = false;
+            return "\n  Publication comparison was skipped (no comparison result files found).\n";
         }
     }
 
-    boolean areResultsIdentical() {
-        return resultsIdentical;
-    }
-
-    String getDescription() {
-        return description;
+    /**
+     * Writes detailed results of all changed projects to given file
+     */
+    void writeReport(File report) {
+        IOUtil.createParentDirectory(report);
+        try (OutputStream out = new FileOutputStream(report)) {
+            for (File result : comparisonResults) {
+                if (result.isFile() && result.length() > 0) {
+                    Files.copy(result.toPath(), out);
+                    out.write("\n\n".getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Problems writing publication comparison report " + report, e);
+        }
     }
 }
@@ -0,0 +1,87 @@
+package org.shipkit.internal.gradle.release.tasks;
+
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.gradle.java.ComparePublicationsTask;
+import org.shipkit.gradle.java.DownloadPreviousPublicationsTask;
+import org.shipkit.gradle.release.ReleaseNeededTask;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the release criteria that are known before any task executes (see {@link ReleaseNeeded#releaseSkippedReason}),
+ * when the task graph is ready. When the release is not possible, publication comparison cannot change the outcome,
+ * so the comparison tasks are disabled together with tasks needed only by them
+ * (downloading previous publications, building sources jars, etc.).
+ * This way, builds that only check whether the release is needed finish fast when it is not.
+ * <p>
+ * Tasks needed by other tasks in the graph, e.g. sources jar needed for publishing, are not disabled.
+ */
+public class EarlyReleaseNeededCheck {
+
+    private final static Logger LOG = Logging.getLogger(EarlyReleaseNeededCheck.class);
+
+    /**
+     * Disables publication comparison in given graph if the release is not possible.
+     *
+     * @param branch current branch, null if not known yet
+     * @return disabled tasks
+     */
+    public Set<Task> skipComparisonIfReleaseNotPossible(TaskExecutionGraph graph, ReleaseNeededTask task, String branch) {
+        String reason = new ReleaseNeeded().releaseSkippedReason(task, branch);
+        if (reason == null) {
+            return new HashSet<>();
+        }
+
+        Set<Task> skipped = tasksNeededOnlyForComparison(graph.getAllTasks());
+        for (Task t : skipped) {
+            t.setEnabled(false);
+        }
+        if (!skipped.isEmpty()) {
+            LOG.lifecycle("  Release is not needed ({}), skipping {} task(s) of publication comparison.", reason, skipped.size());
+            LOG.info("  Skipped publication comparison tasks: {}", skipped);
+        }
+        return skipped;
+    }
+
+    static Set<Task> tasksNeededOnlyForComparison(List<Task> tasks) {
+        Set<Task> dependencies = new HashSet<>();
+        for (Task t : tasks) {
+            dependencies.addAll(dependenciesOf(t));
+        }
+
+        //tasks requested for the build and everything they need, without going through comparison tasks
+        Set<Task> needed = new HashSet<>();
+        LinkedList<Task> queue = new LinkedList<>();
+        for (Task t : tasks) {
+            if (!dependencies.contains(t)) {
+                queue.add(t);
+            }
+        }
+        while (!queue.isEmpty()) {
+            Task t = queue.removeFirst();
+            if (isComparison(t) || !needed.add(t)) {
+                continue;
+            }
+            queue.addAll(dependenciesOf(t));
+        }
+
+        Set<Task> result = new HashSet<>(tasks);
+        result.removeAll(needed);
+        return result;
+    }
+
+    private static boolean isComparison(Task task) {
+        return task instanceof ComparePublicationsTask || task instanceof DownloadPreviousPublicationsTask;
+    }
+
+    private static Collection<? extends Task> dependenciesOf(Task task) {
+        return task.getTaskDependencies().getDependencies(task);
+    }
+}
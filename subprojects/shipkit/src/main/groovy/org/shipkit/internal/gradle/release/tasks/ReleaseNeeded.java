@@ -22,6 +22,7 @@ public class ReleaseNeeded {
     private static final String SKIP_COMPARE_PUBLICATIONS = "[ci skip-compare-publications]";
 
     public static final String RELEASE_NEEDED_FILENAME = "release-needed.txt";
+    public static final String COMPARISON_REPORT_FILENAME = "publications-comparison-report.txt";
 
     public boolean releaseNeeded(ReleaseNeededTask task) {
         File releaseNeededFile = getReleaseNeededFile(task);
@@ -50,8 +51,31 @@ public class ReleaseNeeded {
         return releaseNeeded;
     }
 
+    /**
+     * Reason why the release is not possible, based only on criteria known before any task executes:
+     * skip release keyword in commit message, skip release env variable, pull request build
+     * and the branch, when it is already known. Returns null when the release may be needed.
+     * Used to skip expensive publication comparison early, see {@link EarlyReleaseNeededCheck}.
+     */
+    public String releaseSkippedReason(ReleaseNeededTask task, String branch) {
+        return releaseSkippedReason(task, branch, new EnvVariables());
+    }
+
+    String releaseSkippedReason(ReleaseNeededTask task, String branch, EnvVariables envVariables) {
+        if (task.getCommitMessage() != null && task.getCommitMessage().contains(SKIP_RELEASE_KEYWORD)) {
+            return "skip release keyword in commit message";
+        } else if (envVariables.getNonEmptyEnv(SKIP_RELEASE_ENV) != null) {
+            return "skip release env variable";
+        } else if (task.isPullRequest()) {
+            return "pull request build";
+        } else if (branch != null && !branch.matches(task.getReleasableBranchRegex())) {
+            return "branch '" + branch + "' is not releasable";
+        }
+        return null;
+    }
+
     static File getReleaseNeededFile(ReleaseNeededTask task) {
-        return new File(task.getProject().getBuildDir(), RELEASE_NEEDED_FILENAME);
+        return task.getReleaseNeededFile();
     }
 
     private ReleaseNeed releaseNeed(ReleaseNeededTask task, EnvVariables envVariables) {
@@ -69,7 +93,13 @@ public class ReleaseNeeded {
         ComparisonResults results = new ComparisonResults(task.getComparisonResults());
         boolean publicationsIdentical = results.areResultsIdentical();
 
-        LOG.lifecycle(results.getDescription());
+        //details can be huge in big builds, they go to the report instead of the console
+        File report = task.getComparisonReport();
+        report.delete();
+        if (!publicationsIdentical) {
+            results.writeReport(report);
+        }
+        LOG.lifecycle(results.getDescription(report));
 
         LOG.lifecycle("Release is considered _not_ needed when:\n" +
             " - 'SKIP_RELEASE' environment variable is present (currently: " + skipEnvVariable + ")\n" +
@@ -0,0 +1,199 @@
+package org.shipkit.internal.gradle.util;
+
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.execution.TaskExecutionListener;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.TaskState;
+import org.shipkit.internal.util.ExposedForTesting;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts network bound work of release tasks (fetching from GitHub, downloading previous publications)
+ * in the background when the build starts executing tasks, so that it runs concurrently with compilation and tests.
+ * The work is started only for tasks that are scheduled to run, enabled and certain to execute,
+ * see {@link #register(Task, Callable)}.
+ * Tasks that could be up-to-date or taken from the build cache are not prefetched, because Gradle decides it
+ * only when the task is about to execute and the work would be wasted.
+ * When the task executes, it only consumes the result of its work, see {@link #get(Task, Callable)}.
+ * The background work keeps the results in memory, writing outputs is left to the task.
+ * Failures of the background work fail the task when it executes.
+ * <p>
+ * Single instance is shared by the entire build, see {@link #of(Project)}.
+ */
+public class BackgroundPrefetch {
+
+    private static final Logger LOG = Logging.getLogger(BackgroundPrefetch.class);
+
+    static final int DEFAULT_THREADS = 4;
+
+    private final int threads;
+    private final boolean buildCacheEnabled;
+    private final Map<Task, Callable<?>> work = new LinkedHashMap<>();
+    private final List<Action<TaskExecutionGraph>> startActions = new ArrayList<>();
+    private Map<Task, Future<?>> started;
+
+    @ExposedForTesting
+    BackgroundPrefetch(int threads, boolean buildCacheEnabled) {
+        this.threads = threads;
+        this.buildCacheEnabled = buildCacheEnabled;
+    }
+
+    /**
+     * Gets singleton instance from the root project
+     */
+    public static BackgroundPrefetch of(Project project) {
+        Project rootProject = project.getRootProject();
+        BackgroundPrefetch prefetch = rootProject.getExtensions().findByType(BackgroundPrefetch.class);
+        if (prefetch == null) {
+            Gradle gradle = rootProject.getGradle();
+            prefetch = new BackgroundPrefetch(DEFAULT_THREADS, gradle.getStartParameter().isBuildCacheEnabled());
+            rootProject.getExtensions().add(BackgroundPrefetch.class.getName(), prefetch);
+            //captured now, tasks should not access the project when they execute
+            gradle.addListener(startListener(prefetch, gradle.getTaskGraph()));
+        }
+        return prefetch;
+    }
+
+    private static TaskExecutionListener startListener(final BackgroundPrefetch prefetch, final TaskExecutionGraph graph) {
+        return new TaskExecutionListener() {
+            public void beforeExecute(Task task) {
+                prefetch.start(graph);
+            }
+
+            public void afterExecute(Task task, TaskState state) {
+            }
+        };
+    }
+
+    /**
+     * Registers work preparing the result of given task, started in the background if the task is scheduled to run
+     * and it is certain to execute.
+     * The work should not write the task's outputs, the task does it with the result of {@link #get(Task, Callable)}.
+     */
+    public synchronized void register(Task task, Callable<?> work) {
+        this.work.put(task, work);
+    }
+
+    /**
+     * Registers action executed when the build starts executing tasks,
+     * useful for work that is started in the background in some other way
+     */
+    public synchronized void onStart(Action<TaskExecutionGraph> action) {
+        startActions.add(action);
+    }
+
+    @ExposedForTesting
+    synchronized void start(TaskExecutionGraph graph) {
+        if (started != null) {
+            return;
+        }
+        started = new IdentityHashMap<>();
+        for (Action<TaskExecutionGraph> action : startActions) {
+            action.execute(graph);
+        }
+
+        Map<Task, Callable<?>> scheduled = new LinkedHashMap<>();
+        for (Map.Entry<Task, Callable<?>> e : work.entrySet()) {
+            if (graph.hasTask(e.getKey()) && e.getKey().getEnabled() && mustExecute(e.getKey())) {
+                scheduled.put(e.getKey(), e.getValue());
+            }
+        }
+        if (scheduled.isEmpty()) {
+            return;
+        }
+
+        LOG.info("  Prefetching in the background for tasks: {}", scheduled.keySet());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, scheduled.size()), r -> {
+            Thread thread = new Thread(r, "Shipkit background prefetch " + threadCount.incrementAndGet());
+            //results of tasks that don't execute (e.g. up-to-date) are not needed, don't keep the build running
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Map.Entry<Task, Callable<?>> e : scheduled.entrySet()) {
+            started.put(e.getKey(), executor.submit(e.getValue()));
+        }
+        //threads finish when all submitted work completes
+        executor.shutdown();
+    }
+
+    /**
+     * Tells if the task is certain to execute once it is scheduled and enabled.
+     * Gradle checks whether the task is up-to-date or can be taken from the build cache only right before it executes,
+     * so the work is started early only when neither can happen: the task has no outputs or some output is missing,
+     * and the task is not cacheable or the build cache is disabled.
+     * Useful for work that is started in the background in some other way, see {@link #onStart(Action)}.
+     */
+    public boolean mustExecute(Task task) {
+        if (!task.getOutputs().getHasOutput()) {
+            return true;
+        }
+        boolean outputMissing = false;
+        for (File output : task.getOutputs().getFiles()) {
+            if (!output.exists()) {
+                outputMissing = true;
+                break;
+            }
+        }
+        return outputMissing && !(buildCacheEnabled && isCacheable(task));
+    }
+
+    private static boolean isCacheable(Task task) {
+        for (Class<?> type = task.getClass(); type != null; type = type.getSuperclass()) {
+            if (type.isAnnotationPresent(CacheableTask.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Result of the work of given task. Waits for the work started in the background,
+     * performs given work now when it was not started in the background.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Task task, Callable<T> work) {
+        Future<?> result;
+        synchronized (this) {
+            result = started == null ? null : started.get(task);
+        }
+        try {
+            if (result == null) {
+                return work.call();
+            }
+            return (T) result.get();
+        } catch (ExecutionException e) {
+            throw rethrow(task, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for background work of " + task.getPath(), e);
+        } catch (Exception e) {
+            throw rethrow(task, e);
+        }
+    }
+
+    private static RuntimeException rethrow(Task task, Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        return new RuntimeException("Problems preparing result of " + task.getPath(), failure);
+    }
+}
@@ -0,0 +1,21 @@
+package org.shipkit.internal.gradle.util;
+
+import java.io.File;
+import java.net.URISyntaxException;
+
+/**
+ * Helper methods for classpath of Gradle workers
+ */
+public class ClasspathUtil {
+
+    /**
+     * Jar or directory the given class is loaded from
+     */
+    public static File classpathOf(Class<?> type) {
+        try {
+            return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Problems finding classpath of " + type.getName(), e);
+        }
+    }
+}
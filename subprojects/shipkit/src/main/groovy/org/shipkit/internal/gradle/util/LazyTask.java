@@ -0,0 +1,118 @@
+package org.shipkit.internal.gradle.util;
+
+import org.gradle.api.Action;
+import org.gradle.api.Buildable;
+import org.gradle.api.Project;
+import org.gradle.api.Rule;
+import org.gradle.api.Task;
+import org.gradle.api.tasks.TaskDependency;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Task that is registered but not created yet, see {@link TaskMaker#register(Project, String, Class, Action)}.
+ * The task is created and configured only when it is requested by name,
+ * e.g. when it is in the task graph, when other task depends on it or when it is accessed in "build.gradle".
+ * <p>
+ * Can be used as a task dependency, other tasks depending on it do not create it until their dependencies are resolved.
+ * Use {@link #configure(Action)} instead of {@link #get()} when the task needs to be configured by other plugins,
+ * so that the task is not created eagerly.
+ */
+public class LazyTask<T extends Task> implements Buildable {
+
+    private final Project project;
+    private final String name;
+    private final Class<T> type;
+    private final List<Action<? super T>> actions = new LinkedList<Action<? super T>>();
+    private T task;
+
+    LazyTask(Project project, String name, Class<T> type, Action<? super T> configure) {
+        this.project = project;
+        this.name = name;
+        this.type = type;
+        this.actions.add(configure);
+    }
+
+    /**
+     * Makes the task created when it is requested by name
+     */
+    void register() {
+        project.getTasks().addRule(new Rule() {
+            public String getDescription() {
+                return "Shipkit task '" + name + "', created when needed";
+            }
+
+            public void apply(String taskName) {
+                if (name.equals(taskName) && task == null) {
+                    create();
+                }
+            }
+
+            public String toString() {
+                return "Rule: " + getDescription();
+            }
+        });
+    }
+
+    private void create() {
+        //the task is assigned before it is configured so that configuration can request the task by name
+        task = project.getTasks().create(name, type);
+        for (Action<? super T> action : actions) {
+            action.execute(task);
+        }
+        actions.clear();
+    }
+
+    /**
+     * Name of the task
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Creates and configures the task unless it was already created
+     */
+    public T get() {
+        if (task == null) {
+            project.getTasks().getByName(name);
+        }
+        return task;
+    }
+
+    /**
+     * Whether the task was already created
+     */
+    public boolean isCreated() {
+        return task != null;
+    }
+
+    /**
+     * Configures the task when it is created, or immediately when it was already created
+     */
+    public void configure(Action<? super T> action) {
+        if (task != null) {
+            action.execute(task);
+        } else {
+            actions.add(action);
+        }
+    }
+
+    /**
+     * Depending on this object depends on the task, the task gets created when dependencies are resolved
+     */
+    public TaskDependency getBuildDependencies() {
+        return new TaskDependency() {
+            public Set<? extends Task> getDependencies(Task task) {
+                return Collections.singleton(get());
+            }
+        };
+    }
+
+    public String toString() {
+        return "lazy task '" + name + "' in " + project;
+    }
+}
@@ -8,10 +8,9 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.publish.maven.MavenPublication;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
+import org.shipkit.internal.gradle.configuration.DeferredConfiguration;
 import org.shipkit.internal.gradle.util.team.TeamMember;
-import org.shipkit.internal.notes.contributors.ProjectContributorsSerializer;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
-import org.shipkit.internal.notes.util.IOUtil;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -33,20 +32,24 @@ public class PomCustomizer {
 
     /**
      * Customizes the pom. The method requires following properties on root project to function correctly:
+     * <p>
+     * Settings of the project are read when the project is configured,
+     * generating the pom only uses the values read earlier and does not need the project.
      */
     public static void customizePom(final Project project, final ShipkitConfiguration conf, final MavenPublication publication) {
+        final ProjectSettings settings = new ProjectSettings();
+        DeferredConfiguration.deferredConfiguration(project, new Runnable() {
+            public void run() {
+                settings.read(project);
+            }
+        });
+
         publication.getPom().withXml(new Action<XmlProvider>() {
             public void execute(XmlProvider xml) {
-                String archivesBaseName = (String) project.getProperties().get("archivesBaseName");
-                File contributorsFile = contributorsFile(project);
-                LOG.info("  Read project contributors from file: " + contributorsFile.getAbsolutePath());
-
-                // It can happens that contributorsFile doesn't exist e.g. when shipkit.team.contributors is NOT empty
-                ProjectContributorsSet contributorsFromGitHub = new ProjectContributorsSerializer()
-                        .deserialize(IOUtil.readFullyOrDefault(contributorsFile, "[]"));
-                LOG.info("  Customizing pom for publication " + publication.getName() + " in " + project.toString() +
-                        "\n   - Module name (project.archivesBaseName): " + archivesBaseName +
-                        "\n   - Description (project.description): " + project.getDescription() +
+                ProjectContributorsSet contributorsFromGitHub = settings.sharedState.getContributors(settings.contributorsFile);
+                LOG.info("  Customizing pom for publication " + publication.getName() + " in " + settings.projectName +
+                        "\n   - Module name (project.archivesBaseName): " + settings.archivesBaseName +
+                        "\n   - Description (project.description): " + settings.description +
                         "\n   - GitHub repository (project.rootProject.shipkit.gitHub.repository): "
                                 + conf.getGitHub().getRepository() +
                         "\n   - Developers (project.rootProject.shipkit.team.developers): "
@@ -56,12 +59,32 @@ public class PomCustomizer {
                         "\n   - Contributors read from GitHub: "
                                 + StringUtil.join(contributorsFromGitHub.toConfigNotation(), ", "));
 
-                final boolean isAndroidLibrary = project.getPlugins().hasPlugin("com.android.library");
-                customizePom(xml.asNode(), conf, archivesBaseName, project.getDescription(), contributorsFromGitHub, isAndroidLibrary);
+                customizePom(xml.asNode(), conf, settings.archivesBaseName, settings.description, contributorsFromGitHub, settings.androidLibrary);
             }
         });
     }
 
+    /**
+     * Settings of the project used in the pom, read when the project is configured
+     */
+    private static class ProjectSettings {
+        private String projectName;
+        private String archivesBaseName;
+        private String description;
+        private File contributorsFile;
+        private boolean androidLibrary;
+        private SharedBuildState sharedState;
+
+        void read(Project project) {
+            projectName = project.toString();
+            archivesBaseName = (String) project.findProperty("archivesBaseName");
+            description = project.getDescription();
+            contributorsFile = contributorsFile(project);
+            androidLibrary = project.getPlugins().hasPlugin("com.android.library");
+            sharedState = SharedBuildState.of(project);
+        }
+    }
+
     /**
      * Customizes pom xml based on the provide configuration and settings
      */
@@ -0,0 +1,75 @@
+package org.shipkit.internal.gradle.util;
+
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.notes.contributors.ProjectContributorsSerializer;
+import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
+import org.shipkit.internal.notes.contributors.UnmodifiableProjectContributorsSet;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State read once and shared by all projects of the build, so that the time of generating poms
+ * does not grow with the number of projects.
+ * Contributors are deserialized from contributors file once per content of the file,
+ * see {@link BuildConventions#contributorsFile(Project)}.
+ * They are handed out as read-only views, safe to use from projects configured or executed in parallel.
+ * <p>
+ * Single instance is shared by the entire build, see {@link #of(Project)}.
+ */
+public class SharedBuildState {
+
+    private static final Logger LOG = Logging.getLogger(SharedBuildState.class);
+
+    private final Map<File, Contributors> contributors = new HashMap<>();
+
+    /**
+     * Gets singleton instance from the root project
+     */
+    public static SharedBuildState of(Project project) {
+        Project rootProject = project.getRootProject();
+        SharedBuildState state = rootProject.getExtensions().findByType(SharedBuildState.class);
+        if (state == null) {
+            state = new SharedBuildState();
+            rootProject.getExtensions().add(SharedBuildState.class.getName(), state);
+        }
+        return state;
+    }
+
+    /**
+     * Read-only contributors from given file, empty when the file does not exist.
+     * The file is deserialized again only when it changed, e.g. when contributors were fetched during the build.
+     */
+    public synchronized ProjectContributorsSet getContributors(File contributorsFile) {
+        Contributors cached = contributors.get(contributorsFile);
+        if (cached == null || !cached.isUpToDate(contributorsFile)) {
+            LOG.info("  Read project contributors from file: " + contributorsFile.getAbsolutePath());
+            // It can happens that contributorsFile doesn't exist e.g. when shipkit.team.contributors is NOT empty
+            ProjectContributorsSet set = new ProjectContributorsSerializer()
+                .deserialize(IOUtil.readFullyOrDefault(contributorsFile, "[]"));
+            cached = new Contributors(contributorsFile, new UnmodifiableProjectContributorsSet(set));
+            contributors.put(contributorsFile, cached);
+        }
+        return cached.set;
+    }
+
+    private static class Contributors {
+        private final long lastModified;
+        private final long length;
+        private final ProjectContributorsSet set;
+
+        Contributors(File file, ProjectContributorsSet set) {
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+            this.set = set;
+        }
+
+        boolean isUpToDate(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+}
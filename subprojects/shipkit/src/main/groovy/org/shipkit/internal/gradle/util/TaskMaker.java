@@ -27,6 +27,32 @@ public class TaskMaker {
         return configure(configure, task);
     }
 
+    /**
+     * Registers task of specific type with preconfigured defaults, without creating it.
+     * The task is created and configured only when needed, see {@link LazyTask}.
+     * <p>
+     * The task is backed by a task rule, so it is not listed by 'gradle tasks' until it is created,
+     * only the description of the rule is shown.
+     * Note that looking the task up by name (e.g. 'getByName', 'findByName') creates it
+     * and 'tasks.matching(...)' does not see it until it is created.
+     */
+    public static <T extends Task> LazyTask<T> register(Project project, String name, Class<T> taskType, final Action<T> configure) {
+        LazyTask<T> task = new LazyTask<T>(project, name, taskType, new Action<T>() {
+            public void execute(T task) {
+                configure(configure, task);
+            }
+        });
+        task.register();
+        return task;
+    }
+
+    /**
+     * Registers task with preconfigured defaults, without creating it, see {@link #register(Project, String, Class, Action)}
+     */
+    public static LazyTask<Task> register(Project project, String name, Action<Task> configure) {
+        return register(project, name, Task.class, configure);
+    }
+
     private static <T extends Task> T configure(Action<T> configure, T task) {
         task.setGroup("Shipkit");
         configure.execute(task);
@@ -20,6 +20,7 @@ import org.shipkit.internal.gradle.git.domain.PullRequest;
 import org.shipkit.internal.gradle.git.tasks.GitCheckOutTask;
 import org.shipkit.internal.gradle.git.tasks.GitPullTask;
 import org.shipkit.internal.gradle.util.GitUtil;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 import org.shipkit.internal.util.IncubatingWarning;
 
@@ -107,7 +108,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
 
         new DependencyNewVersionParser(dependency).fillVersionUpgradeExtension(upgradeDependencyExtension);
 
-        TaskMaker.task(project, CHECKOUT_BASE_BRANCH, GitCheckOutTask.class, new Action<GitCheckOutTask>() {
+        TaskMaker.register(project, CHECKOUT_BASE_BRANCH, GitCheckOutTask.class, new Action<GitCheckOutTask>() {
             @Override
             public void execute(final GitCheckOutTask task) {
                 task.setDescription("Checks out the base branch.");
@@ -121,7 +122,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        TaskMaker.task(project, PULL_UPSTREAM, GitPullTask.class, new Action<GitPullTask>() {
+        TaskMaker.register(project, PULL_UPSTREAM, GitPullTask.class, new Action<GitPullTask>() {
             @Override
             public void execute(final GitPullTask task) {
                 task.setDescription("Performs git pull from upstream repository.");
@@ -145,7 +146,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        final FindOpenPullRequestTask findOpenPullRequestTask = TaskMaker.task(project,
+        final LazyTask<FindOpenPullRequestTask> findOpenPullRequestTask = TaskMaker.register(project,
             FIND_OPEN_PULL_REQUEST, FindOpenPullRequestTask.class, new Action<FindOpenPullRequestTask>() {
 
             @Override
@@ -161,12 +162,12 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        TaskMaker.task(project, CHECKOUT_VERSION_BRANCH, GitCheckOutTask.class, new Action<GitCheckOutTask>() {
+        TaskMaker.register(project, CHECKOUT_VERSION_BRANCH, GitCheckOutTask.class, new Action<GitCheckOutTask>() {
             public void execute(final GitCheckOutTask task) {
                 task.setDescription("Creates a new version branch and checks it out.");
                 task.mustRunAfter(FIND_OPEN_PULL_REQUEST);
 
-                findOpenPullRequestTask.provideOpenPullRequest(task, new Action<Optional<PullRequest>>() {
+                findOpenPullRequestTask.get().provideOpenPullRequest(task, new Action<Optional<PullRequest>>() {
                     @Override
                     public void execute(Optional<PullRequest> pullRequest) {
                         if (pullRequest.isPresent()) {
@@ -183,7 +184,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        final ReplaceVersionTask replaceVersionTask = TaskMaker.task(project, REPLACE_VERSION, ReplaceVersionTask.class, new Action<ReplaceVersionTask>() {
+        final LazyTask<ReplaceVersionTask> replaceVersionTask = TaskMaker.register(project, REPLACE_VERSION, ReplaceVersionTask.class, new Action<ReplaceVersionTask>() {
             @Override
             public void execute(final ReplaceVersionTask task) {
                 task.setDescription("Replaces dependency version in build file.");
@@ -200,7 +201,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        final ShipkitExecTask shipkitExecTask = TaskMaker.task(project, COMMIT_VERSION_UPGRADE, ShipkitExecTask.class, new Action<ShipkitExecTask>() {
+        final LazyTask<ShipkitExecTask> shipkitExecTask = TaskMaker.register(project, COMMIT_VERSION_UPGRADE, ShipkitExecTask.class, new Action<ShipkitExecTask>() {
             @Override
             public void execute(final ShipkitExecTask exec) {
                 exec.setDescription("Commits updated build file.");
@@ -220,7 +221,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        final GitPushTask gitPushTask = TaskMaker.task(project, PUSH_VERSION_UPGRADE, GitPushTask.class, new Action<GitPushTask>() {
+        final LazyTask<GitPushTask> gitPushTask = TaskMaker.register(project, PUSH_VERSION_UPGRADE, GitPushTask.class, new Action<GitPushTask>() {
             @Override
             public void execute(final GitPushTask task) {
                 task.setDescription("Pushes updated config file to an update branch.");
@@ -236,7 +237,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
                     }
                 });
 
-                findOpenPullRequestTask.provideOpenPullRequest(task, new Action<Optional<PullRequest>>() {
+                findOpenPullRequestTask.get().provideOpenPullRequest(task, new Action<Optional<PullRequest>>() {
                     @Override
                     public void execute(Optional<PullRequest> pullRequest) {
                         task.getTargets().add(getCurrentVersionBranchName(upgradeDependencyExtension.getDependencyName(),
@@ -248,7 +249,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        final CreatePullRequestTask createPullRequestTask = TaskMaker.task(project, CREATE_PULL_REQUEST, CreatePullRequestTask.class, new Action<CreatePullRequestTask>() {
+        final LazyTask<CreatePullRequestTask> createPullRequestTask = TaskMaker.register(project, CREATE_PULL_REQUEST, CreatePullRequestTask.class, new Action<CreatePullRequestTask>() {
             @Override
             public void execute(final CreatePullRequestTask task) {
                 task.setDescription("Creates a pull request from branch with version upgraded to master");
@@ -267,7 +268,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
                     }
                 });
 
-                findOpenPullRequestTask.provideOpenPullRequest(task, new Action<Optional<PullRequest>>() {
+                findOpenPullRequestTask.get().provideOpenPullRequest(task, new Action<Optional<PullRequest>>() {
                     @Override
                     public void execute(Optional<PullRequest> pullRequest) {
                         task.setVersionBranch(getCurrentVersionBranchName(upgradeDependencyExtension.getDependencyName(),
@@ -287,7 +288,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        TaskMaker.task(project, MERGE_PULL_REQUEST, MergePullRequestTask.class, new Action<MergePullRequestTask>() {
+        TaskMaker.register(project, MERGE_PULL_REQUEST, MergePullRequestTask.class, new Action<MergePullRequestTask>() {
             @Override
             public void execute(final MergePullRequestTask task) {
                 task.setDescription("Merge pull request when all checks will be passed");
@@ -305,7 +306,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
                     }
                 });
 
-                createPullRequestTask.provideCreatedPullRequest(task, new Action<PullRequest>() {
+                createPullRequestTask.get().provideCreatedPullRequest(task, new Action<PullRequest>() {
                     @Override
                     public void execute(PullRequest pullRequest) {
                         setPullRequestDataToTask(Optional.ofNullable(pullRequest), task);
@@ -324,7 +325,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
             }
         });
 
-        TaskMaker.task(project, PERFORM_VERSION_UPGRADE, new Action<Task>() {
+        TaskMaker.register(project, PERFORM_VERSION_UPGRADE, new Action<Task>() {
             @Override
             public void execute(Task task) {
                 task.setDescription("Checkouts new version branch, updates Shipkit dependency in config file, commits and pushes.");
@@ -375,20 +376,20 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
         return String.format("Version of %s upgraded to %s", versionUpgrade.getDependencyName(), versionUpgrade.getNewVersion());
     }
 
-    private Spec<Task> wasBuildFileUpdatedSpec(final ReplaceVersionTask replaceVersionTask) {
+    private Spec<Task> wasBuildFileUpdatedSpec(final LazyTask<ReplaceVersionTask> replaceVersionTask) {
         return new Spec<Task>() {
             @Override
             public boolean isSatisfiedBy(Task element) {
-                return replaceVersionTask.isBuildFileUpdated();
+                return replaceVersionTask.get().isBuildFileUpdated();
             }
         };
     }
 
-    private Spec<Task> wasOpenPullRequestNotFound(final FindOpenPullRequestTask findOpenPullRequestTask) {
+    private Spec<Task> wasOpenPullRequestNotFound(final LazyTask<FindOpenPullRequestTask> findOpenPullRequestTask) {
         return new Spec<Task>() {
             @Override
             public boolean isSatisfiedBy(Task task) {
-                return findOpenPullRequestTask.getPullRequest() == null;
+                return findOpenPullRequestTask.get().getPullRequest() == null;
             }
         };
     }
@@ -401,14 +402,18 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
         return upgradeDependencyExtension;
     }
 
-    private void addLazyDependencyValidation(final String dependency, Task... tasks) {
+    private void addLazyDependencyValidation(final String dependency, LazyTask<?>... tasks) {
         if (dependency == null) {
-            for (final Task task : tasks) {
-                LazyConfiguration.lazyConfiguration(task, new Runnable() {
-                    @Override
-                    public void run() {
-                        throw new GradleException("Dependency project property not set. It is required for task '" + task.getPath() + "'.\n" +
-                            "You can pass project property via command line: -Pdependency=\"org.shipkit:shipkit:1.2.3\"");
+            for (LazyTask<?> lazyTask : tasks) {
+                lazyTask.configure(new Action<Task>() {
+                    public void execute(final Task task) {
+                        LazyConfiguration.lazyConfiguration(task, new Runnable() {
+                            @Override
+                            public void run() {
+                                throw new GradleException("Dependency project property not set. It is required for task '" + task.getPath() + "'.\n" +
+                                    "You can pass project property via command line: -Pdependency=\"org.shipkit:shipkit:1.2.3\"");
+                            }
+                        });
                     }
                 });
             }
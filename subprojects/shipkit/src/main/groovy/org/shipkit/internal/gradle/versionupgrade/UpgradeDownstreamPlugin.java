@@ -11,6 +11,7 @@ import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
 import org.shipkit.internal.gradle.exec.ExecCommandFactory;
 import org.shipkit.internal.gradle.git.CloneGitRepositoryTaskFactory;
 import org.shipkit.internal.gradle.util.GradleWrapper;
+import org.shipkit.internal.gradle.util.LazyTask;
 import org.shipkit.internal.gradle.util.TaskMaker;
 import org.shipkit.internal.util.ExposedForTesting;
 import org.shipkit.version.VersionInfo;
@@ -61,7 +62,7 @@ public class UpgradeDownstreamPlugin implements Plugin<Project> {
 
         upgradeDownstreamExtension = project.getExtensions().create("upgradeDownstream", UpgradeDownstreamExtension.class);
 
-        final Task performAllUpdates = TaskMaker.task(project, UPGRADE_DOWNSTREAM_TASK, new Action<Task>() {
+        final LazyTask<Task> performAllUpdates = TaskMaker.register(project, UPGRADE_DOWNSTREAM_TASK, new Action<Task>() {
             @Override
             public void execute(final Task task) {
                 task.setDescription("Performs dependency upgrade in all downstream repositories.");
@@ -74,17 +75,25 @@ public class UpgradeDownstreamPlugin implements Plugin<Project> {
                 notNull(upgradeDownstreamExtension.getRepositories(),
                     "'upgradeDownstream.repositories'");
                 for (String consumerRepositoryName : upgradeDownstreamExtension.getRepositories()) {
-                    Task cloneTask = CloneGitRepositoryTaskFactory.createCloneTask(project, conf.getGitHub().getUrl(), consumerRepositoryName);
-                    Task performUpdate = createProduceUpgradeTask(project, consumerRepositoryName);
-                    performUpdate.dependsOn(cloneTask);
-                    performAllUpdates.dependsOn(performUpdate);
+                    final Task cloneTask = CloneGitRepositoryTaskFactory.createCloneTask(project, conf.getGitHub().getUrl(), consumerRepositoryName);
+                    final LazyTask<ShipkitExecTask> performUpdate = createProduceUpgradeTask(project, consumerRepositoryName);
+                    performUpdate.configure(new Action<ShipkitExecTask>() {
+                        public void execute(ShipkitExecTask task) {
+                            task.dependsOn(cloneTask);
+                        }
+                    });
+                    performAllUpdates.configure(new Action<Task>() {
+                        public void execute(Task task) {
+                            task.dependsOn(performUpdate);
+                        }
+                    });
                 }
             }
         });
     }
 
-    private Task createProduceUpgradeTask(final Project project, final String consumerRepository) {
-        return TaskMaker.task(project, "upgrade" + repositoryNameToCapitalizedCamelCase(consumerRepository), ShipkitExecTask.class, new Action<ShipkitExecTask>() {
+    private LazyTask<ShipkitExecTask> createProduceUpgradeTask(final Project project, final String consumerRepository) {
+        return TaskMaker.register(project, "upgrade" + repositoryNameToCapitalizedCamelCase(consumerRepository), ShipkitExecTask.class, new Action<ShipkitExecTask>() {
             @Override
             public void execute(final ShipkitExecTask task) {
                 task.setDescription("Performs dependency upgrade in " + consumerRepository);
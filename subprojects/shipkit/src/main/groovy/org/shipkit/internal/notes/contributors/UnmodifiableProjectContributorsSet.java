@@ -0,0 +1,57 @@
+package org.shipkit.internal.notes.contributors;
+
+import org.shipkit.internal.notes.model.ProjectContributor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Read-only view of contributors, safe to share between projects of the build.
+ * Adding contributors fails with {@link UnsupportedOperationException}.
+ */
+public class UnmodifiableProjectContributorsSet implements ProjectContributorsSet {
+
+    private final ProjectContributorsSet delegate;
+    private final Collection<String> configNotation;
+
+    public UnmodifiableProjectContributorsSet(ProjectContributorsSet delegate) {
+        this.delegate = delegate;
+        this.configNotation = Collections.unmodifiableCollection(delegate.toConfigNotation());
+    }
+
+    @Override
+    public void addContributor(ProjectContributor contributor) {
+        throw new UnsupportedOperationException("Contributors are read-only");
+    }
+
+    @Override
+    public void addAllContributors(Collection<ProjectContributor> projectContributors) {
+        throw new UnsupportedOperationException("Contributors are read-only");
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Set<ProjectContributor> getAllContributors() {
+        return Collections.unmodifiableSet(delegate.getAllContributors());
+    }
+
+    @Override
+    public ProjectContributor findByName(String name) {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public Collection<String> toConfigNotation() {
+        return configNotation;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
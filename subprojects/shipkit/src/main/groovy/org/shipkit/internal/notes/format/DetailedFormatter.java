@@ -1,9 +1,12 @@
 package org.shipkit.internal.notes.format;
 
 import org.shipkit.internal.notes.model.*;
+import org.shipkit.internal.notes.util.ReleaseNotesException;
 import org.shipkit.internal.util.DateUtil;
-import org.shipkit.internal.util.MultiMap;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.text.MessageFormat;
 import java.util.*;
 
@@ -24,10 +27,20 @@ class DetailedFormatter implements MultiReleaseNotesFormatter {
     private final boolean emphasizeVersion;
     private final String header;
     private final BadgeFormatter badgeFormatter;
+    private final LabelIndex labelIndex;
+    private final ReleaseNotesFragmentCache fragmentCache;
+    private final String configuration;
 
     DetailedFormatter(String header, String introductionText, Map<String, String> labelMapping, String vcsCommitsLinkTemplate,
                       String publicationRepository, Map<String, Contributor> contributors, boolean emphasizeVersion,
                       BadgeFormatter badgeFormatter) {
+        this(header, introductionText, labelMapping, vcsCommitsLinkTemplate, publicationRepository, contributors,
+            emphasizeVersion, badgeFormatter, null);
+    }
+
+    DetailedFormatter(String header, String introductionText, Map<String, String> labelMapping, String vcsCommitsLinkTemplate,
+                      String publicationRepository, Map<String, Contributor> contributors, boolean emphasizeVersion,
+                      BadgeFormatter badgeFormatter, ReleaseNotesFragmentCache fragmentCache) {
         this.header = header;
         this.introductionText = introductionText;
         this.labelMapping = labelMapping;
@@ -36,33 +49,65 @@ class DetailedFormatter implements MultiReleaseNotesFormatter {
         this.contributors = contributors;
         this.emphasizeVersion = emphasizeVersion;
         this.badgeFormatter = badgeFormatter;
+        this.labelIndex = new LabelIndex(labelMapping);
+        this.fragmentCache = fragmentCache;
+        this.configuration = fragmentCache == null ? null : configuration();
+    }
+
+    //everything that influences the content rendered for a single version
+    private String configuration() {
+        return "detailed|" + labelMapping + "|" + vcsCommitsLinkTemplate + "|" + publicationRepository
+            + "|" + ReleaseNotesFragmentCache.describe(contributors) + "|" + emphasizeVersion
+            + "|" + badgeFormatter.getClass().getName();
     }
 
     @Override
     public String formatReleaseNotes(Collection<ReleaseNotesData> data) {
-        StringBuilder sb = new StringBuilder(header);
-        sb.append(introductionText == null ? "" : introductionText);
-        if (data.isEmpty()) {
-            sb.append("No release information.");
-            return sb.toString();
-        }
+        StringWriter writer = new StringWriter();
+        formatReleaseNotes(data, writer);
+        return writer.toString();
+    }
 
-        for (ReleaseNotesData d : data) {
-            sb.append(header(d.getVersion(), emphasizeVersion));
-            String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
-            sb.append("\n");
-            sb.append(releaseSummary(d.getDate(), d.getVersion(), d.getContributions(), contributors, vcsCommitsLink,
-                publicationRepository));
+    @Override
+    public void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer writer) {
+        try {
+            if (data.isEmpty()) {
+                writer.append(header).append(introductionText == null ? "" : introductionText)
+                    .append("No release information.");
+                return;
+            }
 
-            if (!d.getContributions().getContributions().isEmpty()) {
-                //no point printing any improvements information if there are no code changes
-                sb.append(formatImprovements(d.getImprovements(), labelMapping));
+            //the content is trimmed, without holding the entire document in memory
+            Writer out = new TrimmingWriter(writer);
+            out.append(header).append(introductionText == null ? "" : introductionText);
+            for (ReleaseNotesData d : data) {
+                if (fragmentCache == null) {
+                    writeRelease(out, d);
+                } else {
+                    fragmentCache.write(out, configuration, d, w -> writeRelease(w, d));
+                }
             }
+            out.flush();
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing release notes", e);
+        }
+    }
+
+    private void writeRelease(Writer out, ReleaseNotesData d) throws IOException {
+        out.append(header(d.getVersion(), emphasizeVersion));
+        String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
+        out.append("\n");
+        //contributions are sorted on every access, let's get them only once per release
+        Collection<Contribution> contributions = d.getContributions().getContributions();
+        writeReleaseSummary(out, d.getDate(), d.getVersion(), d.getContributions(), contributions, contributors,
+            vcsCommitsLink, publicationRepository);
 
-            sb.append("\n");
+        if (!contributions.isEmpty()) {
+            //no point printing any improvements information if there are no code changes
+            writeImprovements(out, d.getImprovements(), labelIndex);
         }
 
-        return sb.toString().trim();
+        out.append("\n");
     }
 
     static String header(String version, boolean emphasizeVersion) {
@@ -76,81 +121,95 @@ class DetailedFormatter implements MultiReleaseNotesFormatter {
 
     String releaseSummary(Date date, String version, ContributionSet contributions, Map<String, Contributor>
         contributors, String vcsCommitsLink, String publicationRepository) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeReleaseSummary(writer, date, version, contributions, contributions.getContributions(), contributors,
+                vcsCommitsLink, publicationRepository);
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing release summary", e);
+        }
+        return writer.toString();
+    }
+
+    private void writeReleaseSummary(Writer out, Date date, String version, ContributionSet contributionSet,
+                                     Collection<Contribution> contributions, Map<String, Contributor> contributors,
+                                     String vcsCommitsLink, String publicationRepository) throws IOException {
         // TODO the message at the end of the release points to new javadoc
-        return summaryDatePrefix(date) + authorsSummary(contributions, contributors, vcsCommitsLink)
-            + " - published to " + badgeFormatter.getRepositoryBadge(version, publicationRepository) + "\n" +
-            authorsSummaryAppendix(contributions, contributors);
+        out.append(summaryDatePrefix(date));
+        writeAuthorsSummary(out, contributionSet, contributions, contributors, vcsCommitsLink);
+        out.append(" - published to ").append(badgeFormatter.getRepositoryBadge(version, publicationRepository)).append("\n");
+        writeAuthorsSummaryAppendix(out, contributionSet, contributions, contributors);
     }
 
     private static String summaryDatePrefix(Date date) {
         return " - " + DateUtil.formatDate(date) + " - ";
     }
 
-    private static String authorsSummaryAppendix(ContributionSet contributions, Map<String, Contributor> contributors) {
-        StringBuilder sb = new StringBuilder();
+    private static void writeAuthorsSummaryAppendix(Writer out, ContributionSet contributionSet,
+                                                    Collection<Contribution> contributions,
+                                                    Map<String, Contributor> contributors) throws IOException {
         //add extra information about authors when there are many of them
-        if (contributions.getAuthorCount() > MAX_AUTHORS) {
-            sb.append(" - Commits: ").append(itemizedAuthors(contributions, contributors)).append("\n");
+        if (contributionSet.getAuthorCount() > MAX_AUTHORS) {
+            out.append(" - Commits: ");
+            writeItemizedAuthors(out, contributions, contributionSet.getAuthorCount(), contributors);
+            out.append("\n");
         }
-        return sb.toString();
     }
 
     static String formatImprovements(Collection<Improvement> improvements, Map<String, String> labelMapping) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeImprovements(writer, improvements, new LabelIndex(labelMapping));
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing improvements", e);
+        }
+        return writer.toString();
+    }
+
+    private static void writeImprovements(Writer out, Collection<Improvement> improvements, LabelIndex labelIndex) throws IOException {
         if (improvements.isEmpty()) {
-            return " - No pull requests referenced in commit messages.";
+            out.append(" - No pull requests referenced in commit messages.");
+            return;
         }
 
-        StringBuilder sb = new StringBuilder();
-        MultiMap<String, Improvement> sorted = sortImprovements(improvements, labelMapping);
+        Map<String, Collection<Improvement>> sorted = labelIndex.group(improvements, NO_LABEL);
 
-        for (String label: sorted.keySet()) {
-            for (Improvement i : sorted.get(label)) {
-                String labelPrefix = label.equals(NO_LABEL) ? "" : "[" + label + "] ";
-                sb.append(" - ").append(labelPrefix).append(formatImprovement(i)).append("\n");
+        //every improvement line ends with the link so there is no trailing whitespace to trim, just skip the last line break
+        String separator = "";
+        for (Map.Entry<String, Collection<Improvement>> e : sorted.entrySet()) {
+            String labelPrefix = e.getKey().equals(NO_LABEL) ? "" : "[" + e.getKey() + "] ";
+            for (Improvement i : e.getValue()) {
+                out.append(separator).append(" - ").append(labelPrefix);
+                writeImprovement(out, i);
+                separator = "\n";
             }
         }
-
-        return " " + sb.toString().trim();
     }
 
-    private static String formatImprovement(Improvement i) {
-        return i.getTitle() +
-                " [(#" + i.getId() + ")](" +
-                i.getUrl() + ")";
+    private static void writeImprovement(Writer out, Improvement i) throws IOException {
+        out.append(i.getTitle()).append(" [(#").append(String.valueOf(i.getId())).append(")](")
+            .append(i.getUrl()).append(")");
     }
 
-    private static MultiMap<String, Improvement> sortImprovements(Collection<Improvement> improvements, Map<String, String> labelMapping) {
-        MultiMap<String, Improvement> byLabel = new MultiMap<>();
-        Set<Improvement> remainingImprovements = new LinkedHashSet<>(improvements);
-
-        //Step 1, find improvements that match input labels
-        //Iterate label first because the input labels determine the order
-        for (String label : labelMapping.keySet()) {
-            for (Improvement i : improvements) {
-                if (i.getLabels().contains(label) && remainingImprovements.contains(i)) {
-                    remainingImprovements.remove(i);
-                    byLabel.put(labelMapping.get(label), i);
-                }
-            }
-        }
-
-        //Step 2, add remaining improvements
-        for (Improvement i : remainingImprovements) {
-            byLabel.put(NO_LABEL, i);
+    static String authorsSummary(ContributionSet contributions, Map<String, Contributor> contributors, String vcsCommitsLink) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeAuthorsSummary(writer, contributions, contributions.getContributions(), contributors, vcsCommitsLink);
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing authors summary", e);
         }
-
-        return byLabel;
+        return writer.toString();
     }
 
-    static String authorsSummary(ContributionSet contributions, Map<String, Contributor> contributors, String vcsCommitsLink) {
-        if (contributions.getContributions().isEmpty()) {
-            return "no code changes (no commits)";
+    private static void writeAuthorsSummary(Writer out, ContributionSet contributionSet, Collection<Contribution> contributions,
+                                            Map<String, Contributor> contributors, String vcsCommitsLink) throws IOException {
+        if (contributions.isEmpty()) {
+            out.append("no code changes (no commits)");
+            return;
         }
-        StringBuilder sb = new StringBuilder();
-        String commits = pluralize(contributions.getAllCommits().size(), "commit");
-        String linkedCommits = link(commits, vcsCommitsLink);
-        sb.append(linkedCommits).append(" by ").append(allAuthors(contributions, contributors));
-        return sb.toString();
+        String commits = pluralize(contributionSet.getAllCommits().size(), "commit");
+        out.append(link(commits, vcsCommitsLink)).append(" by ");
+        writeAllAuthors(out, contributionSet, contributions, contributors);
     }
 
     private static String link(String text, String link) {
@@ -158,26 +217,29 @@ class DetailedFormatter implements MultiReleaseNotesFormatter {
                 "[" + text + "](" + link + ")";
     }
 
-    private static String allAuthors(ContributionSet contributions, Map<String, Contributor> contributors) {
-        if (contributions.getAuthorCount() <= MAX_AUTHORS) {
+    private static void writeAllAuthors(Writer out, ContributionSet contributionSet, Collection<Contribution> contributions,
+                                        Map<String, Contributor> contributors) throws IOException {
+        int authorCount = contributionSet.getAuthorCount();
+        if (authorCount <= MAX_AUTHORS) {
             //if there is little authors, we just print them by name
-            return itemizedAuthors(contributions, contributors);
+            writeItemizedAuthors(out, contributions, authorCount, contributors);
+        } else {
+            //if there are many authors, we just write the total
+            out.append(String.valueOf(authorCount)).append(" authors");
         }
-        //if there are many authors, we just write the total
-        return "" + contributions.getAuthorCount() + " authors";
     }
 
-    private static String itemizedAuthors(ContributionSet contributions, Map<String, Contributor> contributors) {
-        StringBuilder sb = new StringBuilder();
-        boolean showIndividualCommits = contributions.getAuthorCount() > 1;
-        for (Contribution c : contributions.getContributions()) {
-            sb.append(authorLink(c, contributors.get(c.getAuthorName())));
+    private static void writeItemizedAuthors(Writer out, Collection<Contribution> contributions, int authorCount,
+                                             Map<String, Contributor> contributors) throws IOException {
+        boolean showIndividualCommits = authorCount > 1;
+        String separator = "";
+        for (Contribution c : contributions) {
+            out.append(separator).append(authorLink(c, contributors.get(c.getAuthorName())));
             if (showIndividualCommits) {
-                sb.append(" (").append(c.getCommits().size()).append(")");
+                out.append(" (").append(String.valueOf(c.getCommits().size())).append(")");
             }
-            sb.append(", ");
+            separator = ", ";
         }
-        return sb.substring(0, sb.length() - 2); //lose trailing ", "
     }
 
     static String authorLink(Contribution c, Contributor author) {
@@ -0,0 +1,127 @@
+package org.shipkit.internal.notes.format;
+
+import org.shipkit.internal.comparison.artifact.DefaultArtifactUrlResolverFactory;
+import org.shipkit.internal.notes.model.*;
+import org.shipkit.internal.notes.util.ReleaseNotesException;
+import org.shipkit.internal.util.DateUtil;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.shipkit.internal.gradle.util.StringUtil.isEmpty;
+
+/**
+ * Formats release notes as HTML fragment, with the same structure as {@link DetailedFormatter}.
+ * Useful for publishing release notes outside of GitHub, for example on project's web page.
+ */
+class HtmlFormatter implements MultiReleaseNotesFormatter {
+
+    private static final String NO_LABEL = "Remaining changes";
+
+    private final LabelIndex labelIndex;
+    private final String vcsCommitsLinkTemplate;
+    private final String publicationRepository;
+    private final Map<String, Contributor> contributors;
+
+    HtmlFormatter(Map<String, String> labelMapping, String vcsCommitsLinkTemplate, String publicationRepository,
+                  Map<String, Contributor> contributors) {
+        this.labelIndex = new LabelIndex(labelMapping);
+        this.vcsCommitsLinkTemplate = vcsCommitsLinkTemplate;
+        this.publicationRepository = publicationRepository;
+        this.contributors = contributors;
+    }
+
+    @Override
+    public String formatReleaseNotes(Collection<ReleaseNotesData> data) {
+        StringWriter writer = new StringWriter();
+        formatReleaseNotes(data, writer);
+        return writer.toString();
+    }
+
+    @Override
+    public void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer out) {
+        try {
+            if (data.isEmpty()) {
+                out.append("<p>No release information.</p>\n");
+            }
+            for (ReleaseNotesData d : data) {
+                writeRelease(out, d);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing release notes", e);
+        }
+    }
+
+    private void writeRelease(Writer out, ReleaseNotesData d) throws IOException {
+        out.append("<h4>").append(escape(d.getVersion())).append("</h4>\n<ul>\n");
+
+        Collection<Contribution> contributions = d.getContributions().getContributions();
+        out.append("<li>").append(DateUtil.formatDate(d.getDate())).append(" - ");
+        if (contributions.isEmpty()) {
+            out.append("no code changes (no commits)");
+        } else {
+            int commits = d.getContributions().getAllCommits().size();
+            String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
+            out.append(link(commits + (commits == 1 ? " commit" : " commits"), vcsCommitsLink)).append(" by ");
+            writeAuthors(out, contributions);
+        }
+        String repositoryUrl = DefaultArtifactUrlResolverFactory.resolveUrlFromPublicationRepository(publicationRepository, d.getVersion());
+        out.append(" - published to ").append(link(repositoryUrl, repositoryUrl)).append("</li>\n");
+
+        if (!contributions.isEmpty()) {
+            if (d.getImprovements().isEmpty()) {
+                out.append("<li>No pull requests referenced in commit messages.</li>\n");
+            }
+            for (Map.Entry<String, Collection<Improvement>> e : labelIndex.group(d.getImprovements(), NO_LABEL).entrySet()) {
+                String labelPrefix = e.getKey().equals(NO_LABEL) ? "" : "[" + escape(e.getKey()) + "] ";
+                for (Improvement i : e.getValue()) {
+                    out.append("<li>").append(labelPrefix).append(escape(i.getTitle())).append(" ")
+                        .append(link("(#" + i.getId() + ")", i.getUrl())).append("</li>\n");
+                }
+            }
+        }
+        out.append("</ul>\n");
+    }
+
+    private void writeAuthors(Writer out, Collection<Contribution> contributions) throws IOException {
+        boolean showIndividualCommits = contributions.size() > 1;
+        String separator = "";
+        for (Contribution c : contributions) {
+            Contributor author = contributors.get(c.getAuthorName());
+            out.append(separator).append(author == null ? escape(c.getAuthorName()) : link(c.getAuthorName(), author.getProfileUrl()));
+            if (showIndividualCommits) {
+                out.append(" (").append(String.valueOf(c.getCommits().size())).append(")");
+            }
+            separator = ", ";
+        }
+    }
+
+    private static String link(String text, String link) {
+        return isEmpty(link) ? escape(text) :
+            "<a href=\"" + escape(link) + "\">" + escape(text) + "</a>";
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': sb.append("&amp;"); break;
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '"': sb.append("&quot;"); break;
+                case '\'': sb.append("&#39;"); break;
+                default: sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
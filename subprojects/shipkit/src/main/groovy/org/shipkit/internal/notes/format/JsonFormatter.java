@@ -0,0 +1,96 @@
+package org.shipkit.internal.notes.format;
+
+import org.json.simple.JsonArray;
+import org.json.simple.JsonObject;
+import org.shipkit.internal.comparison.artifact.DefaultArtifactUrlResolverFactory;
+import org.shipkit.internal.notes.model.*;
+import org.shipkit.internal.notes.util.ReleaseNotesException;
+import org.shipkit.internal.util.DateUtil;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Formats release notes as machine-readable JSON array, one object per release.
+ * Unlike serialized {@link ReleaseNotesData}, the content is already resolved:
+ * links are formatted, authors are linked to contributors and improvements are assigned to label sections.
+ */
+class JsonFormatter implements MultiReleaseNotesFormatter {
+
+    private final LabelIndex labelIndex;
+    private final String vcsCommitsLinkTemplate;
+    private final String publicationRepository;
+    private final Map<String, Contributor> contributors;
+
+    JsonFormatter(Map<String, String> labelMapping, String vcsCommitsLinkTemplate, String publicationRepository,
+                  Map<String, Contributor> contributors) {
+        this.labelIndex = new LabelIndex(labelMapping);
+        this.vcsCommitsLinkTemplate = vcsCommitsLinkTemplate;
+        this.publicationRepository = publicationRepository;
+        this.contributors = contributors;
+    }
+
+    @Override
+    public String formatReleaseNotes(Collection<ReleaseNotesData> data) {
+        StringWriter writer = new StringWriter();
+        formatReleaseNotes(data, writer);
+        return writer.toString();
+    }
+
+    @Override
+    public void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer out) {
+        JsonArray releases = new JsonArray();
+        for (ReleaseNotesData d : data) {
+            releases.add(release(d));
+        }
+        try {
+            releases.toJson(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing release notes", e);
+        }
+    }
+
+    private JsonObject release(ReleaseNotesData d) {
+        JsonObject release = new JsonObject();
+        release.put("version", d.getVersion());
+        release.put("date", DateUtil.formatDate(d.getDate()));
+        release.put("vcsTag", d.getVcsTag());
+        release.put("previousVersionVcsTag", d.getPreviousVersionVcsTag());
+        release.put("commitsUrl", MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag()));
+        release.put("publicationUrl", DefaultArtifactUrlResolverFactory.resolveUrlFromPublicationRepository(publicationRepository, d.getVersion()));
+        release.put("commitCount", d.getContributions().getAllCommits().size());
+
+        JsonArray authors = new JsonArray();
+        for (Contribution c : d.getContributions().getContributions()) {
+            JsonObject author = new JsonObject();
+            author.put("name", c.getAuthorName());
+            author.put("commitCount", c.getCommits().size());
+            Contributor contributor = contributors.get(c.getAuthorName());
+            author.put("profileUrl", contributor == null ? null : contributor.getProfileUrl());
+            authors.add(author);
+        }
+        release.put("authors", authors);
+
+        //null section means no label mapping matched the improvement
+        JsonArray improvements = new JsonArray();
+        for (Map.Entry<String, Collection<Improvement>> e : labelIndex.group(d.getImprovements(), null).entrySet()) {
+            for (Improvement i : e.getValue()) {
+                JsonObject improvement = new JsonObject();
+                improvement.put("id", i.getId());
+                improvement.put("title", i.getTitle());
+                improvement.put("url", i.getUrl());
+                improvement.put("labels", new JsonArray(i.getLabels()));
+                improvement.put("pullRequest", i.isPullRequest());
+                improvement.put("section", e.getKey());
+                improvements.add(improvement);
+            }
+        }
+        release.put("improvements", improvements);
+        return release;
+    }
+}
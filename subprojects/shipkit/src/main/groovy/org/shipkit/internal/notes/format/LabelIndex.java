@@ -0,0 +1,80 @@
+package org.shipkit.internal.notes.format;
+
+import org.shipkit.internal.notes.model.Improvement;
+
+import java.util.*;
+
+/**
+ * Index of label mapping that groups improvements by the descriptive label in a single pass.
+ * Position of each label is computed once, so grouping does not need to scan the whole label mapping for every improvement.
+ */
+class LabelIndex {
+
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final List<String> descriptions = new ArrayList<>();
+
+    LabelIndex(Map<String, String> labelMapping) {
+        for (Map.Entry<String, String> e : labelMapping.entrySet()) {
+            positions.put(e.getKey(), descriptions.size());
+            descriptions.add(e.getValue());
+        }
+    }
+
+    /**
+     * Groups improvements by label description.
+     * Groups are ordered by the label mapping, if an improvement has labels that match multiple mappings,
+     * first mapping in label mapping wins.
+     * Improvements that don't match any mapping are grouped under provided description, at the end.
+     */
+    Map<String, Collection<Improvement>> group(Collection<Improvement> improvements, String noLabelDescription) {
+        List<List<Improvement>> byPosition = new ArrayList<>(Collections.<List<Improvement>>nCopies(descriptions.size(), null));
+        List<Improvement> remaining = new LinkedList<>();
+
+        //LinkedHashSet drops duplicated improvements, keeping the order
+        for (Improvement i : new LinkedHashSet<>(improvements)) {
+            int position = position(i);
+            if (position < 0) {
+                remaining.add(i);
+            } else {
+                List<Improvement> bucket = byPosition.get(position);
+                if (bucket == null) {
+                    bucket = new LinkedList<>();
+                    byPosition.set(position, bucket);
+                }
+                bucket.add(i);
+            }
+        }
+
+        Map<String, Collection<Improvement>> result = new LinkedHashMap<>();
+        for (int p = 0; p < byPosition.size(); p++) {
+            if (byPosition.get(p) != null) {
+                add(result, descriptions.get(p), byPosition.get(p));
+            }
+        }
+        if (!remaining.isEmpty()) {
+            add(result, noLabelDescription, remaining);
+        }
+        return result;
+    }
+
+    private int position(Improvement improvement) {
+        int result = -1;
+        for (String label : improvement.getLabels()) {
+            Integer p = positions.get(label);
+            if (p != null && (result < 0 || p < result)) {
+                result = p;
+            }
+        }
+        return result;
+    }
+
+    //different labels can be mapped to the same description, such improvements end up in the same group
+    private static void add(Map<String, Collection<Improvement>> result, String description, Collection<Improvement> improvements) {
+        Collection<Improvement> existing = result.get(description);
+        if (existing == null) {
+            result.put(description, improvements);
+        } else {
+            existing.addAll(improvements);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.shipkit.internal.notes.format;
 
 import org.shipkit.internal.notes.model.ReleaseNotesData;
 
+import java.io.Writer;
 import java.util.Collection;
 
 /**
@@ -13,4 +14,11 @@ public interface MultiReleaseNotesFormatter {
      * Formats release notes data for all releases
      */
     String formatReleaseNotes(Collection<ReleaseNotesData> data);
+
+    /**
+     * Formats release notes data for all releases, writing the content directly to the writer.
+     * Useful for large content, for example when release notes are generated for the entire history of the project.
+     * The writer is not closed.
+     */
+    void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer writer);
 }
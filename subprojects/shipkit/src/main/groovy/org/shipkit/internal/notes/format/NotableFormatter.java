@@ -3,8 +3,12 @@ package org.shipkit.internal.notes.format;
 import org.shipkit.internal.notes.model.ContributionSet;
 import org.shipkit.internal.notes.model.Improvement;
 import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.ReleaseNotesException;
 import org.shipkit.internal.util.DateUtil;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.text.MessageFormat;
 import java.util.Collection;
 
@@ -13,44 +17,73 @@ class NotableFormatter implements MultiReleaseNotesFormatter {
     private final String introductionText;
     private final String detailedReleaseNotesLink;
     private final String vcsCommitsLinkTemplate;
+    private final ReleaseNotesFragmentCache fragmentCache;
 
     public NotableFormatter(String introductionText, String detailedReleaseNotesLink, String vcsCommitsLinkTemplate) {
+        this(introductionText, detailedReleaseNotesLink, vcsCommitsLinkTemplate, null);
+    }
+
+    NotableFormatter(String introductionText, String detailedReleaseNotesLink, String vcsCommitsLinkTemplate,
+                     ReleaseNotesFragmentCache fragmentCache) {
         this.introductionText = introductionText;
         this.detailedReleaseNotesLink = detailedReleaseNotesLink;
         this.vcsCommitsLinkTemplate = vcsCommitsLinkTemplate;
+        this.fragmentCache = fragmentCache;
     }
 
     public String formatReleaseNotes(Collection<ReleaseNotesData> data) {
-        StringBuilder sb = new StringBuilder(introductionText == null ? "" : introductionText);
-        for (ReleaseNotesData d : data) {
-            sb.append("### ").append(d.getVersion()).append(" - ").append(DateUtil.formatDate(d.getDate()))
-                    .append("\n\n");
-
-            if (d.getContributions().getAllCommits().isEmpty()) {
-                sb.append("No code changes. No commits found.\n");
-            } else {
-                //TODO SF formatter should not create link. Rather, the link should be a part of release notes data.
-                //This is not only cleaner but also avoid duplication of link formatting across formatters.
-                String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
-
-                String contributions = formatContributions(d.getContributions(), d.getImprovements().size(), detailedReleaseNotesLink, vcsCommitsLink);
-                sb.append(contributions).append("\n\n");
+        StringWriter writer = new StringWriter();
+        formatReleaseNotes(data, writer);
+        return writer.toString();
+    }
 
-                if (d.getImprovements().isEmpty()) {
-                    sb.append("No notable improvements. No pull requests were referenced from [commits](")
-                            .append(vcsCommitsLink)
-                            .append(").\n");
+    public void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer out) {
+        try {
+            out.append(introductionText == null ? "" : introductionText);
+            for (ReleaseNotesData d : data) {
+                if (fragmentCache == null) {
+                    writeRelease(out, d);
                 } else {
-                    for (Improvement i : d.getImprovements()) {
-                        sb.append(" * ").append(CommonFormatting.format(i)).append("\n");
-                    }
+                    fragmentCache.write(out, configuration(), d, w -> writeRelease(w, d));
                 }
             }
+            out.flush();
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems writing release notes", e);
+        }
+    }
 
-            sb.append("\n");
+    private void writeRelease(Writer out, ReleaseNotesData d) throws IOException {
+        out.append("### ").append(d.getVersion()).append(" - ").append(DateUtil.formatDate(d.getDate()))
+                .append("\n\n");
+
+        if (d.getContributions().getAllCommits().isEmpty()) {
+            out.append("No code changes. No commits found.\n");
+        } else {
+            //TODO SF formatter should not create link. Rather, the link should be a part of release notes data.
+            //This is not only cleaner but also avoid duplication of link formatting across formatters.
+            String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
+
+            String contributions = formatContributions(d.getContributions(), d.getImprovements().size(), detailedReleaseNotesLink, vcsCommitsLink);
+            out.append(contributions).append("\n\n");
+
+            if (d.getImprovements().isEmpty()) {
+                out.append("No notable improvements. No pull requests were referenced from [commits](")
+                        .append(vcsCommitsLink)
+                        .append(").\n");
+            } else {
+                for (Improvement i : d.getImprovements()) {
+                    out.append(" * ").append(CommonFormatting.format(i)).append("\n");
+                }
+            }
         }
 
-        return sb.toString();
+        out.append("\n");
+    }
+
+    //everything that influences the content rendered for a single version
+    private String configuration() {
+        return "notable|" + detailedReleaseNotesLink + "|" + vcsCommitsLinkTemplate;
     }
 
     private static String formatContributions(ContributionSet contributions, int improvementCount,
@@ -25,6 +25,17 @@ public class ReleaseNotesFormatters {
         return new NotableFormatter(introductionText, detailedReleaseNotesLink, vcsCommitsLinkTemplate);
     }
 
+    /**
+     * Same as {@link #notableFormatter(String, String, String)} but reuses the content rendered for versions
+     * that are already present in the fragment cache.
+     */
+    public static MultiReleaseNotesFormatter notableFormatter(String introductionText,
+                                                              String detailedReleaseNotesLink,
+                                                              String vcsCommitsLinkTemplate,
+                                                              ReleaseNotesFragmentCache fragmentCache) {
+        return new NotableFormatter(introductionText, detailedReleaseNotesLink, vcsCommitsLinkTemplate, fragmentCache);
+    }
+
     /**
      * Returns the detailed formatter intended to use for all releases
      * @param introductionText text to be placed on the top of the release notes content
@@ -51,4 +62,45 @@ public class ReleaseNotesFormatters {
         return new DetailedFormatter(header, introductionText, labelMapping, vcsCommitsLinkTemplate,
                 publicationRepository, contributors, emphasizeVersion, badgeFormatter);
     }
+
+    /**
+     * Same as {@link #detailedFormatter(String, String, Map, String, String, Map, boolean, BadgeFormatter)}
+     * but reuses the content rendered for versions that are already present in the fragment cache.
+     */
+    public static MultiReleaseNotesFormatter detailedFormatter(String header,
+                                                               String introductionText,
+                                                               Map<String, String> labelMapping,
+                                                               String vcsCommitsLinkTemplate,
+                                                               String publicationRepository,
+                                                               Map<String, Contributor> contributors,
+                                                               boolean emphasizeVersion,
+                                                               BadgeFormatter badgeFormatter,
+                                                               ReleaseNotesFragmentCache fragmentCache) {
+        return new DetailedFormatter(header, introductionText, labelMapping, vcsCommitsLinkTemplate,
+                publicationRepository, contributors, emphasizeVersion, badgeFormatter, fragmentCache);
+    }
+
+    /**
+     * Returns formatter that generates HTML release notes, with the same content as the detailed formatter.
+     * See {@link #detailedFormatter(String, String, Map, String, String, Map, boolean, BadgeFormatter)} for the description
+     * of the parameters.
+     */
+    public static MultiReleaseNotesFormatter htmlFormatter(Map<String, String> labelMapping,
+                                                           String vcsCommitsLinkTemplate,
+                                                           String publicationRepository,
+                                                           Map<String, Contributor> contributors) {
+        return new HtmlFormatter(labelMapping, vcsCommitsLinkTemplate, publicationRepository, contributors);
+    }
+
+    /**
+     * Returns formatter that generates machine-readable JSON release notes, with the same content as the detailed formatter.
+     * See {@link #detailedFormatter(String, String, Map, String, String, Map, boolean, BadgeFormatter)} for the description
+     * of the parameters.
+     */
+    public static MultiReleaseNotesFormatter jsonFormatter(Map<String, String> labelMapping,
+                                                           String vcsCommitsLinkTemplate,
+                                                           String publicationRepository,
+                                                           Map<String, Contributor> contributors) {
+        return new JsonFormatter(labelMapping, vcsCommitsLinkTemplate, publicationRepository, contributors);
+    }
 }
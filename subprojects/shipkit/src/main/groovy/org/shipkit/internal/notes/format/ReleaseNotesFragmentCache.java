@@ -0,0 +1,144 @@
+package org.shipkit.internal.notes.format;
+
+import org.shipkit.internal.notes.model.Contributor;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of release notes content rendered for a single version (fragment).
+ * Fragment is keyed by the hash of the release notes data and the configuration of the formatter that rendered it.
+ * Release notes of historical versions don't change so when the release notes are regenerated for the entire history
+ * only new or changed versions are rendered.
+ * <p>
+ * When the directory is provided, the fragments are also stored on disk so that they are reused across builds.
+ * Fragments not used for {@link #MAX_UNUSED_AGE_MILLIS} are removed from the directory, see {@link #prune()}.
+ * Single cache can be used by multiple formatters, for example {@link DetailedFormatter} and {@link NotableFormatter},
+ * each formatter gets its own fragments because the configuration is part of the key.
+ */
+public class ReleaseNotesFragmentCache {
+
+    /**
+     * Fragments stored on disk that were not used for 30 days are removed by {@link #prune()}
+     */
+    static final long MAX_UNUSED_AGE_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    private final File directory;
+    private final Map<String, String> fragments = new ConcurrentHashMap<>();
+
+    /**
+     * Cache that keeps the fragments in memory only
+     */
+    public ReleaseNotesFragmentCache() {
+        this(null);
+    }
+
+    /**
+     * Cache that stores fragments in given directory
+     *
+     * @param directory where the fragments are stored, null means in-memory cache only
+     */
+    public ReleaseNotesFragmentCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the fragment for given release notes data, rendering it only if the fragment is not cached yet.
+     *
+     * @param out where the fragment is written to
+     * @param configuration identifies the formatter and all of its settings that influence the fragment
+     * @param data the release notes data of single version
+     * @param renderer renders the fragment when it is not in the cache
+     */
+    void write(Writer out, String configuration, ReleaseNotesData data, FragmentRenderer renderer) throws IOException {
+        String key = HashUtil.sha1(configuration + "\n" + data.toJson());
+        String fragment = get(key);
+        if (fragment == null) {
+            StringWriter writer = new StringWriter();
+            renderer.render(writer);
+            fragment = writer.toString();
+            put(key, fragment);
+        }
+        out.append(fragment);
+    }
+
+    private String get(String key) {
+        String fragment = fragments.get(key);
+        if (fragment == null && directory != null) {
+            File file = fragmentFile(key);
+            if (file.isFile()) {
+                fragment = IOUtil.readFully(file);
+                fragments.put(key, fragment);
+                //marks the fragment as used, see prune()
+                file.setLastModified(System.currentTimeMillis());
+            }
+        }
+        return fragment;
+    }
+
+    private void put(String key, String fragment) throws IOException {
+        fragments.put(key, fragment);
+        if (directory != null) {
+            File file = fragmentFile(key);
+            //write to unique temporary file first so that concurrent builds never read partially written fragment
+            directory.mkdirs();
+            File temp = File.createTempFile(key, ".tmp", directory);
+            IOUtil.writeFile(temp, fragment);
+            if (!temp.renameTo(file)) {
+                //other build stored the same fragment in the meantime
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Removes fragments stored on disk that were not used for {@link #MAX_UNUSED_AGE_MILLIS},
+     * for example fragments of formatter configurations that are no longer used.
+     * Temporary files left behind by interrupted builds are removed too.
+     */
+    public void prune() {
+        File[] files = directory == null ? null : directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long threshold = System.currentTimeMillis() - MAX_UNUSED_AGE_MILLIS;
+        for (File file : files) {
+            if (file.isFile() && file.lastModified() < threshold) {
+                file.delete();
+            }
+        }
+    }
+
+    private File fragmentFile(String key) {
+        return new File(directory, key + ".md");
+    }
+
+    /**
+     * Order-independent description of contributors, to be used as part of the formatter configuration
+     */
+    static String describe(Map<String, Contributor> contributors) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Contributor> e : new TreeMap<>(contributors).entrySet()) {
+            Contributor c = e.getValue();
+            sb.append(e.getKey()).append('=').append(c.getName()).append('|').append(c.getLogin())
+                .append('|').append(c.getProfileUrl()).append(';');
+        }
+        return HashUtil.sha1(sb.toString());
+    }
+
+    /**
+     * Renders release notes fragment
+     */
+    interface FragmentRenderer {
+        void render(Writer out) throws IOException;
+    }
+}
@@ -0,0 +1,71 @@
+package org.shipkit.internal.notes.format;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Writer that drops leading and trailing whitespace of the entire written content, the same way {@link String#trim()} does.
+ * Content is passed to the delegate as it comes, only the most recent whitespace is held back.
+ */
+class TrimmingWriter extends Writer {
+
+    private final Writer delegate;
+    private final StringBuilder pendingWhitespace = new StringBuilder();
+    private boolean started;
+
+    TrimmingWriter(Writer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        write(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        write(CharBuffer.wrap(str, off, off + len));
+    }
+
+    private void write(CharSequence text) throws IOException {
+        int last = text.length() - 1;
+        while (last >= 0 && isWhitespace(text.charAt(last))) {
+            last--;
+        }
+        if (last < 0) {
+            if (started) {
+                pendingWhitespace.append(text);
+            }
+            return;
+        }
+
+        int first = 0;
+        if (!started) {
+            while (isWhitespace(text.charAt(first))) {
+                first++;
+            }
+            started = true;
+        }
+
+        delegate.append(pendingWhitespace);
+        pendingWhitespace.setLength(0);
+        delegate.append(text, first, last + 1);
+        pendingWhitespace.append(text, last + 1, text.length());
+    }
+
+    //consistent with String.trim()
+    private static boolean isWhitespace(char c) {
+        return c <= ' ';
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -23,7 +23,15 @@ public class ReleaseNotesGenerators {
      */
     public static ReleaseNotesGenerator releaseNotesGenerator(File workDir, String gitHubApiUrl, String gitHubRepository,
                                                               String readOnlyAuthToken, Predicate<Commit> ignoredCommit) {
-        ProcessRunner processRunner = Exec.getProcessRunner(workDir);
+        return releaseNotesGenerator(Exec.getProcessRunner(workDir), gitHubApiUrl, gitHubRepository, readOnlyAuthToken, ignoredCommit);
+    }
+
+    /**
+     * Same as {@link #releaseNotesGenerator(File, String, String, String, Predicate)},
+     * but 'git' operations are executed with given process runner.
+     */
+    public static ReleaseNotesGenerator releaseNotesGenerator(ProcessRunner processRunner, String gitHubApiUrl, String gitHubRepository,
+                                                              String readOnlyAuthToken, Predicate<Commit> ignoredCommit) {
         ContributionsProvider contributionsProvider = Vcs.getContributionsProvider(processRunner, ignoredCommit);
         ImprovementsProvider improvementsProvider = Improvements.getGitHubProvider(gitHubApiUrl, gitHubRepository, readOnlyAuthToken);
         ReleasedVersionsProvider releasedVersionsProvider = Vcs.getReleaseDateProvider(processRunner);
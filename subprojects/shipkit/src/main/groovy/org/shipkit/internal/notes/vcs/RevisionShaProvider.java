@@ -0,0 +1,33 @@
+package org.shipkit.internal.notes.vcs;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.exec.ProcessRunner;
+
+/**
+ * Provides commit SHA of given vcs revision, for example a tag or HEAD
+ */
+public class RevisionShaProvider {
+
+    private static final Logger LOG = Logging.getLogger(RevisionShaProvider.class);
+
+    private final ProcessRunner runner;
+
+    RevisionShaProvider(ProcessRunner runner) {
+        this.runner = runner;
+    }
+
+    /**
+     * SHA of the commit the revision points to, or null if the revision cannot be resolved,
+     * including when git cannot be executed at all
+     */
+    public String getSha(String revision) {
+        try {
+            return runner.run("git", "rev-parse", "--verify", "--quiet", revision + "^{commit}").trim();
+        } catch (RuntimeException e) {
+            //GradleException when git fails, other exceptions when git is not available
+            LOG.debug("Unable to resolve revision {}", revision, e);
+            return null;
+        }
+    }
+}
@@ -23,4 +23,11 @@ public class Vcs {
     public static ReleasedVersionsProvider getReleaseDateProvider(ProcessRunner runner) {
         return new DefaultReleasedVersionsProvider(runner);
     }
+
+    /**
+     * Provides commit SHAs of revisions
+     */
+    public static RevisionShaProvider getRevisionShaProvider(ProcessRunner runner) {
+        return new RevisionShaProvider(runner);
+    }
 }
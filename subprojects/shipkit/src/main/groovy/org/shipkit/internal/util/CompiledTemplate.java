@@ -0,0 +1,139 @@
+package org.shipkit.internal.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Template with expressions formatted like "@key@", parsed once into literal and expression segments.
+ * Rendering is a single pass over the segments, so it does not depend on the number of properties.
+ * Compiled template is immutable and can be rendered many times, with different properties.
+ * <p>
+ * Key of the expression can contain letters, digits and characters: '.', '_', '-'.
+ * Other text surrounded with '@' characters, for example e-mail addresses, is left as-is.
+ * Rendering fails when a property is provided for such text, because it would be silently left unresolved.
+ */
+public class CompiledTemplate {
+
+    private final List<String> literals;
+    private final List<String> keys;
+    //text surrounded with '@' characters in the literals, it looks like an expression but its key is not valid
+    private final Set<String> unresolvedKeys;
+
+    private CompiledTemplate(List<String> literals, List<String> keys, Set<String> unresolvedKeys) {
+        this.literals = literals;
+        this.keys = keys;
+        this.unresolvedKeys = unresolvedKeys;
+    }
+
+    /**
+     * Parses the template text
+     */
+    public static CompiledTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+
+        int literalStart = 0;
+        int i = text.indexOf('@');
+        while (i >= 0) {
+            int end = keyEnd(text, i + 1);
+            if (end < 0) {
+                //not an expression, '@' is part of the literal text
+                i = text.indexOf('@', i + 1);
+            } else {
+                literals.add(text.substring(literalStart, i));
+                keys.add(text.substring(i + 1, end));
+                literalStart = end + 1;
+                i = text.indexOf('@', literalStart);
+            }
+        }
+        literals.add(text.substring(literalStart));
+
+        Set<String> unresolvedKeys = new HashSet<>();
+        for (String literal : literals) {
+            addUnresolvedKeys(literal, unresolvedKeys);
+        }
+        unresolvedKeys.removeAll(keys);
+
+        return new CompiledTemplate(Collections.unmodifiableList(literals), Collections.unmodifiableList(keys),
+            Collections.unmodifiableSet(unresolvedKeys));
+    }
+
+    //text between each pair of subsequent '@' characters
+    private static void addUnresolvedKeys(String literal, Set<String> result) {
+        int start = literal.indexOf('@');
+        while (start >= 0) {
+            int end = literal.indexOf('@', start + 1);
+            if (end < 0) {
+                return;
+            }
+            result.add(literal.substring(start + 1, end));
+            start = end;
+        }
+    }
+
+    //index of the closing '@' or -1 if the text at given position is not a key
+    private static int keyEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && isKeyCharacter(text.charAt(i))) {
+            i++;
+        }
+        boolean closed = i < text.length() && text.charAt(i) == '@';
+        return closed && i > start ? i : -1;
+    }
+
+    private static boolean isKeyCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '-';
+    }
+
+    /**
+     * Keys of all expressions in the template, in the order of appearance
+     */
+    public Set<String> getKeys() {
+        return new LinkedHashSet<>(keys);
+    }
+
+    /**
+     * Renders the template to a String.
+     * See {@link #render(Map, Writer)}
+     */
+    public String render(Map<String, String> properties) {
+        StringWriter writer = new StringWriter();
+        render(properties, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Renders the template, replacing expressions with values of the properties.
+     * Fails fast, before anything is written, when a value is missing for any of the expressions
+     * or when the template contains "@key@" text for provided property whose key is not a valid expression key.
+     *
+     * @param properties values of the expressions, by key
+     * @param writer where the content is written to, it is not closed
+     */
+    public void render(Map<String, String> properties, Writer writer) {
+        for (String key : keys) {
+            if (properties.get(key) == null) {
+                throw new IllegalArgumentException("Value of template expression '@" + key + "@' was not provided.\n" +
+                    "  Provided properties: " + new TreeSet<>(properties.keySet()));
+            }
+        }
+        for (String key : properties.keySet()) {
+            if (unresolvedKeys.contains(key)) {
+                throw new IllegalArgumentException("Template expression '@" + key + "@' cannot be resolved.\n" +
+                    "  Key of the expression can contain only letters, digits and characters: '.', '_', '-'.");
+            }
+        }
+
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                writer.write(literals.get(i));
+                writer.write(properties.get(keys.get(i)));
+            }
+            writer.write(literals.get(keys.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("Problems rendering template", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.shipkit.internal.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashing utilities
+ */
+public class HashUtil {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * SHA-1 hash of the UTF-8 encoded text, as lower case hex string
+     */
+    public static String sha1(String text) {
+        MessageDigest digest = digest("SHA-1");
+        return hex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * SHA-1 hash of the file content, as lower case hex string
+     */
+    public static String sha1(File file) {
+        MessageDigest digest = digest("SHA-1");
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Problems hashing file " + file, e);
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Creates new message digest for given algorithm, for example "SHA-1" or "SHA-256"
+     */
+    public static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hashing algorithm not available: " + algorithm, e);
+        }
+    }
+
+    /**
+     * Lower case hex representation of the bytes
+     */
+    public static String hex(byte[] bytes) {
+        char[] result = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            result[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+}
@@ -5,7 +5,9 @@ import java.util.Map;
 
 /**
  * Utility class that can be used to replace expressions formatted like "@key@" with provided values
- * in given template text
+ * in given template text.
+ * Every expression in the text needs a value, see {@link CompiledTemplate}.
+ * Use {@link CompiledTemplate} directly when the same template is rendered many times.
  */
 public class TemplateResolver {
 
@@ -25,14 +27,6 @@ public class TemplateResolver {
     }
 
     public String resolve() {
-        String result = text;
-        for (Map.Entry<String, String> property : properties.entrySet()) {
-            result = result.replace(expressionFromKey(property.getKey()), property.getValue());
-        }
-        return result;
-    }
-
-    private String expressionFromKey(String key) {
-         return "@" + key + "@";
+        return CompiledTemplate.compile(text).render(properties);
     }
 }
@@ -0,0 +1,45 @@
+package org.shipkit.internal.perf
+
+/**
+ * Budgets of the load test stages, loaded from properties file in format: '[stage].[metric]=[max value]'.
+ * Any budget can be overridden with system property 'perf.budget.[stage].[metric]'.
+ * <p>
+ * Counts of processes and HTTP calls are deterministic and must not grow at all.
+ * Wall time and heap depend on the machine, they are allowed to exceed the budget by given tolerance.
+ */
+class Budgets {
+
+    private static final Set<String> TOLERANT_METRICS = ["wallTimeMillis", "peakHeapMegabytes"] as Set
+
+    private final Properties budgets = new Properties()
+    private final double tolerance
+
+    Budgets(String resource, double tolerance) {
+        Budgets.getResourceAsStream(resource).withStream { budgets.load(it) }
+        System.properties.each { String k, v ->
+            if (k.startsWith("perf.budget.")) {
+                budgets.setProperty(k - "perf.budget.", v as String)
+            }
+        }
+        this.tolerance = tolerance
+    }
+
+    /**
+     * Descriptions of all exceeded budgets, empty when the stage is within budget.
+     * Metrics without a budget are not checked.
+     */
+    List<String> exceeded(StageMeter.StageResult result) {
+        List<String> out = []
+        result.metrics.each { String metric, Long value ->
+            String budget = budgets.getProperty("${result.stage}.${metric}")
+            if (budget != null) {
+                long max = budget as long
+                long allowed = TOLERANT_METRICS.contains(metric) ? (long) (max * (1 + tolerance)) : max
+                if (value > allowed) {
+                    out << "${result.stage}.${metric} = ${value} exceeds budget ${max} (allowed: ${allowed})".toString()
+                }
+            }
+        }
+        out
+    }
+}
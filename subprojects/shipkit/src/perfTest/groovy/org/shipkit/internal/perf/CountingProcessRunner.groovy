@@ -0,0 +1,33 @@
+package org.shipkit.internal.perf
+
+import org.shipkit.internal.exec.ProcessRunner
+
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Process runner that counts spawned processes before delegating.
+ */
+class CountingProcessRunner implements ProcessRunner {
+
+    private final ProcessRunner delegate
+    private final AtomicInteger spawns = new AtomicInteger()
+
+    CountingProcessRunner(ProcessRunner delegate) {
+        this.delegate = delegate
+    }
+
+    int getSpawnCount() {
+        spawns.get()
+    }
+
+    @Override
+    String run(String... commandLine) {
+        run(commandLine as List)
+    }
+
+    @Override
+    String run(List<String> commandLine) {
+        spawns.incrementAndGet()
+        delegate.run(commandLine)
+    }
+}
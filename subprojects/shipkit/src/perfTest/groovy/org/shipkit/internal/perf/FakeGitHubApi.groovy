@@ -0,0 +1,89 @@
+package org.shipkit.internal.perf
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.json.simple.JsonArray
+import org.json.simple.JsonObject
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Local, in-process stand-in for GitHub issues API.
+ * Serves closed issues 1..{@code issueCount}, newest first, in pages with 'Link' header like the real API.
+ * Every response is delayed by configured latency to simulate the network round trip.
+ */
+class FakeGitHubApi implements Closeable {
+
+    private final int issueCount
+    private final int pageSize
+    private final long latencyMillis
+    private final HttpServer server
+    private final ExecutorService executor = Executors.newFixedThreadPool(4)
+    private final AtomicInteger requests = new AtomicInteger()
+
+    FakeGitHubApi(int issueCount, int pageSize, long latencyMillis) {
+        this.issueCount = issueCount
+        this.pageSize = pageSize
+        this.latencyMillis = latencyMillis
+        server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+        server.createContext("/repos/", { HttpExchange e -> handle(e) })
+        server.executor = executor
+        server.start()
+    }
+
+    String getUrl() {
+        "http://${server.address.hostString}:${server.address.port}"
+    }
+
+    /**
+     * Number of requests served so far
+     */
+    int getRequestCount() {
+        requests.get()
+    }
+
+    private void handle(HttpExchange exchange) {
+        requests.incrementAndGet()
+        Thread.sleep(latencyMillis)
+
+        String query = exchange.requestURI.rawQuery
+        int page = (query =~ /(?:^|&)page=(\d+)/).with { it.find() ? it.group(1) as int : 1 }
+        int first = issueCount - (page - 1) * pageSize
+        int last = Math.max(1, first - pageSize + 1)
+
+        JsonArray issues = new JsonArray()
+        for (int n = first; n >= last; n--) {
+            issues.add(issue(n))
+        }
+        if (last > 1) {
+            String next = "${url}${exchange.requestURI.path}?${query.replaceFirst(/(^|&)page=\d+/, "\$1page=${page + 1}")}"
+            exchange.responseHeaders.add("Link", "<${next}>; rel=\"next\"")
+        }
+
+        byte[] body = issues.toJson().getBytes("UTF-8")
+        exchange.sendResponseHeaders(200, body.length)
+        exchange.responseBody.withStream { it.write(body) }
+    }
+
+    private static JsonObject issue(int n) {
+        JsonObject issue = new JsonObject()
+        issue.put("number", n)
+        issue.put("title", "Synthetic issue ${n}".toString())
+        issue.put("html_url", "https://github.com/shipkit/synthetic/issues/${n}".toString())
+        JsonObject label = new JsonObject()
+        label.put("name", n % 3 == 0 ? "bug" : "enhancement")
+        issue.put("labels", new JsonArray([label]))
+        if (n % 2 == 0) {
+            issue.put("pull_request", new JsonObject())
+        }
+        issue
+    }
+
+    @Override
+    void close() {
+        server.stop(0)
+        executor.shutdownNow()
+    }
+}
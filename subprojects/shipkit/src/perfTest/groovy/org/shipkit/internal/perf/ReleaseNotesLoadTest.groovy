@@ -0,0 +1,121 @@
+package org.shipkit.internal.perf
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.gradle.testfixtures.ProjectBuilder
+import org.shipkit.gradle.notes.AbstractReleaseNotesTask
+import org.shipkit.gradle.notes.RenderReleaseNotesTask
+import org.shipkit.gradle.notes.UpdateReleaseNotesTask
+import org.shipkit.internal.exec.Exec
+import org.shipkit.internal.gradle.notes.tasks.RenderReleaseNotes
+import org.shipkit.internal.gradle.notes.tasks.UpdateReleaseNotes
+import org.shipkit.internal.gradle.util.ReleaseNotesSerializer
+import org.shipkit.internal.notes.generator.ReleaseNotesGenerators
+import org.shipkit.internal.notes.header.HeaderProvider
+import spock.lang.Specification
+
+/**
+ * Load test of release notes generation, run manually with 'perfTest' task.
+ * It is not part of 'check' because wall time budgets depend on the machine, 'check' only compiles it.
+ * Generates synthetic repository and fake GitHub API, then measures the stages of release notes generation.
+ * Update and render stages run the same code as the tasks, including reading the data file and writing the outputs.
+ * Scenario is configured with system properties (defaults in brackets):
+ * <ul>
+ *     <li>perf.commits (5000), perf.authors (50), perf.tags (20), perf.ticketEvery (2) - shape of the repository</li>
+ *     <li>perf.pageSize (100), perf.latencyMillis (10) - behavior of fake GitHub API</li>
+ *     <li>perf.tolerance (0.5) - how much wall time and heap may exceed the budget</li>
+ *     <li>perf.reportDir - where the report is written to</li>
+ * </ul>
+ */
+class ReleaseNotesLoadTest extends Specification {
+
+    @Rule
+    TemporaryFolder tmp = new TemporaryFolder()
+
+    def repository = new SyntheticRepository(
+        commits: setting("commits", 5000),
+        authors: setting("authors", 50),
+        tags: setting("tags", 20),
+        ticketEvery: setting("ticketEvery", 2))
+
+    def "release notes generation stays within budgets"() {
+        File work = repository.create(tmp.newFolder())
+        def gitHub = new FakeGitHubApi(repository.maxTicket, setting("pageSize", 100), setting("latencyMillis", 10))
+        def processes = new CountingProcessRunner(Exec.getProcessRunner(work))
+        def meter = new StageMeter(processes, gitHub)
+        def labels = ["enhancement": "Enhancements", "bug": "Bugfixes"]
+
+        when:
+        String serialized = meter.measure("fetchReleaseNotes") {
+            def generator = ReleaseNotesGenerators.releaseNotesGenerator(processes, gitHub.url, "shipkit/synthetic", "token", { false })
+            def data = generator.generateReleaseNotesData(repository.headVersion, repository.releasedVersions,
+                repository.tagPrefix, [], false)
+            new ReleaseNotesSerializer().serialize(data)
+        }
+
+        //the same code paths as the tasks, with tasks configured the way ReleaseNotesPlugin does
+        def project = ProjectBuilder.builder().withProjectDir(tmp.newFolder()).build()
+        def dataFile = new File(project.buildDir, "detailed-release-notes.ser")
+        dataFile.parentFile.mkdirs()
+        dataFile.text = serialized
+
+        UpdateReleaseNotesTask update = project.tasks.create("updateReleaseNotes", UpdateReleaseNotesTask)
+        configure(update, dataFile, labels)
+        meter.measure("updateReleaseNotes") {
+            new UpdateReleaseNotes().updateReleaseNotes(update, new HeaderProvider())
+        }
+        String markdown = update.releaseNotesFile.text
+
+        RenderReleaseNotesTask render = project.tasks.create("renderReleaseNotes", RenderReleaseNotesTask)
+        configure(render, dataFile, labels)
+        render.markdownFile = new File(project.buildDir, "release-notes/release-notes.md")
+        render.htmlFile = new File(project.buildDir, "release-notes/release-notes.html")
+        render.jsonFile = new File(project.buildDir, "release-notes/release-notes.json")
+        meter.measure("renderReleaseNotes") {
+            new RenderReleaseNotes().renderReleaseNotes(render, new HeaderProvider())
+        }
+
+        then:
+        writeReport(meter)
+        markdown.contains(repository.headVersion)
+
+        def budgets = new Budgets("/release-notes-budgets.properties", setting("tolerance", 0.5d))
+        def exceeded = meter.results.collectMany { budgets.exceeded(it) }
+        exceeded.empty
+
+        cleanup:
+        gitHub?.close()
+    }
+
+    private void configure(AbstractReleaseNotesTask task, File dataFile, Map<String, String> labels) {
+        task.releaseNotesData = dataFile
+        task.releaseNotesFile = new File(task.project.projectDir, "docs/release-notes.md")
+        task.version = repository.headVersion
+        task.previousVersion = repository.releasedVersions.first()
+        task.tagPrefix = repository.tagPrefix
+        task.gitHubUrl = "https://github.com"
+        task.gitHubRepository = "shipkit/synthetic"
+        task.gitHubLabelMapping = labels
+        task.publicationRepository = "https://bintray.com/shipkit/synthetic"
+        //contributors from configuration, so that contributors data file is not needed
+        task.contributors = ["shipkit:Shipkit"]
+        task.fragmentCacheDir = new File(task.project.buildDir, "release-notes-fragments")
+    }
+
+    private void writeReport(StageMeter meter) {
+        String report = "Release notes load test, " + repository.properties.subMap(["commits", "authors", "tags", "ticketEvery"]) +
+            "\n" + meter.report() + "\n"
+        println report
+        String reportDir = System.getProperty("perf.reportDir")
+        if (reportDir) {
+            File f = new File(reportDir, "release-notes-load-test.txt")
+            f.parentFile.mkdirs()
+            f.text = report
+        }
+    }
+
+    private static <T> T setting(String name, T defaultValue) {
+        String value = System.getProperty("perf." + name)
+        value == null ? defaultValue : value.asType(defaultValue.getClass()) as T
+    }
+}
@@ -0,0 +1,67 @@
+package org.shipkit.internal.perf
+
+import java.lang.management.ManagementFactory
+import java.lang.management.MemoryPoolMXBean
+import java.lang.management.MemoryType
+
+/**
+ * Measures stages of the load test: wall time, spawned processes, HTTP calls and peak heap.
+ * Process and HTTP counts are deltas of the counters, sampled before and after the stage.
+ */
+class StageMeter {
+
+    private final CountingProcessRunner processes
+    private final FakeGitHubApi gitHub
+    final List<StageResult> results = []
+
+    StageMeter(CountingProcessRunner processes, FakeGitHubApi gitHub) {
+        this.processes = processes
+        this.gitHub = gitHub
+    }
+
+    def measure(String stage, Closure work) {
+        List<MemoryPoolMXBean> heap = ManagementFactory.memoryPoolMXBeans.findAll { it.type == MemoryType.HEAP }
+        System.gc()
+        heap*.resetPeakUsage()
+        int spawnsBefore = processes.spawnCount
+        int callsBefore = gitHub.requestCount
+        long start = System.nanoTime()
+
+        def result = work()
+
+        long wallTime = (System.nanoTime() - start).intdiv(1000000)
+        long peakHeap = heap.sum { it.peakUsage.used } as long
+        results << new StageResult(stage, wallTime, processes.spawnCount - spawnsBefore, gitHub.requestCount - callsBefore, peakHeap)
+        result
+    }
+
+    String report() {
+        String header = String.format("%-22s %12s %10s %10s %14s", "stage", "wall [ms]", "processes", "http", "peak heap [MB]")
+        ([header] + results.collect {
+            String.format("%-22s %12d %10d %10d %14d", it.stage, it.wallTimeMillis, it.processSpawns, it.httpCalls, it.peakHeapBytes >> 20)
+        }).join("\n")
+    }
+
+    static class StageResult {
+        final String stage
+        final long wallTimeMillis
+        final int processSpawns
+        final int httpCalls
+        final long peakHeapBytes
+
+        StageResult(String stage, long wallTimeMillis, int processSpawns, int httpCalls, long peakHeapBytes) {
+            this.stage = stage
+            this.wallTimeMillis = wallTimeMillis
+            this.processSpawns = processSpawns
+            this.httpCalls = httpCalls
+            this.peakHeapBytes = peakHeapBytes
+        }
+
+        /**
+         * Metrics by name, names match the keys used in budgets file
+         */
+        Map<String, Long> getMetrics() {
+            [wallTimeMillis: wallTimeMillis, processSpawns: (long) processSpawns, httpCalls: (long) httpCalls, peakHeapMegabytes: peakHeapBytes >> 20]
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.shipkit.internal.perf
+
+import org.shipkit.internal.exec.DefaultProcessRunner
+
+/**
+ * Generates git repository with synthetic history, entirely offline.
+ * History is written with a single 'git fast-import' process, so generating thousands of commits takes seconds.
+ * The repository is created as bare 'origin' and cloned, because release notes generation fetches tags from 'origin'.
+ * <p>
+ * Every {@link #ticketEvery}-th commit references a ticket ('Fixes #n'), ticket numbers grow with the history.
+ * Tags are spread evenly across the history, named {@link #tagPrefix} + {@link #version(int)}.
+ */
+class SyntheticRepository {
+
+    int commits = 1000
+    int authors = 10
+    int tags = 10
+    int ticketEvery = 2
+    String tagPrefix = "v"
+
+    /**
+     * Version of the n-th tag, starting from 1. Version of the head (not yet released) is {@code version(tags + 1)}.
+     */
+    String version(int n) {
+        "0.${n}.0"
+    }
+
+    /**
+     * Released versions, newest first, the order expected by release notes generator.
+     */
+    List<String> getReleasedVersions() {
+        (tags..1).collect { version(it) }
+    }
+
+    String getHeadVersion() {
+        version(tags + 1)
+    }
+
+    /**
+     * Highest ticket number referenced in commit messages.
+     */
+    int getMaxTicket() {
+        commits.intdiv(ticketEvery)
+    }
+
+    /**
+     * Creates the repository and returns the working copy.
+     */
+    File create(File dir) {
+        File origin = new File(dir, "origin.git")
+        File work = new File(dir, "work")
+        origin.mkdirs()
+        new DefaultProcessRunner(origin).run("git", "init", "--bare", "-q")
+
+        Process importer = new ProcessBuilder("git", "fast-import", "--quiet")
+            .directory(origin).redirectErrorStream(true).start()
+        importer.outputStream.withWriter("UTF-8") { writeHistory(it) }
+        String output = importer.inputStream.getText("UTF-8")
+        if (importer.waitFor() != 0) {
+            throw new RuntimeException("Problems generating synthetic history:\n" + output)
+        }
+
+        new DefaultProcessRunner(dir).run("git", "clone", "-q", origin.absolutePath, work.absolutePath)
+        work
+    }
+
+    private void writeHistory(Writer out) {
+        int tagSpacing = Math.max(1, commits.intdiv(tags + 1))
+        long time = 1500000000L
+        int tagged = 0
+        for (int i = 1; i <= commits; i++) {
+            int author = i % authors
+            String message = "Change ${i}" + (i % ticketEvery == 0 ? ", fixes #${i.intdiv(ticketEvery)}" : "") + "\n"
+            String signature = "Author ${author} <author${author}@example.com> ${time + i * 60} +0000"
+            out << "commit refs/heads/master\n"
+            out << "mark :${i}\n"
+            out << "author ${signature}\n"
+            out << "committer ${signature}\n"
+            out << "data ${message.getBytes('UTF-8').length}\n${message}"
+            if (i > 1) {
+                out << "from :${i - 1}\n"
+            }
+            out << "\n"
+            if (i % tagSpacing == 0 && tagged < tags) {
+                tagged++
+                out << "reset refs/tags/${tagPrefix}${version(tagged)}\nfrom :${i}\n\n"
+            }
+        }
+    }
+}
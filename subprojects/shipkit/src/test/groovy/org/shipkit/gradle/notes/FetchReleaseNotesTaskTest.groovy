@@ -0,0 +1,55 @@
+package org.shipkit.gradle.notes
+
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+import static org.shipkit.internal.exec.TestUtil.commandAvailable
+
+class FetchReleaseNotesTaskTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def project = new ProjectBuilder().build()
+    def task = project.tasks.create("fetch", FetchReleaseNotesTask)
+
+    def "revisions are null when they cannot be resolved"() {
+        task.gitWorkDir = new File(tmp.root, "missing")
+        task.tagPrefix = "v"
+        task.previousVersion = "1.0.0"
+
+        expect:
+        task.headRevision == null
+        task.previousRevision == null
+        //the task cannot be keyed with the commits
+        !task.outputs.upToDateSpec.isSatisfiedBy(task)
+    }
+
+    @IgnoreIf({ !commandAvailable("git --version") })
+    def "revisions are resolved once"() {
+        def dir = tmp.newFolder()
+        git(dir, "init")
+        git(dir, "-c", "user.name=a", "-c", "user.email=a@b", "commit", "--allow-empty", "-m", "first")
+        git(dir, "tag", "v1.0.0")
+        task.gitWorkDir = dir
+        task.tagPrefix = "v"
+        task.previousVersion = "1.0.0"
+
+        when:
+        def head = task.headRevision
+        git(dir, "-c", "user.name=a", "-c", "user.email=a@b", "commit", "--allow-empty", "-m", "second")
+
+        then:
+        head ==~ /[0-9a-f]{40}/
+        task.previousRevision == head
+        task.headRevision == head
+        task.inputs.properties.headRevision == head
+        task.outputs.upToDateSpec.isSatisfiedBy(task)
+    }
+
+    private static void git(File dir, String... args) {
+        assert (["git"] + args.toList()).execute(null, dir).waitFor() == 0
+    }
+}
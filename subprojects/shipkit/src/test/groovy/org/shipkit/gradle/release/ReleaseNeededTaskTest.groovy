@@ -92,4 +92,42 @@ class ReleaseNeededTaskTest extends Specification {
         !task.releaseNeeded()
         !ReleaseNeeded.getReleaseNeededFile(task).exists()
     }
+
+    def "writes release needed file and comparison report to configured locations"() {
+        given:
+        def dir = File.createTempDir()
+        task.releaseNeededFile = new File(dir, "needed.txt")
+        task.comparisonReport = new File(dir, "report.txt")
+        task.setBranch('master')
+        task.setReleasableBranchRegex('master')
+        def result = File.createTempFile("shipkit-comparePublications", "")
+        result << "diff"
+        task.comparisonResults.add(result)
+
+        expect:
+        task.releaseNeeded()
+        new File(dir, "needed.txt").exists()
+        new File(dir, "report.txt").text.contains("diff")
+    }
+
+    def "release skipped reason known before execution" (commitMessage, branch, pullRequest, skipEnvVar, reason) {
+        given:
+        task.setCommitMessage(commitMessage)
+        task.setPullRequest(pullRequest)
+        task.setReleasableBranchRegex("master")
+        def envVariables = Mock(EnvVariables)
+        envVariables.getNonEmptyEnv("SKIP_RELEASE") >> skipEnvVar
+
+        expect:
+        new ReleaseNeeded().releaseSkippedReason(task, branch, envVariables) == reason
+
+        where:
+        commitMessage       | branch    | pullRequest | skipEnvVar || reason
+        "message"           | "master"  | false       | null       || null
+        "message"           | null      | false       | null       || null   // branch not known yet
+        "[ci skip-release]" | "master"  | false       | null       || "skip release keyword in commit message"
+        "message"           | "master"  | false       | "true"     || "skip release env variable"
+        "message"           | "master"  | true        | null       || "pull request build"
+        "message"           | "feature" | false       | null       || "branch 'feature' is not releasable"
+    }
 }
@@ -0,0 +1,174 @@
+package org.shipkit.internal.comparison
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import javax.tools.ToolProvider
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class BinaryJarComparatorTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    static final String SOURCE = """
+        public class Foo implements Runnable {
+            private final String name = "foo";
+            public void run() {
+                int count = name.length();
+                for (int i = 0; i < count; i++) {
+                    System.out.println(name + i);
+                }
+            }
+        }
+    """
+
+    def "classes are compared without debug information"() {
+        def withDebug = jar("Foo.class": compile(SOURCE, "-g"))
+        //line numbers and local variable names change, the code does not
+        def movedLines = jar("Foo.class": compile("\n\n" + SOURCE.replace("count", "length"), "-g"))
+        def withoutDebug = jar("Foo.class": compile(SOURCE, "-g:none"))
+        def changedCode = jar("Foo.class": compile(SOURCE.replace("i++", "i += 2"), "-g"))
+
+        expect:
+        new BinaryJarComparator().areEqual(withDebug, movedLines).areFilesEqual()
+        new BinaryJarComparator().areEqual(withDebug, withoutDebug).areFilesEqual()
+
+        def diff = new BinaryJarComparator().areEqual(withDebug, changedCode)
+        !diff.areFilesEqual()
+        diff.diffOutput.contains("+- Foo.class")
+    }
+
+    def "dynamic constants refer to bootstrap methods by their index, not to the constant pool"() {
+        def previous = jar("Foo.class": dynamicConstantClass(tag, 1, []))
+        //for example debug information adds constants and shifts the constant pool
+        def shifted = jar("Foo.class": dynamicConstantClass(tag, 1, ["LineNumberTable"]))
+        def otherBootstrapMethod = jar("Foo.class": dynamicConstantClass(tag, 2, []))
+
+        expect:
+        new BinaryJarComparator().areEqual(previous, shifted).areFilesEqual()
+        !new BinaryJarComparator().areEqual(previous, otherBootstrapMethod).areFilesEqual()
+
+        where:
+        tag << [17, 18] //CONSTANT_Dynamic used by ldc, CONSTANT_InvokeDynamic used by invokedynamic
+    }
+
+    def "resources are normalized"() {
+        def previous = jar(
+            "META-INF/MANIFEST.MF": "Manifest-Version: 1.0\nCreated-By: 1.8.0_1 (Oracle)\nImplementation-Version: 1.0.0\nMain-Class: Foo\n\n",
+            "foo.properties": "#Mon Jan 01 10:00:00 UTC 2018\na=1\nb=2\n")
+        def current = jar(
+            "META-INF/MANIFEST.MF": "Main-Class: Foo\r\nManifest-Version: 1.0\r\nCreated-By: 1.8.0_2 (Oracle)\r\nImplementation-Version: 1.0.1\r\n\r\n",
+            "foo.properties": "#Tue Jan 02 10:00:00 UTC 2018\nb=2\na=1\n")
+        def changed = jar(
+            "META-INF/MANIFEST.MF": "Manifest-Version: 1.0\nMain-Class: Bar\n\n",
+            "foo.properties": "a=1\nb=3\n")
+
+        expect:
+        new BinaryJarComparator().areEqual(previous, current).areFilesEqual()
+
+        def diff = new BinaryJarComparator().areEqual(previous, changed)
+        diff.diffOutput == """    Modified files:
+    +- META-INF/MANIFEST.MF
+    +- foo.properties
+
+"""
+    }
+
+    def "reports added and removed entries hashed in parallel"() {
+        def entries = [:]
+        100.times { entries["r/${it}.txt".toString()] = "content ${it}" }
+        def previous = jar(entries + ["removed.txt": "x"])
+        def current = jar(entries + ["r/7.txt": "changed", "added.txt": "x"])
+
+        when:
+        def parallel = new BinaryJarComparator(4).areEqual(previous, current)
+        def sequential = new BinaryJarComparator(1).areEqual(previous, current)
+
+        then:
+        parallel.diffOutput == """    Added files:
+    ++ added.txt
+
+    Removed files:
+    -- removed.txt
+
+    Modified files:
+    +- r/7.txt
+
+"""
+        sequential.diffOutput == parallel.diffOutput
+    }
+
+    def "compares invalid class files as-is"() {
+        expect:
+        new BinaryJarComparator().areEqual(jar("Foo.class": "abc"), jar("Foo.class": "abc")).areFilesEqual()
+        !new BinaryJarComparator().areEqual(jar("Foo.class": "abc"), jar("Foo.class": "abd")).areFilesEqual()
+    }
+
+    private byte[] compile(String source, String debugOption) {
+        def dir = tmp.newFolder()
+        def sourceFile = new File(dir, "Foo.java")
+        sourceFile.text = source
+        def compiler = ToolProvider.systemJavaCompiler
+        assert compiler.run(null, null, null, debugOption, "-d", dir.absolutePath, sourceFile.absolutePath) == 0
+        new File(dir, "Foo.class").bytes
+    }
+
+    //class with a single method that uses the dynamic constant, unused constants are at the start of the constant pool
+    private static byte[] dynamicConstantClass(int tag, int bootstrapMethod, List<String> unusedConstants) {
+        def bytes = new ByteArrayOutputStream()
+        def out = new DataOutputStream(bytes)
+        int b = unusedConstants.size()
+        out.writeInt((int) 0xCAFEBABE)
+        out.writeShort(0)
+        out.writeShort(55)
+
+        out.writeShort(b + 10)
+        unusedConstants.each { out.writeByte(1); out.writeUTF(it) }
+        out.writeByte(1); out.writeUTF("Foo")                                           //b + 1
+        out.writeByte(7); out.writeShort(b + 1)                                         //b + 2
+        out.writeByte(1); out.writeUTF("java/lang/Object")                              //b + 3
+        out.writeByte(7); out.writeShort(b + 3)                                         //b + 4
+        out.writeByte(1); out.writeUTF("run")                                           //b + 5
+        out.writeByte(1); out.writeUTF("()V")                                           //b + 6
+        out.writeByte(12); out.writeShort(b + 5); out.writeShort(b + 6)                 //b + 7
+        out.writeByte(tag); out.writeShort(bootstrapMethod); out.writeShort(b + 7)      //b + 8
+        out.writeByte(1); out.writeUTF("Code")                                          //b + 9
+
+        out.writeShort(0x21)
+        out.writeShort(b + 2)
+        out.writeShort(b + 4)
+        out.writeShort(0) //interfaces
+        out.writeShort(0) //fields
+        out.writeShort(1) //methods
+        out.writeShort(0x9)
+        out.writeShort(b + 5)
+        out.writeShort(b + 6)
+        out.writeShort(1)
+        out.writeShort(b + 9)
+        //invokedynamic, return or ldc_w, pop, return
+        byte[] code = (tag == 18 ? [0xba, 0, b + 8, 0, 0, 0xb1] : [0x13, 0, b + 8, 0x57, 0xb1]) as byte[]
+        out.writeInt(12 + code.length)
+        out.writeShort(1) //max stack
+        out.writeShort(1) //max locals
+        out.writeInt(code.length)
+        out.write(code)
+        out.writeShort(0) //exception table
+        out.writeShort(0) //attributes of code
+        out.writeShort(0) //attributes of class
+        bytes.toByteArray()
+    }
+
+    private File jar(Map<String, Object> entries) {
+        def file = tmp.newFile()
+        new ZipOutputStream(new FileOutputStream(file)).withStream { out ->
+            entries.each { name, content ->
+                out.putNextEntry(new ZipEntry(name))
+                out.write(content instanceof byte[] ? content : content.toString().bytes)
+                out.closeEntry()
+            }
+        }
+        file
+    }
+}
@@ -88,4 +88,17 @@ class ComparePublicationsResultFormatterTest extends Specification {
         then:
         result == ""
     }
+
+    def "should append differences of binary jars" () {
+        expect:
+        formatter.appendBinaryJarResults("", "previous.jar", "current.jar", Diff.ofEqualFiles()) == ""
+        formatter.appendBinaryJarResults("sources diff", "previous.jar", "current.jar", Diff.ofDifferentFiles("    binary jar diff output")) ==
+"""sources diff
+
+  Differences between files:
+  --- previous.jar
+  +++ current.jar
+
+    binary jar diff output"""
+    }
 }
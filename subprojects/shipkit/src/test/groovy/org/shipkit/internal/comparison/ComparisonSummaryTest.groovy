@@ -0,0 +1,29 @@
+package org.shipkit.internal.comparison
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.comparison.diff.Diff
+import spock.lang.Specification
+
+class ComparisonSummaryTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "writes and reads summary next to the comparison result"() {
+        def result = new File(tmp.root, "publications-comparison.txt")
+        def summary = new ComparisonSummary(":lib", Diff.ofDifferentFiles("", 0, 1, 3), Diff.ofEqualFiles(), Diff.ofDifferentFiles("", 2, 0, 1))
+
+        when:
+        summary.writeFor(result)
+
+        then:
+        ComparisonSummary.summaryFileOf(result) == new File(tmp.root, "publications-comparison-summary.properties")
+        ComparisonSummary.of(result).describe() == ":lib - sources jar: 1 removed, 3 modified files, binary jar: 3 changed entries"
+    }
+
+    def "describes project without changes"() {
+        expect:
+        new ComparisonSummary(":lib", Diff.ofEqualFiles(), Diff.ofEqualFiles(), null).describe() == ":lib - no changes"
+        ComparisonSummary.of(new File(tmp.root, "missing.txt")) == null
+    }
+}
@@ -0,0 +1,53 @@
+package org.shipkit.internal.comparison
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import testutil.ZipMaker
+
+class ContentManifestTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "survives serialization"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        def manifest = ContentManifest.of(zip.newZip("a.txt", "a", "META-INF/dependency-info.md", "deps"))
+
+        when:
+        def copy = ContentManifest.fromJson(manifest.toJson())
+
+        then:
+        copy.toJson() == manifest.toJson()
+        copy.dependencyInfo == "deps"
+        ContentManifest.compare(manifest, copy).areFilesEqual()
+    }
+
+    def "reports the same differences as zip comparison"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        File zip1 = zip.newZip("1.txt", "1", "2.txt", "2", "3.txt", "3", "META-INF/dependency-info.md", "a")
+        File zip2 = zip.newZip("2.txt", "changed", "3.txt", "3", "4.txt", "4", "META-INF/dependency-info.md", "b")
+
+        when:
+        def diff = ContentManifest.compare(ContentManifest.of(zip1), ContentManifest.of(zip2))
+
+        then:
+        !diff.areFilesEqual()
+        diff.diffOutput == new ZipComparator().areEqual(zip1, zip2).diffOutput
+    }
+
+    def "no dependency info"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+
+        expect:
+        ContentManifest.of(zip.newZip("a.txt", "a")).dependencyInfo == null
+    }
+
+    def "rejects unknown format version"() {
+        when:
+        ContentManifest.fromJson('{"version": 2, "entries": []}')
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == "Unsupported content manifest version: 2"
+    }
+}
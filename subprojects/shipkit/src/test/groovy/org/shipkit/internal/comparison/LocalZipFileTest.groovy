@@ -0,0 +1,123 @@
+package org.shipkit.internal.comparison
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.channels.ClosedChannelException
+import java.util.zip.CRC32
+import java.util.zip.Deflater
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
+
+class LocalZipFileTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "reads the same entries and content as ZipFile"() {
+        def f = zip(Deflater.DEFAULT_COMPRESSION, ["a.txt": "a" * 10000, "dir/": null, "dir/b.txt": "b", "stored.txt": "stored content"])
+
+        when:
+        def local = LocalZipFile.open(f)
+        def zipFile = new ZipFile(f)
+
+        then:
+        local.entryNames as List == zipFile.entries().collect { it.name }
+        zipFile.entries().toList().each { ZipEntry e ->
+            def entry = local.getEntry(e.name)
+            assert entry.size == e.size
+            assert entry.crc == e.crc
+            assert local.getInputStream(entry).bytes == zipFile.getInputStream(e).bytes
+        }
+
+        cleanup:
+        local?.close()
+        zipFile?.close()
+    }
+
+    def "reads central directory that does not fit in the end of the archive"() {
+        def entries = (1..2000).collectEntries { ["some/long/package/name/of/the/entry/Entry${it}.txt", "content ${it}"] }
+        def f = zip(Deflater.DEFAULT_COMPRESSION, entries)
+
+        when:
+        def local = LocalZipFile.open(f)
+
+        then:
+        local.entryNames.size() == 2000
+        local.getInputStream(local.getEntry("some/long/package/name/of/the/entry/Entry1.txt")).text == "content 1"
+        local.getInputStream(local.getEntry("some/long/package/name/of/the/entry/Entry2000.txt")).text == "content 2000"
+
+        cleanup:
+        local?.close()
+    }
+
+    def "releases the file when closed"() {
+        def f = zip(Deflater.DEFAULT_COMPRESSION, ["a.txt": "a"])
+        def local = LocalZipFile.open(f)
+        def entry = local.getEntry("a.txt")
+
+        when:
+        local.close()
+        local.getInputStream(entry)
+
+        then:
+        thrown(ClosedChannelException)
+        f.delete()
+    }
+
+    def "compares content of stored and deflated entries"() {
+        def content = (1..1000).collect { "line ${it}" }.join("\n")
+        def fast = LocalZipFile.open(zip(Deflater.BEST_SPEED, ["x.txt": content, "stored.txt": "same"]))
+        def best = LocalZipFile.open(zip(Deflater.BEST_COMPRESSION, ["x.txt": content, "stored.txt": "same"]))
+        def changed = LocalZipFile.open(zip(Deflater.BEST_SPEED, ["x.txt": content + "!", "stored.txt": "diff"]))
+
+        expect:
+        equal(fast, best, "x.txt")
+        equal(fast, best, "stored.txt")
+        !equal(fast, changed, "x.txt")
+        !equal(fast, changed, "stored.txt")
+
+        cleanup:
+        [fast, best, changed]*.close()
+    }
+
+    def "fails when file is not a zip"() {
+        def f = tmp.newFile("foo.zip")
+        f.text = "not a zip"
+
+        when:
+        LocalZipFile.open(f)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message.contains("foo.zip")
+    }
+
+    private static boolean equal(LocalZipFile a, LocalZipFile b, String name) {
+        LocalZipFile.contentEquals(a, a.getEntry(name), b, b.getEntry(name))
+    }
+
+    //entries named 'stored*' are not compressed, null content means directory
+    private File zip(int level, Map<String, String> entries) {
+        def f = tmp.newFile()
+        new ZipOutputStream(new FileOutputStream(f)).withStream { out ->
+            out.level = level
+            entries.each { name, content ->
+                def entry = new ZipEntry(name)
+                byte[] bytes = (content ?: "").bytes
+                if (name.startsWith("stored")) {
+                    def crc = new CRC32()
+                    crc.update(bytes)
+                    entry.method = ZipEntry.STORED
+                    entry.size = bytes.length
+                    entry.crc = crc.value
+                }
+                out.putNextEntry(entry)
+                out.write(bytes)
+                out.closeEntry()
+            }
+        }
+        f
+    }
+}
@@ -0,0 +1,172 @@
+package org.shipkit.internal.comparison
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
+
+class RemoteZipFileTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    HttpServer server
+    Map<String, File> files = [:]
+    boolean supportsRanges = true
+    List<String> requestedRanges = Collections.synchronizedList([])
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+        server.createContext("/") { HttpExchange exchange -> serve(exchange) }
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    def "reads only the central directory to compare size and CRC of entries"() {
+        def previous = jar("previous.jar", 400, 5000)
+        def current = jar("current.jar", 400, 5000)
+
+        when:
+        def remote = RemoteZipFile.open(url(previous))
+        def diff = new ZipComparator().areEqual(remote, current)
+
+        then:
+        diff.areFilesEqual()
+        remote.length == previous.length()
+        remote.bytesDownloaded < previous.length() / 10
+        requestedRanges == ["bytes=-" + (22 + 0xFFFF)]
+    }
+
+    def "reads the same entries and content as ZipFile"() {
+        def f = jar("previous.jar", 20, 100)
+
+        when:
+        def remote = RemoteZipFile.open(url(f))
+        def zipFile = new ZipFile(f)
+
+        then:
+        remote.entryNames as List == zipFile.entries().collect { it.name }
+        zipFile.entries().toList().each { ZipEntry e ->
+            assert remote.getInputStream(remote.getEntry(e.name)).bytes == zipFile.getInputStream(e).bytes
+        }
+        remote.readEntryContent("dir/file-3.txt") == zipFile.getInputStream(zipFile.getEntry("dir/file-3.txt")).text
+        remote.readEntryContent("missing.txt") == null
+
+        cleanup:
+        zipFile?.close()
+    }
+
+    def "downloads content of entries only when it needs to be compared"() {
+        def previous = jar("previous.jar", 50, 5000)
+        def current = jar("current.jar", 50, 5000, ["dir/file-7.txt"])
+
+        when:
+        def remote = RemoteZipFile.open(url(previous))
+        def diff = new ZipComparator(true, 1).areEqual(remote, current)
+
+        then:
+        !diff.areFilesEqual()
+        diff.diffOutput.contains("dir/file-7.txt")
+        //changed entry differs in CRC, only entries with matching CRC are downloaded
+        requestedRanges.size() == 1 + 49
+    }
+
+    def "downloads the rest of central directory that does not fit in the end of the archive"() {
+        def f = jar("previous.jar", 3000, 1)
+
+        when:
+        def remote = RemoteZipFile.open(url(f))
+
+        then:
+        requestedRanges.size() == 2
+        remote.entryNames.size() == 3000
+        new ZipComparator().areEqual(remote, f).areFilesEqual()
+    }
+
+    def "reads the whole archive when server does not support ranges"() {
+        supportsRanges = false
+        def previous = jar("previous.jar", 20, 100)
+
+        when:
+        def remote = RemoteZipFile.open(url(previous))
+        def diff = new ZipComparator(true, 1).areEqual(remote, previous)
+
+        then:
+        diff.areFilesEqual()
+        remote.bytesDownloaded == previous.length()
+        requestedRanges.size() == 1
+
+        when:
+        File copy = remote.wholeArchive.file
+        def copyExisted = copy.file
+        remote.close()
+
+        then:
+        copyExisted
+        !copy.exists()
+    }
+
+    def "fails when archive is not found"() {
+        when:
+        RemoteZipFile.open("http://localhost:${server.address.port}/missing.jar")
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message.contains("missing.jar")
+    }
+
+    private String url(File f) {
+        files[f.name] = f
+        "http://localhost:${server.address.port}/${f.name}"
+    }
+
+    //entries have predictable content, so that jars with the same parameters are equal
+    private File jar(String name, int entries, int entrySize, List<String> changed = []) {
+        def f = new File(tmp.root, name)
+        new ZipOutputStream(new FileOutputStream(f)).withStream { out ->
+            def random = new Random(100)
+            entries.times { i ->
+                def entryName = "dir/file-${i}.txt".toString()
+                byte[] bytes = new byte[entrySize]
+                entrySize.times { bytes[it] = (byte) ('a' as char) + random.nextInt(26) }
+                if (entryName in changed) {
+                    bytes[0]++
+                }
+                out.putNextEntry(new ZipEntry(entryName))
+                out.write(bytes)
+                out.closeEntry()
+            }
+        }
+        f
+    }
+
+    private void serve(HttpExchange exchange) {
+        def file = files[exchange.requestURI.path.substring(1)]
+        if (file == null) {
+            exchange.sendResponseHeaders(404, -1)
+            exchange.close()
+            return
+        }
+        byte[] content = file.bytes
+        String range = exchange.requestHeaders.getFirst("Range")
+        requestedRanges << range
+        if (!supportsRanges || range == null) {
+            exchange.sendResponseHeaders(200, content.length)
+            exchange.responseBody.withStream { it.write(content) }
+            return
+        }
+        def (String from, String to) = range.substring("bytes=".length()).split("-", -1)
+        int start = from.empty ? Math.max(0, content.length - (to as int)) : from as int
+        int end = from.empty || to.empty ? content.length - 1 : Math.min(content.length - 1, to as int)
+        exchange.responseHeaders.add("Content-Range", "bytes ${start}-${end}/${content.length}")
+        exchange.sendResponseHeaders(206, end - start + 1)
+        exchange.responseBody.withStream { it.write(content, start, end - start + 1) }
+    }
+}
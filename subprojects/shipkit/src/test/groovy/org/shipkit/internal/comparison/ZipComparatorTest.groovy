@@ -67,6 +67,80 @@ class ZipComparatorTest extends Specification {
         1 * directoryDiffGenerator.generateDiffOutput(["6.txt"], ["1.txt", "5.txt"], ["2.txt"])
     }
 
+    def "detects changed content with the same size, in both modes"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        File zip1 = zip.newZip("1.txt", "abc")
+        File zip2 = zip.newZip("1.txt", "abd")
+
+        expect:
+        !new ZipComparator(strict).areEqual(zip1, zip2).areFilesEqual()
+
+        where:
+        strict << [false, true]
+    }
+
+    def "strict mode compares content of entries with matching size and crc"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        File zip1 = zip.newZip("1.txt", "1", "2.txt", "2")
+        File zip2 = zip.newZip("1.txt", "1", "2.txt", "2")
+
+        expect:
+        new ZipComparator(true).areEqual(zip1, zip2).areFilesEqual()
+        new ZipComparator(false).areEqual(zip1, zip2).areFilesEqual()
+    }
+
+    def "compares content in parallel with the same result as sequentially"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        def previous = (1..200).collectMany { ["${it}.txt".toString(), "content ${it}".toString()] }
+        def current = (1..210).collectMany { ["${it}.txt".toString(), (it % 7 == 0 ? "changed ${it}" : "content ${it}").toString()] }
+        File zip1 = zip.newZip(previous as String[])
+        File zip2 = zip.newZip(current as String[])
+
+        when:
+        def sequential = new ZipComparator(true, 1).areEqual(zip1, zip2)
+        def parallel = new ZipComparator(true, 4).areEqual(zip1, zip2)
+
+        then:
+        !parallel.areFilesEqual()
+        parallel.diffOutput == sequential.diffOutput
+        parallel.diffOutput.contains("+- 7.txt\n    +- 14.txt\n")
+        parallel.diffOutput.contains("++ 201.txt\n")
+    }
+
+    def "describes changed text entries with limited diff"() {
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        def longText = (1..100).collect { "line ${it}" }.join("\n")
+        File zip1 = zip.newZip("a.txt", "a\nb\nc", "long.txt", longText, "b.bin", "a\u0000b", "same.txt", "x")
+        File zip2 = zip.newZip("a.txt", "a\nB\nc", "long.txt", longText.replaceAll("line", "LINE"), "b.bin", "a\u0000c", "same.txt", "x")
+
+        when:
+        def diff = new ZipComparator(false, 1, 5).areEqual(zip1, zip2)
+
+        then:
+        diff.diffOutput == """    Modified files:
+    +- a.txt
+    +- long.txt
+    +- b.bin
+
+    Changes in a.txt:
+    @@ -1,3 +1,3 @@
+     a
+    -b
+    +B
+     c
+
+    Changes in long.txt:
+    @@ -1,100 +1,100 @@
+    -line 1
+    -line 2
+    -line 3
+    -line 4
+    ... (diff truncated after 5 lines)
+
+"""
+        new ZipComparator(false, 4, 5).areEqual(zip1, zip2).diffOutput == diff.diffOutput
+    }
+
     private static boolean eq(File z1, File z2) {
         new ZipComparator().areEqual(z1, z2).areFilesEqual() &&
                 new ZipComparator().areEqual(z2, z1).areFilesEqual()
@@ -0,0 +1,190 @@
+package org.shipkit.internal.comparison.artifact
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.util.HashUtil
+import spock.lang.Specification
+
+class ArtifactDownloadCacheTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    HttpServer server
+    Map<String, String> content = [:]
+    Map<String, String> etags = [:]
+    List<String> requests = Collections.synchronizedList([])
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+        server.createContext("/") { HttpExchange exchange -> serve(exchange) }
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    def "uses cached artifact without downloading it again"() {
+        content["/a.jar"] = "jar content"
+        content["/a.jar.sha1"] = HashUtil.sha1("jar content") + "  a.jar"
+        def cache = new ArtifactDownloadCache(tmp.newFolder(), 1000)
+        def first = new File(tmp.root, "first/a.jar")
+        def second = new File(tmp.root, "second/a.jar")
+
+        when:
+        def cached1 = cache.download(url("/a.jar"), first).fromCache
+        def cached2 = cache.download(url("/a.jar"), second).fromCache
+
+        then:
+        !cached1
+        cached2
+        first.text == "jar content"
+        second.text == "jar content"
+        requests == ["/a.jar", "/a.jar.sha1"]
+    }
+
+    def "verifies md5 checksum when sha1 is not published"() {
+        content["/a.jar"] = "jar content"
+        content["/a.jar.md5"] = HashUtil.hex(HashUtil.digest("MD5").digest("jar content".bytes))
+        def cache = new ArtifactDownloadCache(tmp.newFolder(), 1000)
+
+        when:
+        cache.download(url("/a.jar"), new File(tmp.root, "a.jar"))
+
+        then:
+        cache.download(url("/a.jar"), new File(tmp.root, "b.jar")).fromCache
+        requests == ["/a.jar", "/a.jar.sha1", "/a.jar.md5"]
+    }
+
+    def "fails when content does not match published checksum"() {
+        content["/a.jar"] = "damaged content"
+        content["/a.jar.sha1"] = HashUtil.sha1("jar content")
+        def cache = new ArtifactDownloadCache(tmp.newFolder(), 1000)
+        def file = new File(tmp.root, "a.jar")
+
+        when:
+        cache.download(url("/a.jar"), file)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.cause.message.contains("does not match published checksum")
+        !file.exists()
+
+        when:
+        requests.clear()
+        content["/a.jar"] = "jar content"
+        cache.download(url("/a.jar"), file)
+
+        then:
+        file.text == "jar content"
+        requests == ["/a.jar", "/a.jar.sha1"]
+    }
+
+    def "revalidates artifact with ETag when checksum is not published"() {
+        content["/a.jar"] = "jar content"
+        etags["/a.jar"] = '"v1"'
+        def cache = new ArtifactDownloadCache(tmp.newFolder(), 1000)
+
+        when:
+        cache.download(url("/a.jar"), new File(tmp.root, "a.jar"))
+        requests.clear()
+        def cached = cache.download(url("/a.jar"), new File(tmp.root, "b.jar")).fromCache
+
+        then:
+        cached
+        requests == ["/a.jar"]
+        new File(tmp.root, "b.jar").text == "jar content"
+
+        when:
+        content["/a.jar"] = "new content"
+        etags["/a.jar"] = '"v2"'
+        cached = cache.download(url("/a.jar"), new File(tmp.root, "c.jar")).fromCache
+
+        then:
+        !cached
+        new File(tmp.root, "c.jar").text == "new content"
+    }
+
+    def "does not cache unverified artifacts"() {
+        content["/a.jar"] = "jar content"
+        def cache = new ArtifactDownloadCache(tmp.newFolder(), 1000)
+
+        when:
+        cache.download(url("/a.jar"), new File(tmp.root, "a.jar"))
+        def cached = cache.download(url("/a.jar"), new File(tmp.root, "b.jar")).fromCache
+
+        then:
+        !cached
+        new File(tmp.root, "b.jar").text == "jar content"
+    }
+
+    def "removes least recently used artifacts when the cache is full"() {
+        ["a", "b", "c"].each {
+            content["/${it}.jar".toString()] = it * 40
+            content["/${it}.jar.sha1".toString()] = HashUtil.sha1(it * 40)
+        }
+        def dir = tmp.newFolder()
+        def cache = new ArtifactDownloadCache(dir, 100)
+        def target = new File(tmp.root, "x.jar")
+
+        when:
+        cache.download(url("/a.jar"), target)
+        cache.download(url("/b.jar"), target)
+        //makes 'a' more recently used than 'b'
+        new File(dir, "index").listFiles()*.setLastModified(System.currentTimeMillis() - 10000)
+        cache.download(url("/a.jar"), target)
+        cache.download(url("/c.jar"), target)
+
+        then:
+        new File(dir, "files").list().toList().sort() == [HashUtil.sha1("a" * 40), HashUtil.sha1("c" * 40)].sort()
+        cache.download(url("/a.jar"), target).fromCache
+        !cache.download(url("/b.jar"), target).fromCache
+    }
+
+    def "removes abandoned partial downloads"() {
+        content["/a.jar"] = "jar content"
+        content["/a.jar.sha1"] = HashUtil.sha1("jar content")
+        def dir = tmp.newFolder()
+        def files = new File(dir, "files")
+        files.mkdirs()
+        def abandoned = new File(files, "abandoned.download.part") << "abc"
+        abandoned.lastModified = System.currentTimeMillis() - ArtifactDownloadCache.ABANDONED_DOWNLOAD_AGE_MILLIS - 1000
+        def resumable = new File(files, "resumable.download.part") << "abc"
+
+        when:
+        new ArtifactDownloadCache(dir, 1000).download(url("/a.jar"), new File(tmp.root, "a.jar"))
+
+        then:
+        !abandoned.exists()
+        resumable.exists()
+    }
+
+    private String url(String path) {
+        "http://localhost:${server.address.port}${path}"
+    }
+
+    private void serve(HttpExchange exchange) {
+        def path = exchange.requestURI.path
+        requests << path
+        def body = content[path]
+        if (body == null) {
+            exchange.sendResponseHeaders(404, -1)
+            exchange.close()
+            return
+        }
+        def etag = etags[path]
+        if (etag != null) {
+            if (exchange.requestHeaders.getFirst("If-None-Match") == etag) {
+                exchange.sendResponseHeaders(304, -1)
+                exchange.close()
+                return
+            }
+            exchange.responseHeaders.add("ETag", etag)
+        }
+        byte[] bytes = body.bytes
+        exchange.sendResponseHeaders(200, bytes.length)
+        exchange.responseBody.withStream { it.write(bytes) }
+    }
+}
@@ -0,0 +1,123 @@
+package org.shipkit.internal.comparison.artifact
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class ArtifactDownloaderTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    HttpServer server
+    byte[] content = ("0123456789" * 1000).bytes
+    boolean supportsRanges = true
+    int failuresAfterHalf = 0
+    List<String> ranges = Collections.synchronizedList([])
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+        server.createContext("/") { HttpExchange exchange -> serve(exchange) }
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    def "downloads artifact and reports transferred bytes"() {
+        def file = new File(tmp.root, "dir/a.jar")
+
+        when:
+        def result = new ArtifactDownloader().download(url("/a.jar"), file)
+
+        then:
+        file.bytes == content
+        result.bytes == content.length
+        result.resumedFrom == 0
+        !result.fromCache
+        result.describe().startsWith(url("/a.jar") + " - 10000 bytes in ")
+        !new File(tmp.root, "dir/a.jar.part").exists()
+    }
+
+    def "resumes partial download left by previous build"() {
+        def file = new File(tmp.root, "a.jar")
+        new File(tmp.root, "a.jar.part").bytes = content[0..<4000] as byte[]
+
+        when:
+        def result = new ArtifactDownloader().download(url("/a.jar"), file)
+
+        then:
+        file.bytes == content
+        result.bytes == 6000
+        result.resumedFrom == 4000
+        ranges == ["bytes=4000-"]
+    }
+
+    def "resumes interrupted transfer immediately"() {
+        failuresAfterHalf = 1
+        def file = new File(tmp.root, "a.jar")
+
+        when:
+        def result = new ArtifactDownloader(1000, 1000).download(url("/a.jar"), file)
+
+        then:
+        file.bytes == content
+        ranges == [null, "bytes=5000-"]
+        result.resumedFrom == 5000
+    }
+
+    def "downloads from scratch when server does not support ranges"() {
+        supportsRanges = false
+        def file = new File(tmp.root, "a.jar")
+        new File(tmp.root, "a.jar.part").text = "stale"
+
+        when:
+        def result = new ArtifactDownloader().download(url("/a.jar"), file)
+
+        then:
+        file.bytes == content
+        result.resumedFrom == 0
+    }
+
+    def "fails when artifact is not found"() {
+        def file = new File(tmp.root, "a.jar")
+
+        when:
+        new ArtifactDownloader().download(url("/missing.jar"), file)
+
+        then:
+        def e = thrown(IOException)
+        e.message.contains("404")
+        !file.exists()
+    }
+
+    private String url(String path) {
+        "http://localhost:${server.address.port}${path}"
+    }
+
+    private void serve(HttpExchange exchange) {
+        if (exchange.requestURI.path != "/a.jar") {
+            exchange.sendResponseHeaders(404, -1)
+            exchange.close()
+            return
+        }
+        String range = exchange.requestHeaders.getFirst("Range")
+        ranges << range
+        int start = supportsRanges && range ? range.substring("bytes=".length(), range.length() - 1) as int : 0
+        if (start > 0) {
+            exchange.responseHeaders.add("Content-Range", "bytes ${start}-${content.length - 1}/${content.length}")
+        }
+        exchange.sendResponseHeaders(start > 0 ? 206 : 200, content.length - start)
+        if (failuresAfterHalf > 0) {
+            failuresAfterHalf--
+            //connection is closed before the declared content length is sent
+            exchange.responseBody.write(content, start, (content.length - start).intdiv(2))
+            exchange.responseBody.flush()
+            exchange.close()
+            return
+        }
+        exchange.responseBody.withStream { it.write(content, start, content.length - start) }
+    }
+}
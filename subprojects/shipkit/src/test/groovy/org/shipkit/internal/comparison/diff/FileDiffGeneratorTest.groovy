@@ -47,4 +47,32 @@ ff
         then:
         result == ""
     }
+
+    def "handles added lines with context"() {
+        when:
+        def result = new FileDiffGenerator().generateDiff("aa\nbb\ncc\ndd", "aa\nbb\nxx\ncc\ndd", 1)
+
+        then:
+        result ==
+"""    @@ -2,2 +2,3 @@
+     bb
+    +xx
+     cc"""
+    }
+
+    def "cuts long diff"() {
+        def previous = (1..1000).collect { "line " + it }
+        def current = previous.collect { it.contains("0") ? it : it.toUpperCase() }
+
+        when:
+        def result = new FileDiffGenerator().generateDiff(previous.join("\n"), current.join("\n"), 0, 4)
+
+        then:
+        result ==
+"""    @@ -1,9 +1,9 @@
+    -line 1
+    -line 2
+    -line 3
+    ... (diff truncated after 4 lines)"""
+    }
 }
@@ -63,6 +63,17 @@ class DefaultProcessRunnerTest extends Specification {
         log.lifecycle("ls [SECRET] xx [SECRET] yy")
     }
 
+    def "logs command line at info level when quiet"() {
+        def log = Mock(Logger)
+
+        when:
+        new DefaultProcessRunner(tmp.root).setQuiet(true).run(log, ["ls"])
+
+        then:
+        1 * log.info({ it.contains("Executing") })
+        0 * log.lifecycle(_)
+    }
+
     def "ignores null secrets"() {
         when:
         new DefaultProcessRunner(tmp.root).setSecretValue(null).run("ls")
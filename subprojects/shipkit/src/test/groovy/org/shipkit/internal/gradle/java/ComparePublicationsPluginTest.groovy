@@ -4,6 +4,7 @@ import com.jfrog.bintray.gradle.BintrayExtension
 import org.gradle.testfixtures.ProjectBuilder
 import org.shipkit.gradle.configuration.ShipkitConfiguration
 import org.shipkit.gradle.java.ComparePublicationsTask
+import org.shipkit.gradle.java.CreateContentManifestTask
 import org.shipkit.gradle.java.DownloadPreviousPublicationsTask
 import org.shipkit.internal.gradle.bintray.ShipkitBintrayPlugin
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin
@@ -76,6 +77,80 @@ class ComparePublicationsPluginTest extends PluginSpecification {
 
         downloadTask.previousSourcesJarFile == expectedSourcesJar
         comparisonTask.previousSourcesJar == expectedSourcesJar
+
+        def expectedManifest = new File(basePath + "-sources-manifest.json")
+        downloadTask.previousManifestFile == expectedManifest
+        comparisonTask.previousManifest == expectedManifest
+
+        downloadTask.downloadCacheDir == new File(child.gradle.gradleUserHomeDir, "caches/shipkit/downloads")
+    }
+
+    def "comparison reads previous sources jar remotely when range requests are enabled"() {
+        given:
+        project.plugins.apply(ComparePublicationsPlugin)
+        DownloadPreviousPublicationsTask downloadTask = project.tasks[ComparePublicationsPlugin.DOWNLOAD_PUBLICATIONS_TASK]
+        downloadTask.previousSourcesJarUrl = "http://localhost/previous-sources.jar"
+        downloadTask.rangeRequests = rangeRequests
+
+        when:
+        project.evaluate()
+
+        then:
+        ComparePublicationsTask comparisonTask = project.tasks[ComparePublicationsPlugin.COMPARE_PUBLICATIONS_TASK]
+        comparisonTask.previousSourcesJarUrl == expectedUrl
+
+        where:
+        rangeRequests | expectedUrl
+        true          | "http://localhost/previous-sources.jar"
+        false         | null
+    }
+
+    def "downloads and compares previous binary jar when binary comparison is enabled"() {
+        given:
+        conf.previousReleaseVersion = "1.0.0"
+        project.plugins.apply(ComparePublicationsPlugin)
+        DownloadPreviousPublicationsTask downloadTask = project.tasks[ComparePublicationsPlugin.DOWNLOAD_PUBLICATIONS_TASK]
+        downloadTask.previousJarUrl = "http://localhost/previous.jar"
+        ComparePublicationsTask comparisonTask = project.tasks[ComparePublicationsPlugin.COMPARE_PUBLICATIONS_TASK]
+        comparisonTask.binaryComparison = binaryComparison
+
+        when:
+        project.evaluate()
+
+        then:
+        def expectedJar = new File(project.buildDir, "previous-release-artifacts/${project.name}-1.0.0.jar")
+        comparisonTask.previousJar == expectedJar
+        (downloadTask.previousJarFile == expectedJar) == binaryComparison
+        (comparisonTask.jar == project.tasks.jar) == binaryComparison
+
+        where:
+        binaryComparison << [true, false]
+    }
+
+    def "configuring comparison does not create the download task"() {
+        given:
+        project.plugins.apply(ComparePublicationsPlugin)
+        project.tasks[ComparePublicationsPlugin.COMPARE_PUBLICATIONS_TASK]
+
+        when:
+        project.evaluate()
+
+        then:
+        !project.tasks.names.contains(ComparePublicationsPlugin.DOWNLOAD_PUBLICATIONS_TASK)
+    }
+
+    def "publishes content manifest of sources jar"() {
+        when:
+        project.plugins.apply(ComparePublicationsPlugin)
+        project.version = "1.5.0"
+        project.evaluate()
+
+        then:
+        CreateContentManifestTask task = project.tasks.createSourcesManifest
+        task.archive == project.tasks.sourcesJar.archivePath
+        task.outputFile == new File(project.buildDir, "libs/${project.name}-1.5.0-sources-manifest.json")
+        def publication = project.publishing.publications.getByName(JavaPublishPlugin.PUBLICATION_NAME)
+        publication.artifacts.find { it.classifier == "sources-manifest" }.file == task.outputFile
     }
 
     def "failures to download artifact are ignored"() {
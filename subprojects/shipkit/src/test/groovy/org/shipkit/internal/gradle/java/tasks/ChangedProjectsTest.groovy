@@ -0,0 +1,54 @@
+package org.shipkit.internal.gradle.java.tasks
+
+import org.gradle.api.GradleException
+import org.shipkit.internal.exec.ProcessRunner
+import spock.lang.Specification
+
+class ChangedProjectsTest extends Specification {
+
+    def runner = Mock(ProcessRunner)
+    def root = new File("root").absoluteFile
+    def api = new File(root, "api")
+    def core = new File(root, "core")
+    def coreTest = new File(root, "core/test")
+    def changedProjects = new ChangedProjects(root, [api, core, coreTest], runner)
+
+    def "identifies changed projects"() {
+        runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> "core/src/Foo.java\ncore/test/src/FooTest.java\n"
+
+        expect:
+        changedProjects.isChanged(core, "v1.0.0")
+        changedProjects.isChanged(coreTest, "v1.0.0")
+        !changedProjects.isChanged(api, "v1.0.0")
+    }
+
+    def "changes of files outside of subprojects change all projects"() {
+        runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> "core/src/Foo.java\ngradle/dependencies.gradle\n"
+
+        expect:
+        changedProjects.isChanged(api, "v1.0.0")
+    }
+
+    def "project directory prefix is not enough to own the file"() {
+        runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> "api-docs/README.md\n"
+
+        expect:
+        changedProjects.isChanged(api, "v1.0.0") // api-docs belongs to root project
+    }
+
+    def "runs git diff once per revision"() {
+        when:
+        changedProjects.isChanged(api, "v1.0.0")
+        changedProjects.isChanged(core, "v1.0.0")
+
+        then:
+        1 * runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> ""
+    }
+
+    def "all projects are changed when changes cannot be identified"() {
+        runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> { throw new GradleException("unknown revision") }
+
+        expect:
+        changedProjects.isChanged(api, "v1.0.0")
+    }
+}
@@ -0,0 +1,91 @@
+package org.shipkit.internal.gradle.java.tasks
+
+import org.gradle.api.tasks.bundling.Jar
+import org.gradle.workers.ForkMode
+import org.gradle.workers.WorkerConfiguration
+import org.gradle.workers.WorkerExecutor
+import org.shipkit.gradle.java.ComparePublicationsTask
+import org.shipkit.internal.comparison.ComparisonSummary
+import org.shipkit.internal.exec.ProcessRunner
+import testutil.PluginSpecification
+
+class ComparePublicationsTest extends PluginSpecification {
+
+    def workerExecutor = Mock(WorkerExecutor)
+    def config = Mock(WorkerConfiguration)
+
+    def "submits comparison to worker"() {
+        project.plugins.apply("java")
+        def task = project.tasks.create("comparePublications", ComparePublicationsTask) {
+            comparisonResult = new File("result.txt")
+            previousSourcesJar = new File("previous-sources.jar")
+            strictComparison = true
+            forkMode = ForkMode.ALWAYS
+        }
+        task.compareSourcesJar(project.tasks.jar as Jar)
+
+        when:
+        new ComparePublications().submitComparison(task, workerExecutor)
+
+        then:
+        1 * workerExecutor.submit(ComparePublicationsWork, _) >> { type, action -> action.execute(config) }
+        1 * config.setForkMode(ForkMode.ALWAYS)
+        1 * config.params({ Object[] params ->
+            def p = params[0] as ComparePublicationsParameters
+            p.path == ":comparePublications" && p.comparisonResult == new File("result.txt") &&
+                p.previousSourcesJar == new File("previous-sources.jar") && p.strictComparison &&
+                p.sourcesJarFile == project.tasks.jar.archivePath
+        })
+        1 * config.classpath({ it.size() == 1 })
+    }
+
+    def "runs comparison in the build process by default"() {
+        def task = project.tasks.create("comparePublications", ComparePublicationsTask) {
+            comparisonResult = new File("result.txt")
+        }
+
+        when:
+        new ComparePublications().submitComparison(task, workerExecutor)
+
+        then:
+        1 * workerExecutor.submit(ComparePublicationsWork, _) >> { type, action -> action.execute(config) }
+        1 * config.setForkMode(ForkMode.NEVER)
+        1 * config.classpath({ it.size() == 1 })
+    }
+
+    def "records identical publications without comparing when project did not change"() {
+        def runner = Mock(ProcessRunner)
+        runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> "other/src/Foo.java\n"
+        def other = new File(project.projectDir, "other")
+        project.extensions.add(ChangedProjects.name, new ChangedProjects(project.projectDir, [other], runner))
+        def result = new File(tmp.root, "result.txt")
+        def task = project.tasks.create("comparePublications", ComparePublicationsTask) {
+            comparisonResult = result
+            previousReleaseTag = "v1.0.0"
+        }
+
+        when:
+        new ComparePublications().submitComparison(task, workerExecutor)
+
+        then:
+        0 * workerExecutor._
+        result.text == ""
+        ComparisonSummary.of(result).describe() == ": - no changes"
+    }
+
+    def "whether the project changed since previous release is an input resolved once"() {
+        def runner = Mock(ProcessRunner)
+        project.extensions.add(ChangedProjects.name, new ChangedProjects(project.projectDir, [], runner))
+        def task = project.tasks.create("comparePublications", ComparePublicationsTask) {
+            previousReleaseTag = "v1.0.0"
+        }
+
+        when:
+        def inputs = task.inputs.properties
+        task.unchangedSincePreviousRelease
+
+        then:
+        1 * runner.run("git", "diff", "--name-only", "--relative", "v1.0.0..HEAD") >> "src/Foo.java\n"
+        inputs.unchangedSincePreviousRelease == false
+    }
+}
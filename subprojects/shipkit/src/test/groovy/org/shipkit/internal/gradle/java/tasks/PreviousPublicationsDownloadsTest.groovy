@@ -0,0 +1,176 @@
+package org.shipkit.internal.gradle.java.tasks
+
+import org.gradle.api.execution.TaskExecutionGraph
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.gradle.java.DownloadPreviousPublicationsTask
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class PreviousPublicationsDownloadsTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def project = new ProjectBuilder().build()
+    def scheduled = [] as Set
+    def graph = Stub(TaskExecutionGraph) {
+        hasTask(_) >> { args -> scheduled.contains(args[0]) }
+    }
+    def downloaded = new ConcurrentHashMap<String, String>()
+
+    def "downloads publications of all scheduled tasks concurrently"() {
+        def a = project.tasks.create("a", DownloadPreviousPublicationsTask)
+        def b = project.tasks.create("b", DownloadPreviousPublicationsTask)
+        def c = project.tasks.create("c", DownloadPreviousPublicationsTask)
+        scheduled.addAll([a, b])
+        def bothStarted = new CountDownLatch(2)
+        def downloader = new DownloadPreviousPublications() {
+            StagedPublications downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
+                bothStarted.countDown()
+                //does not complete until the other download starts, which proves downloads run in parallel
+                downloaded[task.path] = bothStarted.await(5, TimeUnit.SECONDS) ? Thread.currentThread().name : "timeout"
+                new StagedPublications(tmp.newFolder())
+            }
+        }
+        def downloads = new PreviousPublicationsDownloads(2, downloader, { true })
+        [a, b, c].each { downloads.register(it) }
+
+        when:
+        downloads.start(graph)
+        downloads.download(a)
+
+        then:
+        downloaded[":a"] != "timeout"
+
+        when:
+        downloads.download(b)
+        downloads.download(c)
+
+        then:
+        downloaded[":b"] != "timeout"
+        downloaded[":a"] != downloaded[":b"]
+        //not scheduled when the downloads started, downloaded on the calling thread
+        downloaded[":c"] == Thread.currentThread().name
+    }
+
+    def "writes outputs only when the task executes"() {
+        def a = project.tasks.create("a", DownloadPreviousPublicationsTask)
+        a.previousSourcesJarFile = new File(tmp.root, "build/previous-sources.jar")
+        a.previousManifestFile = new File(tmp.root, "build/previous-manifest.json")
+        a.previousManifestFile.parentFile.mkdirs()
+        a.previousManifestFile << "stale"
+        scheduled << a
+        def stagingDir = tmp.newFolder()
+        def staged = new CountDownLatch(1)
+        def downloader = new DownloadPreviousPublications() {
+            StagedPublications downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
+                def result = new StagedPublications(stagingDir)
+                result.stage(task.previousSourcesJarFile) << "downloaded"
+                //failed download
+                result.stage(task.previousManifestFile)
+                staged.countDown()
+                result
+            }
+        }
+        def downloads = new PreviousPublicationsDownloads(2, downloader, { true })
+        downloads.register(a)
+
+        when:
+        downloads.start(graph)
+
+        then:
+        staged.await(5, TimeUnit.SECONDS)
+        !a.previousSourcesJarFile.exists()
+        a.previousManifestFile.text == "stale"
+
+        when:
+        downloads.download(a)
+
+        then:
+        a.previousSourcesJarFile.text == "downloaded"
+        //stale output must not be compared
+        !a.previousManifestFile.exists()
+        !stagingDir.exists()
+    }
+
+    def "does not download in the background for tasks that may be up-to-date"() {
+        def a = project.tasks.create("a", DownloadPreviousPublicationsTask)
+        scheduled << a
+        def downloader = new DownloadPreviousPublications() {
+            StagedPublications downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
+                downloaded[task.path] = Thread.currentThread().name
+                new StagedPublications(tmp.newFolder())
+            }
+        }
+        def downloads = new PreviousPublicationsDownloads(2, downloader, { false })
+        downloads.register(a)
+
+        when:
+        downloads.start(graph)
+        downloads.download(a)
+
+        then:
+        downloaded[":a"] == Thread.currentThread().name
+    }
+
+    def "deletes unused downloads when the build finishes"() {
+        def a = project.tasks.create("a", DownloadPreviousPublicationsTask)
+        scheduled << a
+        def stagingDir = tmp.newFolder()
+        def staged = new CountDownLatch(1)
+        def downloader = new DownloadPreviousPublications() {
+            StagedPublications downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
+                def result = new StagedPublications(stagingDir)
+                result.stage(new File(tmp.root, "previous-sources.jar")) << "downloaded"
+                staged.countDown()
+                result
+            }
+        }
+        def downloads = new PreviousPublicationsDownloads(2, downloader, { true })
+        downloads.register(a)
+        downloads.start(graph)
+        staged.await(5, TimeUnit.SECONDS)
+
+        when:
+        //the task did not execute, e.g. it was up-to-date or the build failed
+        downloads.buildFinished()
+
+        then:
+        //the download may still be completing, then it is deleted right away
+        new PollingConditions(timeout: 5).eventually {
+            assert !stagingDir.exists()
+        }
+    }
+
+    def "propagates download failure to the task"() {
+        def a = project.tasks.create("a", DownloadPreviousPublicationsTask)
+        scheduled << a
+        def downloader = Stub(DownloadPreviousPublications) {
+            downloadPreviousPublications(_) >> { throw new RuntimeException("Boom!") }
+        }
+        def downloads = new PreviousPublicationsDownloads(2, downloader, { true })
+        downloads.register(a)
+        downloads.start(graph)
+
+        when:
+        downloads.download(a)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Boom!"
+    }
+
+    def "single instance is shared by the build"() {
+        def root = new ProjectBuilder().build()
+        def child = new ProjectBuilder().withParent(root).build()
+
+        expect:
+        PreviousPublicationsDownloads.of(child).is(PreviousPublicationsDownloads.of(root))
+    }
+
+}
@@ -2,6 +2,7 @@ package org.shipkit.internal.gradle.notes
 
 import org.gradle.api.Task
 import org.shipkit.gradle.git.GitCommitTask
+import org.shipkit.gradle.notes.RenderReleaseNotesTask
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask
 import org.shipkit.internal.gradle.contributors.github.GitHubContributorsPlugin
 import org.shipkit.internal.gradle.git.GitPlugin
@@ -54,4 +55,22 @@ class ReleaseNotesPluginTest extends PluginSpecification {
         updateReleaseNotesTask.contributors == []
         updateReleaseNotesTask.contributorsDataFile == contributorsTask.outputs.files.singleFile
     }
+
+    def "updates release notes with rendered content"() {
+        def plugin = project.plugins.apply(ReleaseNotesPlugin)
+
+        when:
+        plugin.setPublicationRepository("https://bintray.com/org/repo/pkg/")
+
+        then:
+        UpdateReleaseNotesTask update = project.tasks.getByName(ReleaseNotesPlugin.UPDATE_NOTES_TASK)
+        RenderReleaseNotesTask render = project.tasks.getByName(ReleaseNotesPlugin.RENDER_NOTES_TASK)
+        render.publicationRepository == "https://bintray.com/org/repo/pkg/"
+        render.releaseNotesData == update.releaseNotesData
+        render.version == update.version
+        [update, project.tasks.getByName(ReleaseNotesPlugin.UPDATE_NOTES_ON_GITHUB_TASK)].each {
+            assert it.renderedReleaseNotes == render.markdownFile
+            assert it.taskDependencies.getDependencies(it).contains(render)
+        }
+    }
 }
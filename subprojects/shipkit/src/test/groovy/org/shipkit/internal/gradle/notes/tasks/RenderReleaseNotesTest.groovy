@@ -0,0 +1,45 @@
+package org.shipkit.internal.gradle.notes.tasks
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.gradle.notes.RenderReleaseNotesTask
+import org.shipkit.internal.gradle.util.ReleaseNotesSerializer
+import org.shipkit.internal.notes.header.HeaderProvider
+import org.shipkit.internal.notes.internal.DefaultReleaseNotesData
+import org.shipkit.internal.notes.vcs.DefaultContributionSet
+import spock.lang.Specification
+
+class RenderReleaseNotesTest extends Specification {
+
+    @Rule
+    TemporaryFolder tmp = new TemporaryFolder()
+
+    def "renders all formats from the same data"() {
+        def dataFile = tmp.newFile("data.ser")
+        dataFile.text = new ReleaseNotesSerializer().serialize([
+            new DefaultReleaseNotesData("2.0.0", new Date(1483500000000), new DefaultContributionSet(), [], "v1.9.0", "v2.0.0")])
+
+        def task = Stub(RenderReleaseNotesTask) {
+            getReleaseNotesData() >> dataFile
+            getContributors() >> ["szczepiq:Szczepan Faber"]
+            getDevelopers() >> []
+            getGitHubUrl() >> "https://github.com"
+            getGitHubLabelMapping() >> [:]
+            getPublicationRepository() >> "Bintray/"
+            getHeader() >> "header"
+            getFragmentCacheDir() >> null
+            getMarkdownFile() >> new File(tmp.root, "out/notes.md")
+            getHtmlFile() >> new File(tmp.root, "out/notes.html")
+            getJsonFile() >> new File(tmp.root, "out/notes.json")
+        }
+
+        when:
+        new RenderReleaseNotes().renderReleaseNotes(task, new HeaderProvider())
+
+        then:
+        task.markdownFile.text == new UpdateReleaseNotes().generateNewContent(task, new HeaderProvider())
+        task.markdownFile.text.contains("#### 2.0.0")
+        task.htmlFile.text.startsWith("<h4>2.0.0</h4>")
+        task.jsonFile.text.startsWith("[{")
+    }
+}
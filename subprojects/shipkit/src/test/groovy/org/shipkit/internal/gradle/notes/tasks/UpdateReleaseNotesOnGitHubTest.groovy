@@ -1,5 +1,8 @@
 package org.shipkit.internal.gradle.notes.tasks
 
+import org.gradle.workers.ForkMode
+import org.gradle.workers.WorkerConfiguration
+import org.gradle.workers.WorkerExecutor
 import org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubCleanupTask
 import org.shipkit.gradle.notes.UpdateReleaseNotesOnGitHubTask
 import org.shipkit.internal.notes.header.HeaderProvider
@@ -20,31 +23,52 @@ class UpdateReleaseNotesOnGitHubTest extends Specification {
         "  \"html_url\": \"https://github.com/mockito/shipkit-example/releases/v1.0.0\"" +
         "}"
 
-    def "should generate notes and POST release notes to GitHub"() {
+    def "should POST release notes to GitHub"() {
         setup:
         def gitHubApi = Mock(GitHubApi)
+        def update = new UpdateReleaseNotesOnGitHub(gitHubApi, Mock(UpdateReleaseNotes))
+
+        when:
+        update.createRelease("mockito/shipkit-example", "v1.0.0", "text", false)
+
+        then:
+        1 * gitHubApi.post(urlCreateReleaseByTagName, body) >> responseCreateReleaseByTagName
+    }
+
+    def "should create GitHub release in worker"() {
+        setup:
         def updateReleaseNotes = Mock(UpdateReleaseNotes)
+        def workerExecutor = Mock(WorkerExecutor)
+        def config = Mock(WorkerConfiguration)
         def task = Mock(UpdateReleaseNotesOnGitHubTask)
+        task.gitHubApiUrl >> "https://api.github.com"
+        task.gitHubWriteToken >> "secret"
         task.upstreamRepositoryName >> "mockito/shipkit-example"
         task.tagPrefix >> "v"
         task.version >> "1.0.0"
 
         def header = new HeaderProvider()
-        def update = new UpdateReleaseNotesOnGitHub(gitHubApi, updateReleaseNotes)
+        def update = new UpdateReleaseNotesOnGitHub(Mock(GitHubApi), updateReleaseNotes)
 
         when:
-        update.updateReleaseNotes(task, header)
+        update.submitReleaseNotesUpdate(task, header, workerExecutor)
 
         then:
         1 * updateReleaseNotes.generateNewContent(task, header) >> "text"
-        1 * gitHubApi.post(urlCreateReleaseByTagName, body) >> responseCreateReleaseByTagName
+        1 * workerExecutor.submit(UpdateReleaseNotesOnGitHubWork, _) >> { args -> args[1].execute(config) }
+        1 * config.setForkMode(ForkMode.NEVER)
+        1 * config.params({ Object[] params ->
+            params as List == ["https://api.github.com", "secret", "mockito/shipkit-example", "v1.0.0", "text", false]
+        })
+        1 * config.classpath({ it.size() == 1 })
     }
 
     def "should not call GitHub API when preview mode"() {
         setup:
         def gitHubApi = Mock(GitHubApi)
         def updateReleaseNotes = Mock(UpdateReleaseNotes)
-        def task = Mock(UpdateReleaseNotesOnGitHubCleanupTask)
+        def workerExecutor = Mock(WorkerExecutor)
+        def task = Mock(UpdateReleaseNotesOnGitHubTask)
         task.upstreamRepositoryName >> "mockito/shipkit-example"
         task.tagPrefix >> "v"
         task.version >> "1.0.0"
@@ -54,34 +78,24 @@ class UpdateReleaseNotesOnGitHubTest extends Specification {
         def update = new UpdateReleaseNotesOnGitHub(gitHubApi, updateReleaseNotes)
 
         when:
-        update.updateReleaseNotes(task, header)
+        update.submitReleaseNotesUpdate(task, header, workerExecutor)
 
         then:
-        0 * gitHubApi.get(_)
-        0 * gitHubApi.delete(_)
-        0 * gitHubApi.patch(_)
+        1 * updateReleaseNotes.generateNewContent(task, header) >> "text"
+        0 * workerExecutor.submit(*_)
+        0 * gitHubApi._
     }
 
     def "should not edit release notes on GitHub when dry run mode"() {
         setup:
         def gitHubApi = Mock(GitHubApi)
-        def updateReleaseNotes = Mock(UpdateReleaseNotes)
-        def task = Mock(UpdateReleaseNotesOnGitHubCleanupTask)
-        task.upstreamRepositoryName >> "mockito/shipkit-example"
-        task.tagPrefix >> "v"
-        task.version >> "1.0.0"
-        task.dryRun >> true
-
-        def header = new HeaderProvider()
-        def update = new UpdateReleaseNotesOnGitHub(gitHubApi, updateReleaseNotes)
+        def update = new UpdateReleaseNotesOnGitHub(gitHubApi, Mock(UpdateReleaseNotes))
 
         when:
-        update.updateReleaseNotes(task, header)
+        update.createRelease("mockito/shipkit-example", "v1.0.0", "text", true)
 
         then:
-        0 * gitHubApi.get(_)
-        0 * gitHubApi.delete(_)
-        0 * gitHubApi.post(_, _)
+        0 * gitHubApi._
     }
 
     def "should clean up release notes on GitHub"() {
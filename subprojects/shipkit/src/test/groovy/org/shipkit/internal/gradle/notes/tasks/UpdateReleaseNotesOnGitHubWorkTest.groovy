@@ -0,0 +1,31 @@
+package org.shipkit.internal.gradle.notes.tasks
+
+import spock.lang.Specification
+
+class UpdateReleaseNotesOnGitHubWorkTest extends Specification {
+
+    //nothing listens on this port
+    def apiUrl = "https://localhost:1"
+
+    def "does not call GitHub in dry run mode"() {
+        def work = new UpdateReleaseNotesOnGitHubWork(apiUrl, "secret", "mockito/shipkit-example", "v1.0.0", "text", true)
+
+        when:
+        work.run()
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "fails with the release that could not be created"() {
+        def work = new UpdateReleaseNotesOnGitHubWork(apiUrl, "secret", "mockito/shipkit-example", "v1.0.0", "text", false)
+
+        when:
+        work.run()
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Problems creating GitHub release v1.0.0 in mockito/shipkit-example"
+        e.cause instanceof IOException
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask
 import org.shipkit.internal.notes.contributors.DefaultProjectContributorsSet
+import org.shipkit.internal.notes.header.HeaderProvider
 import org.shipkit.internal.notes.model.Contributor
 import spock.lang.Specification
 
@@ -65,7 +66,7 @@ class UpdateReleaseNotesTest extends Specification {
         when:
         task.gitHubUrl >> "https://github.com"
         task.gitHubRepository >> 'mockito/mockito'
-        task.project >> project
+        task.projectDir >> project.projectDir
         task.releaseNotesFile >> project.file("doc/release-notes/official.md")
 
         then:
@@ -76,4 +77,15 @@ class UpdateReleaseNotesTest extends Specification {
         'master'        | 'https://github.com/mockito/mockito/blob/master/doc/release-notes/official.md'
         'release/2.x'   | 'https://github.com/mockito/mockito/blob/release/2.x/doc/release-notes/official.md'
     }
+
+    def "uses already rendered release notes"() {
+        def rendered = tmp.newFile("rendered.md")
+        rendered << "rendered content\n\n"
+        def task = Stub(UpdateReleaseNotesTask) {
+            getRenderedReleaseNotes() >> rendered
+        }
+
+        expect:
+        update.generateNewContent(task, new HeaderProvider()) == "rendered content\n\n"
+    }
 }
@@ -1,6 +1,7 @@
 package org.shipkit.internal.gradle.release
 
 import org.shipkit.gradle.exec.ShipkitExecTask
+import org.shipkit.gradle.notes.AbstractReleaseNotesTask
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask
 import org.shipkit.internal.gradle.notes.ReleaseNotesPlugin
 import testutil.PluginSpecification
@@ -23,4 +24,21 @@ class GradlePortalReleasePluginTest extends PluginSpecification {
         ShipkitExecTask contrib = project.tasks.getByName(ReleasePlugin.CONTRIBUTOR_TEST_RELEASE_TASK)
         contrib.execCommands*.commandLine.toString() == "[[./gradlew, releaseNeeded, performRelease, releaseCleanUp, -PdryRun, -x, gitPush, -x, updateReleaseNotesOnGitHub, -x, updateReleaseNotesOnGitHubCleanUp, -x, pushJavadoc, -x, publishPlugins]]"
     }
+
+    def "configures all release notes tasks with the same publication repo"() {
+        conf.releaseNotes.publicationRepository = "publicRepo"
+
+        project.plugins.apply(GradlePortalReleasePlugin)
+        project.plugins.apply("com.gradle.plugin-publish")
+
+        when:
+        project.evaluate()
+
+        then:
+        [ReleaseNotesPlugin.UPDATE_NOTES_TASK, ReleaseNotesPlugin.UPDATE_NOTES_ON_GITHUB_TASK,
+         ReleaseNotesPlugin.UPDATE_NOTES_ON_GITHUB_CLEANUP_TASK, ReleaseNotesPlugin.RENDER_NOTES_TASK].each {
+            AbstractReleaseNotesTask task = project.tasks.getByName(it)
+            assert task.publicationRepository == "publicRepo"
+        }
+    }
 }
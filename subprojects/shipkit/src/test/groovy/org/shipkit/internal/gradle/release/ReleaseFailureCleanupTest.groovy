@@ -0,0 +1,105 @@
+package org.shipkit.internal.gradle.release
+
+import org.gradle.BuildResult
+import org.gradle.api.tasks.TaskState
+import org.gradle.testfixtures.ProjectBuilder
+import org.shipkit.internal.exec.ProcessRunner
+import org.shipkit.internal.gradle.git.GitPlugin
+import spock.lang.Specification
+
+class ReleaseFailureCleanupTest extends Specification {
+
+    def project = new ProjectBuilder().build()
+    def runner = Mock(ProcessRunner)
+    def cleanup = new ReleaseFailureCleanup(project, "v1.0.0", false, runner)
+    def failed = new BuildResult(null, new RuntimeException("Boom!"))
+
+    def "removes commit and tag when release fails before push"() {
+        executed(GitPlugin.GIT_COMMIT_TASK, GitPlugin.GIT_TAG_TASK)
+
+        when:
+        cleanup.buildFinished(failed)
+
+        then:
+        1 * runner.run("git", "tag", "-d", "v1.0.0")
+        1 * runner.run("git", "reset", "--soft", "HEAD~")
+        1 * runner.run("git", "stash")
+    }
+
+    def "removes only the steps that were done"() {
+        executed(GitPlugin.GIT_COMMIT_TASK)
+
+        when:
+        cleanup.buildFinished(failed)
+
+        then:
+        0 * runner.run("git", "tag", "-d", "v1.0.0")
+        1 * runner.run("git", "reset", "--soft", "HEAD~")
+        1 * runner.run("git", "stash")
+    }
+
+    def "does not clean up when the release succeeds, was pushed or was already cleaned up"() {
+        executed(*tasks)
+
+        when:
+        cleanup.buildFinished(new BuildResult(null, failure))
+
+        then:
+        0 * runner._
+
+        where:
+        failure                   | tasks
+        null                      | [GitPlugin.GIT_COMMIT_TASK, GitPlugin.GIT_TAG_TASK]
+        new RuntimeException("x") | [GitPlugin.GIT_COMMIT_TASK, GitPlugin.GIT_TAG_TASK, GitPlugin.GIT_PUSH_TASK]
+        new RuntimeException("x") | [GitPlugin.GIT_COMMIT_TASK, GitPlugin.GIT_TAG_TASK, GitPlugin.SOFT_RESET_COMMIT_TASK, GitPlugin.TAG_CLEANUP_TASK]
+        new RuntimeException("x") | []
+    }
+
+    def "does not clean up when the push started and failed"() {
+        executed(GitPlugin.GIT_COMMIT_TASK, GitPlugin.GIT_TAG_TASK)
+        def push = project.tasks.create(GitPlugin.GIT_PUSH_TASK)
+        cleanup.beforeExecute(push)
+        cleanup.afterExecute(push, Stub(TaskState) { getFailure() >> new RuntimeException("tag rejected") })
+
+        when:
+        cleanup.buildFinished(failed)
+
+        then:
+        0 * runner._
+    }
+
+    def "cleans up after push in dry run mode"() {
+        cleanup = new ReleaseFailureCleanup(project, "v1.0.0", true, runner)
+        executed(GitPlugin.GIT_TAG_TASK, GitPlugin.GIT_PUSH_TASK)
+
+        when:
+        cleanup.buildFinished(failed)
+
+        then:
+        1 * runner.run("git", "tag", "-d", "v1.0.0")
+    }
+
+    def "keeps cleaning up when a command fails"() {
+        executed(GitPlugin.GIT_COMMIT_TASK, GitPlugin.GIT_TAG_TASK)
+
+        when:
+        cleanup.buildFinished(failed)
+
+        then:
+        1 * runner.run("git", "tag", "-d", "v1.0.0") >> { throw new RuntimeException("no such tag") }
+        1 * runner.run("git", "reset", "--soft", "HEAD~")
+        1 * runner.run("git", "stash")
+    }
+
+    private void executed(String... taskNames) {
+        def state = Stub(TaskState) {
+            getSkipped() >> false
+            getFailure() >> null
+        }
+        taskNames.each {
+            def task = project.tasks.create(it)
+            cleanup.beforeExecute(task)
+            cleanup.afterExecute(task, state)
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.shipkit.internal.gradle.release.tasks
 
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.comparison.ComparisonSummary
+import org.shipkit.internal.comparison.diff.Diff
 import spock.lang.Specification
 
 class ComparisonResultsTest extends Specification {
@@ -9,24 +11,36 @@ class ComparisonResultsTest extends Specification {
     @Rule TemporaryFolder tmp = new TemporaryFolder()
     File diff
     File empty
+    File report
 
     def setup() {
-        diff = tmp.newFile(); diff << "diff"
-        empty = tmp.newFile()
+        diff = tmp.newFile("diff.txt"); diff << "diff"
+        empty = tmp.newFile("empty.txt")
+        report = new File(tmp.root, "report.txt")
     }
 
     def "describes results"() {
         expect:
-        new ComparisonResults([]).description ==
+        new ComparisonResults([]).getDescription(report) ==
             "\n  Publication comparison was skipped (no comparison result files found).\n"
-        new ComparisonResults([diff, empty]).description ==
-            "\n  Compared 2 publication(s). Changes since previous release:\ndiff"
-        new ComparisonResults([empty]).description ==
+        new ComparisonResults([diff, empty]).getDescription(report) ==
+            "\n  Compared 2 publication(s). Changes since previous release:\n    ${diff.path}\n  Details of the changes: ${report}\n"
+        new ComparisonResults([empty]).getDescription(report) ==
             "\n  Compared 1 publication(s). No changes since previous release!\n"
-        new ComparisonResults([new File("does not exist")]).description ==
+        new ComparisonResults([new File("does not exist")]).getDescription(report) ==
             "\n  Publication comparison was skipped (no comparison result files found).\n"
     }
 
+    def "describes changed projects with their summaries"() {
+        new ComparisonSummary(":api", Diff.ofDifferentFiles("", 1, 0, 2), Diff.ofDifferentFiles("deps"), null).writeFor(diff)
+
+        expect:
+        new ComparisonResults([diff, empty]).getDescription(report) ==
+            "\n  Compared 2 publication(s). Changes since previous release:\n" +
+            "    :api - sources jar: 1 added, 2 modified files, dependencies changed\n" +
+            "  Details of the changes: ${report}\n"
+    }
+
     def "knows if results are identical"() {
         expect:
         !new ComparisonResults([]).areResultsIdentical()
@@ -34,4 +48,25 @@ class ComparisonResultsTest extends Specification {
         new ComparisonResults([empty]).areResultsIdentical()
         !new ComparisonResults([new File("does not exist")]).areResultsIdentical()
     }
+
+    def "stops at the first changed result"() {
+        def notRead = Mock(File)
+
+        when:
+        def identical = new ComparisonResults([empty, diff, notRead]).areResultsIdentical()
+
+        then:
+        !identical
+        0 * notRead._
+    }
+
+    def "writes details of changed results to the report"() {
+        def other = tmp.newFile("other.txt"); other << "other diff"
+
+        when:
+        new ComparisonResults([diff, empty, other]).writeReport(report)
+
+        then:
+        report.text == "diff\n\nother diff\n\n"
+    }
 }
@@ -0,0 +1,71 @@
+package org.shipkit.internal.gradle.release.tasks
+
+import org.gradle.api.execution.TaskExecutionGraph
+import org.gradle.testfixtures.ProjectBuilder
+import org.shipkit.gradle.java.ComparePublicationsTask
+import org.shipkit.gradle.java.DownloadPreviousPublicationsTask
+import org.shipkit.gradle.release.ReleaseNeededTask
+import spock.lang.Specification
+
+class EarlyReleaseNeededCheckTest extends Specification {
+
+    def project = new ProjectBuilder().build()
+    def releaseNeeded = project.tasks.create("releaseNeeded", ReleaseNeededTask)
+    def identifyBranch = project.tasks.create("identifyGitBranch")
+    def compare = project.tasks.create("comparePublications", ComparePublicationsTask)
+    def download = project.tasks.create("downloadPreviousReleaseArtifacts", DownloadPreviousPublicationsTask)
+    def sourcesJar = project.tasks.create("sourcesJar")
+    def dependencyInfo = project.tasks.create("createDependencyInfoFile")
+    def graph = Mock(TaskExecutionGraph)
+
+    def setup() {
+        releaseNeeded.dependsOn(identifyBranch, compare)
+        releaseNeeded.releasableBranchRegex = "master"
+        compare.dependsOn(download, sourcesJar)
+        sourcesJar.dependsOn(dependencyInfo)
+    }
+
+    def "skips comparison when release is not possible"() {
+        graph.allTasks >> [identifyBranch, dependencyInfo, sourcesJar, download, compare, releaseNeeded]
+
+        when:
+        def skipped = new EarlyReleaseNeededCheck().skipComparisonIfReleaseNotPossible(graph, releaseNeeded, "feature")
+
+        then:
+        skipped == [compare, download, sourcesJar, dependencyInfo] as Set
+        !compare.enabled
+        !download.enabled
+        !sourcesJar.enabled
+        !dependencyInfo.enabled
+        releaseNeeded.enabled
+        identifyBranch.enabled
+    }
+
+    def "does not skip tasks needed by other tasks"() {
+        def publish = project.tasks.create("publish")
+        publish.dependsOn(sourcesJar)
+        graph.allTasks >> [identifyBranch, dependencyInfo, sourcesJar, download, compare, releaseNeeded, publish]
+
+        when:
+        def skipped = new EarlyReleaseNeededCheck().skipComparisonIfReleaseNotPossible(graph, releaseNeeded, "feature")
+
+        then:
+        skipped == [compare, download] as Set
+        sourcesJar.enabled
+        dependencyInfo.enabled
+    }
+
+    def "does not skip comparison when release may be needed"() {
+        graph.allTasks >> [identifyBranch, dependencyInfo, sourcesJar, download, compare, releaseNeeded]
+
+        when:
+        def skipped = new EarlyReleaseNeededCheck().skipComparisonIfReleaseNotPossible(graph, releaseNeeded, branch)
+
+        then:
+        skipped.empty
+        compare.enabled
+
+        where:
+        branch << ["master", null]
+    }
+}
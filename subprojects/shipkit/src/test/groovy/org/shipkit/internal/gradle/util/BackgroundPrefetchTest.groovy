@@ -0,0 +1,136 @@
+package org.shipkit.internal.gradle.util
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.execution.TaskExecutionGraph
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.OutputFile
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BackgroundPrefetchTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def project = new ProjectBuilder().build()
+    def scheduled = [] as Set
+    def graph = Stub(TaskExecutionGraph) {
+        hasTask(_) >> { args -> scheduled.contains(args[0]) }
+    }
+    def prefetch = new BackgroundPrefetch(2, false)
+
+    def "starts work of scheduled tasks in the background"() {
+        def a = project.tasks.create("a")
+        def b = project.tasks.create("b")
+        scheduled.addAll([a, b])
+        def bothStarted = new CountDownLatch(2)
+        [a, b].each { t ->
+            prefetch.register(t, {
+                bothStarted.countDown()
+                //does not complete until the other work starts, which proves the work runs in parallel
+                bothStarted.await(5, TimeUnit.SECONDS) ? Thread.currentThread().name : "timeout"
+            })
+        }
+
+        when:
+        prefetch.start(graph)
+        def resultA = prefetch.get(a, { "not prefetched" })
+        def resultB = prefetch.get(b, { "not prefetched" })
+
+        then:
+        resultA != "timeout"
+        resultB != "timeout"
+        resultA != Thread.currentThread().name
+        resultA != resultB
+    }
+
+    def "performs work on the calling thread when not started in the background"() {
+        def a = project.tasks.create("a")
+        def b = project.tasks.create("b")
+        b.enabled = false
+        scheduled << b
+        prefetch.register(a, { "prefetched" })
+        prefetch.register(b, { "prefetched" })
+
+        when:
+        prefetch.start(graph)
+
+        then:
+        //not scheduled
+        prefetch.get(a, { Thread.currentThread().name }) == Thread.currentThread().name
+        //disabled
+        prefetch.get(b, { Thread.currentThread().name }) == Thread.currentThread().name
+        //not registered, prefetch not started
+        new BackgroundPrefetch(2, false).get(a, { "now" }) == "now"
+    }
+
+    def "propagates failure of the background work to the task"() {
+        def a = project.tasks.create("a")
+        scheduled << a
+        prefetch.register(a, { throw new RuntimeException("Boom!") })
+        prefetch.start(graph)
+
+        when:
+        prefetch.get(a, { "not prefetched" })
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Boom!"
+    }
+
+    def "does not prefetch tasks that may be up-to-date or taken from the build cache"() {
+        prefetch = new BackgroundPrefetch(2, buildCacheEnabled)
+        def task = project.tasks.create("a", type)
+        task.outputFile = new File(tmp.root, "output")
+        if (outputExists) {
+            task.outputFile << "previous result"
+        }
+        scheduled << task
+        prefetch.register(task, { Thread.currentThread().name })
+
+        when:
+        prefetch.start(graph)
+
+        then:
+        (prefetch.get(task, { Thread.currentThread().name }) != Thread.currentThread().name) == prefetched
+
+        where:
+        type                | outputExists | buildCacheEnabled | prefetched
+        OutputTask          | false        | true              | true
+        OutputTask          | true         | false             | false
+        CacheableOutputTask | false        | false             | true
+        CacheableOutputTask | false        | true              | false
+    }
+
+    def "runs start actions once"() {
+        def started = []
+        prefetch.onStart({ started << it })
+
+        when:
+        prefetch.start(graph)
+        prefetch.start(graph)
+
+        then:
+        started == [graph]
+    }
+
+    def "single instance is shared by the build"() {
+        def root = new ProjectBuilder().build()
+        def child = new ProjectBuilder().withParent(root).build()
+
+        expect:
+        BackgroundPrefetch.of(child).is(BackgroundPrefetch.of(root))
+    }
+
+    static class OutputTask extends DefaultTask {
+        @OutputFile File outputFile
+    }
+
+    @CacheableTask
+    static class CacheableOutputTask extends OutputTask {
+    }
+}
@@ -0,0 +1,55 @@
+package org.shipkit.internal.gradle.util
+
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class SharedBuildStateTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def state = new SharedBuildState()
+
+    def "single instance is shared by the entire build"() {
+        def root = new ProjectBuilder().build()
+        def child = new ProjectBuilder().withParent(root).build()
+
+        expect:
+        SharedBuildState.of(child).is(SharedBuildState.of(root))
+    }
+
+    def "reads contributors once until the file changes"() {
+        def file = tmp.newFile("all-contributors.json")
+        file << '[{"name":"Szczepan Faber","login":"mockitoguy","profileUrl":"https://github.com/mockitoguy","numberOfContributions":10}]'
+
+        when:
+        def first = state.getContributors(file)
+
+        then:
+        first.toConfigNotation() as List == ["mockitoguy:Szczepan Faber"]
+        state.getContributors(file).is(first)
+
+        when:
+        file.text = '[]'
+        file.setLastModified(file.lastModified() + 2000)
+
+        then:
+        state.getContributors(file).size() == 0
+    }
+
+    def "contributors are empty when file does not exist"() {
+        expect:
+        state.getContributors(new File(tmp.root, "missing.json")).size() == 0
+    }
+
+    def "contributors are read-only"() {
+        def contributors = state.getContributors(new File(tmp.root, "missing.json"))
+
+        when:
+        contributors.addContributor(null)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+}
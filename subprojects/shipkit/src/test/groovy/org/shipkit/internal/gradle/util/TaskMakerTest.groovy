@@ -0,0 +1,104 @@
+package org.shipkit.internal.gradle.util
+
+import org.gradle.api.Project
+import org.gradle.api.tasks.Copy
+import org.gradle.testfixtures.ProjectBuilder
+import org.shipkit.internal.gradle.configuration.DeferredConfiguration
+import spock.lang.Specification
+
+class TaskMakerTest extends Specification {
+
+    Project project = new ProjectBuilder().build()
+
+    def "creates task with defaults"() {
+        when:
+        def task = TaskMaker.task(project, "foo", Copy) { it.description = "foo task" }
+
+        then:
+        task.group == "Shipkit"
+        project.tasks.foo == task
+    }
+
+    def "requires description"() {
+        when:
+        TaskMaker.task(project, "foo", Copy) {}
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "registered task is created and configured only when requested"() {
+        def configured = []
+
+        when:
+        def lazy = TaskMaker.register(project, "foo", Copy) {
+            configured << it
+            it.description = "foo task"
+        }
+        lazy.configure { it.enabled = false }
+
+        then:
+        !lazy.created
+        configured.empty
+        project.tasks.withType(Copy).empty
+
+        when:
+        def task = project.tasks.findByName("foo")
+
+        then:
+        lazy.created
+        configured == [task]
+        lazy.get() == task
+        task.group == "Shipkit"
+        !task.enabled
+    }
+
+    def "configures registered task immediately when it was already created"() {
+        def lazy = TaskMaker.register(project, "foo") { it.description = "foo task" }
+        lazy.get()
+
+        when:
+        lazy.configure { it.enabled = false }
+
+        then:
+        !project.tasks.foo.enabled
+    }
+
+    def "registered task is created when other task depends on it"() {
+        def lazy = TaskMaker.register(project, "foo") { it.description = "foo task" }
+        def bar = project.tasks.create("bar")
+        def baz = project.tasks.create("baz")
+
+        when:
+        bar.dependsOn(lazy)
+        baz.dependsOn("foo")
+
+        then:
+        !lazy.created
+        bar.taskDependencies.getDependencies(bar) == [lazy.get()] as Set
+        baz.taskDependencies.getDependencies(baz) == [lazy.get()] as Set
+    }
+
+    def "deferred configuration of task created after evaluation is executed immediately"() {
+        def lazy = TaskMaker.register(project, "foo") { task ->
+            task.description = "foo task"
+            DeferredConfiguration.deferredConfiguration(project) { task.enabled = false }
+        }
+
+        when:
+        project.evaluate()
+
+        then:
+        !lazy.get().enabled
+    }
+
+    def "registered task not created yet is shown as task rule"() {
+        when:
+        TaskMaker.register(project, "foo") { it.description = "foo task" }
+
+        then:
+        //'gradle tasks' lists the rules
+        project.tasks.rules*.description.contains("Shipkit task 'foo', created when needed")
+        project.tasks.names.empty
+    }
+}
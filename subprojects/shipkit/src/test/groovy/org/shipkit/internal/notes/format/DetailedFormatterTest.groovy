@@ -108,6 +108,48 @@ Release notes:
  - Small tweak [(#108)](http://issues/108)"""
     }
 
+    def "improvements with labels mapped to the same description are grouped together"() {
+        def i = [new DefaultImprovement(100, "Fixed problem", "http://issues/100", ["bugfix"], true),
+                 new DefaultImprovement(101, "New feature",   "http://issues/101", ["enhancement"], true),
+                 new DefaultImprovement(102, "Fixed bug",     "http://issues/102", ["bug"], true),
+                 new DefaultImprovement(103, "Refactoring",   "http://issues/103", [], true)]
+
+        def labelMapping = [bugfix: "Bugfixes", enhancement: "Enhancements", bug: "Bugfixes"]
+
+        expect:
+        DetailedFormatter.formatImprovements(i, labelMapping) == """ - [Bugfixes] Fixed problem [(#100)](http://issues/100)
+ - [Bugfixes] Fixed bug [(#102)](http://issues/102)
+ - [Enhancements] New feature [(#101)](http://issues/101)
+ - Refactoring [(#103)](http://issues/103)"""
+    }
+
+    def "writes the same content to the writer"() {
+        def c = Stub(ContributionSet) {
+            getAllCommits() >> [Stub(Commit)]
+            getAuthorCount() >> 1
+            getContributions() >> [c("Szczepan Faber", 1)]
+        }
+        def improvements = [new DefaultImprovement(100, "Fixed issue", "http://issues/100", ["bug"], true)]
+        def data = [new DefaultReleaseNotesData("2.0.0", new Date(1483500000000), c, improvements, "v1.9.0", "v2.0.0"),
+                    new DefaultReleaseNotesData("1.9.0", new Date(1483100000000), Stub(ContributionSet), [], "v1.8.0", "v1.9.0")]
+        def writer = new StringWriter()
+
+        when:
+        detaliedFormatter.formatReleaseNotes(data, writer)
+
+        then:
+        writer.toString() == detaliedFormatter.formatReleaseNotes(data)
+        writer.toString() == """Info about shipkit
+
+Release notes:
+
+#### 2.0.0
+ - 2017-01-04 - [1 commit](http://commits/v1.9.0...v2.0.0) by Szczepan Faber - published to [![Bintray](https://img.shields.io/badge/Bintray-2.0.0-green.svg)](Bintray/2.0.0)
+ - [Bugfixes] Fixed issue [(#100)](http://issues/100)
+#### 1.9.0
+ - 2016-12-30 - no code changes (no commits) - published to [![Bintray](https://img.shields.io/badge/Bintray-1.9.0-green.svg)](Bintray/1.9.0)"""
+    }
+
     def "release headline with no commits"() {
         expect:
         DetailedFormatter.authorsSummary(Stub(ContributionSet), [:], "link") == "no code changes (no commits)"
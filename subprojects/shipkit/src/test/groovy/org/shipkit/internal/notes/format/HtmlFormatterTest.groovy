@@ -0,0 +1,62 @@
+package org.shipkit.internal.notes.format
+
+import org.shipkit.internal.notes.contributors.DefaultContributor
+import org.shipkit.internal.notes.internal.DefaultImprovement
+import org.shipkit.internal.notes.internal.DefaultReleaseNotesData
+import org.shipkit.internal.notes.model.Commit
+import org.shipkit.internal.notes.model.Contribution
+import org.shipkit.internal.notes.model.ContributionSet
+import spock.lang.Specification
+
+class HtmlFormatterTest extends Specification {
+
+    def contributors = ["Szczepan Faber": new DefaultContributor("Szczepan Faber", "szczepiq", "http://github.com/szczepiq")]
+    def formatter = new HtmlFormatter(["noteworthy": "Noteworthy", "bug": "Bugfixes"], "http://commits/{0}...{1}", "Bintray/", contributors)
+
+    def "no releases"() {
+        expect:
+        formatter.formatReleaseNotes([]) == "<p>No release information.</p>\n"
+    }
+
+    def "empty release"() {
+        def d = new DefaultReleaseNotesData("2.0.0", new Date(1483500000000), Stub(ContributionSet), [], "v1.9.0", "v2.0.0")
+
+        expect:
+        formatter.formatReleaseNotes([d]) == """<h4>2.0.0</h4>
+<ul>
+<li>2017-01-04 - no code changes (no commits) - published to <a href="Bintray/2.0.0">Bintray/2.0.0</a></li>
+</ul>
+"""
+    }
+
+    def "release with improvements"() {
+        def c = Stub(ContributionSet) {
+            getAllCommits() >> [Stub(Commit), Stub(Commit)]
+            getContributions() >> [Stub(Contribution) {
+                getAuthorName() >> "Szczepan Faber"
+                getCommits() >> [Stub(Commit)]
+            }, Stub(Contribution) {
+                getAuthorName() >> "Unknown <dev>"
+                getCommits() >> [Stub(Commit)]
+            }]
+        }
+        def i = [new DefaultImprovement(100, "Fixed <b>issue</b>", "http://issues/100", ["bug"], true),
+                 new DefaultImprovement(101, "Other", "http://issues/101", [], true)]
+        def d = new DefaultReleaseNotesData("2.0.0", new Date(1483500000000), c, i, "v1.9.0", "v2.0.0")
+
+        expect:
+        formatter.formatReleaseNotes([d]) == """<h4>2.0.0</h4>
+<ul>
+<li>2017-01-04 - <a href="http://commits/v1.9.0...v2.0.0">2 commits</a> by <a href="http://github.com/szczepiq">Szczepan Faber</a> (1), Unknown &lt;dev&gt; (1) - published to <a href="Bintray/2.0.0">Bintray/2.0.0</a></li>
+<li>[Bugfixes] Fixed &lt;b&gt;issue&lt;/b&gt; <a href="http://issues/100">(#100)</a></li>
+<li>Other <a href="http://issues/101">(#101)</a></li>
+</ul>
+"""
+    }
+
+    def "escapes html"() {
+        expect:
+        HtmlFormatter.escape(null) == ""
+        HtmlFormatter.escape("a & 'b' \"c\"") == "a &amp; &#39;b&#39; &quot;c&quot;"
+    }
+}
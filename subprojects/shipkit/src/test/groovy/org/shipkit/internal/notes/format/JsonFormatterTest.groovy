@@ -0,0 +1,51 @@
+package org.shipkit.internal.notes.format
+
+import org.json.simple.Jsoner
+import org.shipkit.internal.notes.contributors.DefaultContributor
+import org.shipkit.internal.notes.internal.DefaultImprovement
+import org.shipkit.internal.notes.internal.DefaultReleaseNotesData
+import org.shipkit.internal.notes.model.Commit
+import org.shipkit.internal.notes.model.Contribution
+import org.shipkit.internal.notes.model.ContributionSet
+import spock.lang.Specification
+
+class JsonFormatterTest extends Specification {
+
+    def contributors = ["Szczepan Faber": new DefaultContributor("Szczepan Faber", "szczepiq", "http://github.com/szczepiq")]
+    def formatter = new JsonFormatter(["noteworthy": "Noteworthy", "bug": "Bugfixes"], "http://commits/{0}...{1}", "Bintray/", contributors)
+
+    def "no releases"() {
+        expect:
+        formatter.formatReleaseNotes([]) == "[]"
+    }
+
+    def "formats release"() {
+        def c = Stub(ContributionSet) {
+            getAllCommits() >> [Stub(Commit)]
+            getContributions() >> [Stub(Contribution) {
+                getAuthorName() >> "Szczepan Faber"
+                getCommits() >> [Stub(Commit)]
+            }]
+        }
+        def i = [new DefaultImprovement(100, "Fixed \"issue\"", "http://issues/100", ["bug"], true),
+                 new DefaultImprovement(101, "Other", "http://issues/101", [], false)]
+        def d = new DefaultReleaseNotesData("2.0.0", new Date(1483500000000), c, i, "v1.9.0", "v2.0.0")
+
+        when:
+        def releases = Jsoner.deserialize(formatter.formatReleaseNotes([d]))
+
+        then:
+        releases.size() == 1
+        def r = releases[0]
+        r.version == "2.0.0"
+        r.date == "2017-01-04"
+        r.commitsUrl == "http://commits/v1.9.0...v2.0.0"
+        r.publicationUrl == "Bintray/2.0.0"
+        r.commitCount == 1
+        r.authors == [[name: "Szczepan Faber", commitCount: 1, profileUrl: "http://github.com/szczepiq"]]
+        r.improvements == [
+            [id: 100, title: "Fixed \"issue\"", url: "http://issues/100", labels: ["bug"], pullRequest: true, section: "Bugfixes"],
+            [id: 101, title: "Other", url: "http://issues/101", labels: [], pullRequest: false, section: null]
+        ]
+    }
+}
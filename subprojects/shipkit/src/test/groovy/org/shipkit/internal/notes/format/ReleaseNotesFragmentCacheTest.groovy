@@ -0,0 +1,111 @@
+package org.shipkit.internal.notes.format
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.notes.internal.DefaultImprovement
+import org.shipkit.internal.notes.internal.DefaultReleaseNotesData
+import org.shipkit.internal.notes.model.Commit
+import org.shipkit.internal.notes.model.ContributionSet
+import spock.lang.Specification
+
+class ReleaseNotesFragmentCacheTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def contributions = Mock(ContributionSet) {
+        toJson() >> '{ "commits": [] }'
+        getAuthorCount() >> 1
+    }
+    def improvements = [new DefaultImprovement(100, "Fixed issue", "http://issues/100", ["bugfix"], true)]
+    def data = [new DefaultReleaseNotesData("1.0.0", new Date(1486200000000), contributions, improvements, "v0.9.0", "v1.0.0")]
+
+    def "renders the version only once"() {
+        def cache = new ReleaseNotesFragmentCache()
+        def formatter = new NotableFormatter("Notes:\n\n", "http://release-notes", "http://commits/{0}...{1}", cache)
+
+        when:
+        def first = formatter.formatReleaseNotes(data)
+
+        then:
+        (1.._) * contributions.getAllCommits() >> [Stub(Commit)]
+
+        when:
+        def second = new NotableFormatter("Notes:\n\n", "http://release-notes", "http://commits/{0}...{1}", cache)
+            .formatReleaseNotes(data)
+
+        then:
+        0 * contributions.getAllCommits()
+        second == first
+        first.contains(" * Fixed issue [(#100)](http://issues/100)")
+    }
+
+    def "renders the version again when formatter configuration changes"() {
+        def cache = new ReleaseNotesFragmentCache()
+        contributions.getAllCommits() >> [Stub(Commit)]
+
+        when:
+        def text = new NotableFormatter("", "http://release-notes", "http://commits/{0}...{1}", cache).formatReleaseNotes(data)
+        def other = new NotableFormatter("", "http://other-notes", "http://commits/{0}...{1}", cache).formatReleaseNotes(data)
+
+        then:
+        text.contains("http://release-notes")
+        other.contains("http://other-notes")
+        !other.contains("http://release-notes")
+    }
+
+    def "keeps fragments of detailed and notable formatter apart when they use the same cache"() {
+        def cache = new ReleaseNotesFragmentCache()
+        contributions.getAllCommits() >> [Stub(Commit)]
+        contributions.getContributions() >> []
+
+        when:
+        def notable = new NotableFormatter("", "http://release-notes", "http://commits/{0}...{1}", cache).formatReleaseNotes(data)
+        def detailed = new DetailedFormatter("", "", [:], "http://commits/{0}...{1}", "Bintray/", [:], false, new BadgeFormatter(), cache)
+            .formatReleaseNotes(data)
+
+        then:
+        notable == new NotableFormatter("", "http://release-notes", "http://commits/{0}...{1}").formatReleaseNotes(data)
+        detailed == new DetailedFormatter("", "", [:], "http://commits/{0}...{1}", "Bintray/", [:], false, new BadgeFormatter())
+            .formatReleaseNotes(data)
+        detailed != notable
+    }
+
+    def "reuses fragments stored on disk"() {
+        def dir = tmp.newFolder()
+        contributions.getAllCommits() >> [Stub(Commit)]
+
+        def text = new NotableFormatter("", "http://release-notes", "http://commits/{0}...{1}", new ReleaseNotesFragmentCache(dir))
+            .formatReleaseNotes(data)
+        //let's replace the fragment to prove that it is read from disk
+        def fragment = dir.listFiles().find { it.name.endsWith(".md") }
+        fragment.text = "cached\n"
+
+        expect:
+        dir.listFiles().size() == 1
+        text.contains("Fixed issue")
+        new NotableFormatter("", "http://release-notes", "http://commits/{0}...{1}", new ReleaseNotesFragmentCache(dir))
+            .formatReleaseNotes(data) == "cached\n"
+    }
+
+    def "removes fragments that were not used for a long time"() {
+        def dir = tmp.newFolder()
+        contributions.getAllCommits() >> [Stub(Commit)]
+        def old = new File(dir, "old.md")
+        old.text = "old"
+        old.lastModified = System.currentTimeMillis() - ReleaseNotesFragmentCache.MAX_UNUSED_AGE_MILLIS - 1000
+        def leftover = new File(dir, "interrupted.tmp")
+        leftover.text = "partial"
+        leftover.lastModified = old.lastModified()
+
+        def cache = new ReleaseNotesFragmentCache(dir)
+        new NotableFormatter("", "http://release-notes", "http://commits/{0}...{1}", cache).formatReleaseNotes(data)
+
+        when:
+        cache.prune()
+
+        then:
+        dir.listFiles().size() == 1
+        !old.exists()
+        !leftover.exists()
+    }
+}
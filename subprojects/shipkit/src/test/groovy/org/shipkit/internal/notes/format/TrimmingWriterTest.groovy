@@ -0,0 +1,66 @@
+package org.shipkit.internal.notes.format
+
+import spock.lang.Specification
+
+class TrimmingWriterTest extends Specification {
+
+    def target = new StringWriter()
+    def writer = new TrimmingWriter(target)
+
+    def "trims content written in many chunks"() {
+        when:
+        writer.write(" \n")
+        writer.write("  foo \n")
+        writer.write("\n")
+        writer.write(" bar")
+        writer.write("  \n\n")
+
+        then:
+        target.toString() == "foo \n\n bar"
+    }
+
+    def "writes nothing when there is only whitespace"() {
+        when:
+        writer.write(" \n\t")
+        writer.write("\n")
+
+        then:
+        target.toString() == ""
+    }
+
+    def "trims the same way as String.trim()"() {
+        when:
+        writer.write(text)
+
+        then:
+        target.toString() == text.trim()
+
+        where:
+        text << ["", "a", " a ", "\n\na b\n\n", "\t a\n b \t"]
+    }
+
+    def "writes part of char array"() {
+        def chars = "xx  foo \n yy".toCharArray()
+
+        when:
+        writer.write(chars, 2, 8)
+        writer.write(chars, 10, 2)
+
+        then:
+        target.toString() == "foo \n yy"
+    }
+
+    def "trims content written with print writer"() {
+        def printWriter = new PrintWriter(writer)
+
+        when:
+        printWriter.print("  foo")
+        printWriter.println()
+        printWriter.print(" bar  ".toCharArray())
+        printWriter.println()
+        printWriter.flush()
+
+        then:
+        target.toString() == "foo" + System.lineSeparator() + " bar"
+    }
+}
@@ -0,0 +1,32 @@
+package org.shipkit.internal.notes.vcs
+
+import org.gradle.api.GradleException
+import org.shipkit.internal.exec.ProcessRunner
+import spock.lang.Specification
+
+class RevisionShaProviderTest extends Specification {
+
+    def runner = Mock(ProcessRunner)
+    def provider = new RevisionShaProvider(runner)
+
+    def "provides commit sha of revision"() {
+        runner.run("git", "rev-parse", "--verify", "--quiet", "v1.0.0^{commit}") >> "a9993e364706816aba3e25717850c26c9cd0d89d\n"
+
+        expect:
+        provider.getSha("v1.0.0") == "a9993e364706816aba3e25717850c26c9cd0d89d"
+    }
+
+    def "returns null when revision cannot be resolved"() {
+        runner.run("git", "rev-parse", "--verify", "--quiet", "v1.0.0^{commit}") >> { throw new GradleException("Execution of command failed") }
+
+        expect:
+        provider.getSha("v1.0.0") == null
+    }
+
+    def "returns null when git is not available"() {
+        runner.run("git", "rev-parse", "--verify", "--quiet", "HEAD^{commit}") >> { throw new RuntimeException("Problems executing command") }
+
+        expect:
+        provider.getSha("HEAD") == null
+    }
+}
@@ -0,0 +1,86 @@
+package org.shipkit.internal.util
+
+import spock.lang.Specification
+
+class CompiledTemplateTest extends Specification {
+
+    def "renders expressions"() {
+        def template = CompiledTemplate.compile("repo: @gitHub.repository@, user: @bintray.pkg.user@@bintray.pkg.user@")
+
+        expect:
+        template.keys == ["gitHub.repository", "bintray.pkg.user"] as Set
+        template.render(["gitHub.repository": "mockito/shipkit", "bintray.pkg.user": "bot"]) ==
+            "repo: mockito/shipkit, user: botbot"
+    }
+
+    def "can be rendered many times"() {
+        def template = CompiledTemplate.compile("@a@-@b@")
+
+        expect:
+        template.render([a: "1", b: "2"]) == "1-2"
+        template.render([a: "3", b: "4", c: "unused"]) == "3-4"
+    }
+
+    def "leaves text that is not an expression"() {
+        def template = CompiledTemplate.compile(text)
+
+        expect:
+        template.keys.empty
+        template.render([:]) == text
+
+        where:
+        text << ["", "no expressions", "email: john@doe.com", "@@", "@ not a key @", "trailing @", "@Override"]
+    }
+
+    def "does not resolve expressions inside values"() {
+        expect:
+        CompiledTemplate.compile("@a@ @b@").render([a: "@b@", b: "x"]) == "@b@ x"
+    }
+
+    def "renders to writer"() {
+        def writer = new StringWriter()
+
+        when:
+        CompiledTemplate.compile("foo@bar@").render([bar: "baz"], writer)
+
+        then:
+        writer.toString() == "foobaz"
+    }
+
+    def "fails fast when value is missing"() {
+        def writer = new StringWriter()
+
+        when:
+        CompiledTemplate.compile("foo @bar@ @baz@").render([bar: "1"], writer)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == "Value of template expression '@baz@' was not provided.\n" +
+            "  Provided properties: [bar]"
+        writer.toString() == ""
+    }
+
+    def "fails when property cannot be resolved because its key is not a valid expression key"() {
+        when:
+        CompiledTemplate.compile("foo @my key@").render(["my key": "1"])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == "Template expression '@my key@' cannot be resolved.\n" +
+            "  Key of the expression can contain only letters, digits and characters: '.', '_', '-'."
+    }
+
+    def "detects unresolved keys between any subsequent '@' characters"() {
+        when:
+        CompiledTemplate.compile("me@home @my key@ @bar@").render([bar: "1", "my key": "2"])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.startsWith("Template expression '@my key@' cannot be resolved.")
+    }
+
+    def "ignores provided properties that are not in the template"() {
+        expect:
+        CompiledTemplate.compile("foo @bar@ me@x y").render([bar: "1", "x y": "2", "other key": "3"]) == "foo 1 me@x y"
+    }
+}
@@ -0,0 +1,29 @@
+package org.shipkit.internal.util
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class HashUtilTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "sha1 of text"() {
+        expect:
+        HashUtil.sha1("") == "da39a3ee5e6b4b0d3255bfef95601890afd80709"
+        HashUtil.sha1("abc") == "a9993e364706816aba3e25717850c26c9cd0d89d"
+    }
+
+    def "sha1 of file"() {
+        def file = tmp.newFile()
+        file << "abc"
+
+        expect:
+        HashUtil.sha1(file) == "a9993e364706816aba3e25717850c26c9cd0d89d"
+    }
+
+    def "hex"() {
+        expect:
+        HashUtil.hex([0, 15, 16, -1] as byte[]) == "000f10ff"
+    }
+}
@@ -54,4 +54,16 @@ class TemplateResolverTest extends Specification {
         def ex = thrown(IllegalArgumentException)
         ex.message == "value cannot be null."
     }
+
+    def "should fail when expression has no value" () {
+        given:
+        def resolver = new TemplateResolver("@foo@ @bar@").withProperty("foo", "value")
+
+        when:
+        resolver.resolve()
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.message.startsWith("Value of template expression '@bar@' was not provided.")
+    }
 }